@@ -0,0 +1,14 @@
+package com.yourorg.stegoapp.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Spring Boot entry point for the non-blocking (WebFlux) variant of the Stego Tool API.
+ */
+@SpringBootApplication
+public class StegoReactiveApplication {
+    public static void main(String[] args) {
+        SpringApplication.run(StegoReactiveApplication.class, args);
+    }
+}
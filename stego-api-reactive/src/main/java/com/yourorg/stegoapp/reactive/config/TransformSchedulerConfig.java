@@ -0,0 +1,25 @@
+package com.yourorg.stegoapp.reactive.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * CPU-sized scheduler that runs pipeline work, so Netty event loops only move bytes.
+ * <p>
+ * Configure the size via {@code stego.transform.threads} (defaults to the number of CPUs). Work is
+ * never queued without bound: string transforms are single tasks, and streaming transforms request
+ * the next request-body chunk only after the previous one has been processed.
+ * </p>
+ */
+@Configuration
+public class TransformSchedulerConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler transformScheduler(@Value("${stego.transform.threads:0}") int threads) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return Schedulers.newParallel("stego-transform", size, true);
+    }
+}
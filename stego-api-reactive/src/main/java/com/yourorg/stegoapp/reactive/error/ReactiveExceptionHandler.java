@@ -0,0 +1,70 @@
+package com.yourorg.stegoapp.reactive.error;
+
+import com.yourorg.stegoapp.core.error.StegoErrorCode;
+import com.yourorg.stegoapp.core.error.StegoException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Exception mapping for the reactive API.
+ * <p>
+ * Produces the same problem details as the servlet API: domain failures are {@code 400 Bad Request}
+ * with a stable {@code code} property ({@code 503} for {@code CANCELLED}), and every type URI is shared so clients can switch between
+ * the two deployments without changes.
+ * </p>
+ */
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+    private static final String TYPE_BASE = "https://errors.stego-tool.local/";
+
+    @ExceptionHandler(StegoException.class)
+    public ResponseEntity<ProblemDetail> handleStegoException(StegoException ex, ServerWebExchange exchange) {
+        ProblemDetail pd = ex.getCode() == StegoErrorCode.CANCELLED
+                ? create(HttpStatus.SERVICE_UNAVAILABLE, "Transform cancelled", ex.getMessage(), ex.getCode().name(), exchange)
+                : create(HttpStatus.BAD_REQUEST, "Stego error", ex.getMessage(), ex.getCode().name(), exchange);
+        pd.setProperty("code", ex.getCode().name());
+        return respond(pd);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ProblemDetail> handleIllegalArgument(IllegalArgumentException ex, ServerWebExchange exchange) {
+        return respond(create(HttpStatus.BAD_REQUEST, "Invalid request", ex.getMessage(), "INVALID_REQUEST", exchange));
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ProblemDetail> handleValidation(WebExchangeBindException ex, ServerWebExchange exchange) {
+        ProblemDetail pd = create(HttpStatus.BAD_REQUEST, "Validation failed", "One or more fields are invalid.",
+                "VALIDATION_FAILED", exchange);
+
+        Map<String, String> fieldErrors = new HashMap<>();
+        for (FieldError fe : ex.getBindingResult().getFieldErrors()) {
+            fieldErrors.put(fe.getField(), fe.getDefaultMessage());
+        }
+        pd.setProperty("errors", fieldErrors);
+        return respond(pd);
+    }
+
+    private static ProblemDetail create(HttpStatus status, String title, String detail, String type, ServerWebExchange exchange) {
+        ProblemDetail pd = ProblemDetail.forStatus(status);
+        pd.setTitle(title);
+        pd.setDetail(detail);
+        pd.setType(URI.create(TYPE_BASE + type));
+        pd.setInstance(URI.create(exchange.getRequest().getPath().value()));
+        return pd;
+    }
+
+    private static ResponseEntity<ProblemDetail> respond(ProblemDetail pd) {
+        return ResponseEntity.status(pd.getStatus()).contentType(MediaType.APPLICATION_PROBLEM_JSON).body(pd);
+    }
+}
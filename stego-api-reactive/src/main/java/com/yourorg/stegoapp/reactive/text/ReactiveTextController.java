@@ -0,0 +1,93 @@
+package com.yourorg.stegoapp.reactive.text;
+
+import com.yourorg.stegoapp.core.codec.CodecChain;
+import com.yourorg.stegoapp.reactive.text.dto.TextTransformRequest;
+import com.yourorg.stegoapp.reactive.text.dto.TextTransformResponse;
+import jakarta.validation.Valid;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Non-blocking implementation of the {@code /api/v1/text} contract.
+ * <p>
+ * {@code /encode} and {@code /decode} take and return the same JSON as the servlet API. The
+ * {@code /stream} variants take a raw UTF-8 body and the pipeline in compact notation (see
+ * {@link PipelineSpec}) via the {@code pipeline} query parameter or the {@value #PIPELINE_HEADER}
+ * header; the pipeline is validated before the response starts, so pipeline errors are reported as
+ * regular problem details.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/v1/text")
+public class ReactiveTextController {
+    /** Header carrying the pipeline when it is not passed as a query parameter. */
+    public static final String PIPELINE_HEADER = "X-Stego-Pipeline";
+
+    private static final MediaType TEXT_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
+    private final ReactiveTextService service;
+
+    public ReactiveTextController(ReactiveTextService service) {
+        this.service = service;
+    }
+
+    /**
+     * Encodes the input text using the provided pipeline (steps applied in order).
+     */
+    @PostMapping(value = "/encode", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<TextTransformResponse> encode(@Valid @RequestBody TextTransformRequest request) {
+        return service.encode(request).map(TextTransformResponse::new);
+    }
+
+    /**
+     * Decodes the input text using the provided pipeline (steps applied in reverse order).
+     */
+    @PostMapping(value = "/decode", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<TextTransformResponse> decode(@Valid @RequestBody TextTransformRequest request) {
+        return service.decode(request).map(TextTransformResponse::new);
+    }
+
+    /**
+     * Encodes the request body (steps applied in order) and streams the result.
+     */
+    @PostMapping(value = "/encode/stream", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<Flux<DataBuffer>> encodeStream(
+            @RequestParam(name = "pipeline", required = false) String pipeline,
+            @RequestHeader(name = PIPELINE_HEADER, required = false) String pipelineHeader,
+            @RequestParam(name = "coverText", required = false) String coverText,
+            ServerHttpRequest request, ServerHttpResponse response) {
+        CodecChain chain = service.openEncodeStream(PipelineSpec.parse(pipeline != null ? pipeline : pipelineHeader, coverText));
+        return stream(chain, request, response);
+    }
+
+    /**
+     * Decodes the request body (steps applied in reverse order) and streams the result.
+     */
+    @PostMapping(value = "/decode/stream", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<Flux<DataBuffer>> decodeStream(
+            @RequestParam(name = "pipeline", required = false) String pipeline,
+            @RequestHeader(name = PIPELINE_HEADER, required = false) String pipelineHeader,
+            @RequestParam(name = "coverText", required = false) String coverText,
+            ServerHttpRequest request, ServerHttpResponse response) {
+        CodecChain chain = service.openDecodeStream(PipelineSpec.parse(pipeline != null ? pipeline : pipelineHeader, coverText));
+        return stream(chain, request, response);
+    }
+
+    private ResponseEntity<Flux<DataBuffer>> stream(CodecChain chain, ServerHttpRequest request, ServerHttpResponse response) {
+        Flux<DataBuffer> body = service.stream(chain, request.getBody(), response.bufferFactory());
+        return ResponseEntity.ok().contentType(TEXT_UTF8).body(body);
+    }
+}
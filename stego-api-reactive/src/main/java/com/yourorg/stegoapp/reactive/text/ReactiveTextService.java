@@ -0,0 +1,296 @@
+package com.yourorg.stegoapp.reactive.text;
+
+import com.yourorg.stegoapp.core.CancellationToken;
+import com.yourorg.stegoapp.core.buffer.StagingAllocator;
+import com.yourorg.stegoapp.core.codec.CodecChain;
+import com.yourorg.stegoapp.core.error.StegoErrorCode;
+import com.yourorg.stegoapp.core.error.StegoException;
+import com.yourorg.stegoapp.core.model.Pipeline;
+import com.yourorg.stegoapp.core.model.StepConfig;
+import com.yourorg.stegoapp.core.model.StepType;
+import com.yourorg.stegoapp.core.model.ZeroWidthMode;
+import com.yourorg.stegoapp.core.model.ZeroWidthOptions;
+import com.yourorg.stegoapp.reactive.text.dto.PipelineStepDto;
+import com.yourorg.stegoapp.reactive.text.dto.TextTransformRequest;
+import com.yourorg.stegoapp.service.CompiledPipeline;
+import com.yourorg.stegoapp.service.StegoService;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Maps API DTOs to the core engine and runs every transform on the transform {@link Scheduler}.
+ * <p>
+ * Like the servlet API, {@link StepType#CRYPTO} is rejected so passwords and keys never transit the
+ * server.
+ * </p>
+ * <p>
+ * Streaming transforms feed request {@link DataBuffer}s to a {@link CodecChain} one at a time: the
+ * next chunk is requested from the connection only after the previous one has gone through the chain
+ * and its output has been handed downstream, so a slow reader throttles the upload instead of
+ * filling memory.
+ * </p>
+ * <p>
+ * Each transform runs with its own {@link CancellationToken}, cancelled when the subscriber cancels
+ * (e.g. the client disconnects), so an abandoned transform stops at its next step checkpoint instead of
+ * occupying a scheduler thread until it completes.
+ * </p>
+ */
+@Service
+public class ReactiveTextService {
+    // chunks requested ahead of the chain; small so backpressure reaches the socket quickly
+    private static final int PREFETCH = 2;
+
+    private final StegoService engine = new StegoService();
+    private final StagingAllocator allocator = StagingAllocator.heap();
+    private final Scheduler scheduler;
+
+    public ReactiveTextService(Scheduler transformScheduler) {
+        this.scheduler = transformScheduler;
+    }
+
+    /**
+     * Encodes request text using the configured pipeline, with a payload header if requested.
+     */
+    public Mono<String> encode(TextTransformRequest request) {
+        return cancellable(() -> {
+            CompiledPipeline pipeline = engine.compile(toPipeline(request.pipeline()));
+            return Boolean.TRUE.equals(request.header())
+                    ? pipeline.encodeWithHeader(request.text())
+                    : pipeline.encode(request.text());
+        });
+    }
+
+    /**
+     * Decodes request text using the configured pipeline (applied in reverse order).
+     */
+    public Mono<String> decode(TextTransformRequest request) {
+        return cancellable(() -> engine.compile(toPipeline(request.pipeline())).decode(request.text()));
+    }
+
+    /**
+     * Prepares a streaming encode: the pipeline is validated now, and the returned chain converts UTF-8
+     * bytes chunk by chunk. Pass it to {@link #stream}, which closes it.
+     */
+    public CodecChain openEncodeStream(List<PipelineStepDto> steps) {
+        return engine.newEncodeChain(toPipeline(steps), allocator);
+    }
+
+    /**
+     * Prepares a streaming decode (steps applied in reverse order). See {@link #openEncodeStream(List)}.
+     */
+    public CodecChain openDecodeStream(List<PipelineStepDto> steps) {
+        return engine.newDecodeChain(toPipeline(steps), allocator);
+    }
+
+    /**
+     * Runs {@code body} through {@code chain} on the transform scheduler.
+     * <p>
+     * Each input buffer is released once consumed and produces at most one output buffer. The chain is
+     * closed when the returned flux terminates or is cancelled; a cancel that arrives while a chunk is
+     * being transformed defers the close to the worker, so buffers are never released under it.
+     * </p>
+     *
+     * @param chain chain from {@link #openEncodeStream} or {@link #openDecodeStream}
+     * @param body request body
+     * @param factory factory for output buffers (the response's)
+     * @return transformed body
+     */
+    public Flux<DataBuffer> stream(CodecChain chain, Flux<DataBuffer> body, DataBufferFactory factory) {
+        CancellationToken token = CancellationToken.create();
+        return Flux.using(() -> new StreamScope(chain, new ChunkSink(factory)), scope -> body
+                        .publishOn(scheduler, PREFETCH)
+                        .<DataBuffer>handle((in, out) -> {
+                            if (!scope.enter()) {
+                                DataBufferUtils.release(in);
+                                return;
+                            }
+                            DataBuffer chunk;
+                            try (CancellationToken.Binding ignored = token.bind();
+                                 DataBuffer.ByteBufferIterator it = in.readableByteBuffers()) {
+                                while (it.hasNext()) {
+                                    chain.update(it.next(), scope.sink);
+                                }
+                                chunk = scope.sink.take();
+                            } catch (IOException e) {
+                                out.error(e);
+                                return;
+                            } finally {
+                                DataBufferUtils.release(in);
+                                scope.exit();
+                            }
+                            if (chunk != null) {
+                                out.next(chunk);
+                            }
+                        })
+                        .concatWith(Mono.fromCallable(() -> {
+                            if (!scope.enter()) {
+                                return null;
+                            }
+                            try (CancellationToken.Binding ignored = token.bind()) {
+                                chain.finish(scope.sink);
+                                return scope.sink.take();
+                            } finally {
+                                scope.exit();
+                            }
+                        }).subscribeOn(scheduler)),
+                StreamScope::close)
+                .doOnCancel(token::cancel);
+    }
+
+    /** Runs {@code work} on the transform scheduler with a token that the subscriber's cancel cancels. */
+    private <T> Mono<T> cancellable(Callable<T> work) {
+        return Mono.defer(() -> {
+            CancellationToken token = CancellationToken.create();
+            return Mono.fromCallable(() -> {
+                        try (CancellationToken.Binding ignored = token.bind()) {
+                            return work.call();
+                        }
+                    })
+                    .subscribeOn(scheduler)
+                    .doOnCancel(token::cancel);
+        });
+    }
+
+    private static Pipeline toPipeline(List<PipelineStepDto> steps) {
+        if (steps == null) {
+            throw new StegoException(StegoErrorCode.INVALID_PIPELINE, "pipeline is required");
+        }
+        List<StepConfig> mapped = new ArrayList<>();
+        for (int i = 0; i < steps.size(); i++) {
+            PipelineStepDto s = steps.get(i);
+            if (s == null || s.type() == null) {
+                throw new StegoException(StegoErrorCode.INVALID_PIPELINE, "pipeline[" + i + "].type is required");
+            }
+            if (s.type() == StepType.CRYPTO) {
+                throw new StegoException(StegoErrorCode.UNSUPPORTED_STEP, "CRYPTO is client-side only. Encrypt/decrypt before calling the API.");
+            }
+
+            if (s.type() == StepType.ZERO_WIDTH && s.zeroWidthMode() == ZeroWidthMode.EMBED_IN_COVER) {
+                mapped.add(new StepConfig(StepType.ZERO_WIDTH, new ZeroWidthOptions(ZeroWidthMode.EMBED_IN_COVER, s.coverText())));
+                continue;
+            }
+
+            mapped.add(StepConfig.of(s.type()));
+        }
+        return new Pipeline(mapped);
+    }
+
+    /**
+     * Chain and sink of one stream. The cleanup of {@link Flux#using} runs on the cancelling thread
+     * (usually the event loop) and may race a chunk in flight on the scheduler, so whichever of the two
+     * finishes last releases the chain and sink.
+     */
+    private static final class StreamScope {
+        private final CodecChain chain;
+        private final ChunkSink sink;
+        // guarded by this
+        private boolean busy;
+        private boolean closed;
+        private boolean released;
+
+        private StreamScope(CodecChain chain, ChunkSink sink) {
+            this.chain = chain;
+            this.sink = sink;
+        }
+
+        /**
+         * Marks the chain in use by the calling worker; returns {@code false} once the stream is closed.
+         */
+        synchronized boolean enter() {
+            if (closed) {
+                return false;
+            }
+            busy = true;
+            return true;
+        }
+
+        void exit() {
+            boolean release;
+            synchronized (this) {
+                busy = false;
+                release = closed && !released;
+                released |= release;
+            }
+            if (release) {
+                release();
+            }
+        }
+
+        void close() {
+            boolean release;
+            synchronized (this) {
+                closed = true;
+                release = !busy && !released;
+                released |= release;
+            }
+            if (release) {
+                release();
+            }
+        }
+
+        private void release() {
+            sink.discard();
+            chain.close();
+        }
+    }
+
+    /**
+     * Collects the chain's output for one input chunk into a single response buffer.
+     */
+    private static final class ChunkSink implements WritableByteChannel {
+        private final DataBufferFactory factory;
+        private DataBuffer pending;
+
+        private ChunkSink(DataBufferFactory factory) {
+            this.factory = factory;
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            int n = src.remaining();
+            if (pending == null) {
+                pending = factory.allocateBuffer(n);
+            }
+            pending.write(src);
+            return n;
+        }
+
+        /**
+         * Returns the output collected since the last call, or {@code null} if there is none.
+         */
+        DataBuffer take() {
+            DataBuffer out = pending;
+            pending = null;
+            return out;
+        }
+
+        void discard() {
+            if (pending != null) {
+                DataBufferUtils.release(pending);
+                pending = null;
+            }
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+            // released by discard()
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.yourorg.stegoapp.reactive.text.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Text encode/decode request payload. Same shape as the servlet API's request.
+ *
+ * @param text input text to encode/decode
+ * @param pipeline ordered list of steps (must contain at least one step)
+ * @param header when {@code true}, encode prefixes the output with a checksummed payload header
+ *               (optional; ignored by decode, which detects the header itself)
+ */
+public record TextTransformRequest(
+        @NotNull String text,
+        @NotNull @Size(min = 1) List<@Valid PipelineStepDto> pipeline,
+        Boolean header
+) {
+}
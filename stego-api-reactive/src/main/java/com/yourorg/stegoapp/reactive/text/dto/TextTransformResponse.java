@@ -0,0 +1,9 @@
+package com.yourorg.stegoapp.reactive.text.dto;
+
+/**
+ * Text encode/decode response.
+ *
+ * @param result encoded/decoded result
+ */
+public record TextTransformResponse(String result) {
+}
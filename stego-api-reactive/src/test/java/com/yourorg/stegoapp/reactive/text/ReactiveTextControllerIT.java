@@ -0,0 +1,103 @@
+package com.yourorg.stegoapp.reactive.text;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ReactiveTextControllerIT {
+
+    private WebTestClient client;
+
+    @Autowired
+    void setClient(WebTestClient client) {
+        // streamed payloads are larger than the default 256 KiB client-side limit
+        this.client = client.mutate().codecs(c -> c.defaultCodecs().maxInMemorySize(16 << 20)).build();
+    }
+
+    @Test
+    void encodeThenDecodeJson() {
+        Map<String, Object> request = Map.of("text", "Hello", "pipeline", new Object[] {Map.of("type", "BASE64")});
+        client.post().uri("/api/v1/text/encode")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.result").isEqualTo("SGVsbG8=");
+
+        client.post().uri("/api/v1/text/decode")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("text", "SGVsbG8=", "pipeline", new Object[] {Map.of("type", "BASE64")}))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.result").isEqualTo("Hello");
+    }
+
+    @Test
+    void streamEncodeThenDecode() {
+        String text = "Streamed 👋 ".repeat(20_000);
+
+        String encoded = stream("/api/v1/text/encode/stream?pipeline=base64,zero_width:embed_in_cover&coverText=Hi", text);
+        assertEquals("Hi", encoded.substring(0, 2));
+
+        byte[] decoded = client.post().uri("/api/v1/text/decode/stream?coverText=Hi")
+                .header(ReactiveTextController.PIPELINE_HEADER, "BASE64,ZERO_WIDTH:EMBED_IN_COVER")
+                .contentType(MediaType.TEXT_PLAIN)
+                .bodyValue(encoded.getBytes(StandardCharsets.UTF_8))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(byte[].class).returnResult().getResponseBody();
+        assertEquals(text, new String(decoded, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void invalidRequestsAreProblemDetails() {
+        client.post().uri("/api/v1/text/encode/stream?pipeline=BASE64,NOPE")
+                .contentType(MediaType.TEXT_PLAIN)
+                .bodyValue("Hello")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.title").isEqualTo("Invalid request");
+
+        client.post().uri("/api/v1/text/encode")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("text", "Hello", "pipeline", new Object[] {Map.of("type", "CRYPTO")}))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.code").isEqualTo("UNSUPPORTED_STEP");
+
+        client.post().uri("/api/v1/text/encode")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("text", "Hello", "pipeline", new Object[0]))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.type").isEqualTo("https://errors.stego-tool.local/VALIDATION_FAILED");
+    }
+
+    @Test
+    void malformedStreamedPayloadIsReportedBeforeTheResponseStarts() {
+        client.post().uri("/api/v1/text/decode/stream?pipeline=BASE64")
+                .contentType(MediaType.TEXT_PLAIN)
+                .bodyValue("not-base64")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.code").isEqualTo("INVALID_ALPHABET");
+    }
+
+    private String stream(String uri, String text) {
+        byte[] body = client.post().uri(uri)
+                .contentType(MediaType.TEXT_PLAIN)
+                .bodyValue(text.getBytes(StandardCharsets.UTF_8))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(byte[].class).returnResult().getResponseBody();
+        return new String(body, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,21 @@
+#!/usr/bin/env sh
+# Starts stego-api from the fast-start build: AOT-processed bean definitions plus the AppCDS archive
+# recorded by the build's training run.
+#
+#   ./mvnw -P fast-start -pl stego-api -am -DskipTests package
+#   stego-api/bin/stego-api-fast.sh [--spring.property=value ...]
+#
+# JVM options can be passed in JAVA_OPTS. The archive only matches the jars it was recorded with, so
+# rebuild after any change; on a mismatch the JVM warns and starts without it (-Xshare:auto).
+set -eu
+
+TARGET="$(cd "$(dirname "$0")/../target" && pwd)"
+JAR="$(ls "$TARGET"/stego-api-*.jar | head -n 1)"
+ARCHIVE="$TARGET/stego-api.jsa"
+
+if [ ! -f "$ARCHIVE" ] || [ ! -d "$TARGET/lib" ]; then
+    echo "No fast-start build in $TARGET; run: ./mvnw -P fast-start -pl stego-api -am -DskipTests package" >&2
+    exit 1
+fi
+
+exec java -XX:SharedArchiveFile="$ARCHIVE" -Xshare:auto -Dspring.aot.enabled=true ${JAVA_OPTS:-} -jar "$JAR" "$@"
@@ -0,0 +1,39 @@
+package com.yourorg.stegoapp.api.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Worker pool for batch transforms.
+ * <p>
+ * Configure via {@code stego.batch.threads} (defaults to the number of CPUs) and
+ * {@code stego.batch.queue-capacity}. When the queue is full the submitting request thread runs the
+ * item itself, which throttles producers instead of growing memory.
+ * </p>
+ */
+@Configuration
+public class BatchConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService batchExecutor(
+            @Value("${stego.batch.threads:0}") int threads,
+            @Value("${stego.batch.queue-capacity:1024}") int queueCapacity) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory factory = r -> {
+            Thread t = new Thread(r, "stego-batch-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+        return new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), factory, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
@@ -0,0 +1,35 @@
+package com.yourorg.stegoapp.api.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dedicated pool for the parallel search of {@code POST /api/v1/text/discover}, so discovery never
+ * competes for {@link ForkJoinPool#commonPool()}.
+ * <p>
+ * Each search is admitted through {@link com.yourorg.stegoapp.api.text.TransformScheduler} first, so
+ * the number of concurrent searches is bounded by the transform pool and this pool only bounds their
+ * fan-out. Configure the size via {@code stego.discovery.threads} (defaults to the number of CPUs).
+ * </p>
+ */
+@Configuration
+public class DiscoveryConfig {
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ForkJoinPool discoveryPool(@Value("${stego.discovery.threads:0}") int threads) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        ForkJoinPool.ForkJoinWorkerThreadFactory factory = pool -> {
+            ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            t.setName("stego-discovery-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+        return new ForkJoinPool(size, factory, null, false);
+    }
+}
@@ -0,0 +1,41 @@
+package com.yourorg.stegoapp.api.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Worker pool for asynchronous jobs, kept apart from the request threads and the batch pool so long
+ * transforms cannot starve either.
+ * <p>
+ * Configure via {@code stego.jobs.threads} and {@code stego.jobs.queue-capacity}. When the queue is
+ * full submissions are rejected (the API answers {@code 503}); a job should never run on the
+ * submitting request thread. Scheduling is enabled for the expiry sweep.
+ * </p>
+ */
+@Configuration
+@EnableScheduling
+public class JobConfig {
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService jobExecutor(
+            @Value("${stego.jobs.threads:2}") int threads,
+            @Value("${stego.jobs.queue-capacity:64}") int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory factory = r -> {
+            Thread t = new Thread(r, "stego-job-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), factory, new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,35 @@
+package com.yourorg.stegoapp.api.config;
+
+import com.yourorg.stegoapp.api.live.LiveEncodingHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+import java.util.List;
+
+/**
+ * Registers the live-encoding WebSocket at {@code /api/v1/text/live}.
+ * <p>
+ * Uses the same allowed origins as {@link CorsConfig}. Frame size and idle limits are applied per
+ * socket by {@link LiveEncodingHandler}.
+ * </p>
+ */
+@Configuration
+@EnableWebSocket
+public class LiveConfig implements WebSocketConfigurer {
+    private final LiveEncodingHandler handler;
+    private final List<String> allowedOrigins;
+
+    public LiveConfig(LiveEncodingHandler handler,
+                      @Value("#{'${stego.cors.allowed-origins:http://localhost:5173}'.split(',')}") List<String> allowedOrigins) {
+        this.handler = handler;
+        this.allowedOrigins = allowedOrigins;
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(handler, "/api/v1/text/live").setAllowedOrigins(allowedOrigins.toArray(String[]::new));
+    }
+}
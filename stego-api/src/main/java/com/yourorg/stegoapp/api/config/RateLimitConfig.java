@@ -0,0 +1,38 @@
+package com.yourorg.stegoapp.api.config;
+
+import com.yourorg.stegoapp.api.ratelimit.ClientRateLimiter;
+import com.yourorg.stegoapp.api.ratelimit.RateLimitFilter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.util.List;
+
+/**
+ * Registers per-client admission control for {@code /api/*}.
+ * <p>
+ * Configure via {@code stego.ratelimit.bytes-per-second}, {@code stego.ratelimit.burst-bytes},
+ * {@code stego.ratelimit.min-request-bytes} and {@code stego.ratelimit.api-keys} (comma-separated keys
+ * that are limited per key rather than per address); disable with {@code stego.ratelimit.enabled=false}.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "stego.ratelimit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(
+            ClientRateLimiter limiter,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver resolver,
+            @Value("${stego.ratelimit.min-request-bytes:1024}") long minRequestBytes,
+            @Value("#{'${stego.ratelimit.api-keys:}'.split(',')}") List<String> apiKeys) {
+        FilterRegistrationBean<RateLimitFilter> registration =
+                new FilterRegistrationBean<>(new RateLimitFilter(limiter, resolver, minRequestBytes, apiKeys));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,36 @@
+package com.yourorg.stegoapp.api.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * CPU-sized pool that runs string transforms, so request threads only wait for results.
+ * <p>
+ * The queue is ordered by the tasks' own priority (see
+ * {@link com.yourorg.stegoapp.api.text.TransformScheduler}); it is unbounded in length because
+ * admission is limited by queued cost instead. Configure the size via {@code stego.transform.threads}
+ * (defaults to the number of CPUs).
+ * </p>
+ */
+@Configuration
+public class TransformConfig {
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor transformExecutor(@Value("${stego.transform.threads:0}") int threads) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory factory = r -> {
+            Thread t = new Thread(r, "stego-transform-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+        return new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>(), factory);
+    }
+}
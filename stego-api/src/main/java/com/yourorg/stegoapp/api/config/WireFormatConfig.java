@@ -0,0 +1,25 @@
+package com.yourorg.stegoapp.api.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Binary wire format for the text API.
+ * <p>
+ * Registers a CBOR ({@code application/cbor}) converter built from the application's Jackson
+ * settings, so the same request/response records can be exchanged without JSON's text overhead.
+ * Zero-width and emoji output is carried as raw UTF-8 in a length-prefixed CBOR string instead of an
+ * escaped, quote-scanned JSON string.
+ * </p>
+ */
+@Configuration
+public class WireFormatConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
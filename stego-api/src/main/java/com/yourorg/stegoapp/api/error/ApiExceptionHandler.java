@@ -1,16 +1,19 @@
 package com.yourorg.stegoapp.api.error;
 
+import com.yourorg.stegoapp.api.ratelimit.RateLimitExceededException;
 import com.yourorg.stegoapp.core.error.StegoException;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
+import org.springframework.web.ErrorResponseException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
-import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -19,7 +22,12 @@ import java.util.Map;
  * <p>
  * Produces RFC 7807 style responses via Spring's {@link ProblemDetail}. Domain failures from the
  * core engine are surfaced as {@code 400 Bad Request} with a stable {@code code} property
- * containing {@link com.yourorg.stegoapp.core.error.StegoErrorCode}.
+ * containing {@link com.yourorg.stegoapp.core.error.StegoErrorCode}; cancelled transforms
+ * ({@code CANCELLED}) as {@code 503 Service Unavailable}.
+ * </p>
+ * <p>
+ * The content type is set explicitly so errors raised while a streaming endpoint runs (after it has
+ * chosen {@code text/plain}) are still rendered as problem details.
  * </p>
  */
 @RestControllerAdvice
@@ -27,48 +35,47 @@ public class ApiExceptionHandler {
 
     @ExceptionHandler(StegoException.class)
     public ResponseEntity<ProblemDetail> handleStegoException(StegoException ex, HttpServletRequest request) {
-        ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.BAD_REQUEST);
-        pd.setTitle("Stego error");
-        pd.setDetail(ex.getMessage());
-        pd.setType(URI.create("https://errors.stego-tool.local/" + ex.getCode().name()));
-        pd.setInstance(URI.create(request.getRequestURI()));
-        pd.setProperty("code", ex.getCode().name());
-        return ResponseEntity.badRequest().body(pd);
+        ProblemDetail pd = ProblemDetails.stego(ex, request.getRequestURI());
+        return ResponseEntity.status(ProblemDetails.status(ex)).contentType(MediaType.APPLICATION_PROBLEM_JSON).body(pd);
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ProblemDetail> handleIllegalArgument(IllegalArgumentException ex, HttpServletRequest request) {
-        ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.BAD_REQUEST);
-        pd.setTitle("Invalid request");
-        pd.setDetail(ex.getMessage());
-        pd.setType(URI.create("https://errors.stego-tool.local/INVALID_REQUEST"));
-        pd.setInstance(URI.create(request.getRequestURI()));
-        return ResponseEntity.badRequest().body(pd);
+        ProblemDetail pd = ProblemDetails.invalidRequest(ex, request.getRequestURI());
+        return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_PROBLEM_JSON).body(pd);
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ProblemDetail> handleValidation(MethodArgumentNotValidException ex, HttpServletRequest request) {
-        ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.BAD_REQUEST);
-        pd.setTitle("Validation failed");
-        pd.setDetail("One or more fields are invalid.");
-        pd.setType(URI.create("https://errors.stego-tool.local/VALIDATION_FAILED"));
-        pd.setInstance(URI.create(request.getRequestURI()));
+        ProblemDetail pd = ProblemDetails.create(HttpStatus.BAD_REQUEST, "Validation failed", "One or more fields are invalid.",
+                "VALIDATION_FAILED", request.getRequestURI());
 
         Map<String, String> fieldErrors = new HashMap<>();
         for (FieldError fe : ex.getBindingResult().getFieldErrors()) {
             fieldErrors.put(fe.getField(), fe.getDefaultMessage());
         }
         pd.setProperty("errors", fieldErrors);
-        return ResponseEntity.badRequest().body(pd);
+        return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_PROBLEM_JSON).body(pd);
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ProblemDetail> handleRateLimited(RateLimitExceededException ex, HttpServletRequest request) {
+        ProblemDetail pd = ProblemDetails.rateLimited(ex, request.getRequestURI());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ProblemDetails.retryAfterSeconds(ex)))
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON).body(pd);
+    }
+
+    @ExceptionHandler(ErrorResponseException.class)
+    public ResponseEntity<ProblemDetail> handleErrorResponse(ErrorResponseException ex, HttpServletRequest request) {
+        ProblemDetail pd = ProblemDetails.of(ex, request.getRequestURI());
+        return ResponseEntity.status(ex.getStatusCode()).headers(ex.getHeaders())
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON).body(pd);
     }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ProblemDetail> handleUnexpected(Exception ex, HttpServletRequest request) {
-        ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.INTERNAL_SERVER_ERROR);
-        pd.setTitle("Internal error");
-        pd.setDetail("Unexpected server error.");
-        pd.setType(URI.create("https://errors.stego-tool.local/INTERNAL_ERROR"));
-        pd.setInstance(URI.create(request.getRequestURI()));
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(pd);
+        ProblemDetail pd = ProblemDetails.internal(request.getRequestURI());
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).contentType(MediaType.APPLICATION_PROBLEM_JSON).body(pd);
     }
 }
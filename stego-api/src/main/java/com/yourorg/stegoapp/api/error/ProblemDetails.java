@@ -0,0 +1,117 @@
+package com.yourorg.stegoapp.api.error;
+
+import com.yourorg.stegoapp.api.ratelimit.RateLimitExceededException;
+import com.yourorg.stegoapp.core.error.StegoErrorCode;
+import com.yourorg.stegoapp.core.error.StegoException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.ErrorResponseException;
+
+import java.net.URI;
+
+/**
+ * Builds the API's {@link ProblemDetail} bodies.
+ * <p>
+ * Shared by {@link ApiExceptionHandler} and endpoints that report errors per item inside a successful
+ * response (e.g. batch results), so both use the same titles, types and {@code code} property.
+ * </p>
+ */
+public final class ProblemDetails {
+    private static final String TYPE_BASE = "https://errors.stego-tool.local/";
+
+    private ProblemDetails() {}
+
+    /**
+     * Domain failure from the core engine; carries the stable {@code code} property.
+     */
+    public static ProblemDetail stego(StegoException ex, String instance) {
+        HttpStatus status = status(ex);
+        String title = status == HttpStatus.BAD_REQUEST ? "Stego error" : "Transform cancelled";
+        ProblemDetail pd = create(status, title, ex.getMessage(), ex.getCode().name(), instance);
+        pd.setProperty("code", ex.getCode().name());
+        return pd;
+    }
+
+    /**
+     * HTTP status for a core failure: {@code 503} when the transform was cancelled or ran past its
+     * deadline (the request itself may be fine), otherwise {@code 400}.
+     */
+    public static HttpStatus status(StegoException ex) {
+        return ex.getCode() == StegoErrorCode.CANCELLED ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.BAD_REQUEST;
+    }
+
+    /**
+     * Malformed input rejected by a step or request parsing.
+     */
+    public static ProblemDetail invalidRequest(IllegalArgumentException ex, String instance) {
+        return create(HttpStatus.BAD_REQUEST, "Invalid request", ex.getMessage(), "INVALID_REQUEST", instance);
+    }
+
+    /**
+     * Client exceeded its byte budget; carries {@code code=RATE_LIMITED} and the suggested wait.
+     */
+    public static ProblemDetail rateLimited(RateLimitExceededException ex, String instance) {
+        ProblemDetail pd = create(HttpStatus.TOO_MANY_REQUESTS, "Rate limit exceeded", ex.getMessage(), "RATE_LIMITED", instance);
+        pd.setProperty("code", "RATE_LIMITED");
+        pd.setProperty("retryAfterSeconds", retryAfterSeconds(ex));
+        return pd;
+    }
+
+    /**
+     * Whole seconds to put in {@code Retry-After}, rounded up and at least one.
+     */
+    public static long retryAfterSeconds(RateLimitExceededException ex) {
+        long millis = ex.getRetryAfter().toMillis();
+        return Math.max(1, (millis + 999) / 1000);
+    }
+
+    /**
+     * Unexpected failure; the detail never includes the exception message.
+     */
+    public static ProblemDetail internal(String instance) {
+        return create(HttpStatus.INTERNAL_SERVER_ERROR, "Internal error", "Unexpected server error.", "INTERNAL_ERROR", instance);
+    }
+
+    /**
+     * Creates a problem detail for a failure that has its own HTTP status (e.g. a full queue).
+     *
+     * @param status HTTP status
+     * @param title short summary
+     * @param detail human readable explanation
+     * @param type stable identifier appended to the error type URI
+     */
+    public static ProblemDetail forStatus(HttpStatus status, String title, String detail, String type) {
+        ProblemDetail pd = ProblemDetail.forStatus(status);
+        pd.setTitle(title);
+        pd.setDetail(detail);
+        pd.setType(URI.create(TYPE_BASE + type));
+        return pd;
+    }
+
+    /**
+     * Maps any exception to the matching problem detail.
+     */
+    public static ProblemDetail of(Exception ex, String instance) {
+        if (ex instanceof StegoException se) {
+            return stego(se, instance);
+        }
+        if (ex instanceof RateLimitExceededException rle) {
+            return rateLimited(rle, instance);
+        }
+        if (ex instanceof ErrorResponseException ere) {
+            ProblemDetail pd = ere.getBody();
+            pd.setInstance(URI.create(instance));
+            return pd;
+        }
+        if (ex instanceof IllegalArgumentException iae) {
+            return invalidRequest(iae, instance);
+        }
+        return internal(instance);
+    }
+
+    static ProblemDetail create(HttpStatus status, String title, String detail, String type, String instance) {
+        ProblemDetail pd = forStatus(status, title, detail, type);
+        pd.setInstance(URI.create(instance));
+        return pd;
+    }
+}
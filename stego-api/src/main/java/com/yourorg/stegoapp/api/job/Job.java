@@ -0,0 +1,39 @@
+package com.yourorg.stegoapp.api.job;
+
+import com.yourorg.stegoapp.api.text.dto.PipelineStepDto;
+import com.yourorg.stegoapp.core.CancellationToken;
+import org.springframework.http.ProblemDetail;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Mutable state of one job. Fields written by the worker are volatile so status reads see progress
+ * without locking.
+ */
+final class Job {
+    final String id;
+    final boolean encode;
+    final List<PipelineStepDto> steps;
+    final Instant createdAt;
+    final long inputBytes;
+    // bound around the worker's chain loop; cancelled when the job is removed
+    final CancellationToken token = CancellationToken.create();
+
+    volatile JobState state = JobState.QUEUED;
+    volatile long outputBytes;
+    volatile Instant finishedAt;
+    volatile ProblemDetail error;
+
+    // guarded by this; decide who releases the output share when a job expires mid-run
+    boolean done;
+    boolean removed;
+
+    Job(String id, boolean encode, List<PipelineStepDto> steps, Instant createdAt, long inputBytes) {
+        this.id = id;
+        this.encode = encode;
+        this.steps = steps;
+        this.createdAt = createdAt;
+        this.inputBytes = inputBytes;
+    }
+}
@@ -0,0 +1,80 @@
+package com.yourorg.stegoapp.api.job;
+
+import com.yourorg.stegoapp.api.job.dto.JobStatusResponse;
+import com.yourorg.stegoapp.api.text.PipelineSpec;
+import com.yourorg.stegoapp.api.text.TextStreamController;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Asynchronous transforms for payloads too large to hold a request open for.
+ * <p>
+ * {@code POST /api/v1/jobs} takes a raw UTF-8 body and the pipeline in compact notation (as for the
+ * streaming endpoints) and answers {@code 202 Accepted} with the job's location. Clients poll
+ * {@code GET /api/v1/jobs/{id}} and download {@code GET /api/v1/jobs/{id}/result} once the job has
+ * succeeded; the download honours {@code Range} requests, so interrupted transfers can resume.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/v1/jobs")
+public class JobController {
+    private static final MediaType TEXT_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
+    private final JobService service;
+
+    public JobController(JobService service) {
+        this.service = service;
+    }
+
+    /**
+     * Spools the body and queues a job.
+     *
+     * @param operation {@code encode} or {@code decode}
+     */
+    @PostMapping(consumes = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<JobStatusResponse> submit(
+            @RequestParam(name = "operation") String operation,
+            @RequestParam(name = "pipeline", required = false) String pipeline,
+            @RequestHeader(name = TextStreamController.PIPELINE_HEADER, required = false) String pipelineHeader,
+            @RequestParam(name = "coverText", required = false) String coverText,
+            HttpServletRequest request) throws IOException {
+        boolean encode = switch (operation.toLowerCase(Locale.ROOT)) {
+            case "encode" -> true;
+            case "decode" -> false;
+            default -> throw new IllegalArgumentException("operation must be 'encode' or 'decode'");
+        };
+        JobStatusResponse status = service.submit(encode,
+                PipelineSpec.parse(pipeline != null ? pipeline : pipelineHeader, coverText), request.getInputStream());
+        URI location = ServletUriComponentsBuilder.fromCurrentRequestUri().path("/{id}").buildAndExpand(status.id()).toUri();
+        return ResponseEntity.accepted().location(location).body(status);
+    }
+
+    @GetMapping("/{id}")
+    public JobStatusResponse status(@PathVariable("id") String id) {
+        return service.status(id);
+    }
+
+    /**
+     * Returns the result of a succeeded job; {@code 409} while it is still queued or running.
+     */
+    @GetMapping("/{id}/result")
+    public ResponseEntity<Resource> result(@PathVariable("id") String id) {
+        return ResponseEntity.ok().contentType(TEXT_UTF8).body(new FileSystemResource(service.result(id)));
+    }
+}
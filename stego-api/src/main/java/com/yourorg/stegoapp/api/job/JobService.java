@@ -0,0 +1,191 @@
+package com.yourorg.stegoapp.api.job;
+
+import com.yourorg.stegoapp.api.error.ProblemDetails;
+import com.yourorg.stegoapp.api.job.dto.JobStatusResponse;
+import com.yourorg.stegoapp.api.text.TextTransformService;
+import com.yourorg.stegoapp.api.text.dto.PipelineStepDto;
+import com.yourorg.stegoapp.core.CancellationToken;
+import com.yourorg.stegoapp.core.codec.CodecChain;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.ErrorResponseException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs large transforms asynchronously, off the request threads.
+ * <p>
+ * The request body is spooled to disk while it is received, the job is queued on the dedicated
+ * {@code jobExecutor}, and the worker streams the memory-mapped input through the pipeline's codec
+ * chain into the result file. Jobs and their files are removed {@code stego.jobs.ttl} after
+ * submission; a job removed while running is cancelled and stops within one chunk. Only steps with a byte-level form are supported, as for the streaming endpoints.
+ * </p>
+ */
+@Service
+public class JobService {
+    private final TextTransformService transforms;
+    private final ExecutorService executor;
+    private final JobSpool spool;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public JobService(TextTransformService transforms,
+                      @Qualifier("jobExecutor") ExecutorService executor,
+                      @Value("${stego.jobs.spool-dir:${java.io.tmpdir}/stego-jobs}") Path spoolDir,
+                      @Value("${stego.jobs.max-spool-bytes:1073741824}") long maxSpoolBytes,
+                      @Value("${stego.jobs.ttl:PT1H}") Duration ttl) throws IOException {
+        this(transforms, executor, new JobSpool(spoolDir, maxSpoolBytes), ttl, Clock.systemUTC());
+    }
+
+    JobService(TextTransformService transforms, ExecutorService executor, JobSpool spool, Duration ttl, Clock clock) {
+        this.transforms = transforms;
+        this.executor = executor;
+        this.spool = spool;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * Validates the pipeline, spools {@code body} and queues the job.
+     *
+     * @throws ErrorResponseException {@code 413} if the spool is full, {@code 503} if the job queue is full
+     */
+    public JobStatusResponse submit(boolean encode, List<PipelineStepDto> steps, InputStream body) throws IOException {
+        // fail on unsupported pipelines before reading the body
+        try (CodecChain ignored = open(encode, steps)) {
+            // validation only
+        }
+        String id = UUID.randomUUID().toString();
+        long inputBytes = spool.writeInput(id, body);
+        Job job = new Job(id, encode, steps, clock.instant(), inputBytes);
+        jobs.put(id, job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            remove(job);
+            throw new ErrorResponseException(HttpStatus.SERVICE_UNAVAILABLE,
+                    ProblemDetails.forStatus(HttpStatus.SERVICE_UNAVAILABLE, "Job queue full", "Too many queued jobs; retry later.", "JOB_QUEUE_FULL"), e);
+        }
+        return status(job);
+    }
+
+    /**
+     * Returns the status of a job.
+     *
+     * @throws ErrorResponseException {@code 404} if the job does not exist or has expired
+     */
+    public JobStatusResponse status(String id) {
+        return status(find(id));
+    }
+
+    /**
+     * Returns the result file of a finished job.
+     *
+     * @throws ErrorResponseException {@code 404} if unknown, {@code 409} if the job has not succeeded
+     */
+    public Path result(String id) {
+        Job job = find(id);
+        if (job.state != JobState.SUCCEEDED) {
+            throw new ErrorResponseException(HttpStatus.CONFLICT,
+                    ProblemDetails.forStatus(HttpStatus.CONFLICT, "Job not finished", "Job " + id + " is " + job.state + ".", "JOB_NOT_READY"), null);
+        }
+        return spool.output(id);
+    }
+
+    /**
+     * Removes jobs older than the TTL, including queued or running ones; running ones are cancelled.
+     */
+    @Scheduled(fixedDelayString = "${stego.jobs.cleanup-interval:PT1M}")
+    public void expire() {
+        Instant cutoff = clock.instant().minus(ttl);
+        for (Job job : jobs.values()) {
+            if (job.createdAt.isBefore(cutoff)) {
+                remove(job);
+            }
+        }
+    }
+
+    private void run(Job job) {
+        synchronized (job) {
+            if (job.removed) {
+                return; // expired while queued
+            }
+            job.state = JobState.RUNNING;
+        }
+        JobState outcome = JobState.FAILED;
+        try (CodecChain chain = open(job.encode, job.steps);
+             WritableByteChannel out = spool.openOutput(job.id);
+             CancellationToken.Binding ignored = job.token.bind()) {
+            try {
+                spool.readInput(job.id, window -> {
+                    chain.update(window, out);
+                    job.outputBytes = chain.bytesWritten();
+                });
+                chain.finish(out);
+            } finally {
+                job.outputBytes = chain.bytesWritten();
+            }
+            outcome = JobState.SUCCEEDED;
+        } catch (Exception e) {
+            job.error = ProblemDetails.of(e, "/api/v1/jobs/" + job.id);
+        } finally {
+            synchronized (job) {
+                // the terminal state and done flip together, so remove() never sees one without the other
+                job.finishedAt = clock.instant();
+                job.state = outcome;
+                job.done = true;
+                if (job.removed) {
+                    // expired while running; the cleanup left the output share to us
+                    spool.delete(job.id, 0, job.outputBytes);
+                }
+            }
+        }
+    }
+
+    private CodecChain open(boolean encode, List<PipelineStepDto> steps) {
+        return encode ? transforms.openEncodeStream(steps) : transforms.openDecodeStream(steps);
+    }
+
+    private Job find(String id) {
+        Job job = jobs.get(id);
+        if (job == null) {
+            throw new ErrorResponseException(HttpStatus.NOT_FOUND,
+                    ProblemDetails.forStatus(HttpStatus.NOT_FOUND, "Job not found", "No job " + id + ".", "JOB_NOT_FOUND"), null);
+        }
+        return job;
+    }
+
+    private void remove(Job job) {
+        if (jobs.remove(job.id, job)) {
+            job.token.cancel();
+            synchronized (job) {
+                job.removed = true;
+                // until the worker is done it may still be writing; it then releases the output share itself
+                spool.delete(job.id, job.inputBytes, job.done ? job.outputBytes : 0);
+            }
+        }
+    }
+
+    private JobStatusResponse status(Job job) {
+        return new JobStatusResponse(job.id, job.state, job.inputBytes, job.outputBytes,
+                job.createdAt, job.createdAt.plus(ttl), job.error);
+    }
+}
@@ -0,0 +1,156 @@
+package com.yourorg.stegoapp.api.job;
+
+import com.yourorg.stegoapp.api.error.ProblemDetails;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.ErrorResponseException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size-capped local directory holding job inputs and results.
+ * <p>
+ * Every byte written is reserved against {@code maxBytes} first, so the spool never grows past its
+ * cap; deleting a job's files releases its share. Inputs are read back through read-only memory maps,
+ * one window at a time, so large files are never copied onto the heap.
+ * </p>
+ */
+final class JobSpool {
+    /** Size of each read-only mapping of an input file. */
+    static final int MAP_WINDOW = 64 << 20;
+
+    private static final int COPY_BUFFER = 64 * 1024;
+
+    private final Path dir;
+    private final long maxBytes;
+    private final AtomicLong used = new AtomicLong();
+
+    JobSpool(Path dir, long maxBytes) throws IOException {
+        this.dir = Files.createDirectories(dir);
+        this.maxBytes = maxBytes;
+        // job state is in memory only, so files from a previous run are orphans
+        try (DirectoryStream<Path> stale = Files.newDirectoryStream(dir, "*.{in,out}")) {
+            for (Path p : stale) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    Path input(String id) {
+        return dir.resolve(id + ".in");
+    }
+
+    Path output(String id) {
+        return dir.resolve(id + ".out");
+    }
+
+    long usedBytes() {
+        return used.get();
+    }
+
+    /**
+     * Copies {@code in} to the job's input file.
+     *
+     * @return bytes written
+     * @throws ErrorResponseException {@code 413} if the spool cap would be exceeded
+     */
+    long writeInput(String id, InputStream in) throws IOException {
+        long total = 0;
+        try (FileChannel out = FileChannel.open(input(id), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            byte[] buf = new byte[COPY_BUFFER];
+            int n;
+            while ((n = in.read(buf)) >= 0) {
+                reserve(n, HttpStatus.PAYLOAD_TOO_LARGE);
+                total += n;
+                ByteBuffer chunk = ByteBuffer.wrap(buf, 0, n);
+                while (chunk.hasRemaining()) {
+                    out.write(chunk);
+                }
+            }
+            return total;
+        } catch (IOException | RuntimeException e) {
+            delete(id, total, 0);
+            throw e;
+        }
+    }
+
+    /**
+     * Feeds the job's input to {@code consumer} as successive read-only mapped windows.
+     */
+    void readInput(String id, WindowConsumer consumer) throws IOException {
+        try (FileChannel in = FileChannel.open(input(id), StandardOpenOption.READ)) {
+            long size = in.size();
+            for (long pos = 0; pos < size; pos += MAP_WINDOW) {
+                MappedByteBuffer window = in.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(MAP_WINDOW, size - pos));
+                consumer.accept(window);
+            }
+        }
+    }
+
+    /**
+     * Opens the job's result file for writing; each write is reserved against the cap.
+     */
+    WritableByteChannel openOutput(String id) throws IOException {
+        FileChannel file = FileChannel.open(output(id), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        return new WritableByteChannel() {
+            @Override
+            public int write(ByteBuffer src) throws IOException {
+                int n = src.remaining();
+                reserve(n, HttpStatus.INSUFFICIENT_STORAGE);
+                while (src.hasRemaining()) {
+                    file.write(src);
+                }
+                return n;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return file.isOpen();
+            }
+
+            @Override
+            public void close() throws IOException {
+                file.close();
+            }
+        };
+    }
+
+    /**
+     * Deletes a job's files and releases the bytes reserved for them.
+     */
+    void delete(String id, long inputBytes, long outputBytes) {
+        try {
+            Files.deleteIfExists(input(id));
+            Files.deleteIfExists(output(id));
+        } catch (IOException e) {
+            // best effort; the next start clears the directory
+        }
+        used.addAndGet(-(inputBytes + outputBytes));
+    }
+
+    private void reserve(long n, HttpStatus status) {
+        long current;
+        do {
+            current = used.get();
+            if (current + n > maxBytes) {
+                throw new ErrorResponseException(status,
+                        ProblemDetails.forStatus(status, "Spool full", "Job spool limit of " + maxBytes + " bytes reached.", "SPOOL_FULL"), null);
+            }
+        } while (!used.compareAndSet(current, current + n));
+    }
+
+    /** Receives one mapped window of an input file. */
+    @FunctionalInterface
+    interface WindowConsumer {
+        void accept(ByteBuffer window) throws IOException;
+    }
+}
@@ -0,0 +1,15 @@
+package com.yourorg.stegoapp.api.job;
+
+/**
+ * Lifecycle of an asynchronous transform job.
+ */
+public enum JobState {
+    /** Accepted and waiting for a worker. */
+    QUEUED,
+    /** Being transformed. */
+    RUNNING,
+    /** Finished; the result can be downloaded until the job expires. */
+    SUCCEEDED,
+    /** Finished with an error; see the job's problem detail. */
+    FAILED
+}
@@ -0,0 +1,30 @@
+package com.yourorg.stegoapp.api.job.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.yourorg.stegoapp.api.job.JobState;
+import org.springframework.http.ProblemDetail;
+
+import java.time.Instant;
+
+/**
+ * Job status payload.
+ *
+ * @param id job id
+ * @param state current state
+ * @param inputBytes size of the spooled input (UTF-8 bytes)
+ * @param outputBytes result bytes written so far
+ * @param createdAt submission time
+ * @param expiresAt time after which the job and its files are removed
+ * @param error problem detail when {@code state} is {@code FAILED}
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record JobStatusResponse(
+        String id,
+        JobState state,
+        long inputBytes,
+        long outputBytes,
+        Instant createdAt,
+        Instant expiresAt,
+        ProblemDetail error
+) {
+}
@@ -0,0 +1,180 @@
+package com.yourorg.stegoapp.api.live;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourorg.stegoapp.api.live.dto.LiveRequest;
+import com.yourorg.stegoapp.api.live.dto.LiveResponse;
+import com.yourorg.stegoapp.api.text.TextTransformService;
+import com.yourorg.stegoapp.api.text.dto.PipelineStepDto;
+import com.yourorg.stegoapp.core.error.StegoException;
+import com.yourorg.stegoapp.service.IncrementalEncoder;
+import com.yourorg.stegoapp.service.TextEdit;
+import jakarta.websocket.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Live-encoding sessions for editors that encode as the user types.
+ * <p>
+ * One socket holds one document. The client opens it with a pipeline and optional initial text, then
+ * sends edits (insert/delete ranges in UTF-16 chars); every request is answered with the matching
+ * edits of the encoded output, computed by an {@link IncrementalEncoder}, so the cost of a keystroke
+ * is proportional to the edit rather than to the document. Only block-local steps ({@code BASE64},
+ * {@code EMOJI}, raw {@code ZERO_WIDTH}) can be used.
+ * </p>
+ * <p>
+ * Edits of one request are applied in order. If one fails, the edits before it stay applied and are
+ * reported in a {@code delta} sent before the {@code error}, so client and server never disagree
+ * about the document. Documents are capped at {@code stego.live.max-document-length} chars, messages
+ * at {@code stego.live.max-message-bytes}, and idle sockets are closed after
+ * {@code stego.live.idle-timeout}.
+ * </p>
+ */
+@Component
+public class LiveEncodingHandler extends TextWebSocketHandler {
+    private static final String DOCUMENT = LiveEncodingHandler.class.getName() + ".document";
+
+    private final ObjectMapper mapper;
+    private final TextTransformService service;
+    private final int maxDocumentLength;
+    private final int maxMessageBytes;
+    private final Duration idleTimeout;
+
+    public LiveEncodingHandler(ObjectMapper mapper, TextTransformService service,
+                               @Value("${stego.live.max-document-length:1048576}") int maxDocumentLength,
+                               @Value("${stego.live.max-message-bytes:1048576}") int maxMessageBytes,
+                               @Value("${stego.live.idle-timeout:PT10M}") Duration idleTimeout) {
+        this.mapper = mapper;
+        this.service = service;
+        this.maxDocumentLength = maxDocumentLength;
+        this.maxMessageBytes = maxMessageBytes;
+        this.idleTimeout = idleTimeout;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        session.setTextMessageSizeLimit(maxMessageBytes);
+        if (session instanceof NativeWebSocketSession nativeSession
+                && nativeSession.getNativeSession() instanceof Session socket) {
+            socket.setMaxIdleTimeout(idleTimeout.toMillis());
+        }
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws IOException {
+        for (LiveResponse response : handle(session, message.getPayload())) {
+            session.sendMessage(new TextMessage(mapper.writeValueAsString(response)));
+        }
+    }
+
+    private List<LiveResponse> handle(WebSocketSession session, String payload) {
+        LiveRequest request;
+        try {
+            request = mapper.readValue(payload, LiveRequest.class);
+        } catch (JsonProcessingException e) {
+            return List.of(LiveResponse.error("INVALID_REQUEST", "Malformed message: " + e.getOriginalMessage()));
+        }
+        try {
+            if ("open".equals(request.type())) {
+                return List.of(open(session, request));
+            }
+            if ("edit".equals(request.type())) {
+                return edit(session, request);
+            }
+            throw new IllegalArgumentException("type must be 'open' or 'edit'");
+        } catch (StegoException e) {
+            return List.of(LiveResponse.error(e.getCode().name(), e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return List.of(LiveResponse.error("INVALID_REQUEST", e.getMessage()));
+        }
+    }
+
+    private LiveResponse open(WebSocketSession session, LiveRequest request) {
+        List<PipelineStepDto> steps = request.pipeline();
+        if (steps == null || steps.isEmpty()) {
+            throw new IllegalArgumentException("pipeline must contain at least one step");
+        }
+        for (int i = 0; i < steps.size(); i++) {
+            if (steps.get(i) == null || steps.get(i).type() == null) {
+                throw new IllegalArgumentException("pipeline[" + i + "].type is required");
+            }
+        }
+        String text = request.text() == null ? "" : request.text();
+        if (text.length() > maxDocumentLength) {
+            throw new IllegalArgumentException("Document exceeds " + maxDocumentLength + " chars");
+        }
+
+        IncrementalEncoder encoder = service.compile(steps).newIncrementalEncoder();
+        TextEdit initial = encoder.apply(new TextEdit(0, 0, text));
+        Document previous = (Document) session.getAttributes().get(DOCUMENT);
+        Document document = new Document(encoder, previous == null ? 0 : previous.version);
+        session.getAttributes().put(DOCUMENT, document);
+
+        // replaces whatever the client shows, including the output of a previous pipeline
+        int previousLength = previous == null ? 0 : previous.encoder.outputLength();
+        return LiveResponse.delta(++document.version, List.of(new TextEdit(0, previousLength, initial.insert())),
+                encoder.outputLength());
+    }
+
+    private List<LiveResponse> edit(WebSocketSession session, LiveRequest request) {
+        Document document = (Document) session.getAttributes().get(DOCUMENT);
+        if (document == null) {
+            return List.of(LiveResponse.error("SESSION_NOT_OPEN", "Send an 'open' message first"));
+        }
+        if (request.edits() == null) {
+            throw new IllegalArgumentException("edits is required");
+        }
+        IncrementalEncoder encoder = document.encoder;
+        List<TextEdit> deltas = new ArrayList<>(request.edits().size());
+        LiveResponse failure = null;
+        for (TextEdit edit : request.edits()) {
+            try {
+                if (edit == null) {
+                    throw new IllegalArgumentException("edits must not contain null");
+                }
+                if (edit.insert().length() - edit.deleteCount() > maxDocumentLength - encoder.length()) {
+                    throw new IllegalArgumentException("Document exceeds " + maxDocumentLength + " chars");
+                }
+                TextEdit delta = encoder.apply(edit);
+                if (!delta.isEmpty()) {
+                    deltas.add(delta);
+                }
+            } catch (StegoException e) {
+                failure = LiveResponse.error(e.getCode().name(), e.getMessage());
+                break;
+            } catch (IllegalArgumentException e) {
+                failure = LiveResponse.error("INVALID_REQUEST", e.getMessage());
+                break;
+            }
+        }
+        if (failure == null) {
+            return List.of(LiveResponse.delta(++document.version, deltas, encoder.outputLength()));
+        }
+        if (deltas.isEmpty()) {
+            return List.of(failure);
+        }
+        return List.of(LiveResponse.delta(++document.version, deltas, encoder.outputLength()), failure);
+    }
+
+    /**
+     * State of one socket; only touched by that socket's message thread.
+     */
+    private static final class Document {
+        final IncrementalEncoder encoder;
+        long version;
+
+        Document(IncrementalEncoder encoder, long version) {
+            this.encoder = encoder;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.yourorg.stegoapp.api.live.dto;
+
+import com.yourorg.stegoapp.api.text.dto.PipelineStepDto;
+import com.yourorg.stegoapp.service.TextEdit;
+
+import java.util.List;
+
+/**
+ * Client message on the live-encoding socket.
+ *
+ * @param type {@code open} to start (or restart) the document, {@code edit} to change it
+ * @param pipeline steps for {@code open}, in encode order
+ * @param text initial document for {@code open} (optional, defaults to empty)
+ * @param edits edits for {@code edit}, applied in order; offsets refer to the document as left by
+ *              the previous edit
+ */
+public record LiveRequest(
+        String type,
+        List<PipelineStepDto> pipeline,
+        String text,
+        List<TextEdit> edits
+) {
+}
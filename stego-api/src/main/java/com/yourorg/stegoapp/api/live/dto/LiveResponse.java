@@ -0,0 +1,40 @@
+package com.yourorg.stegoapp.api.live.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.yourorg.stegoapp.service.TextEdit;
+
+import java.util.List;
+
+/**
+ * Server message on the live-encoding socket.
+ *
+ * @param type {@code delta} or {@code error}
+ * @param version document version after the request (one per applied request)
+ * @param edits edits of the encoded output, to apply in order; empty if the output did not change
+ * @param length encoded output length after the edits, for client-side consistency checks
+ * @param code stable error code ({@code error} only)
+ * @param detail human readable explanation ({@code error} only)
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record LiveResponse(
+        String type,
+        Long version,
+        List<TextEdit> edits,
+        Integer length,
+        String code,
+        String detail
+) {
+    /**
+     * Output edits for an applied request.
+     */
+    public static LiveResponse delta(long version, List<TextEdit> edits, int length) {
+        return new LiveResponse("delta", version, edits, length, null, null);
+    }
+
+    /**
+     * Rejected request; the document is as described by the last {@code delta}.
+     */
+    public static LiveResponse error(String code, String detail) {
+        return new LiveResponse("error", null, null, null, code, detail);
+    }
+}
@@ -0,0 +1,143 @@
+package com.yourorg.stegoapp.api.metrics;
+
+import com.yourorg.stegoapp.core.error.StegoErrorCode;
+import com.yourorg.stegoapp.core.error.StegoException;
+import com.yourorg.stegoapp.core.instrument.Direction;
+import com.yourorg.stegoapp.core.instrument.TransformListener;
+import com.yourorg.stegoapp.core.model.StepType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.ErrorResponseException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer instrumentation for string transforms and each step they run.
+ * <p>
+ * Meters ({@code direction} is {@code encode} or {@code decode}):
+ * </p>
+ * <ul>
+ *   <li>{@code stego.transform} timer and {@code stego.transform.active} gauge per direction</li>
+ *   <li>{@code stego.step} timer per step {@code type} and direction</li>
+ *   <li>{@code stego.step.input} / {@code stego.step.output} summaries of UTF-8 bytes per step</li>
+ *   <li>{@code stego.errors} counter per {@code code} ({@link StegoErrorCode} name, or the problem
+ *       type for other failures)</li>
+ * </ul>
+ * <p>
+ * Step meters are fed through the core {@link TransformListener} SPI, so pipelines compiled with this
+ * listener report sizes the engine has already measured. Every meter on the success path is
+ * registered up front and held in arrays indexed by step type and direction, so recording never looks
+ * anything up in the registry.
+ * </p>
+ */
+@Component
+public class TransformMetrics implements TransformListener {
+    private static final String[] DIRECTIONS = {"encode", "decode"};
+
+    private final MeterRegistry registry;
+    private final Timer[] transformTimers = new Timer[2];
+    private final AtomicInteger[] active = new AtomicInteger[2];
+    private final StepMeters[][] stepMeters = new StepMeters[StepType.values().length][2];
+    private final Map<String, Counter> errors = new ConcurrentHashMap<>();
+
+    public TransformMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (int d = 0; d < 2; d++) {
+            transformTimers[d] = Timer.builder("stego.transform")
+                    .description("String transforms, including queueing on the transform pool")
+                    .tag("direction", DIRECTIONS[d])
+                    .register(registry);
+            active[d] = registry.gauge("stego.transform.active",
+                    Tags.of("direction", DIRECTIONS[d]), new AtomicInteger());
+            for (StepType type : StepType.values()) {
+                stepMeters[type.ordinal()][d] = new StepMeters(registry, type, DIRECTIONS[d]);
+            }
+        }
+    }
+
+    /**
+     * Runs {@code transform}, recording its duration, in-flight count and failure code.
+     */
+    public <T> T record(boolean encode, Supplier<T> transform) {
+        int d = encode ? 0 : 1;
+        active[d].incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            T result = transform.get();
+            transformTimers[d].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (RuntimeException e) {
+            error(e);
+            throw e;
+        } finally {
+            active[d].decrementAndGet();
+        }
+    }
+
+    /**
+     * Counts a failure that happened outside {@link #record}, e.g. while compiling a pipeline.
+     */
+    public void error(RuntimeException e) {
+        errors.computeIfAbsent(code(e), code -> Counter.builder("stego.errors")
+                .description("Failed transforms by error code")
+                .tag("code", code)
+                .register(registry)).increment();
+    }
+
+    @Override
+    public void stepCompleted(StepType type, Direction direction, long inputBytes, long outputBytes, long nanos) {
+        stepMeters[type.ordinal()][direction.ordinal()].record(nanos, inputBytes, outputBytes);
+    }
+
+    private static String code(RuntimeException e) {
+        if (e instanceof StegoException se) {
+            return se.getCode().name();
+        }
+        if (e instanceof ErrorResponseException ere) {
+            return "HTTP_" + ere.getStatusCode().value();
+        }
+        if (e instanceof IllegalArgumentException) {
+            return "INVALID_REQUEST";
+        }
+        return "INTERNAL_ERROR";
+    }
+
+    /** Pre-registered meters of one step type and direction. */
+    private static final class StepMeters {
+        private final Timer timer;
+        private final DistributionSummary input;
+        private final DistributionSummary output;
+
+        private StepMeters(MeterRegistry registry, StepType type, String direction) {
+            this.timer = Timer.builder("stego.step")
+                    .description("Time spent in one pipeline step")
+                    .tags("type", type.name(), "direction", direction)
+                    .register(registry);
+            this.input = DistributionSummary.builder("stego.step.input")
+                    .description("UTF-8 bytes consumed by one pipeline step")
+                    .baseUnit("bytes")
+                    .tags("type", type.name(), "direction", direction)
+                    .register(registry);
+            this.output = DistributionSummary.builder("stego.step.output")
+                    .description("UTF-8 bytes produced by one pipeline step")
+                    .baseUnit("bytes")
+                    .tags("type", type.name(), "direction", direction)
+                    .register(registry);
+        }
+
+        private void record(long nanos, long inputBytes, long outputBytes) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+            input.record(inputBytes);
+            output.record(outputBytes);
+        }
+    }
+}
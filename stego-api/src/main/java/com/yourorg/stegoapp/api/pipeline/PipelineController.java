@@ -0,0 +1,64 @@
+package com.yourorg.stegoapp.api.pipeline;
+
+import com.yourorg.stegoapp.api.pipeline.dto.PipelineDefinition;
+import com.yourorg.stegoapp.api.pipeline.dto.PipelineResponse;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Named pipeline registry ({@link PipelineRegistry}).
+ * <p>
+ * {@code PUT} answers {@code 201} for a new id and {@code 200} otherwise, and honours
+ * {@code If-Match} for optimistic updates. Every response carries the entry's {@code ETag}, so clients
+ * can revalidate with {@code If-None-Match} and notice when a shared pipeline changed.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/v1/pipelines")
+public class PipelineController {
+    private final PipelineRegistry registry;
+
+    public PipelineController(PipelineRegistry registry) {
+        this.registry = registry;
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<PipelineResponse> put(@PathVariable("id") String id,
+                                                @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                @Valid @RequestBody PipelineDefinition definition) {
+        PipelineRegistry.Registration registration = registry.put(id, definition.pipeline(), ifMatch);
+        RegisteredPipeline registered = registration.pipeline();
+        HttpStatus status = registration.created() ? HttpStatus.CREATED : HttpStatus.OK;
+        return ResponseEntity.status(status).eTag(registered.etag()).body(toResponse(registered));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<PipelineResponse> get(@PathVariable("id") String id, WebRequest request) {
+        RegisteredPipeline registered = registry.get(id);
+        if (request.checkNotModified(registered.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(registered.etag()).body(toResponse(registered));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable("id") String id) {
+        registry.remove(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    private static PipelineResponse toResponse(RegisteredPipeline registered) {
+        return new PipelineResponse(registered.id(), registered.version(), registered.steps());
+    }
+}
@@ -0,0 +1,127 @@
+package com.yourorg.stegoapp.api.pipeline;
+
+import com.yourorg.stegoapp.api.error.ProblemDetails;
+import com.yourorg.stegoapp.api.text.TextTransformService;
+import com.yourorg.stegoapp.api.text.dto.PipelineStepDto;
+import com.yourorg.stegoapp.service.CompiledPipeline;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.ErrorResponseException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory registry of named pipelines.
+ * <p>
+ * Definitions are mapped and validated once when registered and kept as a {@link CompiledPipeline},
+ * so requests that reference them by id skip DTO mapping, validation and step creation. Each change
+ * bumps the entry's version; re-registering an identical definition keeps it, so clients can
+ * {@code PUT} unconditionally at start-up. The number of entries is capped by
+ * {@code stego.pipelines.max-entries}.
+ * </p>
+ */
+@Component
+public class PipelineRegistry {
+    private static final Pattern ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private final TextTransformService service;
+    private final int maxEntries;
+    private final Map<String, RegisteredPipeline> pipelines = new ConcurrentHashMap<>();
+
+    public PipelineRegistry(TextTransformService service,
+                            @Value("${stego.pipelines.max-entries:1000}") int maxEntries) {
+        this.service = service;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Registers or replaces a pipeline.
+     *
+     * @param id registry id ({@code [A-Za-z0-9._-]}, at most 64 characters)
+     * @param steps definition to register
+     * @param ifMatch entity tag the caller expects the current entry to have, or {@code null}
+     * @return the entry now registered under {@code id}, and whether the id was new
+     * @throws IllegalArgumentException if {@code id} is malformed
+     * @throws com.yourorg.stegoapp.core.error.StegoException if the pipeline is invalid
+     * @throws ErrorResponseException {@code 412} if {@code ifMatch} does not match, {@code 507} if the
+     *                                registry is full
+     */
+    public Registration put(String id, List<PipelineStepDto> steps, String ifMatch) {
+        if (!ID.matcher(id).matches()) {
+            throw new IllegalArgumentException("pipeline id must match " + ID.pattern());
+        }
+        CompiledPipeline compiled = service.compile(steps);
+        List<PipelineStepDto> copy = List.copyOf(steps);
+        boolean[] created = new boolean[1];
+        RegisteredPipeline registered = pipelines.compute(id, (key, current) -> {
+            if (ifMatch != null && !matches(ifMatch, current)) {
+                throw new ErrorResponseException(HttpStatus.PRECONDITION_FAILED,
+                        ProblemDetails.forStatus(HttpStatus.PRECONDITION_FAILED, "Pipeline changed",
+                                "Pipeline " + id + " does not match " + ifMatch + ".", "PIPELINE_VERSION_MISMATCH"), null);
+            }
+            if (current == null) {
+                if (pipelines.size() >= maxEntries) {
+                    throw new ErrorResponseException(HttpStatus.INSUFFICIENT_STORAGE,
+                            ProblemDetails.forStatus(HttpStatus.INSUFFICIENT_STORAGE, "Registry full",
+                                    "At most " + maxEntries + " pipelines can be registered.", "REGISTRY_FULL"), null);
+                }
+                created[0] = true;
+                return new RegisteredPipeline(key, 1, copy, compiled);
+            }
+            if (current.steps().equals(copy)) {
+                return current;
+            }
+            return new RegisteredPipeline(key, current.version() + 1, copy, compiled);
+        });
+        return new Registration(registered, created[0]);
+    }
+
+    /**
+     * Returns a registered pipeline.
+     *
+     * @throws ErrorResponseException {@code 404} if no pipeline is registered under {@code id}
+     */
+    public RegisteredPipeline get(String id) {
+        RegisteredPipeline pipeline = pipelines.get(id);
+        if (pipeline == null) {
+            throw notFound(id);
+        }
+        return pipeline;
+    }
+
+    /**
+     * Removes a pipeline.
+     *
+     * @throws ErrorResponseException {@code 404} if no pipeline is registered under {@code id}
+     */
+    public void remove(String id) {
+        if (pipelines.remove(id) == null) {
+            throw notFound(id);
+        }
+    }
+
+    private static ErrorResponseException notFound(String id) {
+        return new ErrorResponseException(HttpStatus.NOT_FOUND,
+                ProblemDetails.forStatus(HttpStatus.NOT_FOUND, "Pipeline not found", "No pipeline " + id + ".", "PIPELINE_NOT_FOUND"), null);
+    }
+
+    private static boolean matches(String ifMatch, RegisteredPipeline current) {
+        if ("*".equals(ifMatch.trim())) {
+            return current != null;
+        }
+        return current != null && current.etag().equals(ifMatch.trim());
+    }
+
+    /**
+     * Outcome of {@link #put}.
+     *
+     * @param pipeline entry now registered
+     * @param created whether the id was not registered before
+     */
+    public record Registration(RegisteredPipeline pipeline, boolean created) {
+    }
+}
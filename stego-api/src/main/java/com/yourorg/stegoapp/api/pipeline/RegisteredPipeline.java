@@ -0,0 +1,28 @@
+package com.yourorg.stegoapp.api.pipeline;
+
+import com.yourorg.stegoapp.api.text.dto.PipelineStepDto;
+import com.yourorg.stegoapp.service.CompiledPipeline;
+
+import java.util.List;
+
+/**
+ * Registry entry: the definition as sent by the client and its compiled form.
+ *
+ * @param id registry id
+ * @param version starts at 1 and is incremented on every change
+ * @param steps definition as sent by the client
+ * @param compiled validated pipeline, ready to run
+ */
+public record RegisteredPipeline(
+        String id,
+        long version,
+        List<PipelineStepDto> steps,
+        CompiledPipeline compiled
+) {
+    /**
+     * Strong entity tag for this version, e.g. {@code "3"}.
+     */
+    public String etag() {
+        return "\"" + version + "\"";
+    }
+}
@@ -0,0 +1,52 @@
+package com.yourorg.stegoapp.api.pipeline;
+
+import com.yourorg.stegoapp.api.pipeline.dto.RegisteredTransformRequest;
+import com.yourorg.stegoapp.api.text.TextTransformService;
+import com.yourorg.stegoapp.api.text.dto.TextTransformResponse;
+import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Encode/decode with a registered pipeline: {@code POST /api/v1/text/encode?pipeline={id}}.
+ * <p>
+ * The body carries only the text. The response's {@code ETag} is the version of the pipeline that
+ * ran, so clients can tell when a shared definition was replaced underneath them.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/v1/text")
+public class RegisteredTextController {
+    private final PipelineRegistry registry;
+    private final TextTransformService service;
+
+    public RegisteredTextController(PipelineRegistry registry, TextTransformService service) {
+        this.registry = registry;
+        this.service = service;
+    }
+
+    @PostMapping(value = "/encode", params = "pipeline",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<TextTransformResponse> encode(@RequestParam("pipeline") String id,
+                                                        @Valid @RequestBody RegisteredTransformRequest request) {
+        RegisteredPipeline pipeline = registry.get(id);
+        String result = service.encode(request.text(), pipeline.compiled(), Boolean.TRUE.equals(request.header()));
+        return ResponseEntity.ok().eTag(pipeline.etag()).body(new TextTransformResponse(result));
+    }
+
+    @PostMapping(value = "/decode", params = "pipeline",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<TextTransformResponse> decode(@RequestParam("pipeline") String id,
+                                                        @Valid @RequestBody RegisteredTransformRequest request) {
+        RegisteredPipeline pipeline = registry.get(id);
+        String result = service.decode(request.text(), pipeline.compiled());
+        return ResponseEntity.ok().eTag(pipeline.etag()).body(new TextTransformResponse(result));
+    }
+}
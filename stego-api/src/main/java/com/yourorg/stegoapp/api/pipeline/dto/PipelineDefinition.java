@@ -0,0 +1,18 @@
+package com.yourorg.stegoapp.api.pipeline.dto;
+
+import com.yourorg.stegoapp.api.text.dto.PipelineStepDto;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Body of {@code PUT /api/v1/pipelines/{id}}.
+ *
+ * @param pipeline ordered list of steps (must contain at least one step)
+ */
+public record PipelineDefinition(
+        @NotNull @Size(min = 1) List<@Valid PipelineStepDto> pipeline
+) {
+}
@@ -0,0 +1,19 @@
+package com.yourorg.stegoapp.api.pipeline.dto;
+
+import com.yourorg.stegoapp.api.text.dto.PipelineStepDto;
+
+import java.util.List;
+
+/**
+ * A registered pipeline.
+ *
+ * @param id registry id
+ * @param version incremented whenever the definition changes; also sent as the {@code ETag}
+ * @param pipeline ordered list of steps
+ */
+public record PipelineResponse(
+        String id,
+        long version,
+        List<PipelineStepDto> pipeline
+) {
+}
@@ -0,0 +1,17 @@
+package com.yourorg.stegoapp.api.pipeline.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Encode/decode request for a registered pipeline; the pipeline is named by the {@code pipeline}
+ * query parameter instead of being sent in the body.
+ *
+ * @param text input text to encode/decode
+ * @param header when {@code true}, encode prefixes the output with a checksummed payload header
+ *               (optional; ignored by decode)
+ */
+public record RegisteredTransformRequest(
+        @NotNull String text,
+        Boolean header
+) {
+}
@@ -0,0 +1,102 @@
+package com.yourorg.stegoapp.api.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client token buckets measured in bytes.
+ * <p>
+ * Each client refills at {@code stego.ratelimit.bytes-per-second} up to
+ * {@code stego.ratelimit.burst-bytes}. A bucket is a single {@link AtomicLong} holding the time at
+ * which it will be full again (the generic cell rate algorithm), so admitting a request is one
+ * compare-and-set with no locks; the client map is a {@link ConcurrentHashMap}, whose bins are
+ * locked independently. A request larger than the burst is admitted only into a full bucket, which it
+ * then leaves in debt. Idle buckets are dropped by a periodic sweep.
+ * </p>
+ */
+@Component
+public class ClientRateLimiter {
+    private final double nanosPerByte;
+    private final long burstNanos;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final Counter rejected;
+
+    @Autowired
+    public ClientRateLimiter(@Value("${stego.ratelimit.bytes-per-second:8388608}") long bytesPerSecond,
+                             @Value("${stego.ratelimit.burst-bytes:67108864}") long burstBytes,
+                             MeterRegistry registry) {
+        this(bytesPerSecond, burstBytes, registry, System::nanoTime);
+    }
+
+    ClientRateLimiter(long bytesPerSecond, long burstBytes, MeterRegistry registry, LongSupplier clock) {
+        if (bytesPerSecond <= 0 || burstBytes <= 0) {
+            throw new IllegalArgumentException("bytes-per-second and burst-bytes must be positive");
+        }
+        this.nanosPerByte = (double) TimeUnit.SECONDS.toNanos(1) / bytesPerSecond;
+        this.burstNanos = (long) (burstBytes * nanosPerByte);
+        this.clock = clock;
+        this.rejected = Counter.builder("stego.ratelimit.rejected")
+                .description("Requests rejected by per-client rate limiting")
+                .register(registry);
+        Gauge.builder("stego.ratelimit.clients", buckets, ConcurrentHashMap::size)
+                .description("Clients with a non-full bucket")
+                .register(registry);
+    }
+
+    /**
+     * Takes {@code bytes} from the client's bucket.
+     *
+     * @param client client key
+     * @param bytes bytes about to be processed
+     * @throws RateLimitExceededException if the bucket does not hold enough
+     */
+    public void acquire(String client, long bytes) {
+        long cost = (long) Math.min(bytes * nanosPerByte, Long.MAX_VALUE / 4);
+        AtomicLong bucket = buckets.computeIfAbsent(client, k -> new AtomicLong());
+        while (true) {
+            long now = clock.getAsLong();
+            long full = bucket.get();
+            boolean wasFull = full - now <= 0;
+            long next = (wasFull ? now : full) + cost;
+            long excess = next - now - burstNanos;
+            if (excess > 0 && !wasFull) {
+                rejected.increment();
+                // the bucket drains by elapsed time, so the excess is exactly the wait
+                throw new RateLimitExceededException("Rate limit exceeded for " + describe(client), Duration.ofNanos(excess));
+            }
+            if (bucket.compareAndSet(full, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Drops buckets that have refilled completely; they behave exactly like a new bucket.
+     */
+    @Scheduled(fixedDelayString = "${stego.ratelimit.cleanup-interval:PT1M}")
+    public void sweep() {
+        long now = clock.getAsLong();
+        buckets.entrySet().removeIf(e -> e.getValue().get() - now <= 0);
+    }
+
+    int clients() {
+        return buckets.size();
+    }
+
+    private static String describe(String client) {
+        // never echo API keys back
+        return client.startsWith(RateLimitFilter.API_KEY_PREFIX) ? "this API key" : client;
+    }
+}
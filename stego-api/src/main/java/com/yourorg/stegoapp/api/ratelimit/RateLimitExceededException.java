@@ -0,0 +1,23 @@
+package com.yourorg.stegoapp.api.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a client has used up its byte budget; mapped to {@code 429} with code
+ * {@code RATE_LIMITED} by {@link com.yourorg.stegoapp.api.error.ApiExceptionHandler}.
+ */
+public class RateLimitExceededException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public RateLimitExceededException(String message, Duration retryAfter) {
+        super(message, null, false, false);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Returns how long the client should wait before the request would be admitted.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
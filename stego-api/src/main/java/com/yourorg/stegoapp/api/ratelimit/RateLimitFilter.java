@@ -0,0 +1,168 @@
+package com.yourorg.stegoapp.api.ratelimit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Admission control for {@code /api/**}: charges every request's body bytes to its client's bucket in
+ * {@link ClientRateLimiter}.
+ * <p>
+ * Clients are identified by the {@value #API_KEY_HEADER} header if it holds one of the configured
+ * {@code stego.ratelimit.api-keys}, and by the remote address otherwise, so an unknown key cannot buy a
+ * fresh bucket. A declared {@code Content-Length} is charged before anything is read, so an oversized upload is
+ * rejected without touching its body; bytes beyond it (chunked streaming uploads) are charged as the
+ * handler reads them, through either the input stream or the reader. Each request also costs at least {@code stego.ratelimit.min-request-bytes}.
+ * Rejections are rendered by the regular exception handling, so they are problem details with code
+ * {@code RATE_LIMITED}. Registered by {@link com.yourorg.stegoapp.api.config.RateLimitConfig}.
+ * </p>
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+    /** Header identifying the client; preferred over the remote address. */
+    public static final String API_KEY_HEADER = "X-Api-Key";
+
+    static final String API_KEY_PREFIX = "key:";
+
+    private final ClientRateLimiter limiter;
+    private final HandlerExceptionResolver resolver;
+    private final long minRequestBytes;
+    private final Set<String> apiKeys;
+
+    /**
+     * @param apiKeys keys that get a bucket of their own; blank entries are ignored
+     */
+    public RateLimitFilter(ClientRateLimiter limiter, HandlerExceptionResolver resolver, long minRequestBytes,
+                           Collection<String> apiKeys) {
+        this.limiter = limiter;
+        this.resolver = resolver;
+        this.minRequestBytes = minRequestBytes;
+        this.apiKeys = apiKeys.stream().map(String::strip).filter(k -> !k.isEmpty()).collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // CORS preflights carry no body and must not consume budget
+        return "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String client = clientKey(request);
+        long declared = Math.max(0, request.getContentLengthLong());
+        try {
+            limiter.acquire(client, Math.max(declared, minRequestBytes));
+        } catch (RateLimitExceededException e) {
+            resolver.resolveException(request, response, null, e);
+            return;
+        }
+        chain.doFilter(new MeteredRequest(request, client, Math.max(declared, minRequestBytes)), response);
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        if (apiKey != null && apiKeys.contains(apiKey.strip())) {
+            return API_KEY_PREFIX + apiKey.strip();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    /** Charges body bytes read beyond what was paid up front. */
+    private final class MeteredRequest extends HttpServletRequestWrapper {
+        private final String client;
+        private long prepaid;
+        private ServletInputStream stream;
+        private BufferedReader reader;
+
+        private MeteredRequest(HttpServletRequest request, String client, long prepaid) {
+            super(request);
+            this.client = client;
+            this.prepaid = prepaid;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (stream == null) {
+                stream = new MeteredStream(super.getInputStream());
+            }
+            return stream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            if (reader == null) {
+                String encoding = getCharacterEncoding();
+                Charset charset = encoding == null ? StandardCharsets.ISO_8859_1 : Charset.forName(encoding);
+                reader = new BufferedReader(new InputStreamReader(getInputStream(), charset));
+            }
+            return reader;
+        }
+
+        private void charge(int n) {
+            if (n <= 0) {
+                return;
+            }
+            if (prepaid >= n) {
+                prepaid -= n;
+                return;
+            }
+            long owed = n - prepaid;
+            prepaid = 0;
+            limiter.acquire(client, owed);
+        }
+
+        private final class MeteredStream extends ServletInputStream {
+            private final ServletInputStream in;
+
+            private MeteredStream(ServletInputStream in) {
+                this.in = in;
+            }
+
+            @Override
+            public int read() throws IOException {
+                int b = in.read();
+                if (b >= 0) {
+                    charge(1);
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int n = in.read(b, off, len);
+                charge(n);
+                return n;
+            }
+
+            @Override
+            public boolean isFinished() {
+                return in.isFinished();
+            }
+
+            @Override
+            public boolean isReady() {
+                return in.isReady();
+            }
+
+            @Override
+            public void setReadListener(ReadListener listener) {
+                in.setReadListener(listener);
+            }
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.yourorg.stegoapp.api.text;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourorg.stegoapp.api.text.dto.PipelineStepDto;
+import com.yourorg.stegoapp.core.CancellationToken;
+import com.yourorg.stegoapp.core.codec.CodecChain;
+import com.yourorg.stegoapp.core.codec.CodecWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Handles {@code TextTransformRequest}-shaped JSON bodies with Jackson's streaming parser, so the
+ * {@code text} value is never bound to a {@link String}.
+ * <p>
+ * The body is read up to the {@code text} field and the pipeline is validated before the response
+ * starts, so request errors are reported as regular problem details. When {@code pipeline} comes
+ * first, the text is copied from the parser into the codec chain as it is read; when it comes after
+ * {@code text}, the text has to be buffered until the pipeline is known. The result is written as
+ * {@code {"result": "..."}} with a streaming {@link JsonGenerator}, escaping each output chunk.
+ * </p>
+ * <p>
+ * Jackson still holds the raw string token in its own segmented buffer, so only the pipeline stages
+ * and the response are fully chunked. With {@code pipeline} first the text is kept once; with
+ * {@code text} first it is copied out of the parser, so it is held twice until the parser moves on.
+ * The maximum text length is set by {@code stego.stream.max-text-length} (characters) and defaults to
+ * Jackson's own limit for the non-streaming endpoints.
+ * </p>
+ */
+@Component
+public class JsonTextStreamer {
+    private static final TypeReference<List<PipelineStepDto>> STEPS = new TypeReference<>() {};
+    private static final int WRITER_BUFFER = 16 * 1024;
+
+    private final ObjectMapper mapper;
+    private final JsonFactory factory;
+    private final TextTransformService service;
+
+    public JsonTextStreamer(ObjectMapper mapper, TextTransformService service,
+                            @Value("${stego.stream.max-text-length:" + StreamReadConstraints.DEFAULT_MAX_STRING_LEN + "}") int maxTextLength) {
+        this.mapper = mapper;
+        this.service = service;
+        this.factory = mapper.getFactory().copy();
+        this.factory.setStreamReadConstraints(StreamReadConstraints.builder().maxStringLength(maxTextLength).build());
+        // the servlet container owns the response stream
+        this.factory.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Reads the request up to its text value and returns a body that encodes the rest.
+     *
+     * @throws IllegalArgumentException if the JSON is malformed or {@code text}/{@code pipeline} is missing
+     */
+    public StreamingResponseBody encode(InputStream body) throws IOException {
+        return prepare(body, true);
+    }
+
+    /**
+     * Reads the request up to its text value and returns a body that decodes the rest (steps applied in
+     * reverse order).
+     *
+     * @throws IllegalArgumentException if the JSON is malformed or {@code text}/{@code pipeline} is missing
+     */
+    public StreamingResponseBody decode(InputStream body) throws IOException {
+        return prepare(body, false);
+    }
+
+    private StreamingResponseBody prepare(InputStream body, boolean encode) throws IOException {
+        JsonParser parser = factory.createParser(body);
+        try {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Request body must be a JSON object");
+            }
+            List<PipelineStepDto> steps = null;
+            CharArrayWriter buffered = null;
+            boolean textPending = false;
+            while (!textPending && parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "pipeline" -> steps = readSteps(parser);
+                    case "text" -> {
+                        if (value != JsonToken.VALUE_STRING) {
+                            throw new IllegalArgumentException("text must be a string");
+                        }
+                        if (steps != null) {
+                            // stream it straight from the parser once the chain exists
+                            textPending = true;
+                        } else {
+                            buffered = new CharArrayWriter();
+                            parser.getText(buffered);
+                        }
+                    }
+                    case "header" -> {
+                        if (value == JsonToken.VALUE_TRUE) {
+                            throw new IllegalArgumentException("header is not supported on streaming endpoints");
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+            if (steps == null) {
+                throw new IllegalArgumentException("pipeline is required");
+            }
+            if (!textPending && buffered == null) {
+                throw new IllegalArgumentException("text is required");
+            }
+
+            CodecChain chain = encode ? service.openEncodeStream(steps) : service.openDecodeStream(steps);
+            CharArrayWriter text = buffered;
+            return out -> {
+                // see TextStreamController: interrupts from Spring cancel the chain
+                try (chain; parser; CancellationToken.Binding ignored = CancellationToken.create().bind()) {
+                    writeResult(chain, parser, text, out);
+                } catch (JsonProcessingException e) {
+                    throw malformed(e);
+                }
+            };
+        } catch (JsonProcessingException e) {
+            parser.close();
+            throw malformed(e);
+        } catch (IOException | RuntimeException e) {
+            parser.close();
+            throw e;
+        }
+    }
+
+    private static IllegalArgumentException malformed(JsonProcessingException e) {
+        return new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage(), e);
+    }
+
+    private List<PipelineStepDto> readSteps(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("pipeline must be an array");
+        }
+        List<PipelineStepDto> steps = mapper.readValue(parser, STEPS);
+        if (steps.isEmpty()) {
+            throw new IllegalArgumentException("pipeline must contain at least one step");
+        }
+        for (int i = 0; i < steps.size(); i++) {
+            if (steps.get(i) == null || steps.get(i).type() == null) {
+                throw new IllegalArgumentException("pipeline[" + i + "].type is required");
+            }
+        }
+        return steps;
+    }
+
+    private void writeResult(CodecChain chain, JsonParser parser, CharArrayWriter buffered, OutputStream out) throws IOException {
+        try (JsonGenerator gen = factory.createGenerator(out)) {
+            gen.writeStartObject();
+            gen.writeFieldName("result");
+            gen.writeRawValue("\"");
+            EscapingSink sink = new EscapingSink(gen);
+            CodecWriter writer = new CodecWriter(chain, sink, WRITER_BUFFER);
+            if (buffered != null) {
+                buffered.writeTo(writer);
+            } else {
+                parser.getText(writer);
+                // read the rest so a truncated or malformed body is still reported
+                while (parser.nextToken() != null) {
+                    parser.skipChildren();
+                }
+            }
+            writer.close();
+            sink.finish();
+            gen.writeRaw('"');
+            gen.writeEndObject();
+        }
+    }
+
+    /**
+     * Decodes UTF-8 output of the chain and writes it JSON-escaped into the open string value.
+     */
+    private static final class EscapingSink implements WritableByteChannel {
+        private final JsonGenerator gen;
+        private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        // bytes of a code point split across writes stay here until the rest arrives
+        private final ByteBuffer bytes = ByteBuffer.allocate(WRITER_BUFFER);
+        private final CharBuffer chars = CharBuffer.allocate(WRITER_BUFFER);
+        private final StringBuilder escaped = new StringBuilder();
+
+        private EscapingSink(JsonGenerator gen) {
+            this.gen = gen;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            int n = src.remaining();
+            while (src.hasRemaining()) {
+                int take = Math.min(bytes.remaining(), src.remaining());
+                ByteBuffer slice = src.slice(src.position(), take);
+                bytes.put(slice);
+                src.position(src.position() + take);
+
+                bytes.flip();
+                decoder.decode(bytes, chars, false);
+                bytes.compact();
+                emit(false);
+            }
+            return n;
+        }
+
+        /**
+         * Decodes the bytes still held at the end of the output, replacing a truncated sequence like
+         * {@code new String(bytes, UTF_8)} does, and writes the remaining chars.
+         */
+        void finish() throws IOException {
+            bytes.flip();
+            while (decoder.decode(bytes, chars, true).isOverflow()) {
+                emit(false);
+            }
+            while (decoder.flush(chars).isOverflow()) {
+                emit(false);
+            }
+            emit(true);
+        }
+
+        private void emit(boolean last) throws IOException {
+            chars.flip();
+            // a trailing high surrogate waits for its pair; writeRaw rejects split pairs
+            int end = chars.limit();
+            if (end > 0 && Character.isHighSurrogate(chars.get(end - 1))) {
+                if (last) {
+                    chars.put(end - 1, '\uFFFD');
+                } else {
+                    chars.limit(end - 1);
+                }
+            }
+            escaped.setLength(0);
+            JsonStringEncoder.getInstance().quoteAsString(chars, escaped);
+            gen.writeRaw(escaped.toString());
+            chars.position(chars.limit()).limit(end);
+            chars.compact();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+            // the generator is owned by the caller
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.yourorg.stegoapp.api.text;
+
+import com.yourorg.stegoapp.api.text.dto.PipelineStepDto;
+import com.yourorg.stegoapp.core.model.StepType;
+import com.yourorg.stegoapp.core.model.ZeroWidthMode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parses the compact pipeline notation used where a JSON body is not available (query parameters
+ * and headers of the streaming endpoints).
+ * <p>
+ * Steps are comma separated, in encode order; a zero-width mode may follow the type after a colon,
+ * e.g. {@code BASE64,ZERO_WIDTH:EMBED_IN_COVER}. Names are case-insensitive.
+ * </p>
+ */
+public final class PipelineSpec {
+    private PipelineSpec() {}
+
+    /**
+     * Parses {@code spec} into pipeline steps.
+     *
+     * @param spec compact pipeline notation (required)
+     * @param coverText cover text for {@code ZERO_WIDTH:EMBED_IN_COVER} steps (optional)
+     * @return parsed steps, never empty
+     * @throws IllegalArgumentException if the notation is malformed or names an unknown step/mode
+     */
+    public static List<PipelineStepDto> parse(String spec, String coverText) {
+        if (spec == null || spec.isBlank()) {
+            throw new IllegalArgumentException("pipeline is required");
+        }
+        List<PipelineStepDto> steps = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String token = part.trim();
+            int colon = token.indexOf(':');
+            StepType type = parseEnum(StepType.class, colon < 0 ? token : token.substring(0, colon), "step type");
+            ZeroWidthMode mode = null;
+            if (colon >= 0) {
+                if (type != StepType.ZERO_WIDTH) {
+                    throw new IllegalArgumentException(type + " does not take a mode");
+                }
+                mode = parseEnum(ZeroWidthMode.class, token.substring(colon + 1), "zero-width mode");
+            }
+            steps.add(new PipelineStepDto(type, mode, mode == ZeroWidthMode.EMBED_IN_COVER ? coverText : null));
+        }
+        return steps;
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String name, String what) {
+        try {
+            return Enum.valueOf(type, name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown " + what + ": '" + name.trim() + "'");
+        }
+    }
+}
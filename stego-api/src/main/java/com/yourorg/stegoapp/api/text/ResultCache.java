@@ -0,0 +1,235 @@
+package com.yourorg.stegoapp.api.text;
+
+import com.yourorg.stegoapp.core.model.Pipeline;
+import com.yourorg.stegoapp.core.model.StepConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Content-addressed cache of transform results.
+ * <p>
+ * Entries are keyed by a SHA-256 digest of the direction, header flag, pipeline (step types and
+ * options, including cover text) and input text, and evicted least-recently-used once their estimated
+ * size exceeds {@code stego.cache.max-bytes}; {@code 0} (the default) disables the cache. Concurrent
+ * misses for the same key are collapsed: one caller computes, the others wait for its result.
+ * </p>
+ * <p>
+ * Only pipelines whose steps are all {@link com.yourorg.stegoapp.core.model.StepType#isDeterministic()
+ * deterministic} are cached, and inputs too large to produce a cacheable entry are not hashed at all.
+ * Metrics: {@code stego.cache.requests} (tagged {@code result=hit|miss|shared|bypass}),
+ * {@code stego.cache.saved} (compute time avoided, seconds), {@code stego.cache.size} (bytes) and
+ * {@code stego.cache.entries}.
+ * </p>
+ */
+@Component
+public class ResultCache {
+    // object headers, map node and key, on top of the two char arrays
+    private static final long ENTRY_OVERHEAD = 160;
+
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<Key, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+    private long sizeBytes;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter shared;
+    private final Counter bypassed;
+    private final LongAdder savedNanos = new LongAdder();
+
+    public ResultCache(@Value("${stego.cache.max-bytes:0}") long maxBytes, MeterRegistry registry) {
+        this.maxBytes = maxBytes;
+        // a single entry may take at most an eighth of the cache, so one result cannot flush the rest
+        this.maxEntryBytes = maxBytes / 8;
+        this.hits = requests(registry, "hit");
+        this.misses = requests(registry, "miss");
+        this.shared = requests(registry, "shared");
+        this.bypassed = requests(registry, "bypass");
+        FunctionCounter.builder("stego.cache.saved", savedNanos, n -> n.sum() / 1e9)
+                .description("Transform time avoided by cache hits and shared computations")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("stego.cache.size", this, ResultCache::sizeBytes).baseUnit("bytes").register(registry);
+        Gauge.builder("stego.cache.entries", this, ResultCache::entryCount).register(registry);
+    }
+
+    private static Counter requests(MeterRegistry registry, String result) {
+        return Counter.builder("stego.cache.requests")
+                .description("Transform requests by cache outcome")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * Returns the cached result for the request or computes it with {@code transform}.
+     *
+     * @param encode direction
+     * @param header whether the result carries a payload header
+     * @param pipeline pipeline the transform runs
+     * @param text input text
+     * @param transform computes the result on a miss; its exceptions propagate to every waiting caller
+     * @return the result
+     */
+    public String get(boolean encode, boolean header, Pipeline pipeline, String text, Supplier<String> transform) {
+        if (!cacheable(pipeline, text)) {
+            bypassed.increment();
+            return transform.get();
+        }
+        Key key = Key.of(encode, header, pipeline, text);
+        Entry cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+        }
+        if (cached != null) {
+            hits.increment();
+            savedNanos.add(cached.computeNanos);
+            return cached.result;
+        }
+
+        CompletableFuture<Entry> mine = new CompletableFuture<>();
+        CompletableFuture<Entry> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            shared.increment();
+            return await(running);
+        }
+        misses.increment();
+        try {
+            long start = System.nanoTime();
+            Entry entry = new Entry(transform.get(), System.nanoTime() - start);
+            put(key, entry);
+            mine.complete(entry);
+            return entry.result;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    long sizeBytes() {
+        synchronized (entries) {
+            return sizeBytes;
+        }
+    }
+
+    int entryCount() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private boolean cacheable(Pipeline pipeline, String text) {
+        if (maxBytes <= 0 || 2L * text.length() + ENTRY_OVERHEAD > maxEntryBytes) {
+            return false;
+        }
+        for (StepConfig step : pipeline.steps()) {
+            if (!step.type().isDeterministic()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void put(Key key, Entry entry) {
+        if (entry.bytes > maxEntryBytes) {
+            return;
+        }
+        synchronized (entries) {
+            Entry previous = entries.put(key, entry);
+            sizeBytes += entry.bytes - (previous == null ? 0 : previous.bytes);
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (sizeBytes > maxBytes && eldest.hasNext()) {
+                sizeBytes -= eldest.next().bytes;
+                eldest.remove();
+            }
+        }
+    }
+
+    private String await(CompletableFuture<Entry> running) {
+        try {
+            Entry entry = running.join();
+            savedNanos.add(entry.computeNanos);
+            return entry.result;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            if (e.getCause() instanceof Error err) {
+                throw err;
+            }
+            throw e;
+        }
+    }
+
+    private record Entry(String result, long computeNanos, long bytes) {
+        Entry(String result, long computeNanos) {
+            this(result, computeNanos, 2L * result.length() + ENTRY_OVERHEAD);
+        }
+    }
+
+    private static final class Key {
+        private final byte[] digest;
+        private final int hash;
+
+        private Key(byte[] digest) {
+            this.digest = digest;
+            this.hash = Arrays.hashCode(digest);
+        }
+
+        static Key of(boolean encode, boolean header, Pipeline pipeline, String text) {
+            MessageDigest md = sha256();
+            md.update((byte) ((encode ? 1 : 0) | (header ? 2 : 0)));
+            for (StepConfig step : pipeline.steps()) {
+                update(md, step.type().name());
+                update(md, String.valueOf(step.options()));
+            }
+            update(md, text);
+            return new Key(md.digest());
+        }
+
+        private static void update(MessageDigest md, String s) {
+            // length-prefixed so field boundaries cannot be shifted to forge a collision
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            int n = bytes.length;
+            md.update(new byte[] {(byte) (n >>> 24), (byte) (n >>> 16), (byte) (n >>> 8), (byte) n});
+            md.update(bytes);
+        }
+
+        private static MessageDigest sha256() {
+            try {
+                return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && Arrays.equals(digest, other.digest);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.yourorg.stegoapp.api.text;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourorg.stegoapp.api.error.ProblemDetails;
+import com.yourorg.stegoapp.api.text.dto.BatchItemResponse;
+import com.yourorg.stegoapp.api.text.dto.PipelineStepDto;
+import com.yourorg.stegoapp.api.text.dto.TextTransformRequest;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Batch endpoint for many small transforms in one request.
+ * <p>
+ * The request body is newline-delimited JSON; each line is a {@code TextTransformRequest}. Items may
+ * omit {@code pipeline} when a shared one is given in the {@value TextStreamController#PIPELINE_HEADER}
+ * header (compact notation, see {@link PipelineSpec}). Items run in parallel on the batch pool, at
+ * most {@code stego.batch.window} per request at a time, and results are streamed back as NDJSON in
+ * request order as soon as each one and all before it are done. A failing item gets an {@code error}
+ * entry in the usual problem detail shape; it does not fail the batch. Lines longer than
+ * {@code stego.batch.max-item-chars} are skipped without being buffered and answered with a problem.
+ * </p>
+ * <p>
+ * Each item runs through {@link TextTransformService}, so it is admitted, ordered and timed out by the
+ * {@link TransformScheduler} like a single request; while it waits there it also holds a batch
+ * thread. That keeps the number of items in flight bounded by {@code stego.batch.threads} on top of
+ * the window, at the cost of a second, mostly parked thread per item.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/v1/text")
+public class TextBatchController {
+    /** Media type of batch requests and responses. */
+    public static final String NDJSON = "application/x-ndjson";
+
+    private static final byte[] NEWLINE = {'\n'};
+
+    private final TextTransformService service;
+    private final ObjectMapper mapper;
+    private final ExecutorService executor;
+    private final int window;
+    private final int maxItemChars;
+
+    public TextBatchController(TextTransformService service, ObjectMapper mapper,
+                               @Qualifier("batchExecutor") ExecutorService executor,
+                               @Value("${stego.batch.window:256}") int window,
+                               @Value("${stego.batch.max-item-chars:1048576}") int maxItemChars) {
+        this.service = service;
+        this.mapper = mapper;
+        this.executor = executor;
+        this.window = Math.max(1, window);
+        this.maxItemChars = Math.max(1, maxItemChars);
+    }
+
+    /**
+     * Encodes or decodes every item of the NDJSON body.
+     *
+     * @param operation {@code encode} (default) or {@code decode}
+     * @param pipelineHeader shared pipeline for items without their own
+     * @param coverText cover text for a shared {@code ZERO_WIDTH:EMBED_IN_COVER} step
+     */
+    @PostMapping(value = "/batch", consumes = NDJSON)
+    public ResponseEntity<StreamingResponseBody> batch(
+            @RequestParam(name = "operation", defaultValue = "encode") String operation,
+            @RequestHeader(name = TextStreamController.PIPELINE_HEADER, required = false) String pipelineHeader,
+            @RequestParam(name = "coverText", required = false) String coverText,
+            HttpServletRequest request) throws IOException {
+        boolean encode = switch (operation.toLowerCase(Locale.ROOT)) {
+            case "encode" -> true;
+            case "decode" -> false;
+            default -> throw new IllegalArgumentException("operation must be 'encode' or 'decode'");
+        };
+        List<PipelineStepDto> shared = pipelineHeader == null ? null : PipelineSpec.parse(pipelineHeader, coverText);
+        InputStream in = request.getInputStream();
+        String instance = request.getRequestURI();
+
+        StreamingResponseBody body = out -> run(in, out, encode, shared, instance);
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
+    private void run(InputStream in, OutputStream out, boolean encode, List<PipelineStepDto> shared, String instance) throws IOException {
+        ArrayDeque<Future<BatchItemResponse>> pending = new ArrayDeque<>();
+        try {
+            LineReader reader = new LineReader(new InputStreamReader(in, StandardCharsets.UTF_8), maxItemChars);
+            int index = 0;
+            String line;
+            while ((line = reader.next()) != null) {
+                if (reader.tooLong) {
+                    IllegalArgumentException e = new IllegalArgumentException("Item exceeds " + maxItemChars + " characters");
+                    pending.add(CompletableFuture.completedFuture(new BatchItemResponse(index++, null, ProblemDetails.of(e, instance))));
+                } else if (line.isBlank()) {
+                    continue;
+                } else {
+                    pending.add(submit(index++, line, encode, shared, instance));
+                }
+                while (pending.size() >= window || (!pending.isEmpty() && pending.peek().isDone())) {
+                    write(out, pending.poll());
+                }
+            }
+            while (!pending.isEmpty()) {
+                write(out, pending.poll());
+            }
+            out.flush();
+        } finally {
+            // client went away or the body failed: stop work nobody will read
+            pending.forEach(f -> f.cancel(true));
+        }
+    }
+
+    private Future<BatchItemResponse> submit(int index, String line, boolean encode, List<PipelineStepDto> shared, String instance) {
+        TextTransformRequest item;
+        try {
+            item = mapper.readValue(line, TextTransformRequest.class);
+            if (item.text() == null) {
+                throw new IllegalArgumentException("text is required");
+            }
+            if (item.pipeline() == null || item.pipeline().isEmpty()) {
+                if (shared == null) {
+                    throw new IllegalArgumentException("pipeline is required");
+                }
+                item = new TextTransformRequest(item.text(), shared, item.header());
+            }
+        } catch (IOException | RuntimeException e) {
+            Exception cause = e instanceof IOException ? new IllegalArgumentException("Malformed item: " + e.getMessage()) : e;
+            return CompletableFuture.completedFuture(new BatchItemResponse(index, null, ProblemDetails.of(cause, instance)));
+        }
+        TextTransformRequest request = item;
+        return executor.submit(() -> {
+            try {
+                String result = encode ? service.encode(request) : service.decode(request);
+                return new BatchItemResponse(index, result, null);
+            } catch (RuntimeException e) {
+                return new BatchItemResponse(index, null, ProblemDetails.of(e, instance));
+            }
+        });
+    }
+
+    private void write(OutputStream out, Future<BatchItemResponse> next) throws IOException {
+        if (!next.isDone()) {
+            // nothing else can be written before this item, so let the client see what is ready
+            out.flush();
+        }
+        BatchItemResponse response;
+        try {
+            response = next.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for batch item", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Batch item failed unexpectedly", e.getCause());
+        }
+        out.write(mapper.writeValueAsBytes(response));
+        out.write(NEWLINE);
+    }
+
+    /**
+     * Splits the body into lines like {@link java.io.BufferedReader#readLine()}, but stops buffering a
+     * line once it passes the limit and skips the rest of it.
+     */
+    private static final class LineReader {
+        private final Reader in;
+        private final int maxChars;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder line = new StringBuilder();
+        private int position;
+        private int limit;
+        /** Whether the line last returned by {@link #next()} was cut off; it is then empty. */
+        boolean tooLong;
+
+        LineReader(Reader in, int maxChars) {
+            this.in = in;
+            this.maxChars = maxChars;
+        }
+
+        /** Returns the next line without its terminator, or {@code null} at the end of the body. */
+        String next() throws IOException {
+            line.setLength(0);
+            tooLong = false;
+            boolean started = false;
+            while (true) {
+                if (position == limit) {
+                    int n = in.read(buffer, 0, buffer.length);
+                    if (n < 0) {
+                        return started ? end() : null;
+                    }
+                    position = 0;
+                    limit = n;
+                }
+                started = true;
+                int start = position;
+                while (position < limit && buffer[position] != '\n') {
+                    position++;
+                }
+                append(start, position);
+                if (position < limit) {
+                    position++;
+                    return end();
+                }
+            }
+        }
+
+        private void append(int start, int end) {
+            if (tooLong) {
+                return;
+            }
+            if (line.length() + (end - start) > maxChars + 1) {
+                // one char of slack for a '\r' terminator
+                tooLong = true;
+                line.setLength(0);
+                return;
+            }
+            line.append(buffer, start, end - start);
+        }
+
+        private String end() {
+            int n = line.length();
+            if (n > 0 && line.charAt(n - 1) == '\r') {
+                line.setLength(n - 1);
+            }
+            if (line.length() > maxChars) {
+                tooLong = true;
+                return "";
+            }
+            return line.toString();
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.yourorg.stegoapp.api.text;
 import com.yourorg.stegoapp.api.text.dto.TextTransformRequest;
 import com.yourorg.stegoapp.api.text.dto.TextTransformResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -10,6 +11,10 @@ import org.springframework.web.bind.annotation.RestController;
 
 /**
  * Text transformation endpoints (encode/decode) backed by {@link TextTransformService}.
+ * <p>
+ * Requests and responses are negotiated between JSON and CBOR ({@code application/cbor}) using the
+ * same DTOs; see {@link com.yourorg.stegoapp.api.config.WireFormatConfig}.
+ * </p>
  */
 @RestController
 @RequestMapping("/api/v1/text")
@@ -23,7 +28,8 @@ public class TextController {
     /**
      * Encodes the input text using the provided pipeline (steps applied in order).
      */
-    @PostMapping("/encode")
+    @PostMapping(value = "/encode", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
     public TextTransformResponse encode(@Valid @RequestBody TextTransformRequest request) {
         return new TextTransformResponse(service.encode(request));
     }
@@ -31,7 +37,8 @@ public class TextController {
     /**
      * Decodes the input text using the provided pipeline (steps applied in reverse order).
      */
-    @PostMapping("/decode")
+    @PostMapping(value = "/decode", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
     public TextTransformResponse decode(@Valid @RequestBody TextTransformRequest request) {
         return new TextTransformResponse(service.decode(request));
     }
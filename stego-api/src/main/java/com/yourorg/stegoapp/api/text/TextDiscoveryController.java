@@ -0,0 +1,105 @@
+package com.yourorg.stegoapp.api.text;
+
+import com.yourorg.stegoapp.api.text.dto.DiscoverRequest;
+import com.yourorg.stegoapp.api.text.dto.DiscoverResponse;
+import com.yourorg.stegoapp.api.text.dto.DiscoveredPipelineDto;
+import com.yourorg.stegoapp.api.text.dto.PipelineStepDto;
+import com.yourorg.stegoapp.core.model.StepConfig;
+import com.yourorg.stegoapp.core.model.ZeroWidthOptions;
+import com.yourorg.stegoapp.service.DiscoveredPipeline;
+import com.yourorg.stegoapp.service.DiscoveryOptions;
+import com.yourorg.stegoapp.service.DiscoveryResult;
+import com.yourorg.stegoapp.service.PipelineDiscovery;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Finds the pipeline of encoded text when the client does not know it.
+ * <p>
+ * Runs a {@link PipelineDiscovery} search over the step types the API supports: framed steps are not
+ * expressible as {@link PipelineStepDto} and {@code CRYPTO} is client-side only, so neither is tried.
+ * Searches are limited to {@code stego.discovery.max-depth} steps, {@code stego.discovery.budget} of
+ * wall-clock time and inputs of {@code stego.discovery.max-chars} chars.
+ * </p>
+ * <p>
+ * A search is admitted and timed like any other transform: it runs through the
+ * {@link TransformScheduler} (so a busy server answers {@code 429}, and a search still running after
+ * {@code stego.transform.timeout} is cancelled with {@code 503}), and fans out on the bounded
+ * {@code discoveryPool}.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/v1/text")
+public class TextDiscoveryController {
+    private static final int DEFAULT_LIMIT = 5;
+    private static final int MAX_LIMIT = 50;
+
+    private final PipelineDiscovery discovery;
+    private final TransformScheduler scheduler;
+    private final int maxDepth;
+    private final Duration budget;
+    private final int maxChars;
+
+    public TextDiscoveryController(TransformScheduler scheduler,
+                                   @Qualifier("discoveryPool") ForkJoinPool pool,
+                                   @Value("${stego.discovery.max-depth:4}") int maxDepth,
+                                   @Value("${stego.discovery.budget:PT2S}") Duration budget,
+                                   @Value("${stego.discovery.max-chars:262144}") int maxChars) {
+        this.scheduler = scheduler;
+        this.discovery = new PipelineDiscovery(pool);
+        this.maxDepth = Math.min(maxDepth, DiscoveryOptions.MAX_DEPTH);
+        this.budget = budget;
+        this.maxChars = maxChars;
+    }
+
+    /**
+     * Lists the most plausible pipelines for the request text.
+     */
+    @PostMapping(value = "/discover", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public DiscoverResponse discover(@Valid @RequestBody DiscoverRequest request) {
+        int depth = request.maxDepth() == null ? maxDepth : request.maxDepth();
+        int limit = request.limit() == null ? DEFAULT_LIMIT : request.limit();
+        if (depth < 1 || depth > maxDepth) {
+            throw new IllegalArgumentException("maxDepth must be between 1 and " + maxDepth);
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (request.text().length() > maxChars) {
+            throw new IllegalArgumentException("text must not exceed " + maxChars + " characters");
+        }
+
+        DiscoveryOptions options = new DiscoveryOptions(depth, limit, budget, false, List.of());
+        // every level decodes at most about the whole text once per candidate step
+        long cost = (long) request.text().length() * depth;
+        DiscoveryResult result = scheduler.call(cost, () -> discovery.discover(request.text(), options));
+        return new DiscoverResponse(
+                result.pipelines().stream().map(TextDiscoveryController::toDto).toList(),
+                result.decodesTried(),
+                result.complete(),
+                result.elapsed().toMillis());
+    }
+
+    private static DiscoveredPipelineDto toDto(DiscoveredPipeline found) {
+        List<PipelineStepDto> steps = found.pipeline().steps().stream().map(TextDiscoveryController::toDto).toList();
+        return new DiscoveredPipelineDto(steps, found.decoded(), found.score(), found.headerMatch());
+    }
+
+    private static PipelineStepDto toDto(StepConfig step) {
+        if (step.options() instanceof ZeroWidthOptions zw) {
+            return new PipelineStepDto(step.type(), zw.mode(), zw.coverText());
+        }
+        return new PipelineStepDto(step.type(), null, null);
+    }
+}
@@ -0,0 +1,66 @@
+package com.yourorg.stegoapp.api.text;
+
+import com.yourorg.stegoapp.api.text.dto.PayloadRunDto;
+import com.yourorg.stegoapp.api.text.dto.ScanResponse;
+import com.yourorg.stegoapp.core.PayloadRun;
+import com.yourorg.stegoapp.core.PayloadScanner;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scans documents for hidden zero-width and emoji payloads without knowing a pipeline.
+ * <p>
+ * The raw UTF-8 request body goes through a {@link PayloadScanner} in a single streaming pass, so
+ * documents of any size are scanned in constant memory. Every run of at least {@code minBytes}
+ * payload bytes (default {@value PayloadScanner#DEFAULT_MIN_PAYLOAD_BYTES}) is reported with its byte
+ * offset, length and the decoded text when the payload is valid UTF-8. At most
+ * {@code stego.scan.max-runs} runs are listed and at most {@code stego.scan.max-decoded-bytes} of each
+ * payload are decoded.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/v1/text")
+public class TextScanController {
+    private final int maxRuns;
+    private final int maxDecodedBytes;
+
+    public TextScanController(@Value("${stego.scan.max-runs:1000}") int maxRuns,
+                              @Value("${stego.scan.max-decoded-bytes:4096}") int maxDecodedBytes) {
+        this.maxRuns = maxRuns;
+        this.maxDecodedBytes = maxDecodedBytes;
+    }
+
+    /**
+     * Scans the request body and lists the payload runs found.
+     */
+    @PostMapping(value = "/scan", consumes = {MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ScanResponse scan(@RequestParam(name = "minBytes", defaultValue = "" + PayloadScanner.DEFAULT_MIN_PAYLOAD_BYTES) int minBytes,
+                             HttpServletRequest request) throws IOException {
+        if (minBytes < 1) {
+            throw new IllegalArgumentException("minBytes must be at least 1");
+        }
+        List<PayloadRunDto> runs = new ArrayList<>();
+        PayloadScanner scanner = new PayloadScanner(run -> {
+            if (runs.size() < maxRuns) {
+                runs.add(toDto(run));
+            }
+        }, minBytes, maxDecodedBytes);
+        long bytes = scanner.scan(Channels.newChannel(request.getInputStream()));
+        return new ScanResponse(bytes, scanner.runCount(), runs, scanner.runCount() > runs.size());
+    }
+
+    private static PayloadRunDto toDto(PayloadRun run) {
+        return new PayloadRunDto(run.alphabet(), run.offset(), run.length(), run.symbols(), run.payloadBytes(),
+                String.format("%016x", run.payloadHash()), run.decoded(), run.truncated());
+    }
+}
@@ -0,0 +1,107 @@
+package com.yourorg.stegoapp.api.text;
+
+import com.yourorg.stegoapp.core.CancellationToken;
+import com.yourorg.stegoapp.core.codec.CodecChain;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streaming text endpoints: the raw UTF-8 request body is run through the pipeline chunk by chunk and
+ * written straight to the response, so memory per request stays bounded by the chain's stage buffers
+ * regardless of payload size.
+ * <p>
+ * The pipeline is given in compact notation (see {@link PipelineSpec}) via the {@code pipeline} query
+ * parameter or the {@value #PIPELINE_HEADER} header. It is validated before the response starts, so
+ * pipeline errors are reported as regular problem details. Only steps with a byte-level form can be
+ * streamed.
+ * </p>
+ * <p>
+ * The same paths also accept {@code application/json} bodies shaped like the regular
+ * encode/decode requests; those are parsed incrementally by {@link JsonTextStreamer}.
+ * </p>
+ * <p>
+ * Streams have no fixed deadline. When the async request times out
+ * ({@code spring.mvc.async.request-timeout}) or the container reports a broken connection, Spring
+ * interrupts the streaming thread and the chain stops at its next {@link CancellationToken} checkpoint.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/v1/text")
+public class TextStreamController {
+    /** Header carrying the pipeline when it is not passed as a query parameter. */
+    public static final String PIPELINE_HEADER = "X-Stego-Pipeline";
+
+    private static final MediaType TEXT_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
+    private final TextTransformService service;
+    private final JsonTextStreamer json;
+
+    public TextStreamController(TextTransformService service, JsonTextStreamer json) {
+        this.service = service;
+        this.json = json;
+    }
+
+    /**
+     * Encodes the request body (steps applied in order) and streams the result.
+     */
+    @PostMapping(value = "/encode/stream", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<StreamingResponseBody> encode(
+            @RequestParam(name = "pipeline", required = false) String pipeline,
+            @RequestHeader(name = PIPELINE_HEADER, required = false) String pipelineHeader,
+            @RequestParam(name = "coverText", required = false) String coverText,
+            HttpServletRequest request) throws IOException {
+        CodecChain chain = service.openEncodeStream(PipelineSpec.parse(pipeline != null ? pipeline : pipelineHeader, coverText));
+        return stream(chain, request.getInputStream());
+    }
+
+    /**
+     * Decodes the request body (steps applied in reverse order) and streams the result.
+     */
+    @PostMapping(value = "/decode/stream", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<StreamingResponseBody> decode(
+            @RequestParam(name = "pipeline", required = false) String pipeline,
+            @RequestHeader(name = PIPELINE_HEADER, required = false) String pipelineHeader,
+            @RequestParam(name = "coverText", required = false) String coverText,
+            HttpServletRequest request) throws IOException {
+        CodecChain chain = service.openDecodeStream(PipelineSpec.parse(pipeline != null ? pipeline : pipelineHeader, coverText));
+        return stream(chain, request.getInputStream());
+    }
+
+    /**
+     * Encodes a JSON request ({@code text} + {@code pipeline}) without binding the text to a string.
+     */
+    @PostMapping(value = "/encode/stream", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> encodeJson(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json.encode(request.getInputStream()));
+    }
+
+    /**
+     * Decodes a JSON request ({@code text} + {@code pipeline}) without binding the text to a string.
+     */
+    @PostMapping(value = "/decode/stream", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> decodeJson(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json.decode(request.getInputStream()));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> stream(CodecChain chain, InputStream in) {
+        StreamingResponseBody body = out -> {
+            // Spring interrupts this thread on async timeout or a failed connection; the token turns that into a stop
+            try (chain; CancellationToken.Binding ignored = CancellationToken.create().bind()) {
+                chain.run(Channels.newChannel(in), Channels.newChannel(out));
+            }
+        };
+        return ResponseEntity.ok().contentType(TEXT_UTF8).body(body);
+    }
+}
@@ -1,7 +1,10 @@
 package com.yourorg.stegoapp.api.text;
 
+import com.yourorg.stegoapp.api.metrics.TransformMetrics;
 import com.yourorg.stegoapp.api.text.dto.PipelineStepDto;
 import com.yourorg.stegoapp.api.text.dto.TextTransformRequest;
+import com.yourorg.stegoapp.core.buffer.StagingAllocator;
+import com.yourorg.stegoapp.core.codec.CodecChain;
 import com.yourorg.stegoapp.core.error.StegoErrorCode;
 import com.yourorg.stegoapp.core.error.StegoException;
 import com.yourorg.stegoapp.core.model.Pipeline;
@@ -9,6 +12,7 @@ import com.yourorg.stegoapp.core.model.StepConfig;
 import com.yourorg.stegoapp.core.model.StepType;
 import com.yourorg.stegoapp.core.model.ZeroWidthMode;
 import com.yourorg.stegoapp.core.model.ZeroWidthOptions;
+import com.yourorg.stegoapp.service.CompiledPipeline;
 import com.yourorg.stegoapp.service.StegoService;
 import org.springframework.stereotype.Service;
 
@@ -20,31 +24,101 @@ import java.util.List;
  * <p>
  * The API intentionally rejects {@link StepType#CRYPTO} so passwords and keys never transit the server.
  * </p>
+ * <p>
+ * String transforms go through the {@link ResultCache}, which is a no-op unless configured, and cache
+ * misses run on the {@link TransformScheduler} rather than the request thread. Compiled pipelines
+ * report their steps to {@link TransformMetrics}.
+ * </p>
  */
 @Service
 public class TextTransformService {
-    private final StegoService engine = new StegoService();
+    private final StegoService engine;
+    private final StagingAllocator allocator = StagingAllocator.heap();
+    private final ResultCache cache;
+    private final TransformScheduler scheduler;
+    private final TransformMetrics metrics;
+
+    public TextTransformService(ResultCache cache, TransformScheduler scheduler, TransformMetrics metrics) {
+        this.cache = cache;
+        this.scheduler = scheduler;
+        this.metrics = metrics;
+        this.engine = new StegoService(metrics);
+    }
 
     /**
-     * Encodes request text using the configured pipeline.
+     * Encodes request text using the configured pipeline, with a payload header if requested.
      */
     public String encode(TextTransformRequest request) {
-        Pipeline pipeline = toPipeline(request.pipeline());
-        return engine.encode(request.text(), pipeline);
+        return encode(request.text(), compile(request.pipeline()), Boolean.TRUE.equals(request.header()));
     }
 
     /**
      * Decodes request text using the configured pipeline (applied in reverse order).
      */
     public String decode(TextTransformRequest request) {
-        Pipeline pipeline = toPipeline(request.pipeline());
-        return engine.decode(request.text(), pipeline);
+        return decode(request.text(), compile(request.pipeline()));
     }
 
+    /**
+     * Maps and validates steps once, for callers that keep the result (e.g. the pipeline registry).
+     *
+     * @throws StegoException if the pipeline is invalid or contains {@code CRYPTO}
+     */
+    public CompiledPipeline compile(List<PipelineStepDto> steps) {
+        try {
+            return engine.compile(toPipeline(steps));
+        } catch (RuntimeException e) {
+            metrics.error(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Encodes text with a precompiled pipeline, with a payload header if requested.
+     */
+    public String encode(String text, CompiledPipeline pipeline, boolean header) {
+        return metrics.record(true, () -> cache.get(true, header, pipeline.pipeline(), text,
+                () -> scheduler.call(pipeline.estimateCost(text.length(), true),
+                        () -> header ? pipeline.encodeWithHeader(text) : pipeline.encode(text))));
+    }
+
+    /**
+     * Decodes text with a precompiled pipeline (applied in reverse order).
+     */
+    public String decode(String text, CompiledPipeline pipeline) {
+        return metrics.record(false, () -> cache.get(false, false, pipeline.pipeline(), text,
+                () -> scheduler.call(pipeline.estimateCost(text.length(), false), () -> pipeline.decode(text))));
+    }
+
+    /**
+     * Prepares a streaming encode: the pipeline is validated now, and the returned chain converts UTF-8
+     * bytes chunk by chunk. The caller must close the chain.
+     */
+    public CodecChain openEncodeStream(List<PipelineStepDto> steps) {
+        return engine.newEncodeChain(toPipeline(steps), allocator);
+    }
+
+    /**
+     * Prepares a streaming decode (steps applied in reverse order). See {@link #openEncodeStream(List)}.
+     */
+    public CodecChain openDecodeStream(List<PipelineStepDto> steps) {
+        return engine.newDecodeChain(toPipeline(steps), allocator);
+    }
+
+    /**
+     * Maps client steps to the core model. Steps are null-checked here rather than left to Bean
+     * Validation, because batch items, stream headers and the registry arrive without {@code @Valid}.
+     */
     private static Pipeline toPipeline(List<PipelineStepDto> steps) {
+        if (steps == null) {
+            throw new StegoException(StegoErrorCode.INVALID_PIPELINE, "pipeline is required");
+        }
         List<StepConfig> mapped = new ArrayList<>();
         for (int i = 0; i < steps.size(); i++) {
             PipelineStepDto s = steps.get(i);
+            if (s == null || s.type() == null) {
+                throw new StegoException(StegoErrorCode.INVALID_PIPELINE, "pipeline[" + i + "].type is required");
+            }
             if (s.type() == StepType.CRYPTO) {
                 throw new StegoException(StegoErrorCode.UNSUPPORTED_STEP, "CRYPTO is client-side only. Encrypt/decrypt before calling the API.");
             }
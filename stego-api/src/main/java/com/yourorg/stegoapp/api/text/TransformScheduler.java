@@ -0,0 +1,170 @@
+package com.yourorg.stegoapp.api.text;
+
+import com.yourorg.stegoapp.api.error.ProblemDetails;
+import com.yourorg.stegoapp.core.CancellationToken;
+import com.yourorg.stegoapp.core.error.StegoErrorCode;
+import com.yourorg.stegoapp.core.error.StegoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.ErrorResponseException;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs transforms on the {@code transformExecutor}, cheapest first, and sheds load when the queue is
+ * too expensive.
+ * <p>
+ * Each task carries an estimated cost (see
+ * {@link com.yourorg.stegoapp.service.CompiledPipeline#estimateCost(long, boolean)}); the queue hands
+ * out the lowest cost first and, among equal costs, the oldest. A task is admitted only while the cost
+ * of everything still queued stays within {@code stego.transform.max-queued-cost}; otherwise the caller
+ * gets {@code 429 Too Many Requests} with {@code Retry-After} ({@code stego.transform.retry-after}).
+ * An oversized task is still admitted when the queue is empty, so it is delayed but never starved.
+ * </p>
+ * <p>
+ * Every task runs with a {@link CancellationToken} whose deadline is {@code stego.transform.timeout}
+ * after submission, queueing included. A task past its deadline, or whose caller was interrupted while
+ * waiting, stops at the next step checkpoint with {@link com.yourorg.stegoapp.core.error.StegoErrorCode#CANCELLED}
+ * instead of holding a worker until it completes.
+ * </p>
+ * <p>
+ * Metrics: {@code stego.transform.queue.depth}, {@code stego.transform.queue.cost},
+ * {@code stego.transform.queue.wait} and {@code stego.transform.rejected}.
+ * </p>
+ */
+@Component
+public class TransformScheduler {
+    private final ThreadPoolExecutor executor;
+    private final long maxQueuedCost;
+    private final Duration retryAfter;
+    private final Duration timeout;
+    private final AtomicLong queuedCost = new AtomicLong();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    public TransformScheduler(@Qualifier("transformExecutor") ThreadPoolExecutor executor,
+                              @Value("${stego.transform.max-queued-cost:536870912}") long maxQueuedCost,
+                              @Value("${stego.transform.retry-after:PT1S}") Duration retryAfter,
+                              @Value("${stego.transform.timeout:PT30S}") Duration timeout,
+                              MeterRegistry registry) {
+        this.executor = executor;
+        this.maxQueuedCost = maxQueuedCost;
+        this.retryAfter = retryAfter;
+        this.timeout = timeout;
+        this.waitTimer = Timer.builder("stego.transform.queue.wait")
+                .description("Time transforms spend queued before a worker picks them up")
+                .register(registry);
+        this.rejected = Counter.builder("stego.transform.rejected")
+                .description("Transforms rejected because the queued cost budget was exhausted")
+                .register(registry);
+        Gauge.builder("stego.transform.queue.depth", executor, e -> e.getQueue().size())
+                .description("Transforms waiting for a worker")
+                .register(registry);
+        Gauge.builder("stego.transform.queue.cost", queuedCost, AtomicLong::get)
+                .description("Estimated cost of the queued transforms")
+                .register(registry);
+    }
+
+    /**
+     * Runs {@code work} on the transform pool and waits for its result.
+     *
+     * @param cost estimated cost, used for ordering and admission
+     * @param work transform to run; its runtime exceptions propagate unchanged
+     * @return the result of {@code work}
+     * @throws ErrorResponseException {@code 429} if the queue's cost budget is exhausted
+     * @throws StegoException {@code CANCELLED} if the transform ran past {@code stego.transform.timeout}
+     *         or the calling thread was interrupted while waiting
+     */
+    public <T> T call(long cost, Supplier<T> work) {
+        admit(cost);
+        Task<T> task = new Task<>(work, cost, sequence.getAndIncrement(), CancellationToken.withTimeout(timeout));
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            queuedCost.addAndGet(-cost);
+            throw tooBusy();
+        }
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            task.token.cancel();
+            task.cancel(false);
+            Thread.currentThread().interrupt();
+            // Spring interrupts on async timeout or disconnect; answer it like an expired deadline
+            throw StegoException.stackless(StegoErrorCode.CANCELLED, "Transform was cancelled");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            if (e.getCause() instanceof Error err) {
+                throw err;
+            }
+            throw new IllegalStateException("Transform failed", e.getCause());
+        }
+    }
+
+    private void admit(long cost) {
+        long current;
+        do {
+            current = queuedCost.get();
+            if (current > 0 && current + cost > maxQueuedCost) {
+                rejected.increment();
+                throw tooBusy();
+            }
+        } while (!queuedCost.compareAndSet(current, current + cost));
+    }
+
+    private ErrorResponseException tooBusy() {
+        ErrorResponseException ex = new ErrorResponseException(HttpStatus.TOO_MANY_REQUESTS,
+                ProblemDetails.forStatus(HttpStatus.TOO_MANY_REQUESTS, "Too many requests",
+                        "The server is busy; retry later.", "OVERLOADED"), null);
+        ex.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, retryAfter.toSeconds())));
+        return ex;
+    }
+
+    /** Queued transform; ordered by cost, then submission order. */
+    private final class Task<T> extends FutureTask<T> implements Comparable<Task<?>> {
+        private final long cost;
+        private final long seq;
+        private final CancellationToken token;
+        private final long enqueuedAt = System.nanoTime();
+
+        private Task(Supplier<T> work, long cost, long seq, CancellationToken token) {
+            super(work::get);
+            this.cost = cost;
+            this.seq = seq;
+            this.token = token;
+        }
+
+        @Override
+        public void run() {
+            // runs even for cancelled tasks, so their cost is always released
+            queuedCost.addAndGet(-cost);
+            waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+            try (CancellationToken.Binding ignored = token.bind()) {
+                super.run();
+            }
+        }
+
+        @Override
+        public int compareTo(Task<?> other) {
+            int byCost = Long.compare(cost, other.cost);
+            return byCost != 0 ? byCost : Long.compare(seq, other.seq);
+        }
+    }
+}
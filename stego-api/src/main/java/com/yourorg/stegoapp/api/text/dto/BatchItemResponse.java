@@ -0,0 +1,15 @@
+package com.yourorg.stegoapp.api.text.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.http.ProblemDetail;
+
+/**
+ * One line of a batch response. Exactly one of {@code result} and {@code error} is set.
+ *
+ * @param index zero-based position of the item in the request
+ * @param result encoded/decoded text when the item succeeded
+ * @param error problem detail when the item failed
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchItemResponse(int index, String result, ProblemDetail error) {
+}
@@ -0,0 +1,18 @@
+package com.yourorg.stegoapp.api.text.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Pipeline discovery request payload.
+ *
+ * @param text encoded text whose pipeline is unknown, optionally with a payload header
+ * @param maxDepth longest pipeline to try (optional; defaults to and is capped by
+ *                 {@code stego.discovery.max-depth})
+ * @param limit number of pipelines to return (optional; defaults to 5)
+ */
+public record DiscoverRequest(
+        @NotNull String text,
+        Integer maxDepth,
+        Integer limit
+) {
+}
@@ -0,0 +1,19 @@
+package com.yourorg.stegoapp.api.text.dto;
+
+import java.util.List;
+
+/**
+ * Pipeline discovery response.
+ *
+ * @param pipelines candidate pipelines, most plausible first
+ * @param decodesTried number of single-step decodes attempted
+ * @param complete {@code false} if the time budget ran out before every candidate chain was tried
+ * @param elapsedMillis duration of the search
+ */
+public record DiscoverResponse(
+        List<DiscoveredPipelineDto> pipelines,
+        long decodesTried,
+        boolean complete,
+        long elapsedMillis
+) {
+}
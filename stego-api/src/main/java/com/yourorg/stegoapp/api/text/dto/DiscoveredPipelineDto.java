@@ -0,0 +1,19 @@
+package com.yourorg.stegoapp.api.text.dto;
+
+import java.util.List;
+
+/**
+ * A candidate pipeline found by {@code POST /api/v1/text/discover}.
+ *
+ * @param pipeline steps in encode order, ready to send to {@code /api/v1/text/decode}
+ * @param decoded the text this pipeline decodes the input to
+ * @param score how plausible {@code decoded} is as plain text, from 0 to 1
+ * @param headerMatch whether the input's payload header was written for this pipeline
+ */
+public record DiscoveredPipelineDto(
+        List<PipelineStepDto> pipeline,
+        String decoded,
+        double score,
+        boolean headerMatch
+) {
+}
@@ -0,0 +1,28 @@
+package com.yourorg.stegoapp.api.text.dto;
+
+import com.yourorg.stegoapp.core.FrameAlphabet;
+
+/**
+ * One hidden payload found by a scan; see {@link com.yourorg.stegoapp.core.PayloadRun}.
+ *
+ * @param alphabet {@code ZERO_WIDTH} or {@code EMOJI}
+ * @param offset byte offset of the run in the UTF-8 document
+ * @param length length of the run in bytes
+ * @param symbols number of symbols in the run
+ * @param payloadBytes number of bytes the run encodes
+ * @param payloadHash 64-bit FNV-1a hash of the payload bytes as 16 hex digits (a string, so
+ *                    JavaScript clients do not lose precision)
+ * @param decoded payload as text, or {@code null} if it is not valid UTF-8
+ * @param truncated whether {@code decoded} only covers the start of the payload
+ */
+public record PayloadRunDto(
+        FrameAlphabet alphabet,
+        long offset,
+        long length,
+        long symbols,
+        long payloadBytes,
+        String payloadHash,
+        String decoded,
+        boolean truncated
+) {
+}
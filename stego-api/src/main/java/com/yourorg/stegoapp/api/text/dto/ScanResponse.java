@@ -0,0 +1,14 @@
+package com.yourorg.stegoapp.api.text.dto;
+
+import java.util.List;
+
+/**
+ * Result of scanning a document for hidden payloads.
+ *
+ * @param bytesScanned size of the scanned document in UTF-8 bytes
+ * @param runCount number of payload runs found
+ * @param runs the runs in document order; only the first {@code stego.scan.max-runs} are listed
+ * @param runsTruncated whether {@code runs} is shorter than {@code runCount}
+ */
+public record ScanResponse(long bytesScanned, long runCount, List<PayloadRunDto> runs, boolean runsTruncated) {
+}
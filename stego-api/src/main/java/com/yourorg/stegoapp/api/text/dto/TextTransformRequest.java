@@ -11,9 +11,19 @@ import java.util.List;
  *
  * @param text input text to encode/decode
  * @param pipeline ordered list of steps (must contain at least one step)
+ * @param header when {@code true}, encode prefixes the output with a checksummed payload header so
+ *               decode can reject a mismatched pipeline early (optional; ignored by decode, which
+ *               detects the header itself)
  */
 public record TextTransformRequest(
         @NotNull String text,
-        @NotNull @Size(min = 1) List<@Valid PipelineStepDto> pipeline
+        @NotNull @Size(min = 1) List<@Valid PipelineStepDto> pipeline,
+        Boolean header
 ) {
+    /**
+     * Creates a request without a payload header.
+     */
+    public TextTransformRequest(String text, List<PipelineStepDto> pipeline) {
+        this(text, pipeline, null);
+    }
 }
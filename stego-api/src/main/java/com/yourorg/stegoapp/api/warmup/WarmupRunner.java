@@ -0,0 +1,191 @@
+package com.yourorg.stegoapp.api.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourorg.stegoapp.api.metrics.TransformMetrics;
+import com.yourorg.stegoapp.api.text.dto.TextTransformRequest;
+import com.yourorg.stegoapp.api.text.dto.TextTransformResponse;
+import com.yourorg.stegoapp.core.buffer.StagingAllocator;
+import com.yourorg.stegoapp.core.codec.CodecChain;
+import com.yourorg.stegoapp.core.model.Pipeline;
+import com.yourorg.stegoapp.core.model.StepConfig;
+import com.yourorg.stegoapp.core.model.StepType;
+import com.yourorg.stegoapp.core.model.ZeroWidthMode;
+import com.yourorg.stegoapp.core.model.ZeroWidthOptions;
+import com.yourorg.stegoapp.service.CompiledPipeline;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs synthetic encode/decode traffic at startup so the JIT has compiled the hot paths before the
+ * instance takes real requests.
+ * <p>
+ * Every round transforms one payload per size class ({@code stego.warmup.sizes}, UTF-8 bytes of mixed
+ * ASCII and multi-byte text) through every step the API accepts, both directions, as strings and as
+ * streams, and round-trips the request/response JSON. Pipelines report to a private
+ * {@link TransformMetrics} so the instrumented step loop is compiled too without counting warm-up in
+ * the real meters. Warm-up stops after {@code stego.warmup.rounds} rounds or {@code stego.warmup.max-duration},
+ * whichever comes first, and is skipped with {@code stego.warmup.enabled=false}.
+ * </p>
+ * <p>
+ * It runs as an {@link ApplicationRunner}: the server is already listening, but Spring Boot only
+ * switches readiness to {@code ACCEPTING_TRAFFIC} after all runners return, so
+ * {@code /actuator/health/readiness} stays {@code OUT_OF_SERVICE} until warm-up is done. This bean is
+ * also the {@code warmup} health indicator (part of the readiness group) with the progress as details.
+ * A failure does not stop the application; it is reported in the details and readiness turns UP.
+ * </p>
+ * <p>
+ * Metrics: {@code stego.warmup.duration} and {@code stego.warmup.transforms}.
+ * </p>
+ */
+@Component("warmup")
+public class WarmupRunner implements ApplicationRunner, HealthIndicator {
+    private static final String SAMPLE = "Hello, world! Grüße – 𝄞 ";
+
+    private final ObjectMapper mapper;
+    private final boolean enabled;
+    private final int rounds;
+    private final int[] sizes;
+    private final Duration maxDuration;
+    private final StagingAllocator allocator = StagingAllocator.heap();
+
+    private volatile State state = State.PENDING;
+    private volatile long durationNanos;
+    private volatile long transforms;
+    private volatile String failure;
+
+    public WarmupRunner(ObjectMapper mapper, MeterRegistry registry,
+                        @Value("${stego.warmup.enabled:true}") boolean enabled,
+                        @Value("${stego.warmup.rounds:200}") int rounds,
+                        @Value("${stego.warmup.sizes:64,1024,16384}") int[] sizes,
+                        @Value("${stego.warmup.max-duration:PT30S}") Duration maxDuration) {
+        this.mapper = mapper;
+        this.enabled = enabled;
+        this.rounds = rounds;
+        this.sizes = sizes.clone();
+        this.maxDuration = maxDuration;
+        TimeGauge.builder("stego.warmup.duration", this, TimeUnit.NANOSECONDS, w -> w.durationNanos)
+                .description("Time spent warming up before accepting traffic")
+                .register(registry);
+        Gauge.builder("stego.warmup.transforms", this, w -> w.transforms)
+                .description("Synthetic transforms run during warm-up")
+                .register(registry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled || rounds <= 0) {
+            state = State.SKIPPED;
+            return;
+        }
+        state = State.RUNNING;
+        long start = System.nanoTime();
+        long deadline = start + maxDuration.toNanos();
+        try {
+            List<CompiledPipeline> pipelines = pipelines();
+            List<String> payloads = new ArrayList<>(sizes.length);
+            for (int size : sizes) {
+                payloads.add(payload(size));
+            }
+            for (int round = 0; round < rounds && System.nanoTime() - deadline < 0; round++) {
+                for (CompiledPipeline pipeline : pipelines) {
+                    for (String payload : payloads) {
+                        exercise(pipeline, payload);
+                    }
+                }
+                durationNanos = System.nanoTime() - start;
+            }
+        } catch (IOException | RuntimeException e) {
+            failure = e.toString();
+        } finally {
+            durationNanos = System.nanoTime() - start;
+            state = State.DONE;
+        }
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health = state == State.PENDING || state == State.RUNNING ? Health.outOfService() : Health.up();
+        health.withDetail("state", state.name())
+                .withDetail("durationMs", TimeUnit.NANOSECONDS.toMillis(durationNanos))
+                .withDetail("transforms", transforms);
+        if (failure != null) {
+            health.withDetail("failure", failure);
+        }
+        return health.build();
+    }
+
+    private void exercise(CompiledPipeline pipeline, String payload) throws IOException {
+        String encoded = pipeline.encode(payload);
+        String decoded = pipeline.decode(encoded);
+        if (!decoded.equals(payload)) {
+            throw new IllegalStateException("Warm-up round trip failed for " + pipeline.pipeline());
+        }
+        String json = mapper.writeValueAsString(new TextTransformRequest(payload, List.of()));
+        mapper.writeValueAsString(new TextTransformResponse(mapper.readValue(json, TextTransformRequest.class).text()));
+
+        byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+        try (CodecChain chain = pipeline.newEncodeChain(allocator)) {
+            chain.run(Channels.newChannel(new ByteArrayInputStream(bytes)), Channels.newChannel(streamed));
+        }
+        try (CodecChain chain = pipeline.newDecodeChain(allocator)) {
+            chain.run(Channels.newChannel(new ByteArrayInputStream(streamed.toByteArray())),
+                    Channels.newChannel(OutputStream.nullOutputStream()));
+        }
+        transforms += 4;
+    }
+
+    private static List<CompiledPipeline> pipelines() {
+        TransformMetrics detached = new TransformMetrics(new SimpleMeterRegistry());
+        List<Pipeline> pipelines = new ArrayList<>();
+        for (StepType type : StepType.values()) {
+            // the API rejects CRYPTO, so its code never runs on the server
+            if (type != StepType.CRYPTO) {
+                pipelines.add(new Pipeline(List.of(StepConfig.of(type))));
+            }
+        }
+        pipelines.add(new Pipeline(List.of(new StepConfig(StepType.ZERO_WIDTH,
+                new ZeroWidthOptions(ZeroWidthMode.EMBED_IN_COVER, "Nothing to see here.")))));
+        pipelines.add(new Pipeline(List.of(StepConfig.of(StepType.BASE64), StepConfig.of(StepType.ZERO_WIDTH))));
+        return pipelines.stream().map(p -> CompiledPipeline.compile(p, detached)).toList();
+    }
+
+    /**
+     * Returns text of at least {@code size} UTF-8 bytes (overshooting by less than one code point),
+     * drawn from a fixed sample with a seeded random so runs are reproducible.
+     */
+    static String payload(int size) {
+        Random random = new Random(size);
+        int[] codePoints = SAMPLE.codePoints().toArray();
+        StringBuilder sb = new StringBuilder(size);
+        int bytes = 0;
+        while (bytes < size) {
+            int cp = codePoints[random.nextInt(codePoints.length)];
+            sb.appendCodePoint(cp);
+            bytes += cp < 0x80 ? 1 : cp < 0x800 ? 2 : cp < 0x10000 ? 3 : 4;
+        }
+        return sb.toString();
+    }
+
+    private enum State { PENDING, RUNNING, SKIPPED, DONE }
+}
@@ -0,0 +1,103 @@
+package com.yourorg.stegoapp.api.job;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "stego.jobs.spool-dir=target/job-spool",
+        "stego.jobs.max-spool-bytes=1048576"
+})
+@AutoConfigureMockMvc
+class JobControllerIT {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void submitPollAndDownloadRange() throws Exception {
+        String text = "Job payload ".repeat(10_000);
+        String expected = Base64.getEncoder().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+
+        String body = mvc.perform(post("/api/v1/jobs?operation=encode&pipeline=BASE64")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content(text))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists(HttpHeaders.LOCATION))
+                .andExpect(jsonPath("$.inputBytes").value(text.length()))
+                .andReturn().getResponse().getContentAsString();
+        String id = JsonPath.read(body, "$.id");
+
+        awaitState(id, "SUCCEEDED");
+
+        mvc.perform(get("/api/v1/jobs/" + id + "/result"))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, expected.length()));
+        String tail = mvc.perform(get("/api/v1/jobs/" + id + "/result").header(HttpHeaders.RANGE, "bytes=100-"))
+                .andExpect(status().isPartialContent())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertEquals(expected.substring(100), tail);
+    }
+
+    @Test
+    void failedJobReportsProblem() throws Exception {
+        String body = mvc.perform(post("/api/v1/jobs?operation=decode&pipeline=BASE64")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("not base64!"))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+        String id = JsonPath.read(body, "$.id");
+
+        awaitState(id, "FAILED");
+
+        mvc.perform(get("/api/v1/jobs/" + id))
+                .andExpect(jsonPath("$.error.status").value(400));
+        mvc.perform(get("/api/v1/jobs/" + id + "/result"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void unknownJobIsNotFound() throws Exception {
+        mvc.perform(get("/api/v1/jobs/nope"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.type").value("https://errors.stego-tool.local/JOB_NOT_FOUND"));
+    }
+
+    @Test
+    void oversizedInputIsRejected() throws Exception {
+        mvc.perform(post("/api/v1/jobs?operation=encode&pipeline=BASE64")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content(new byte[2 * 1024 * 1024]))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.type").value("https://errors.stego-tool.local/SPOOL_FULL"));
+    }
+
+    private void awaitState(String id, String state) throws Exception {
+        for (int i = 0; i < 200; i++) {
+            String status = mvc.perform(get("/api/v1/jobs/" + id))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            if (state.equals(JsonPath.read(status, "$.state"))) {
+                return;
+            }
+            Thread.sleep(25);
+        }
+        fail("job " + id + " did not reach " + state);
+    }
+}
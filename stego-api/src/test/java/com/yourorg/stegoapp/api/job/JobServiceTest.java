@@ -0,0 +1,127 @@
+package com.yourorg.stegoapp.api.job;
+
+import com.yourorg.stegoapp.api.text.TextTransformService;
+import com.yourorg.stegoapp.core.buffer.StagingAllocator;
+import com.yourorg.stegoapp.core.codec.ByteCodec;
+import com.yourorg.stegoapp.core.codec.CodecChain;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JobServiceTest {
+
+    @TempDir
+    Path spoolDir;
+
+    @Test
+    void expiredRunningJobIsCancelled() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch expired = new CountDownLatch(1);
+        AtomicReference<CodecChain> chain = new AtomicReference<>();
+        TextTransformService transforms = mock(TextTransformService.class);
+        when(transforms.openEncodeStream(any())).thenAnswer(call -> {
+            chain.set(new CodecChain(List.of(new GatedCodec(running, expired)), StagingAllocator.heap(), CodecChain.DEFAULT_CHUNK_SIZE));
+            return chain.get();
+        });
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        JobSpool spool = new JobSpool(spoolDir, 64 << 20);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            JobService service = new JobService(transforms, executor, spool, Duration.ofMinutes(1), clock);
+            service.submit(true, List.of(), new ByteArrayInputStream(new byte[4 << 20]));
+            assertTrue(running.await(10, TimeUnit.SECONDS));
+
+            clock.advance(Duration.ofMinutes(2));
+            service.expire();
+            expired.countDown();
+
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+            // only the chunk in flight when the job expired was written
+            assertEquals(CodecChain.DEFAULT_CHUNK_SIZE, chain.get().bytesWritten());
+            assertEquals(0, spool.usedBytes());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /** Copies its input, holding the first chunk until the job has expired. */
+    private static final class GatedCodec implements ByteCodec {
+        private final CountDownLatch running;
+        private final CountDownLatch expired;
+
+        GatedCodec(CountDownLatch running, CountDownLatch expired) {
+            this.running = running;
+            this.expired = expired;
+        }
+
+        @Override
+        public long maxOutputLength(long inputLength) {
+            return inputLength;
+        }
+
+        @Override
+        public void update(ByteBuffer in, ByteBuffer out) {
+            if (running.getCount() > 0) {
+                running.countDown();
+                try {
+                    expired.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            out.put(in);
+        }
+
+        @Override
+        public void finish(ByteBuffer out) {
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.yourorg.stegoapp.api.live;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourorg.stegoapp.core.model.Pipeline;
+import com.yourorg.stegoapp.core.model.StepConfig;
+import com.yourorg.stegoapp.core.model.StepType;
+import com.yourorg.stegoapp.service.StegoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "stego.cors.allowed-origins=*")
+class LiveEncodingIT {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+    private WebSocketSession socket;
+
+    @BeforeEach
+    void connect() throws Exception {
+        socket = new StandardWebSocketClient().execute(new TextWebSocketHandler() {
+            @Override
+            protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+                received.add(message.getPayload());
+            }
+        }, "ws://localhost:" + port + "/api/v1/text/live").get(10, TimeUnit.SECONDS);
+    }
+
+    @AfterEach
+    void close() throws Exception {
+        socket.close();
+    }
+
+    @Test
+    void editsProduceOutputDeltas() throws Exception {
+        StringBuilder output = new StringBuilder();
+
+        JsonNode opened = send("{\"type\":\"open\",\"pipeline\":[{\"type\":\"BASE64\"},{\"type\":\"ZERO_WIDTH\"}],\"text\":\"Hello\"}");
+        assertEquals(1, opened.get("version").asLong());
+        apply(opened, output);
+
+        JsonNode edited = send("{\"type\":\"edit\",\"edits\":[{\"offset\":5,\"deleteCount\":0,\"insert\":\" world\"},"
+                + "{\"offset\":0,\"deleteCount\":1,\"insert\":\"J\"}]}");
+        assertEquals(2, edited.get("version").asLong());
+        apply(edited, output);
+
+        Pipeline pipeline = new Pipeline(List.of(StepConfig.of(StepType.BASE64), StepConfig.of(StepType.ZERO_WIDTH)));
+        String expected = new StegoService().encode("Jello world", pipeline);
+        assertEquals(expected, output.toString());
+        assertEquals(expected.length(), edited.get("length").asInt());
+    }
+
+    @Test
+    void failedEditKeepsEarlierEditsAndReportsThem() throws Exception {
+        send("{\"type\":\"open\",\"pipeline\":[{\"type\":\"EMOJI\"}],\"text\":\"ab\"}");
+
+        JsonNode delta = send("{\"type\":\"edit\",\"edits\":[{\"offset\":2,\"deleteCount\":0,\"insert\":\"c\"},"
+                + "{\"offset\":10,\"deleteCount\":0,\"insert\":\"d\"}]}");
+        JsonNode error = mapper.readTree(received.poll(10, TimeUnit.SECONDS));
+
+        assertEquals("delta", delta.get("type").asText());
+        assertEquals(1, delta.get("edits").size());
+        assertEquals("error", error.get("type").asText());
+        assertEquals("INVALID_INPUT", error.get("code").asText());
+    }
+
+    @Test
+    void rejectsUnsupportedPipelinesAndEditsBeforeOpen() throws Exception {
+        JsonNode notOpen = send("{\"type\":\"edit\",\"edits\":[]}");
+        assertEquals("SESSION_NOT_OPEN", notOpen.get("code").asText());
+
+        JsonNode cover = send("{\"type\":\"open\",\"pipeline\":[{\"type\":\"ZERO_WIDTH\",\"zeroWidthMode\":\"EMBED_IN_COVER\",\"coverText\":\"Hi\"}]}");
+        assertEquals("UNSUPPORTED_STEP", cover.get("code").asText());
+
+        JsonNode crypto = send("{\"type\":\"open\",\"pipeline\":[{\"type\":\"CRYPTO\"}]}");
+        assertEquals("UNSUPPORTED_STEP", crypto.get("code").asText());
+
+        JsonNode malformed = send("{\"type\":");
+        assertEquals("INVALID_REQUEST", malformed.get("code").asText());
+    }
+
+    private JsonNode send(String json) throws Exception {
+        socket.sendMessage(new TextMessage(json));
+        String reply = received.poll(10, TimeUnit.SECONDS);
+        assertNotNull(reply, "no reply to " + json);
+        return mapper.readTree(reply);
+    }
+
+    private static void apply(JsonNode delta, StringBuilder output) {
+        assertEquals("delta", delta.get("type").asText());
+        for (JsonNode edit : delta.get("edits")) {
+            int offset = edit.get("offset").asInt();
+            output.replace(offset, offset + edit.get("deleteCount").asInt(), edit.get("insert").asText());
+        }
+    }
+}
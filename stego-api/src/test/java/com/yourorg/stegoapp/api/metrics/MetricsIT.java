@@ -0,0 +1,53 @@
+package com.yourorg.stegoapp.api.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "management.prometheus.metrics.export.enabled=true")
+@AutoConfigureMockMvc
+class MetricsIT {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void stepTimersAndErrorsAreExported() throws Exception {
+        mvc.perform(post("/api/v1/text/encode")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\":\"Hello\",\"pipeline\":[{\"type\":\"BASE64\"},{\"type\":\"EMOJI\"}]}"))
+                .andExpect(status().isOk());
+        mvc.perform(post("/api/v1/text/decode")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\":\"not base64!\",\"pipeline\":[{\"type\":\"BASE64\"}]}"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(post("/api/v1/text/encode")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\":\"Hello\",\"pipeline\":[{\"type\":\"CRYPTO\"}]}"))
+                .andExpect(status().isBadRequest());
+
+        mvc.perform(get("/actuator/metrics/stego.step").param("tag", "type:EMOJI").param("tag", "direction:encode"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value").value(1.0));
+        mvc.perform(get("/actuator/metrics/stego.step.input").param("tag", "type:BASE64").param("tag", "direction:encode"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[?(@.statistic == 'TOTAL')].value").value(5.0));
+        mvc.perform(get("/actuator/metrics/stego.errors").param("tag", "code:UNSUPPORTED_STEP"))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("stego_step_seconds_count{direction=\"encode\",type=\"BASE64\"")))
+                .andExpect(content().string(containsString("stego_errors_total{code=\"INVALID_ALPHABET\"")));
+    }
+}
@@ -0,0 +1,95 @@
+package com.yourorg.stegoapp.api.pipeline;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PipelineControllerIT {
+    private static final String BASE64 = """
+            { "pipeline": [ { "type": "BASE64" } ] }
+            """;
+    private static final String BASE64_EMOJI = """
+            { "pipeline": [ { "type": "BASE64" }, { "type": "EMOJI" } ] }
+            """;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void registerAndEncodeById() throws Exception {
+        mvc.perform(put("/api/v1/pipelines/b64").contentType(MediaType.APPLICATION_JSON).content(BASE64))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.version").value(1));
+
+        mvc.perform(post("/api/v1/text/encode?pipeline=b64")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\":\"Hello\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.result").value("SGVsbG8="));
+        mvc.perform(post("/api/v1/text/decode?pipeline=b64")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\":\"SGVsbG8=\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result").value("Hello"));
+    }
+
+    @Test
+    void versionChangesOnlyWithDefinition() throws Exception {
+        mvc.perform(put("/api/v1/pipelines/versioned").contentType(MediaType.APPLICATION_JSON).content(BASE64))
+                .andExpect(status().isCreated());
+        mvc.perform(put("/api/v1/pipelines/versioned").contentType(MediaType.APPLICATION_JSON).content(BASE64))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+        mvc.perform(put("/api/v1/pipelines/versioned").contentType(MediaType.APPLICATION_JSON).content(BASE64_EMOJI)
+                        .header(HttpHeaders.IF_MATCH, "\"1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""));
+
+        mvc.perform(put("/api/v1/pipelines/versioned").contentType(MediaType.APPLICATION_JSON).content(BASE64)
+                        .header(HttpHeaders.IF_MATCH, "\"1\""))
+                .andExpect(status().isPreconditionFailed());
+        mvc.perform(get("/api/v1/pipelines/versioned").header(HttpHeaders.IF_NONE_MATCH, "\"2\""))
+                .andExpect(status().isNotModified());
+        mvc.perform(get("/api/v1/pipelines/versioned"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pipeline.length()").value(2));
+    }
+
+    @Test
+    void invalidDefinitionIsRejectedAtRegistration() throws Exception {
+        mvc.perform(put("/api/v1/pipelines/crypto").contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"pipeline\": [ { \"type\": \"CRYPTO\" } ] }"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("UNSUPPORTED_STEP"));
+        mvc.perform(get("/api/v1/pipelines/crypto"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void unknownOrDeletedPipelineIsNotFound() throws Exception {
+        mvc.perform(put("/api/v1/pipelines/gone").contentType(MediaType.APPLICATION_JSON).content(BASE64))
+                .andExpect(status().isCreated());
+        mvc.perform(delete("/api/v1/pipelines/gone"))
+                .andExpect(status().isNoContent());
+        mvc.perform(post("/api/v1/text/encode?pipeline=gone")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\":\"Hello\"}"))
+                .andExpect(status().isNotFound());
+    }
+}
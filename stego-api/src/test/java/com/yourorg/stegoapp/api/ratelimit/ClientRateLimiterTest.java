@@ -0,0 +1,57 @@
+package com.yourorg.stegoapp.api.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientRateLimiterTest {
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+    // 1000 bytes/s, burst 2000 bytes
+    private final ClientRateLimiter limiter = new ClientRateLimiter(1000, 2000, new SimpleMeterRegistry(), now::get);
+
+    @Test
+    void burstIsAvailableThenRefillsOverTime() {
+        limiter.acquire("a", 2000);
+        RateLimitExceededException ex = assertThrows(RateLimitExceededException.class, () -> limiter.acquire("a", 500));
+        assertEquals(Duration.ofMillis(500), ex.getRetryAfter());
+
+        advance(500);
+        limiter.acquire("a", 500);
+    }
+
+    @Test
+    void clientsHaveSeparateBuckets() {
+        limiter.acquire("a", 2000);
+        limiter.acquire("b", 2000);
+        assertThrows(RateLimitExceededException.class, () -> limiter.acquire("a", 1));
+    }
+
+    @Test
+    void oversizedRequestNeedsFullBucketAndLeavesDebt() {
+        limiter.acquire("a", 5000);
+        RateLimitExceededException ex = assertThrows(RateLimitExceededException.class, () -> limiter.acquire("a", 1000));
+        // 5 s of debt, of which 2 s may remain as burst, plus 1 s for this request
+        assertEquals(Duration.ofSeconds(4), ex.getRetryAfter());
+
+        advance(5000);
+        limiter.acquire("a", 1000);
+    }
+
+    @Test
+    void sweepDropsOnlyFullBuckets() {
+        limiter.acquire("idle", 10);
+        limiter.acquire("busy", 2000);
+        advance(100);
+        limiter.sweep();
+        assertEquals(1, limiter.clients());
+    }
+
+    private void advance(long millis) {
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
@@ -0,0 +1,51 @@
+package com.yourorg.stegoapp.api.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+    // 1 byte/s, burst 100 bytes: a request can only ever spend the burst
+    private final ClientRateLimiter limiter = new ClientRateLimiter(1, 100, new SimpleMeterRegistry(), () -> 0L);
+    private final RateLimitFilter filter = new RateLimitFilter(limiter, (req, res, handler, e) -> null, 1, List.of("known"));
+
+    @Test
+    void bodyReadThroughTheReaderIsCharged() throws Exception {
+        MockHttpServletRequest request = chunkedRequest("a".repeat(150));
+
+        assertThrows(RateLimitExceededException.class, () -> filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> req.getReader().transferTo(Writer.nullWriter())));
+    }
+
+    @Test
+    void onlyConfiguredKeysGetTheirOwnBucket() throws Exception {
+        MockHttpServletRequest first = chunkedRequest("");
+        first.addHeader(RateLimitFilter.API_KEY_HEADER, "unknown");
+        filter.doFilter(first, new MockHttpServletResponse(), (req, res) -> limiter.acquire("ip:127.0.0.1", 99));
+
+        // the unknown key was charged to the address, whose bucket is now empty
+        assertThrows(RateLimitExceededException.class, () -> limiter.acquire("ip:127.0.0.1", 1));
+        limiter.acquire(RateLimitFilter.API_KEY_PREFIX + "known", 100);
+    }
+
+    private static MockHttpServletRequest chunkedRequest(String body) {
+        // no Content-Length, so nothing is prepaid beyond the minimum
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/text/encode") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        request.setRemoteAddr("127.0.0.1");
+        request.setCharacterEncoding("UTF-8");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
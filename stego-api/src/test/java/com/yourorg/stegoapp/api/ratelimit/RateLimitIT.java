@@ -0,0 +1,68 @@
+package com.yourorg.stegoapp.api.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "stego.ratelimit.bytes-per-second=100",
+        "stego.ratelimit.burst-bytes=4096",
+        "stego.ratelimit.min-request-bytes=1",
+        "stego.ratelimit.api-keys=client-1,client-2"
+})
+@AutoConfigureMockMvc
+class RateLimitIT {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void clientOverBudgetGetsProblemDetail() throws Exception {
+        String body = "{\"text\":\"" + "a".repeat(3000) + "\",\"pipeline\":[{\"type\":\"BASE64\"}]}";
+
+        mvc.perform(post("/api/v1/text/encode").header(RateLimitFilter.API_KEY_HEADER, "client-1")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+        mvc.perform(post("/api/v1/text/encode").header(RateLimitFilter.API_KEY_HEADER, "client-1")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(jsonPath("$.code").value("RATE_LIMITED"))
+                .andExpect(jsonPath("$.detail").value("Rate limit exceeded for this API key"));
+
+        // another key is unaffected
+        mvc.perform(post("/api/v1/text/encode").header(RateLimitFilter.API_KEY_HEADER, "client-2")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void unknownKeysShareTheAddressBucket() throws Exception {
+        String body = "{\"text\":\"" + "a".repeat(3000) + "\",\"pipeline\":[{\"type\":\"BASE64\"}]}";
+
+        mvc.perform(post("/api/v1/text/encode").header(RateLimitFilter.API_KEY_HEADER, "made-up-1")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+        mvc.perform(post("/api/v1/text/encode").header(RateLimitFilter.API_KEY_HEADER, "made-up-2")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.detail").value("Rate limit exceeded for ip:127.0.0.1"));
+    }
+
+    @Test
+    void actuatorIsNotLimited() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mvc.perform(get("/actuator/health")).andExpect(status().isOk());
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.yourorg.stegoapp.api.text;
+
+import com.yourorg.stegoapp.core.model.CryptoOptions;
+import com.yourorg.stegoapp.core.model.Pipeline;
+import com.yourorg.stegoapp.core.model.StepConfig;
+import com.yourorg.stegoapp.core.model.StepType;
+import com.yourorg.stegoapp.core.model.ZeroWidthMode;
+import com.yourorg.stegoapp.core.model.ZeroWidthOptions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultCacheTest {
+    private static final Pipeline BASE64 = new Pipeline(List.of(StepConfig.of(StepType.BASE64)));
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void repeatedRequestIsServedFromCache() {
+        ResultCache cache = new ResultCache(1 << 20, registry);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertEquals("x", cache.get(true, false, BASE64, "a", () -> "x" + "".repeat(calls.incrementAndGet())));
+        assertEquals("x", cache.get(true, false, BASE64, "a", () -> "y" + "".repeat(calls.incrementAndGet())));
+
+        assertEquals(1, calls.get());
+        assertEquals(1, count("hit"));
+        assertEquals(1, count("miss"));
+    }
+
+    @Test
+    void keyCoversDirectionHeaderAndOptions() {
+        ResultCache cache = new ResultCache(1 << 20, registry);
+        Pipeline coverA = new Pipeline(List.of(new StepConfig(StepType.ZERO_WIDTH, new ZeroWidthOptions(ZeroWidthMode.EMBED_IN_COVER, "A"))));
+        Pipeline coverB = new Pipeline(List.of(new StepConfig(StepType.ZERO_WIDTH, new ZeroWidthOptions(ZeroWidthMode.EMBED_IN_COVER, "B"))));
+
+        cache.get(true, false, coverA, "t", () -> "1");
+        assertEquals("2", cache.get(true, false, coverB, "t", () -> "2"));
+        assertEquals("3", cache.get(false, false, coverA, "t", () -> "3"));
+        assertEquals("4", cache.get(true, true, coverA, "t", () -> "4"));
+        assertEquals(0, count("hit"));
+    }
+
+    @Test
+    void nonDeterministicPipelinesBypassTheCache() {
+        ResultCache cache = new ResultCache(1 << 20, registry);
+        Pipeline crypto = new Pipeline(List.of(new StepConfig(StepType.CRYPTO, new CryptoOptions("pw"))));
+
+        cache.get(true, false, crypto, "t", () -> "1");
+        assertEquals("2", cache.get(true, false, crypto, "t", () -> "2"));
+        assertEquals(2, count("bypass"));
+        assertEquals(0, cache.entryCount());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBySize() {
+        // each entry: 2 * 50 chars + 160 overhead = 260 bytes; the cache holds eight
+        ResultCache cache = new ResultCache(8 * 260, registry);
+        String big = "r".repeat(50);
+
+        for (char c = 'a'; c <= 'h'; c++) {
+            cache.get(true, false, BASE64, String.valueOf(c), () -> big);
+        }
+        cache.get(true, false, BASE64, "a", () -> "unused");
+        cache.get(true, false, BASE64, "i", () -> big);
+
+        assertEquals(8, cache.entryCount());
+        assertEquals(8 * 260, cache.sizeBytes());
+        assertEquals(big, cache.get(true, false, BASE64, "a", () -> "recomputed"));
+        assertEquals("recomputed", cache.get(true, false, BASE64, "b", () -> "recomputed"));
+    }
+
+    @Test
+    void disabledCacheAlwaysComputes() {
+        ResultCache cache = new ResultCache(0, registry);
+        cache.get(true, false, BASE64, "a", () -> "1");
+        assertEquals("2", cache.get(true, false, BASE64, "a", () -> "2"));
+    }
+
+    @Test
+    void concurrentMissesShareOneComputation() throws Exception {
+        ResultCache cache = new ResultCache(1 << 20, registry);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            Future<String> leader = pool.submit(() -> cache.get(true, false, BASE64, "same", () -> {
+                calls.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "result";
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<String> follower = pool.submit(() -> cache.get(true, false, BASE64, "same", () -> {
+                calls.incrementAndGet();
+                return "duplicate";
+            }));
+            while (count("shared") == 0) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            assertEquals("result", leader.get(5, TimeUnit.SECONDS));
+            assertEquals("result", follower.get(5, TimeUnit.SECONDS));
+            assertEquals(1, calls.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void failureIsPropagatedToWaitersAndNotCached() {
+        ResultCache cache = new ResultCache(1 << 20, registry);
+        assertThrows(IllegalArgumentException.class,
+                () -> cache.get(false, false, BASE64, "bad", () -> { throw new IllegalArgumentException("bad"); }));
+        assertEquals("ok", cache.get(false, false, BASE64, "bad", () -> "ok"));
+    }
+
+    private double count(String result) {
+        return registry.get("stego.cache.requests").tag("result", result).counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.yourorg.stegoapp.api.text;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"stego.batch.window=8", "stego.batch.max-item-chars=128"})
+@AutoConfigureMockMvc
+class TextBatchControllerIT {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void resultsAreReturnedInRequestOrder() throws Exception {
+        String body = IntStream.range(0, 200)
+                .mapToObj(i -> "{\"text\":\"item-" + i + "\"}")
+                .collect(Collectors.joining("\n"));
+
+        String[] lines = batch("/api/v1/text/batch", "BASE64", body);
+        assertEquals(200, lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            assertEquals(i, (int) JsonPath.read(lines[i], "$.index"));
+            String expected = Base64.getEncoder().encodeToString(("item-" + i).getBytes(StandardCharsets.UTF_8));
+            assertEquals(expected, JsonPath.read(lines[i], "$.result"));
+        }
+    }
+
+    @Test
+    void failingItemsCarryProblemDetails() throws Exception {
+        String body = """
+                {"text":"SGVsbG8=","pipeline":[{"type":"BASE64"}]}
+                {"text":"not-base64","pipeline":[{"type":"BASE64"}]}
+                {"text":"x","pipeline":[{"type":"CRYPTO"}]}
+                not json
+
+                {"text":"SGk="}
+                {"text":"SGk=","pipeline":[null]}
+                {"text":"SGk=","pipeline":[{"type":"BASE64"},{"zeroWidthMode":"EMBED_IN_COVER"}]}
+                """;
+        String[] lines = batch("/api/v1/text/batch?operation=decode", null, body);
+        assertEquals(7, lines.length);
+        assertEquals("Hello", JsonPath.read(lines[0], "$.result"));
+        assertEquals("INVALID_ALPHABET", JsonPath.read(lines[1], "$.error.code"));
+        assertEquals("UNSUPPORTED_STEP", JsonPath.read(lines[2], "$.error.code"));
+        assertEquals(400, (int) JsonPath.read(lines[3], "$.error.status"));
+        assertEquals("pipeline is required", JsonPath.read(lines[4], "$.error.detail"));
+        assertEquals("INVALID_PIPELINE", JsonPath.read(lines[5], "$.error.code"));
+        assertEquals(400, (int) JsonPath.read(lines[5], "$.error.status"));
+        assertEquals("pipeline[1].type is required", JsonPath.read(lines[6], "$.error.detail"));
+        assertEquals(400, (int) JsonPath.read(lines[6], "$.error.status"));
+    }
+
+    @Test
+    void overlongItemIsRejectedWithoutFailingTheBatch() throws Exception {
+        String body = "{\"text\":\"" + "a".repeat(200) + "\"}\r\n"
+                + "{\"text\":\"" + "b".repeat(40) + "\"}\r\n";
+        String[] lines = batch("/api/v1/text/batch", "BASE64", body);
+        assertEquals(2, lines.length);
+        assertEquals(400, (int) JsonPath.read(lines[0], "$.error.status"));
+        assertEquals("Item exceeds 128 characters", JsonPath.read(lines[0], "$.error.detail"));
+        assertEquals(Base64.getEncoder().encodeToString("b".repeat(40).getBytes(StandardCharsets.UTF_8)),
+                JsonPath.read(lines[1], "$.result"));
+    }
+
+    @Test
+    void unknownOperationIsRejected() throws Exception {
+        mvc.perform(post("/api/v1/text/batch?operation=shuffle")
+                        .contentType(TextBatchController.NDJSON)
+                        .content("{\"text\":\"a\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.title").value("Invalid request"));
+    }
+
+    private String[] batch(String uri, String pipeline, String body) throws Exception {
+        var builder = post(uri)
+                .contentType(MediaType.parseMediaType(TextBatchController.NDJSON))
+                .content(body.getBytes(StandardCharsets.UTF_8));
+        if (pipeline != null) {
+            builder.header(TextStreamController.PIPELINE_HEADER, pipeline);
+        }
+        MvcResult started = mvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8)
+                .split("\n");
+    }
+}
@@ -1,5 +1,11 @@
 package com.yourorg.stegoapp.api.text;
 
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.jayway.jsonpath.JsonPath;
+import com.yourorg.stegoapp.api.text.dto.PipelineStepDto;
+import com.yourorg.stegoapp.api.text.dto.TextTransformRequest;
+import com.yourorg.stegoapp.api.text.dto.TextTransformResponse;
+import com.yourorg.stegoapp.core.model.StepType;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -7,9 +13,13 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
 import static org.hamcrest.Matchers.anyOf;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -81,7 +91,8 @@ class TextControllerIT {
                                 }
                                 """))
                 .andExpect(status().isBadRequest())
-                .andExpect(jsonPath("$.title").value("Invalid request"))
+                .andExpect(jsonPath("$.title").value("Stego error"))
+                .andExpect(jsonPath("$.code").value("INVALID_ALPHABET"))
                 .andExpect(jsonPath("$.detail").exists());
     }
 
@@ -142,4 +153,71 @@ class TextControllerIT {
                 .andExpect(jsonPath("$.steps").isArray())
                 .andExpect(jsonPath("$.steps[?(@.type == 'ZERO_WIDTH')]").isNotEmpty());
     }
+
+    @Test
+    void headerRejectsMismatchedPipeline() throws Exception {
+        String body = mvc.perform(post("/api/v1/text/encode")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "text": "Hello",
+                                  "pipeline": [
+                                    { "type": "BASE64" }
+                                  ],
+                                  "header": true
+                                }
+                                """))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        String encoded = JsonPath.read(body, "$.result");
+
+        mvc.perform(post("/api/v1/text/decode")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "text": "%s", "pipeline": [ { "type": "BASE64" } ] }
+                                """.formatted(encoded)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result").value("Hello"));
+
+        mvc.perform(post("/api/v1/text/decode")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "text": "%s", "pipeline": [ { "type": "EMOJI" } ] }
+                                """.formatted(encoded)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("PIPELINE_MISMATCH"));
+    }
+
+    @Test
+    void cborRequestAndResponse() throws Exception {
+        CBORMapper cbor = new CBORMapper();
+        List<PipelineStepDto> pipeline = List.of(new PipelineStepDto(StepType.ZERO_WIDTH, null, null));
+
+        byte[] encoded = mvc.perform(post("/api/v1/text/encode")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cbor.writeValueAsBytes(new TextTransformRequest("Hello", pipeline))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        String zeroWidth = cbor.readValue(encoded, TextTransformResponse.class).result();
+
+        byte[] decoded = mvc.perform(post("/api/v1/text/decode")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cbor.writeValueAsBytes(new TextTransformRequest(zeroWidth, pipeline))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals("Hello", cbor.readValue(decoded, TextTransformResponse.class).result());
+    }
+
+    @Test
+    void cborErrorsAreStillProblemDetails() throws Exception {
+        mvc.perform(post("/api/v1/text/decode")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(new CBORMapper().writeValueAsBytes(new TextTransformRequest("%%%",
+                                List.of(new PipelineStepDto(StepType.BASE64, null, null))))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_ALPHABET"));
+    }
 }
@@ -49,6 +49,26 @@ class TextControllerWebMvcTest {
                 .andExpect(jsonPath("$.detail").value("bad options"));
     }
 
+    @Test
+    void cancelledTransformIsMappedToServiceUnavailable() throws Exception {
+        when(service.encode(any()))
+                .thenThrow(new StegoException(StegoErrorCode.CANCELLED, "Transform exceeded its deadline"));
+
+        mvc.perform(post("/api/v1/text/encode")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "text": "Hello",
+                                  "pipeline": [
+                                    { "type": "BASE64" }
+                                  ]
+                                }
+                                """))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.title").value("Transform cancelled"))
+                .andExpect(jsonPath("$.code").value("CANCELLED"));
+    }
+
     @Test
     void illegalArgumentIsMappedToBadRequestProblemDetail() throws Exception {
         when(service.decode(any()))
@@ -0,0 +1,58 @@
+package com.yourorg.stegoapp.api.text;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourorg.stegoapp.api.text.dto.DiscoverRequest;
+import com.yourorg.stegoapp.core.model.Pipeline;
+import com.yourorg.stegoapp.core.model.StepConfig;
+import com.yourorg.stegoapp.core.model.StepType;
+import com.yourorg.stegoapp.service.StegoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "stego.discovery.max-depth=3")
+@AutoConfigureMockMvc
+class TextDiscoveryControllerIT {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper json;
+
+    @Test
+    void returnsMostPlausiblePipelineFirst() throws Exception {
+        Pipeline pipeline = new Pipeline(List.of(StepConfig.of(StepType.BASE64), StepConfig.of(StepType.ZERO_WIDTH)));
+        String encoded = new StegoService().encode("meet at noon", pipeline);
+
+        mvc.perform(post("/api/v1/text/discover")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json.writeValueAsString(new DiscoverRequest(encoded, null, 1))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pipelines.length()").value(1))
+                .andExpect(jsonPath("$.pipelines[0].pipeline[0].type").value("BASE64"))
+                .andExpect(jsonPath("$.pipelines[0].pipeline[1].type").value("ZERO_WIDTH"))
+                .andExpect(jsonPath("$.pipelines[0].decoded").value("meet at noon"))
+                .andExpect(jsonPath("$.pipelines[0].headerMatch").value(false))
+                .andExpect(jsonPath("$.complete").value(true));
+    }
+
+    @Test
+    void rejectsDepthAboveTheConfiguredLimit() throws Exception {
+        mvc.perform(post("/api/v1/text/discover")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json.writeValueAsString(new DiscoverRequest("text", 4, null))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.title").value("Invalid request"))
+                .andExpect(jsonPath("$.detail").value("maxDepth must be between 1 and 3"));
+    }
+}
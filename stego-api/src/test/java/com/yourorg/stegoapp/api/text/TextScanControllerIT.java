@@ -0,0 +1,73 @@
+package com.yourorg.stegoapp.api.text;
+
+import com.yourorg.stegoapp.core.EmojiStep;
+import com.yourorg.stegoapp.core.PayloadRun;
+import com.yourorg.stegoapp.core.ZeroWidthStep;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "stego.scan.max-runs=2")
+@AutoConfigureMockMvc
+class TextScanControllerIT {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void reportsRunsWithOffsetsAndDecodedText() throws Exception {
+        String hidden = new ZeroWidthStep().encode("meet at noon");
+        String document = "Quarterly report. " + hidden + " Figures below. " + new EmojiStep().encode("🤫 ok?");
+
+        mvc.perform(post("/api/v1/text/scan")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content(document.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bytesScanned").value(document.getBytes(StandardCharsets.UTF_8).length))
+                .andExpect(jsonPath("$.runCount").value(2))
+                .andExpect(jsonPath("$.runsTruncated").value(false))
+                .andExpect(jsonPath("$.runs[0].alphabet").value("ZERO_WIDTH"))
+                .andExpect(jsonPath("$.runs[0].offset").value(18))
+                .andExpect(jsonPath("$.runs[0].length").value(hidden.length() * 3))
+                .andExpect(jsonPath("$.runs[0].decoded").value("meet at noon"))
+                .andExpect(jsonPath("$.runs[0].payloadHash").value(String.format("%016x", PayloadRun.hashOf("meet at noon"))))
+                .andExpect(jsonPath("$.runs[1].alphabet").value("EMOJI"))
+                .andExpect(jsonPath("$.runs[1].decoded").value("🤫 ok?"));
+    }
+
+    @Test
+    void listsOnlyTheConfiguredNumberOfRuns() throws Exception {
+        String document = ("line " + new ZeroWidthStep().encode("data") + "\n").repeat(5);
+
+        mvc.perform(post("/api/v1/text/scan")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(document.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.runCount").value(5))
+                .andExpect(jsonPath("$.runs.length()").value(2))
+                .andExpect(jsonPath("$.runsTruncated").value(true));
+    }
+
+    @Test
+    void honoursMinBytesAndRejectsInvalidValues() throws Exception {
+        String document = "x" + new ZeroWidthStep().encode("ab") + "y";
+
+        mvc.perform(post("/api/v1/text/scan").contentType(MediaType.TEXT_PLAIN).content(document))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.runCount").value(0));
+        mvc.perform(post("/api/v1/text/scan?minBytes=2").contentType(MediaType.TEXT_PLAIN).content(document))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.runs[0].decoded").value("ab"));
+        mvc.perform(post("/api/v1/text/scan?minBytes=0").contentType(MediaType.TEXT_PLAIN).content(document))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,152 @@
+package com.yourorg.stegoapp.api.text;
+
+import com.jayway.jsonpath.JsonPath;
+import com.yourorg.stegoapp.core.Base64Step;
+import com.yourorg.stegoapp.core.EmojiStep;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TextStreamControllerIT {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void streamEncodeThenDecode() throws Exception {
+        String text = "Streamed 👋 ".repeat(20_000);
+
+        String encoded = stream("/api/v1/text/encode/stream?pipeline=base64,zero_width:embed_in_cover&coverText=Hi", text);
+        assertEquals("Hi", encoded.substring(0, 2));
+
+        MvcResult started = mvc.perform(post("/api/v1/text/decode/stream?coverText=Hi")
+                        .header(TextStreamController.PIPELINE_HEADER, "BASE64,ZERO_WIDTH:EMBED_IN_COVER")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content(encoded.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String decoded = mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertEquals(text, decoded);
+    }
+
+    @Test
+    void streamMatchesJsonEndpoint() throws Exception {
+        assertEquals("SGVsbG8=", stream("/api/v1/text/encode/stream?pipeline=BASE64", "Hello"));
+    }
+
+    @Test
+    void invalidPipelineIsRejectedBeforeStreaming() throws Exception {
+        mvc.perform(post("/api/v1/text/encode/stream?pipeline=BASE64,NOPE")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("Hello"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.title").value("Invalid request"));
+
+        mvc.perform(post("/api/v1/text/encode/stream?pipeline=CRYPTO")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("Hello"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("UNSUPPORTED_STEP"));
+    }
+
+    @Test
+    void malformedPayloadIsReportedAsProblemDetail() throws Exception {
+        MvcResult started = mvc.perform(post("/api/v1/text/decode/stream?pipeline=BASE64")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("not-base64"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(started))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_ALPHABET"));
+    }
+
+    @Test
+    void jsonBodyIsStreamedInEitherFieldOrder() throws Exception {
+        String text = "Quote \" and backslash \\ and 👋\n".repeat(3_000);
+        String jsonText = text.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        String expected = new EmojiStep().encode(new Base64Step().encode(text));
+
+        for (String body : List.of(
+                "{\"pipeline\":[{\"type\":\"BASE64\"},{\"type\":\"EMOJI\"}],\"text\":\"" + jsonText + "\"}",
+                "{\"text\":\"" + jsonText + "\",\"pipeline\":[{\"type\":\"BASE64\"},{\"type\":\"EMOJI\"}]}")) {
+            String response = streamJson("/api/v1/text/encode/stream", body);
+            assertEquals(expected, JsonPath.read(response, "$.result"));
+
+            String decoded = streamJson("/api/v1/text/decode/stream",
+                    "{\"pipeline\":[{\"type\":\"BASE64\"},{\"type\":\"EMOJI\"}],\"text\":\"" + expected + "\"}");
+            assertEquals(text, JsonPath.read(decoded, "$.result"));
+        }
+    }
+
+    @Test
+    void jsonStreamMatchesBufferedDecodeWhenOutputEndsMidSequence() throws Exception {
+        // "A" followed by the first two bytes of the three-byte UTF-8 encoding of U+20AC
+        StringBuilder payload = new StringBuilder();
+        for (int b : new int[] {0x41, 0xE2, 0x82}) {
+            for (int i = 7; i >= 0; i--) {
+                payload.append(((b >> i) & 1) == 1 ? '\u200C' : '\u200B');
+            }
+        }
+        String body = "{\"pipeline\":[{\"type\":\"ZERO_WIDTH\"}],\"text\":\"" + payload + "\"}";
+
+        String buffered = mvc.perform(post("/api/v1/text/decode")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        String streamed = streamJson("/api/v1/text/decode/stream", body);
+
+        assertEquals("A\uFFFD", JsonPath.read(buffered, "$.result"));
+        assertEquals((String) JsonPath.read(buffered, "$.result"), JsonPath.read(streamed, "$.result"));
+    }
+
+    @Test
+    void jsonBodyWithoutPipelineIsRejected() throws Exception {
+        mvc.perform(post("/api/v1/text/encode/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\":\"Hello\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("pipeline is required"));
+    }
+
+    private String streamJson(String uri, String body) throws Exception {
+        MvcResult started = mvc.perform(post(uri)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    private String stream(String uri, String body) throws Exception {
+        MvcResult started = mvc.perform(post(uri)
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content(body.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+    }
+}
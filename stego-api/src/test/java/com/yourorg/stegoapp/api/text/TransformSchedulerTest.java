@@ -0,0 +1,154 @@
+package com.yourorg.stegoapp.api.text;
+
+import com.yourorg.stegoapp.core.CancellationToken;
+import com.yourorg.stegoapp.core.error.StegoErrorCode;
+import com.yourorg.stegoapp.core.error.StegoException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.ErrorResponseException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransformSchedulerTest {
+    private final ThreadPoolExecutor worker = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>());
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void shutdown() {
+        worker.shutdownNow();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void cheapestQueuedTransformRunsFirst() throws Exception {
+        TransformScheduler scheduler = new TransformScheduler(worker, 1_000, Duration.ofSeconds(1), Duration.ofSeconds(30), registry);
+        CountDownLatch busy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Long> order = new CopyOnWriteArrayList<>();
+
+        Future<?> blocker = callers.submit(() -> scheduler.call(1, () -> {
+            busy.countDown();
+            await(release);
+            return null;
+        }));
+        assertTrue(busy.await(5, TimeUnit.SECONDS));
+        Future<?> big = submit(scheduler, 300, order);
+        awaitQueued(1);
+        Future<?> medium = submit(scheduler, 20, order);
+        awaitQueued(2);
+        Future<?> small = submit(scheduler, 5, order);
+        awaitQueued(3);
+        release.countDown();
+
+        for (Future<?> f : List.of(blocker, big, medium, small)) {
+            f.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(List.of(5L, 20L, 300L), order);
+        assertEquals(0, registry.get("stego.transform.queue.cost").gauge().value());
+    }
+
+    @Test
+    void exhaustedBudgetIsRejectedWithRetryAfter() throws Exception {
+        TransformScheduler scheduler = new TransformScheduler(worker, 100, Duration.ofSeconds(3), Duration.ofSeconds(30), registry);
+        CountDownLatch busy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> first = callers.submit(() -> scheduler.call(80, () -> {
+            busy.countDown();
+            await(release);
+            return null;
+        }));
+        assertTrue(busy.await(5, TimeUnit.SECONDS));
+        Future<?> second = callers.submit(() -> scheduler.call(80, () -> null));
+        awaitQueued(1);
+
+        ErrorResponseException ex = assertThrows(ErrorResponseException.class, () -> scheduler.call(80, () -> "x"));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, ex.getStatusCode());
+        assertEquals("3", ex.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(1, registry.get("stego.transform.rejected").counter().count());
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void oversizedTransformRunsWhenQueueIsEmpty() {
+        TransformScheduler scheduler = new TransformScheduler(worker, 10, Duration.ofSeconds(1), Duration.ofSeconds(30), registry);
+        assertEquals("done", scheduler.call(1_000, () -> "done"));
+    }
+
+    @Test
+    void exceptionsPropagateUnchanged() {
+        TransformScheduler scheduler = new TransformScheduler(worker, 10, Duration.ofSeconds(1), Duration.ofSeconds(30), registry);
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> scheduler.call(1, () -> { throw new IllegalArgumentException("bad input"); }));
+        assertEquals("bad input", ex.getMessage());
+    }
+
+    @Test
+    void transformPastTheTimeoutIsCancelled() {
+        TransformScheduler scheduler = new TransformScheduler(worker, 10, Duration.ofSeconds(1), Duration.ofMillis(50), registry);
+        StegoException ex = assertThrows(StegoException.class, () -> scheduler.call(1, () -> {
+            while (true) {
+                CancellationToken.checkpoint();
+                Thread.onSpinWait();
+            }
+        }));
+        assertEquals(StegoErrorCode.CANCELLED, ex.getCode());
+        // the worker is free again
+        assertEquals("next", new TransformScheduler(worker, 10, Duration.ofSeconds(1), Duration.ofSeconds(30), registry)
+                .call(1, () -> "next"));
+    }
+
+    @Test
+    void interruptedCallerGetsCancelled() {
+        TransformScheduler scheduler = new TransformScheduler(worker, 10, Duration.ofSeconds(1), Duration.ofSeconds(30), registry);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread.currentThread().interrupt();
+        try {
+            StegoException ex = assertThrows(StegoException.class, () -> scheduler.call(1, () -> {
+                await(release);
+                return null;
+            }));
+            assertEquals(StegoErrorCode.CANCELLED, ex.getCode());
+        } finally {
+            assertTrue(Thread.interrupted());
+            release.countDown();
+        }
+    }
+
+    private Future<?> submit(TransformScheduler scheduler, long cost, List<Long> order) {
+        return callers.submit(() -> scheduler.call(cost, () -> order.add(cost)));
+    }
+
+    private void awaitQueued(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (worker.getQueue().size() < depth) {
+            assertTrue(System.nanoTime() < deadline, "queue never reached " + depth);
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.yourorg.stegoapp.api.warmup;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"stego.warmup.enabled=true", "stego.warmup.rounds=3", "management.endpoint.health.show-details=always"})
+@AutoConfigureMockMvc
+class WarmupIT {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void readinessIsUpAfterWarmupAndReportsIt() throws Exception {
+        mvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"))
+                .andExpect(jsonPath("$.components.warmup.details.state").value("DONE"))
+                .andExpect(jsonPath("$.components.warmup.details.transforms").value(greaterThan(0)));
+
+        mvc.perform(get("/actuator/metrics/stego.warmup.duration"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value").value(greaterThan(0.0)));
+    }
+
+    @Test
+    void warmupDoesNotCountTowardsTransformMetrics() throws Exception {
+        mvc.perform(get("/actuator/metrics/stego.step").param("tag", "type:BASE64").param("tag", "direction:encode"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value").value(0.0));
+    }
+
+    @Test
+    void payloadsHaveTheRequestedUtf8Size() {
+        for (int size : new int[]{1, 64, 1000}) {
+            int bytes = WarmupRunner.payload(size).getBytes(StandardCharsets.UTF_8).length;
+            assertTrue(bytes >= size && bytes < size + 4, size + " -> " + bytes);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.yourorg.stegoapp.bench;
+
+import com.yourorg.stegoapp.core.StegoFactory;
+import com.yourorg.stegoapp.core.StegoStep;
+import com.yourorg.stegoapp.core.instrument.AggregateRecorder;
+import com.yourorg.stegoapp.core.instrument.TransformListener;
+import com.yourorg.stegoapp.core.model.Pipeline;
+import com.yourorg.stegoapp.core.model.StepConfig;
+import com.yourorg.stegoapp.core.model.StepType;
+import com.yourorg.stegoapp.service.CompiledPipeline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the {@link TransformListener} SPI on a {@code BASE64 -> ZERO_WIDTH} pipeline.
+ * <p>
+ * {@code steps} calls the step instances directly and is the reference. {@code none} runs a pipeline
+ * compiled without a listener and should match it; {@code recorder} runs one compiled with an
+ * {@link AggregateRecorder}, which adds clock reads, size measurements and the recording itself. The
+ * {@code decode*} variants do the same in the other direction.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstrumentationBenchmark {
+
+    /** Input size in bytes of ASCII text. */
+    @Param({"16", "1024"})
+    public int size;
+
+    private String input;
+    private String encoded;
+    private StegoStep[] steps;
+    private CompiledPipeline none;
+    private CompiledPipeline recorder;
+
+    @Setup
+    public void setup() {
+        input = Payloads.text(Payloads.Kind.PLAIN, size);
+        Pipeline pipeline = new Pipeline(List.of(StepConfig.of(StepType.BASE64), StepConfig.of(StepType.ZERO_WIDTH)));
+        steps = pipeline.steps().stream().map(StegoFactory::create).toArray(StegoStep[]::new);
+        none = CompiledPipeline.compile(pipeline);
+        recorder = CompiledPipeline.compile(pipeline, new AggregateRecorder());
+        encoded = none.encode(input);
+    }
+
+    @Benchmark
+    public String steps() {
+        String result = input;
+        for (StegoStep step : steps) {
+            result = step.encode(result);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public String none() {
+        return none.encode(input);
+    }
+
+    @Benchmark
+    public String recorder() {
+        return recorder.encode(input);
+    }
+
+    @Benchmark
+    public String decodeSteps() {
+        String result = encoded;
+        for (int i = steps.length - 1; i >= 0; i--) {
+            result = steps[i].decode(result);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public String decodeNone() {
+        return none.decode(encoded);
+    }
+
+    @Benchmark
+    public String decodeRecorder() {
+        return recorder.decode(encoded);
+    }
+}
@@ -0,0 +1,91 @@
+package com.yourorg.stegoapp.bench;
+
+import com.yourorg.stegoapp.core.EmojiStep;
+import com.yourorg.stegoapp.core.PayloadScanner;
+import com.yourorg.stegoapp.core.ZeroWidthStep;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link PayloadScanner} over a 16 MiB document.
+ * <p>
+ * {@code copy} copies the same document with {@code System.arraycopy}; it is the
+ * memory-bandwidth reference for the scan. Divide 16 MiB by the time per op to get bytes per second.
+ * </p>
+ * <ul>
+ *   <li>{@code ASCII}: log lines without payloads</li>
+ *   <li>{@code MIXED}: prose with accented letters, CJK and ordinary emoji, without payloads</li>
+ *   <li>{@code PAYLOADS}: ASCII log lines, with a zero-width or emoji payload on every 50th line</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadScannerBenchmark {
+    private static final int SIZE = 16 << 20;
+
+    /** Shape of the scanned document. */
+    public enum Document { ASCII, MIXED, PAYLOADS }
+
+    @Param({"ASCII", "MIXED", "PAYLOADS"})
+    public Document document;
+
+    private byte[] bytes;
+    private byte[] target;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        String zeroWidth = new ZeroWidthStep().encode("exfiltrated record");
+        String emoji = new EmojiStep().encode("exfiltrated record");
+        StringBuilder sb = new StringBuilder(SIZE);
+        for (int line = 0; sb.length() < SIZE; line++) {
+            switch (document) {
+                case ASCII -> sb.append("2026-10-19T04:49:08.604Z INFO request ").append(random.nextInt()).append(" done\n");
+                case MIXED -> sb.append("Grüße aus Köln – 東京の天気は晴れ 😀 line ").append(line).append('\n');
+                case PAYLOADS -> {
+                    sb.append("2026-10-19T04:49:08.604Z INFO request ").append(random.nextInt());
+                    if (line % 50 == 0) {
+                        sb.append(line % 100 == 0 ? zeroWidth : emoji);
+                    }
+                    sb.append(" done\n");
+                }
+            }
+        }
+        bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+        bytes = Arrays.copyOf(bytes, SIZE);
+        target = new byte[SIZE];
+    }
+
+    @Benchmark
+    public long scan() {
+        PayloadScanner scanner = new PayloadScanner(run -> { });
+        scanner.update(ByteBuffer.wrap(bytes));
+        scanner.finish();
+        return scanner.runCount();
+    }
+
+    @Benchmark
+    public byte[] copy() {
+        System.arraycopy(bytes, 0, target, 0, SIZE);
+        return target;
+    }
+}
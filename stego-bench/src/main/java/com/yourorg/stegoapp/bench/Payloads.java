@@ -0,0 +1,64 @@
+package com.yourorg.stegoapp.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourorg.stegoapp.core.EmojiStep;
+import com.yourorg.stegoapp.core.ZeroWidthStep;
+import com.yourorg.stegoapp.core.model.StepType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.Random;
+
+/**
+ * Shared payloads and mappers for the wire format benchmarks.
+ */
+public final class Payloads {
+    private Payloads() {}
+
+    /** Kind of text carried in the request/response. */
+    public enum Kind {
+        /** ASCII input text (and BASE64-like output). */
+        PLAIN(StepType.BASE64),
+        /** Output of the zero-width step: 3 UTF-8 bytes per char, 8 chars per input byte. */
+        ZERO_WIDTH(StepType.ZERO_WIDTH),
+        /** Output of the emoji step: 4 UTF-8 bytes per symbol, 2 symbols per input byte. */
+        EMOJI(StepType.EMOJI);
+
+        private final StepType stepType;
+
+        Kind(StepType stepType) {
+            this.stepType = stepType;
+        }
+
+        StepType stepType() {
+            return stepType;
+        }
+    }
+
+    /**
+     * Returns a mapper configured the way the API configures its message converters.
+     */
+    static ObjectMapper mapper(String format) {
+        return switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+    }
+
+    /**
+     * Returns the text of the given kind for {@code inputBytes} bytes of ASCII input.
+     */
+    static String text(Kind kind, int inputBytes) {
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder(inputBytes);
+        for (int i = 0; i < inputBytes; i++) {
+            sb.append((char) ('a' + random.nextInt(26)));
+        }
+        String input = sb.toString();
+        return switch (kind) {
+            case PLAIN -> input;
+            case ZERO_WIDTH -> new ZeroWidthStep().encode(input);
+            case EMOJI -> new EmojiStep().encode(input);
+        };
+    }
+}
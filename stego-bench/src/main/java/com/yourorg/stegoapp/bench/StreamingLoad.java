@@ -0,0 +1,218 @@
+package com.yourorg.stegoapp.bench;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load generator for the streaming endpoints, used to compare the servlet and reactive APIs.
+ * <p>
+ * Each virtual client repeatedly uploads a body in small chunks with a pause between them, like a
+ * long-lived client that produces text gradually, and reads the encoded response. The server holds
+ * the request open for the whole upload, which is what limits a thread-per-request server.
+ * </p>
+ * <p>
+ * Run with {@code java -cp stego-bench/target/benchmarks.jar com.yourorg.stegoapp.bench.StreamingLoad
+ * <baseUrl> <clients> <seconds> [chunks] [chunkBytes] [pauseMillis]}, e.g.
+ * {@code http://localhost:8080 2000 60 20 1024 50}.
+ * </p>
+ */
+public final class StreamingLoad {
+    private static final String PATH = "/api/v1/text/encode/stream?pipeline=BASE64,ZERO_WIDTH";
+
+    private StreamingLoad() {}
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("usage: StreamingLoad <baseUrl> <clients> <seconds> [chunks] [chunkBytes] [pauseMillis]");
+            System.exit(2);
+        }
+        URI uri = URI.create(args[0] + PATH);
+        int clients = Integer.parseInt(args[1]);
+        Duration duration = Duration.ofSeconds(Long.parseLong(args[2]));
+        int chunks = args.length > 3 ? Integer.parseInt(args[3]) : 20;
+        int chunkBytes = args.length > 4 ? Integer.parseInt(args[4]) : 1024;
+        long pauseMillis = args.length > 5 ? Long.parseLong(args[5]) : 50;
+
+        byte[] chunk = new byte[chunkBytes];
+        Arrays.fill(chunk, (byte) 'a');
+        ScheduledExecutorService timer = Executors.newScheduledThreadPool(4);
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newFixedThreadPool(16))
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        Stats stats = new Stats();
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch done = new CountDownLatch(clients);
+        for (int i = 0; i < clients; i++) {
+            new Client(http, uri, timer, chunk, chunks, pauseMillis, running, stats, done).next();
+        }
+        Thread.sleep(duration.toMillis());
+        running.set(false);
+        done.await(60, TimeUnit.SECONDS);
+        timer.shutdownNow();
+
+        double seconds = duration.toMillis() / 1000.0;
+        long[] latencies = stats.latencies();
+        System.out.printf("clients=%d duration=%.0fs body=%d x %d B every %d ms%n", clients, seconds, chunks, chunkBytes, pauseMillis);
+        System.out.printf("completed=%d errors=%d throughput=%.1f req/s upload=%.2f MiB/s%n",
+                stats.completed.sum(), stats.errors.sum(), stats.completed.sum() / seconds,
+                stats.uploaded.sum() / seconds / (1 << 20));
+        System.out.printf("latency ms p50=%d p99=%d max=%d%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.99), latencies.length == 0 ? 0 : latencies[latencies.length - 1]);
+        System.exit(0);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted.length == 0 ? 0 : sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))];
+    }
+
+    private static final class Stats {
+        final LongAdder completed = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder uploaded = new LongAdder();
+        // latency histogram in milliseconds, capped at one minute
+        final AtomicLong[] histogram = new AtomicLong[60_001];
+
+        Stats() {
+            Arrays.setAll(histogram, i -> new AtomicLong());
+        }
+
+        void record(long millis) {
+            histogram[(int) Math.min(millis, histogram.length - 1)].incrementAndGet();
+        }
+
+        long[] latencies() {
+            long total = 0;
+            for (AtomicLong c : histogram) {
+                total += c.get();
+            }
+            long[] out = new long[(int) total];
+            int n = 0;
+            for (int i = 0; i < histogram.length; i++) {
+                for (long c = histogram[i].get(); c > 0; c--) {
+                    out[n++] = i;
+                }
+            }
+            return out;
+        }
+    }
+
+    /**
+     * One virtual client; issues its next request when the previous one completes.
+     */
+    private static final class Client {
+        private final HttpClient http;
+        private final URI uri;
+        private final ScheduledExecutorService timer;
+        private final byte[] chunk;
+        private final int chunks;
+        private final long pauseMillis;
+        private final AtomicBoolean running;
+        private final Stats stats;
+        private final CountDownLatch done;
+
+        Client(HttpClient http, URI uri, ScheduledExecutorService timer, byte[] chunk, int chunks, long pauseMillis,
+               AtomicBoolean running, Stats stats, CountDownLatch done) {
+            this.http = http;
+            this.uri = uri;
+            this.timer = timer;
+            this.chunk = chunk;
+            this.chunks = chunks;
+            this.pauseMillis = pauseMillis;
+            this.running = running;
+            this.stats = stats;
+            this.done = done;
+        }
+
+        void next() {
+            if (!running.get()) {
+                done.countDown();
+                return;
+            }
+            long start = System.nanoTime();
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .header("Content-Type", "text/plain; charset=utf-8")
+                    .timeout(Duration.ofSeconds(60))
+                    .POST(HttpRequest.BodyPublishers.fromPublisher(new TricklePublisher(), (long) chunk.length * chunks))
+                    .build();
+            http.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                if (error == null && response.statusCode() == 200) {
+                    stats.completed.increment();
+                    stats.uploaded.add((long) chunk.length * chunks);
+                    stats.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                } else {
+                    stats.errors.increment();
+                }
+                next();
+            });
+        }
+
+        /**
+         * Publishes {@code chunks} copies of the chunk, one every {@code pauseMillis}.
+         */
+        private final class TricklePublisher implements Flow.Publisher<ByteBuffer> {
+            @Override
+            public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+                subscriber.onSubscribe(new Flow.Subscription() {
+                    private int sent;
+                    private long demand;
+                    private boolean scheduled;
+                    private boolean cancelled;
+
+                    @Override
+                    public synchronized void request(long n) {
+                        demand += n;
+                        schedule();
+                    }
+
+                    @Override
+                    public synchronized void cancel() {
+                        cancelled = true;
+                    }
+
+                    private void schedule() {
+                        if (!scheduled && !cancelled && demand > 0 && sent < chunks) {
+                            scheduled = true;
+                            timer.schedule(this::emit, sent == 0 ? 0 : pauseMillis, TimeUnit.MILLISECONDS);
+                        }
+                    }
+
+                    private void emit() {
+                        boolean last;
+                        synchronized (this) {
+                            scheduled = false;
+                            if (cancelled) {
+                                return;
+                            }
+                            demand--;
+                            last = ++sent == chunks;
+                        }
+                        subscriber.onNext(ByteBuffer.wrap(chunk));
+                        if (last) {
+                            subscriber.onComplete();
+                        } else {
+                            synchronized (this) {
+                                schedule();
+                            }
+                        }
+                    }
+                });
+            }
+        }
+    }
+}
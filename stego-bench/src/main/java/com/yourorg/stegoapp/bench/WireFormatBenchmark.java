@@ -0,0 +1,70 @@
+package com.yourorg.stegoapp.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourorg.stegoapp.api.text.dto.PipelineStepDto;
+import com.yourorg.stegoapp.api.text.dto.TextTransformRequest;
+import com.yourorg.stegoapp.api.text.dto.TextTransformResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization cost of the text API DTOs in JSON vs CBOR.
+ * <p>
+ * Measures what the HTTP message converters do per request: read a {@link TextTransformRequest} and
+ * write a {@link TextTransformResponse}. Payloads are typical step outputs, see {@link Payloads}. For
+ * the bytes each format puts on the wire, run {@link WireSizes}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor"})
+    public String format;
+
+    @Param({"PLAIN", "ZERO_WIDTH", "EMOJI"})
+    public Payloads.Kind kind;
+
+    @Param({"64", "4096"})
+    public int size;
+
+    private ObjectMapper mapper;
+    private TextTransformResponse response;
+    private byte[] requestBytes;
+
+    @Setup
+    public void setup() throws IOException {
+        mapper = Payloads.mapper(format);
+        String text = Payloads.text(kind, size);
+        response = new TextTransformResponse(text);
+        requestBytes = mapper.writeValueAsBytes(new TextTransformRequest(text,
+                List.of(new PipelineStepDto(kind.stepType(), null, null))));
+    }
+
+    @Benchmark
+    public byte[] writeResponse() throws IOException {
+        return mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public TextTransformRequest readRequest() throws IOException {
+        return mapper.readValue(requestBytes, TextTransformRequest.class);
+    }
+}
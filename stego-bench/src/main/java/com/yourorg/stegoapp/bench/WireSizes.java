@@ -0,0 +1,28 @@
+package com.yourorg.stegoapp.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourorg.stegoapp.api.text.dto.TextTransformResponse;
+
+/**
+ * Prints the size of an encode response in each wire format.
+ * <p>
+ * Run with {@code java -cp stego-bench/target/benchmarks.jar com.yourorg.stegoapp.bench.WireSizes}.
+ * </p>
+ */
+public final class WireSizes {
+    private WireSizes() {}
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper json = Payloads.mapper("json");
+        ObjectMapper cbor = Payloads.mapper("cbor");
+        System.out.printf("%-11s %6s %10s %10s %7s%n", "kind", "input", "json", "cbor", "ratio");
+        for (Payloads.Kind kind : Payloads.Kind.values()) {
+            for (int size : new int[] {64, 4096}) {
+                TextTransformResponse response = new TextTransformResponse(Payloads.text(kind, size));
+                int jsonBytes = json.writeValueAsBytes(response).length;
+                int cborBytes = cbor.writeValueAsBytes(response).length;
+                System.out.printf("%-11s %6d %10d %10d %7.2f%n", kind, size, jsonBytes, cborBytes, (double) cborBytes / jsonBytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.yourorg.stegoapp.core;
+
+/**
+ * Which step alphabets a text is made of, collected in one pass over its chars.
+ * <p>
+ * Each {@code *Decodable} method is a necessary condition for the corresponding step's
+ * {@code decode} to succeed on the text, so a caller that does not know the pipeline can rule out
+ * steps without running them. The conditions are not sufficient: e.g. Base64 text may still decode
+ * to bytes that are not UTF-8, and a frame marker does not guarantee an intact frame.
+ * </p>
+ */
+public final class AlphabetProfile {
+    private static final boolean[] BASE64 = new boolean[128];
+    private static final char ZERO_WIDTH_JOINER = '\u200D';
+    private static final int EMOJI_FRAME_MARKER = FrameAlphabet.EMOJI.marker().codePointAt(0);
+
+    static {
+        for (char c : "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray()) {
+            BASE64[c] = true;
+        }
+    }
+
+    private final int length;
+    private int zeroWidth;
+    private int joiners;
+    private int emoji;
+    private int emojiFrameMarkers;
+    private int base64;
+    private int padding;
+    private boolean paddingInside;
+    private int colons;
+
+    private AlphabetProfile(int length) {
+        this.length = length;
+    }
+
+    /**
+     * Profiles {@code text}.
+     *
+     * @param text text to profile (required)
+     * @return profile of {@code text}
+     */
+    public static AlphabetProfile of(CharSequence text) {
+        AlphabetProfile p = new AlphabetProfile(text.length());
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = text.charAt(i);
+            if (c < 128) {
+                if (BASE64[c]) {
+                    p.base64++;
+                    p.paddingInside |= p.padding > 0;
+                } else if (c == '=') {
+                    p.padding++;
+                } else if (c == ':') {
+                    p.colons++;
+                }
+            } else if (c == ZeroWidthStep.ZW_SPACE || c == ZeroWidthStep.ZW_NON_JOINER) {
+                p.zeroWidth++;
+            } else if (c == ZERO_WIDTH_JOINER) {
+                p.joiners++;
+            } else if (c == EmojiStep.HIGH_SURROGATE && i + 1 < n && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, text.charAt(++i));
+                if (EmojiStep.nibbleOf(cp) >= 0) {
+                    p.emoji++;
+                } else if (cp == EMOJI_FRAME_MARKER) {
+                    p.emojiFrameMarkers++;
+                }
+            }
+        }
+        return p;
+    }
+
+    /** Length of the text in chars. */
+    public int length() {
+        return length;
+    }
+
+    /** Number of {@link ZeroWidthStep} symbols (U+200B, U+200C). */
+    public int zeroWidthSymbols() {
+        return zeroWidth;
+    }
+
+    /** Number of {@link EmojiStep} symbols. */
+    public int emojiSymbols() {
+        return emoji;
+    }
+
+    /**
+     * Whether {@link ZeroWidthStep} (or {@link ZeroWidthCoverStep}) could decode the text: it holds
+     * whole bytes of zero-width symbols. Other chars are ignored by the step.
+     */
+    public boolean zeroWidthDecodable() {
+        return zeroWidth > 0 && zeroWidth % 8 == 0;
+    }
+
+    /**
+     * Whether the text consists of zero-width symbols only, i.e. has no cover text.
+     */
+    public boolean zeroWidthOnly() {
+        return zeroWidth == length;
+    }
+
+    /**
+     * Whether {@link EmojiStep} could decode the text: it consists of whole bytes of emoji symbols
+     * and nothing else.
+     */
+    public boolean emojiDecodable() {
+        return emoji > 0 && emoji % 2 == 0 && emoji * 2 == length;
+    }
+
+    /**
+     * Whether the text contains a {@link FramedStep} sync marker of {@code alphabet}.
+     */
+    public boolean framed(FrameAlphabet alphabet) {
+        return alphabet == FrameAlphabet.ZERO_WIDTH ? joiners >= 2 : emojiFrameMarkers > 0;
+    }
+
+    /**
+     * Whether {@link Base64Step} could decode the text: padded Base64 without line breaks.
+     */
+    public boolean base64Decodable() {
+        return length > 0 && length % 4 == 0 && base64 + padding == length && padding <= 2 && !paddingInside;
+    }
+
+    /**
+     * Whether the text has the {@code salt:iv:ciphertext} shape written by {@link CryptoStep}.
+     */
+    public boolean cryptoShaped() {
+        return colons == 2 && base64 > 0 && base64 + padding + colons == length;
+    }
+}
@@ -1,5 +1,14 @@
 package com.yourorg.stegoapp.core;
 
+import com.yourorg.stegoapp.core.buffer.ScratchBuffers;
+import com.yourorg.stegoapp.core.codec.BlockLayout;
+import com.yourorg.stegoapp.core.codec.ByteCodec;
+import com.yourorg.stegoapp.core.error.StegoErrorCode;
+import com.yourorg.stegoapp.core.error.StegoException;
+import com.yourorg.stegoapp.core.text.Utf8;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Base64;
 import java.nio.charset.StandardCharsets;
 
@@ -8,8 +17,34 @@ import java.nio.charset.StandardCharsets;
  * <p>
  * Encodes and decodes strings using Base64 (RFC 4648) over UTF-8 bytes.
  * </p>
+ * <p>
+ * Intermediates are built in the calling thread's {@link ScratchBuffers}; decoding is delegated to
+ * {@link Base64#getDecoder()}, after a linear pass has checked the input against the same rules the
+ * JDK applies, so malformed input is rejected with a specific {@link StegoErrorCode} before any bytes
+ * are decoded. The string loops stop at the next
+ * {@link CancellationToken#checkpoint()} once the caller's token is cancelled; the JDK decode itself
+ * is checked before and after, not during.
+ * </p>
  */
-public class Base64Step implements StegoStep {
+public class Base64Step implements ByteLevelStep {
+    /** 4 ASCII chars per 3 input bytes; only the last partial group is padded. */
+    private static final BlockLayout LAYOUT = new BlockLayout(3, 4, 4);
+    private static final char[] ALPHABET =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+    private static final int PADDING = -2;
+    /** Input bytes per cancellation check when encoding; whole 3-byte groups. */
+    private static final int CHUNK = CancellationToken.CHECK_INTERVAL / 3 * 3;
+    /** Sextet value per byte, {@link #PADDING} for '=', or -1 if not in the alphabet. */
+    private static final int[] VALUES = new int[256];
+
+    static {
+        Arrays.fill(VALUES, -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            VALUES[ALPHABET[i]] = i;
+        }
+        VALUES['='] = PADDING;
+    }
+
     /**
      * Encodes the input string using Base64.
      *
@@ -18,17 +53,225 @@ public class Base64Step implements StegoStep {
      */
     @Override
     public String encode(String input) {
-        return Base64.getEncoder().encodeToString(input.getBytes(StandardCharsets.UTF_8));
+        ScratchBuffers scratch = ScratchBuffers.current();
+        int n = Utf8.encodedLength(input);
+        byte[] bytes = scratch.bytes(n);
+        Utf8.encode(input, bytes, 0);
+
+        char[] out = scratch.chars(Math.multiplyExact((n + 2) / 3, 4));
+        int p = 0;
+        int i = 0;
+        for (int full = n - n % 3; i < full; ) {
+            CancellationToken.checkpoint();
+            for (int end = Math.min(full, i + CHUNK); i < end; i += 3) {
+                int bits = (bytes[i] & 0xFF) << 16 | (bytes[i + 1] & 0xFF) << 8 | (bytes[i + 2] & 0xFF);
+                out[p++] = ALPHABET[bits >>> 18];
+                out[p++] = ALPHABET[(bits >>> 12) & 0x3F];
+                out[p++] = ALPHABET[(bits >>> 6) & 0x3F];
+                out[p++] = ALPHABET[bits & 0x3F];
+            }
+        }
+        if (i < n) {
+            int b0 = bytes[i] & 0xFF;
+            out[p++] = ALPHABET[b0 >> 2];
+            if (i + 1 == n) {
+                out[p++] = ALPHABET[(b0 << 4) & 0x3F];
+                out[p++] = '=';
+            } else {
+                int b1 = bytes[i + 1] & 0xFF;
+                out[p++] = ALPHABET[(b0 << 4) & 0x3F | (b1 >> 4)];
+                out[p++] = ALPHABET[(b1 << 2) & 0x3F];
+            }
+            out[p++] = '=';
+        }
+        return new String(out, 0, p);
+    }
+
+    /**
+     * Base64 output is ASCII, so its UTF-8 length is its char count.
+     */
+    @Override
+    public long encodedUtf8Length(CharSequence encoded) {
+        return encoded.length();
     }
 
     /**
      * Decodes a Base64-encoded string.
+     * <p>
+     * Padding is optional, but if present it must complete the last 4-char unit.
+     * </p>
      *
      * @param input Base64-encoded string
      * @return Decoded original string
+     * @throws StegoException {@link StegoErrorCode#INVALID_LENGTH} if the last unit has a single char,
+     *                        {@link StegoErrorCode#INVALID_FORMAT} if padding is misplaced, or
+     *                        {@link StegoErrorCode#INVALID_ALPHABET} for any other char outside the alphabet
      */
     @Override
     public String decode(String input) {
-        return new String(Base64.getDecoder().decode(input), StandardCharsets.UTF_8);
+        int n = input.length();
+        int data = n;
+        while (data > 0 && n - data < 2 && input.charAt(data - 1) == '=') {
+            data--;
+        }
+        if (data < n && (n & 3) != 0) {
+            throw StegoException.stackless(StegoErrorCode.INVALID_FORMAT, "Padded Base64 length must be a multiple of 4, but was " + n);
+        }
+        byte[] src = ScratchBuffers.current().bytes(n);
+        for (int start = 0; start < data; start += CancellationToken.CHECK_INTERVAL) {
+            CancellationToken.checkpoint();
+            for (int i = start, end = Math.min(data, start + CancellationToken.CHECK_INTERVAL); i < end; i++) {
+                char c = input.charAt(i);
+                if (c > 0xFF || VALUES[c] < 0) {
+                    throw c == '='
+                            ? StegoException.stackless(StegoErrorCode.INVALID_FORMAT, "Base64 padding before the end of input at " + i)
+                            : illegalChar(c);
+                }
+                src[i] = (byte) c;
+            }
+        }
+        // after the symbol checks, so the code matches what the incremental decoder reports
+        if ((data & 3) == 1) {
+            throw StegoException.stackless(StegoErrorCode.INVALID_LENGTH, "Last Base64 unit has a single char");
+        }
+        for (int i = data; i < n; i++) {
+            src[i] = '=';
+        }
+        CancellationToken.checkpoint();
+        ByteBuffer decoded = Base64.getDecoder().decode(ByteBuffer.wrap(src, 0, n));
+        CancellationToken.checkpoint();
+        return new String(decoded.array(), decoded.arrayOffset() + decoded.position(), decoded.remaining(), StandardCharsets.UTF_8);
+    }
+
+    private static StegoException illegalChar(int c) {
+        return StegoException.stackless(StegoErrorCode.INVALID_ALPHABET, "Illegal base64 character " + Integer.toString(c, 16));
+    }
+
+    @Override
+    public ByteCodec newEncoder() {
+        return new Encoder();
+    }
+
+    @Override
+    public ByteCodec newDecoder() {
+        return new Decoder();
+    }
+
+    @Override
+    public BlockLayout encodeLayout() {
+        return LAYOUT;
+    }
+
+    private static final class Encoder implements ByteCodec {
+        private int carry;
+        private int carried;
+
+        @Override
+        public long maxOutputLength(long inputLength) {
+            return (inputLength + carried + 2) / 3 * 4;
+        }
+
+        @Override
+        public void update(ByteBuffer in, ByteBuffer out) {
+            while (in.hasRemaining()) {
+                carry = (carry << 8) | (in.get() & 0xFF);
+                if (++carried == 3) {
+                    out.put((byte) ALPHABET[carry >>> 18])
+                            .put((byte) ALPHABET[(carry >>> 12) & 0x3F])
+                            .put((byte) ALPHABET[(carry >>> 6) & 0x3F])
+                            .put((byte) ALPHABET[carry & 0x3F]);
+                    carry = 0;
+                    carried = 0;
+                }
+            }
+        }
+
+        @Override
+        public void finish(ByteBuffer out) {
+            if (carried == 1) {
+                out.put((byte) ALPHABET[carry >> 2]).put((byte) ALPHABET[(carry << 4) & 0x3F]).put((byte) '=').put((byte) '=');
+            } else if (carried == 2) {
+                out.put((byte) ALPHABET[carry >> 10])
+                        .put((byte) ALPHABET[(carry >> 4) & 0x3F])
+                        .put((byte) ALPHABET[(carry << 2) & 0x3F])
+                        .put((byte) '=');
+            }
+            carry = 0;
+            carried = 0;
+        }
+    }
+
+    /**
+     * Incremental version of the basic {@link Base64.Decoder}: padding is optional, but once present it
+     * must be well formed and end the input. Fails with the same codes as {@link #decode(String)}.
+     */
+    private static final class Decoder implements ByteCodec {
+        private int bits;
+        private int shift = 18;
+        private long position;
+        private boolean expectSecondPad;
+        private boolean ended;
+
+        @Override
+        public long maxOutputLength(long inputLength) {
+            return (inputLength + 3) / 4 * 3 + 3;
+        }
+
+        @Override
+        public void update(ByteBuffer in, ByteBuffer out) {
+            while (in.hasRemaining()) {
+                int c = in.get() & 0xFF;
+                position++;
+                if (expectSecondPad) {
+                    if (c != '=') {
+                        throw StegoException.stackless(StegoErrorCode.INVALID_FORMAT, "Input byte array has wrong 4-byte ending unit");
+                    }
+                    expectSecondPad = false;
+                    ended = true;
+                    continue;
+                }
+                if (ended) {
+                    throw StegoException.stackless(StegoErrorCode.INVALID_FORMAT, "Input byte array has incorrect ending byte at " + position);
+                }
+                int v = VALUES[c];
+                if (v == PADDING) {
+                    if (shift == 18) {
+                        throw StegoException.stackless(StegoErrorCode.INVALID_FORMAT, "Input byte array has wrong 4-byte ending unit");
+                    }
+                    if (shift == 6) {
+                        expectSecondPad = true;
+                    } else {
+                        ended = true;
+                    }
+                    continue;
+                }
+                if (v < 0) {
+                    throw illegalChar(c);
+                }
+                bits |= v << shift;
+                shift -= 6;
+                if (shift < 0) {
+                    out.put((byte) (bits >> 16)).put((byte) (bits >> 8)).put((byte) bits);
+                    bits = 0;
+                    shift = 18;
+                }
+            }
+        }
+
+        @Override
+        public void finish(ByteBuffer out) {
+            if (expectSecondPad) {
+                throw StegoException.stackless(StegoErrorCode.INVALID_FORMAT, "Input byte array has wrong 4-byte ending unit");
+            }
+            if (shift == 6) {
+                out.put((byte) (bits >> 16));
+            } else if (shift == 0) {
+                out.put((byte) (bits >> 16)).put((byte) (bits >> 8));
+            } else if (shift == 12) {
+                throw StegoException.stackless(StegoErrorCode.INVALID_LENGTH, "Last unit does not have enough valid bits");
+            }
+            bits = 0;
+            shift = 18;
+        }
     }
 }
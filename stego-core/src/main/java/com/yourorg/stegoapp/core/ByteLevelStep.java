@@ -0,0 +1,35 @@
+package com.yourorg.stegoapp.core;
+
+import com.yourorg.stegoapp.core.codec.BlockLayout;
+import com.yourorg.stegoapp.core.codec.ByteCodec;
+
+/**
+ * A {@link StegoStep} that can also run incrementally over UTF-8 bytes.
+ * <p>
+ * Steps that transform data locally (a few bytes at a time) implement this so callers can stream or
+ * stage large payloads without building intermediate strings. Codecs produce exactly the UTF-8 bytes
+ * of {@link #encode(String)}/{@link #decode(String)} for well-formed UTF-8 input, and reject
+ * malformed input with a {@link com.yourorg.stegoapp.core.error.StegoException} carrying the same
+ * error code as the string form.
+ * </p>
+ */
+public interface ByteLevelStep extends StegoStep {
+
+    /**
+     * Creates a new single-use encoder.
+     */
+    ByteCodec newEncoder();
+
+    /**
+     * Creates a new single-use decoder.
+     */
+    ByteCodec newDecoder();
+
+    /**
+     * Returns the block structure of {@link #newEncoder()} output, or {@code null} if the output of a
+     * block depends on more than that block (e.g. a cover-text prefix).
+     */
+    default BlockLayout encodeLayout() {
+        return null;
+    }
+}
@@ -0,0 +1,135 @@
+package com.yourorg.stegoapp.core;
+
+import com.yourorg.stegoapp.core.error.StegoErrorCode;
+import com.yourorg.stegoapp.core.error.StegoException;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Cooperative cancellation and deadline for a running transform.
+ * <p>
+ * A token is {@link #bind() bound} to the thread that runs the transform. Step loops and
+ * {@link com.yourorg.stegoapp.core.codec.CodecChain} call {@link #checkpoint()} once per chunk of
+ * {@link #CHECK_INTERVAL} units of work. Once the token is cancelled, its deadline has passed or the
+ * bound thread is interrupted, the next checkpoint throws {@link StegoErrorCode#CANCELLED}, so an
+ * abandoned transform stops after at most one chunk instead of running to completion.
+ * </p>
+ * <p>
+ * Without a bound token a checkpoint is one thread-local lookup per chunk. Work that a step hands to
+ * other threads (e.g. the parallel frame scan of {@link FramedStep}) does not see the token.
+ * </p>
+ */
+public final class CancellationToken {
+    /** Units of work (bytes or chars) between two checkpoints in step loops. */
+    public static final int CHECK_INTERVAL = 1 << 16;
+
+    private static final ThreadLocal<CancellationToken> CURRENT = new ThreadLocal<>();
+
+    private final long deadline;
+    private final boolean hasDeadline;
+    private volatile boolean cancelled;
+
+    private CancellationToken(long deadline, boolean hasDeadline) {
+        this.deadline = deadline;
+        this.hasDeadline = hasDeadline;
+    }
+
+    /**
+     * Creates a token without a deadline; it is cancelled only by {@link #cancel()} or an interrupt.
+     */
+    public static CancellationToken create() {
+        return new CancellationToken(0, false);
+    }
+
+    /**
+     * Creates a token that is cancelled once {@code timeout} has elapsed from now.
+     *
+     * @param timeout time allowed (required)
+     */
+    public static CancellationToken withTimeout(Duration timeout) {
+        Objects.requireNonNull(timeout, "timeout");
+        return new CancellationToken(System.nanoTime() + timeout.toNanos(), true);
+    }
+
+    /**
+     * Cancels the token. Thread-safe and idempotent; the transform stops at its next checkpoint.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Returns whether the token was cancelled or its deadline has passed.
+     */
+    public boolean isCancelled() {
+        return cancelled || (hasDeadline && System.nanoTime() - deadline >= 0);
+    }
+
+    /**
+     * Throws if the token was cancelled or its deadline has passed.
+     *
+     * @throws StegoException {@link StegoErrorCode#CANCELLED}
+     */
+    public void throwIfCancelled() {
+        if (cancelled) {
+            throw StegoException.stackless(StegoErrorCode.CANCELLED, "Transform was cancelled");
+        }
+        if (hasDeadline && System.nanoTime() - deadline >= 0) {
+            throw StegoException.stackless(StegoErrorCode.CANCELLED, "Transform exceeded its deadline");
+        }
+    }
+
+    /**
+     * Binds the token to the current thread until the returned binding is closed. Bindings nest;
+     * closing one restores the token bound before it.
+     */
+    public Binding bind() {
+        CancellationToken previous = CURRENT.get();
+        CURRENT.set(this);
+        return new Binding(previous);
+    }
+
+    /**
+     * Returns the token bound to the current thread, for work that fans out to other threads and has
+     * to {@link #bind()} it there.
+     */
+    public static Optional<CancellationToken> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Checks the token bound to the current thread, if any. An interrupt of the thread cancels the
+     * bound token; the interrupt status is left set.
+     *
+     * @throws StegoException {@link StegoErrorCode#CANCELLED} if the bound token is cancelled
+     */
+    public static void checkpoint() {
+        CancellationToken token = CURRENT.get();
+        if (token != null) {
+            if (Thread.currentThread().isInterrupted()) {
+                token.cancel();
+            }
+            token.throwIfCancelled();
+        }
+    }
+
+    /** Scope of a {@link #bind()}; closing it unbinds the token. */
+    public static final class Binding implements AutoCloseable {
+        private final CancellationToken previous;
+
+        private Binding(CancellationToken previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -1,15 +1,29 @@
 package com.yourorg.stegoapp.core;
 
+import com.yourorg.stegoapp.core.instrument.Direction;
+import com.yourorg.stegoapp.core.instrument.TransformListener;
+import com.yourorg.stegoapp.core.model.StepConfig;
+import com.yourorg.stegoapp.core.model.StepType;
+import com.yourorg.stegoapp.core.text.Utf8;
+
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Composite step that chains multiple StegoStep implementations in a specified order.
  * <p>
- * The encode() method applies each step in order; decode() applies in reverse order.
+ * The encode() method applies each step in order; decode() applies in reverse order. The caller's
+ * {@link CancellationToken} is checked before each step.
+ * </p>
+ * <p>
+ * A composite built from step configurations can report each call to a {@link TransformListener};
+ * one built from step instances does not know their types and is never instrumented.
  * </p>
  */
 public class CompositeStep implements StegoStep {
     private final List<StegoStep> steps;
+    private final StepType[] types;
+    private final TransformListener listener;
 
     /**
      * Constructs a composite step from a list of StegoStep implementations.
@@ -18,6 +32,22 @@ public class CompositeStep implements StegoStep {
      */
     public CompositeStep(List<StegoStep> steps) {
         this.steps = steps;
+        this.types = null;
+        this.listener = TransformListener.NONE;
+    }
+
+    /**
+     * Constructs a composite step whose steps are created by {@link StegoFactory} and whose calls are
+     * reported to {@code listener}.
+     *
+     * @param configs ordered step configurations
+     * @param listener transform listener (required); {@link TransformListener#NONE} disables instrumentation
+     * @throws com.yourorg.stegoapp.core.error.StegoException if a configuration is invalid
+     */
+    public CompositeStep(List<StepConfig> configs, TransformListener listener) {
+        this.steps = configs.stream().map(StegoFactory::create).toList();
+        this.types = configs.stream().map(StepConfig::type).toArray(StepType[]::new);
+        this.listener = Objects.requireNonNull(listener, "listener");
     }
 
     /**
@@ -28,8 +58,12 @@ public class CompositeStep implements StegoStep {
      */
     @Override
     public String encode(String input) {
+        if (listener != TransformListener.NONE) {
+            return observed(Direction.ENCODE, input);
+        }
         String result = input;
         for (StegoStep step : steps) {
+            CancellationToken.checkpoint();
             result = step.encode(result);
         }
         return result;
@@ -43,10 +77,48 @@ public class CompositeStep implements StegoStep {
      */
     @Override
     public String decode(String input) {
+        if (listener != TransformListener.NONE) {
+            return observed(Direction.DECODE, input);
+        }
         String result = input;
         for (int i = steps.size() - 1; i >= 0; i--) {
+            CancellationToken.checkpoint();
             result = steps.get(i).decode(result);
         }
         return result;
     }
+
+    /**
+     * The output of a composite is the output of its last step.
+     */
+    @Override
+    public long encodedUtf8Length(CharSequence encoded) {
+        return steps.isEmpty() ? encoded.length() : steps.get(steps.size() - 1).encodedUtf8Length(encoded);
+    }
+
+    private String observed(Direction direction, String input) {
+        long start = System.nanoTime();
+        long inputBytes = Utf8.encodedLength(input);
+        listener.pipelineStarted(direction, steps.size(), inputBytes);
+        try {
+            boolean encode = direction == Direction.ENCODE;
+            String result = input;
+            long bytes = inputBytes;
+            for (int n = 0; n < steps.size(); n++) {
+                int i = encode ? n : steps.size() - 1 - n;
+                CancellationToken.checkpoint();
+                long stepStart = System.nanoTime();
+                result = encode ? steps.get(i).encode(result) : steps.get(i).decode(result);
+                long nanos = System.nanoTime() - stepStart;
+                long outputBytes = encode ? steps.get(i).encodedUtf8Length(result) : Utf8.encodedLength(result);
+                listener.stepCompleted(types[i], direction, bytes, outputBytes, nanos);
+                bytes = outputBytes;
+            }
+            listener.pipelineCompleted(direction, inputBytes, bytes, System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            listener.pipelineFailed(direction, System.nanoTime() - start, e);
+            throw e;
+        }
+    }
 }
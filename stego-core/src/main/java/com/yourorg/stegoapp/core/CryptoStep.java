@@ -1,9 +1,15 @@
 package com.yourorg.stegoapp.core;
 
+import com.yourorg.stegoapp.core.error.StegoErrorCode;
+import com.yourorg.stegoapp.core.error.StegoException;
+
+import java.security.GeneralSecurityException;
 import java.security.SecureRandom;
 import java.security.spec.KeySpec;
+import java.util.Arrays;
 import java.util.Base64;
 import java.nio.charset.StandardCharsets;
+import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.SecretKey;
 import javax.crypto.SecretKeyFactory;
@@ -18,6 +24,12 @@ import javax.crypto.spec.SecretKeySpec;
  * The output format is {@code base64(salt) : base64(iv) : base64(ciphertext)}.
  * </p>
  * <p>
+ * Key derivation runs to completion once started; the caller's {@link CancellationToken} is checked
+ * before and after it and between cipher chunks of {@link CancellationToken#CHECK_INTERVAL} bytes.
+ * Decoding checks the structure, Base64 alphabet and lengths of all three parts first, so malformed
+ * input is rejected in linear time without deriving a key.
+ * </p>
+ * <p>
  * Note: this is a low-level building block. For real-world cryptography, prefer authenticated
  * encryption modes (e.g., AES-GCM) and careful key/nonce management.
  * </p>
@@ -27,6 +39,9 @@ public class CryptoStep implements StegoStep {
     private static final int IV_LENGTH = 16;
     private static final int ITERATIONS = 65536;
     private static final int KEY_LENGTH = 256;
+    private static final int BLOCK_SIZE = 16;
+    /** Base64 length of the 16-byte salt and IV. */
+    private static final int ENCODED_PARAM_LENGTH = 24;
 
     private final String password;
 
@@ -44,63 +59,132 @@ public class CryptoStep implements StegoStep {
      *
      * @param input The string to encrypt
      * @return Encrypted string in the format salt:iv:ciphertext (all Base64-encoded)
-     * @throws RuntimeException if encryption fails for any reason
+     * @throws StegoException {@link StegoErrorCode#CRYPTO_ERROR} if the JDK lacks the required algorithms
      */
     @Override
     public String encode(String input) {
+        CancellationToken.checkpoint();
         try {
             SecureRandom random = new SecureRandom();
             byte[] salt = new byte[SALT_LENGTH];
             random.nextBytes(salt);
-            SecretKeyFactory factory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256");
-            KeySpec spec = new PBEKeySpec(password.toCharArray(), salt, ITERATIONS, KEY_LENGTH);
-            SecretKey tmp = factory.generateSecret(spec);
-            SecretKeySpec secret = new SecretKeySpec(tmp.getEncoded(), "AES");
+            SecretKeySpec secret = deriveKey(salt);
             byte[] iv = new byte[IV_LENGTH];
             random.nextBytes(iv);
             IvParameterSpec ivSpec = new IvParameterSpec(iv);
             Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
             cipher.init(Cipher.ENCRYPT_MODE, secret, ivSpec);
-            byte[] ciphertext = cipher.doFinal(input.getBytes(StandardCharsets.UTF_8));
+            byte[] ciphertext = run(cipher, input.getBytes(StandardCharsets.UTF_8));
             String b64salt = Base64.getEncoder().encodeToString(salt);
             String b64iv   = Base64.getEncoder().encodeToString(iv);
             String b64ct   = Base64.getEncoder().encodeToString(ciphertext);
             return b64salt + ":" + b64iv + ":" + b64ct;
-        } catch (Exception e) {
-            throw new RuntimeException("Encryption error", e);
+        } catch (GeneralSecurityException e) {
+            throw new StegoException(StegoErrorCode.CRYPTO_ERROR, "Encryption error", e);
         }
     }
 
+    /**
+     * Output is Base64 parts joined by {@code ':'}, all ASCII.
+     */
+    @Override
+    public long encodedUtf8Length(CharSequence encoded) {
+        return encoded.length();
+    }
+
     /**
      * Decrypts a string produced by encode().
      *
      * @param input Encrypted string in the format salt:iv:ciphertext
      * @return Decrypted original string
-     * @throws IllegalArgumentException if the input format is invalid
-     * @throws RuntimeException if decryption fails (e.g., wrong password or tampered ciphertext)
+     * @throws StegoException {@link StegoErrorCode#INVALID_FORMAT} if the input is not three Base64 parts
+     *                        with a 16-byte salt and IV, {@link StegoErrorCode#INVALID_ALPHABET} if a part is
+     *                        not Base64, {@link StegoErrorCode#INVALID_LENGTH} if the ciphertext is not whole
+     *                        AES blocks, or {@link StegoErrorCode#CRYPTO_ERROR} if decryption fails
+     *                        (e.g., wrong password or tampered ciphertext)
      */
     @Override
     public String decode(String input) {
-        // Pre-check format to allow IllegalArgumentException to propagate
-        String[] parts = input.split(":");
-        if (parts.length != 3) {
-            throw new IllegalArgumentException("Invalid encrypted format");
+        int first = input.indexOf(':');
+        int second = first < 0 ? -1 : input.indexOf(':', first + 1);
+        if (second < 0 || input.indexOf(':', second + 1) >= 0) {
+            throw StegoException.stackless(StegoErrorCode.INVALID_FORMAT, "Invalid encrypted format");
+        }
+        if (first != ENCODED_PARAM_LENGTH || second - first - 1 != ENCODED_PARAM_LENGTH) {
+            throw StegoException.stackless(StegoErrorCode.INVALID_FORMAT, "Salt and IV must be 16 bytes each");
+        }
+        int ciphertextChars = input.length() - second - 1;
+        // the encoder pads, and whole blocks of 16 bytes never end in a 1-char unit
+        if (ciphertextChars == 0 || (ciphertextChars & 3) != 0) {
+            throw StegoException.stackless(StegoErrorCode.INVALID_LENGTH, "Ciphertext must be whole AES blocks");
+        }
+        checkBase64(input, 0, first);
+        checkBase64(input, first + 1, second);
+        checkBase64(input, second + 1, input.length());
+        byte[] salt       = Base64.getDecoder().decode(input.substring(0, first));
+        byte[] iv         = Base64.getDecoder().decode(input.substring(first + 1, second));
+        byte[] ciphertext = Base64.getDecoder().decode(input.substring(second + 1));
+        if (salt.length != SALT_LENGTH || iv.length != IV_LENGTH) {
+            throw StegoException.stackless(StegoErrorCode.INVALID_FORMAT, "Salt and IV must be 16 bytes each");
+        }
+        if (ciphertext.length % BLOCK_SIZE != 0) {
+            throw StegoException.stackless(StegoErrorCode.INVALID_LENGTH, "Ciphertext must be whole AES blocks");
         }
+
+        CancellationToken.checkpoint();
         try {
-            byte[] salt       = Base64.getDecoder().decode(parts[0]);
-            byte[] iv         = Base64.getDecoder().decode(parts[1]);
-            byte[] ciphertext = Base64.getDecoder().decode(parts[2]);
-            SecretKeyFactory factory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256");
-            KeySpec spec = new PBEKeySpec(password.toCharArray(), salt, ITERATIONS, KEY_LENGTH);
-            SecretKey tmp = factory.generateSecret(spec);
-            SecretKeySpec secret = new SecretKeySpec(tmp.getEncoded(), "AES");
+            SecretKeySpec secret = deriveKey(salt);
             IvParameterSpec ivSpec = new IvParameterSpec(iv);
             Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
             cipher.init(Cipher.DECRYPT_MODE, secret, ivSpec);
-            byte[] plaintext = cipher.doFinal(ciphertext);
+            byte[] plaintext = run(cipher, ciphertext);
             return new String(plaintext, StandardCharsets.UTF_8);
-        } catch (Exception e) {
-            throw new RuntimeException("Decryption error", e);
+        } catch (BadPaddingException e) {
+            throw StegoException.stackless(StegoErrorCode.CRYPTO_ERROR, "Decryption failed (wrong password or tampered data)");
+        } catch (GeneralSecurityException e) {
+            throw new StegoException(StegoErrorCode.CRYPTO_ERROR, "Decryption error", e);
+        }
+    }
+
+    /**
+     * Checks the alphabet and padding of {@code [from, to)}, whose length is already a multiple of 4, so
+     * the JDK decoder cannot fail on it.
+     */
+    private static void checkBase64(String input, int from, int to) {
+        int data = to;
+        while (data > from && to - data < 2 && input.charAt(data - 1) == '=') {
+            data--;
+        }
+        for (int i = from; i < data; i++) {
+            char c = input.charAt(i);
+            boolean valid = (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '+' || c == '/';
+            if (!valid) {
+                throw c == '='
+                        ? StegoException.stackless(StegoErrorCode.INVALID_FORMAT, "Base64 padding before the end of a part at " + i)
+                        : StegoException.stackless(StegoErrorCode.INVALID_ALPHABET, "Illegal base64 character at " + i);
+            }
+        }
+    }
+
+    private SecretKeySpec deriveKey(byte[] salt) throws GeneralSecurityException {
+        SecretKeyFactory factory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256");
+        KeySpec spec = new PBEKeySpec(password.toCharArray(), salt, ITERATIONS, KEY_LENGTH);
+        SecretKey tmp = factory.generateSecret(spec);
+        CancellationToken.checkpoint();
+        return new SecretKeySpec(tmp.getEncoded(), "AES");
+    }
+
+    /** Runs {@code cipher} over {@code input} in chunks, checking for cancellation between them. */
+    private static byte[] run(Cipher cipher, byte[] input) throws GeneralSecurityException {
+        byte[] out = new byte[cipher.getOutputSize(input.length)];
+        int written = 0;
+        int offset = 0;
+        while (input.length - offset > CancellationToken.CHECK_INTERVAL) {
+            written += cipher.update(input, offset, CancellationToken.CHECK_INTERVAL, out, written);
+            offset += CancellationToken.CHECK_INTERVAL;
+            CancellationToken.checkpoint();
         }
+        written += cipher.doFinal(input, offset, input.length - offset, out, written);
+        return written == out.length ? out : Arrays.copyOf(out, written);
     }
 }
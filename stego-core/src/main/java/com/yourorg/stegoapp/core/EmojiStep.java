@@ -1,9 +1,15 @@
 package com.yourorg.stegoapp.core;
+
+import com.yourorg.stegoapp.core.buffer.ScratchBuffers;
+import com.yourorg.stegoapp.core.codec.BlockLayout;
+import com.yourorg.stegoapp.core.codec.ByteCodec;
+import com.yourorg.stegoapp.core.error.StegoErrorCode;
+import com.yourorg.stegoapp.core.error.StegoException;
+import com.yourorg.stegoapp.core.text.Utf8;
+
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.Arrays;
 
 /**
  * Emoji encoding step.
@@ -11,17 +17,34 @@ import java.util.Map;
  * Maps UTF-8 bytes to a sequence of emoji using a fixed 16-symbol alphabet.
  * Each byte is split into two 4-bit nibbles, each mapped to one emoji.
  * </p>
+ * <p>
+ * Intermediates are built in the calling thread's {@link ScratchBuffers}; only the returned string is
+ * allocated per call. The string loops stop at the next {@link CancellationToken#checkpoint()} once the
+ * caller's token is cancelled.
+ * </p>
  */
-public class EmojiStep implements StegoStep {
+public class EmojiStep implements ByteLevelStep {
+    /** 2 emoji (surrogate pairs of 4 UTF-8 bytes) per input byte. */
+    private static final BlockLayout LAYOUT = new BlockLayout(1, 8, 4);
     private static final String[] EMOJI_MAP = new String[] {
             "😀","😁","😂","😃","😄","😅","😆","😉",
             "😊","😋","😎","😍","😘","😗","😙","😚"
     };
-    private static final Map<String, Byte> REVERSE_MAP = new HashMap<>();
+    /** All symbols share the U+1F6xx block: one high surrogate, and a low surrogate per nibble. */
+    static final char HIGH_SURROGATE = EMOJI_MAP[0].charAt(0);
+    static final char[] LOW_SURROGATES = new char[EMOJI_MAP.length];
+    private static final int BLOCK_START = 0x1F600;
+    /** Nibble value per code point in {@code [BLOCK_START, BLOCK_START + 64)}, or -1 if unmapped. */
+    private static final byte[] REVERSE_MAP = new byte[64];
+    /** UTF-8 of every symbol is F0 9F 98 xx; this holds xx per nibble. */
+    private static final byte[] UTF8_TAILS = new byte[EMOJI_MAP.length];
 
     static {
+        Arrays.fill(REVERSE_MAP, (byte) -1);
         for (int i = 0; i < EMOJI_MAP.length; i++) {
-            REVERSE_MAP.put(EMOJI_MAP[i], (byte) i);
+            LOW_SURROGATES[i] = EMOJI_MAP[i].charAt(1);
+            REVERSE_MAP[EMOJI_MAP[i].codePointAt(0) - BLOCK_START] = (byte) i;
+            UTF8_TAILS[i] = (byte) (0x80 + EMOJI_MAP[i].codePointAt(0) - BLOCK_START);
         }
     }
 
@@ -33,15 +56,34 @@ public class EmojiStep implements StegoStep {
      */
     @Override
     public String encode(String input) {
-        byte[] data = input.getBytes(StandardCharsets.UTF_8);
-        StringBuilder sb = new StringBuilder();
-        for (byte b : data) {
-            // split byte into two 4-bit halves
-            int high = (b >> 4) & 0xF;
-            int low  = b & 0xF;
-            sb.append(EMOJI_MAP[high]).append(EMOJI_MAP[low]);
+        ScratchBuffers scratch = ScratchBuffers.current();
+        int n = Utf8.encodedLength(input);
+        byte[] data = scratch.bytes(n);
+        Utf8.encode(input, data, 0);
+
+        char[] out = scratch.chars(Math.multiplyExact(n, 4));
+        int p = 0;
+        for (int start = 0; start < n; start += CancellationToken.CHECK_INTERVAL) {
+            CancellationToken.checkpoint();
+            for (int i = start, end = Math.min(n, start + CancellationToken.CHECK_INTERVAL); i < end; i++) {
+                // split byte into two 4-bit halves
+                int high = (data[i] >> 4) & 0xF;
+                int low  = data[i] & 0xF;
+                out[p++] = HIGH_SURROGATE;
+                out[p++] = LOW_SURROGATES[high];
+                out[p++] = HIGH_SURROGATE;
+                out[p++] = LOW_SURROGATES[low];
+            }
         }
-        return sb.toString();
+        return new String(out, 0, p);
+    }
+
+    /**
+     * Every output symbol is a surrogate pair taking 4 bytes in UTF-8, i.e. 2 bytes per char.
+     */
+    @Override
+    public long encodedUtf8Length(CharSequence encoded) {
+        return 2L * encoded.length();
     }
 
     /**
@@ -49,40 +91,169 @@ public class EmojiStep implements StegoStep {
      *
      * @param input emoji-encoded string (2 emoji per byte)
      * @return decoded original string
-     * @throws IllegalArgumentException if the emoji sequence contains symbols not in the supported alphabet
-     * @throws IndexOutOfBoundsException if the input contains an odd number of emoji symbols
+     * @throws StegoException {@link StegoErrorCode#INVALID_LENGTH} if the input cannot hold an even number
+     *                        of emoji symbols (checked up front from its length), or
+     *                        {@link StegoErrorCode#INVALID_ALPHABET} at the first symbol not in the alphabet
      */
+    @Override
     public String decode(String input) {
-        // Convert input string into a list of emojis (2 emojis = 1 byte)
-        List<String> emojis = splitEmojis(input);
-        byte[] result = new byte[emojis.size() / 2];
-
-        for (int i = 0; i < emojis.size(); i += 2) {
-            Byte high = REVERSE_MAP.get(emojis.get(i));
-            Byte low  = REVERSE_MAP.get(emojis.get(i + 1));
-            if (high == null || low == null) {
-                throw new IllegalArgumentException("Invalid emoji sequence.");
+        // every symbol is one surrogate pair, so any valid input is a whole number of 4-char pairs
+        if ((input.length() & 3) != 0) {
+            throw StegoException.stackless(StegoErrorCode.INVALID_LENGTH,
+                    "Emoji input length must be a multiple of 4 chars, but was " + input.length());
+        }
+        byte[] result = ScratchBuffers.current().bytes(input.length() / 2);
+        int count = 0;
+        int high = 0;
+        int i = 0;
+        int len = input.length();
+        while (i < len) {
+            CancellationToken.checkpoint();
+            // a surrogate pair may end one char past the chunk; the next chunk starts after it
+            int end = Math.min(len, i + CancellationToken.CHECK_INTERVAL);
+            while (i < end) {
+                int cp = input.codePointAt(i);
+                i += Character.charCount(cp);
+                int nibble = nibbleOf(cp);
+                // 2 emojis = 1 byte; a pair is only rejected once both halves are seen
+                if ((count++ & 1) == 0) {
+                    high = nibble;
+                } else {
+                    if (high < 0 || nibble < 0) {
+                        throw invalidSymbol();
+                    }
+                    result[(count >>> 1) - 1] = (byte) ((high << 4) | nibble);
+                }
+            }
+        }
+        if ((count & 1) != 0) {
+            throw oddCount(count);
+        }
+
+        return new String(result, 0, count >>> 1, StandardCharsets.UTF_8);
+    }
+
+    private static StegoException invalidSymbol() {
+        return StegoException.stackless(StegoErrorCode.INVALID_ALPHABET, "Invalid emoji sequence.");
+    }
+
+    private static StegoException oddCount(long count) {
+        return StegoException.stackless(StegoErrorCode.INVALID_LENGTH, "Odd number of emoji symbols: " + count);
+    }
+
+    static int nibbleOf(int codePoint) {
+        int idx = codePoint - BLOCK_START;
+        return (idx >= 0 && idx < REVERSE_MAP.length) ? REVERSE_MAP[idx] : -1;
+    }
+
+    @Override
+    public ByteCodec newEncoder() {
+        return new Encoder();
+    }
+
+    @Override
+    public ByteCodec newDecoder() {
+        return new Decoder();
+    }
+
+    @Override
+    public BlockLayout encodeLayout() {
+        return LAYOUT;
+    }
+
+    private static final class Encoder implements ByteCodec {
+        @Override
+        public long maxOutputLength(long inputLength) {
+            return inputLength * 8;
+        }
+
+        @Override
+        public void update(ByteBuffer in, ByteBuffer out) {
+            while (in.hasRemaining()) {
+                byte b = in.get();
+                putSymbol(out, (b >> 4) & 0xF);
+                putSymbol(out, b & 0xF);
             }
-            result[i / 2] = (byte) ((high << 4) | low);
         }
 
-        return new String(result, StandardCharsets.UTF_8);
+        @Override
+        public void finish(ByteBuffer out) {
+            // no buffered state
+        }
+
+        private static void putSymbol(ByteBuffer out, int nibble) {
+            out.put((byte) 0xF0).put((byte) 0x9F).put((byte) 0x98).put(UTF8_TAILS[nibble]);
+        }
     }
 
     /**
-     * Splits a string of emoji characters into individual emoji strings.
-     *
-     * @param input Emoji string
-     * @return List of emoji as strings
+     * Splits UTF-8 into code points (malformed sequences count as one invalid symbol, like the
+     * replacement character in the string form) and pairs them into bytes.
      */
-    private List<String> splitEmojis(String input) {
-        List<String> emojis = new ArrayList<>();
-        int i = 0;
-        while (i < input.length()) {
-            int cp = input.codePointAt(i);
-            emojis.add(new String(Character.toChars(cp)));
-            i += Character.charCount(cp);
+    private static final class Decoder implements ByteCodec {
+        private int need;
+        private int codePoint;
+        private long count;
+        private int high;
+
+        @Override
+        public long maxOutputLength(long inputLength) {
+            return inputLength / 2 + 2;
+        }
+
+        @Override
+        public void update(ByteBuffer in, ByteBuffer out) {
+            while (in.hasRemaining()) {
+                int u = in.get() & 0xFF;
+                if (need > 0) {
+                    if ((u & 0xC0) == 0x80) {
+                        codePoint = (codePoint << 6) | (u & 0x3F);
+                        if (--need == 0) {
+                            symbol(codePoint, out);
+                        }
+                        continue;
+                    }
+                    need = 0;
+                    symbol(-1, out);
+                }
+                if (u < 0x80) {
+                    symbol(u, out);
+                } else if (u >= 0xC2 && u < 0xE0) {
+                    need = 1;
+                    codePoint = u & 0x1F;
+                } else if (u >= 0xE0 && u < 0xF0) {
+                    need = 2;
+                    codePoint = u & 0x0F;
+                } else if (u >= 0xF0 && u < 0xF5) {
+                    need = 3;
+                    codePoint = u & 0x07;
+                } else {
+                    symbol(-1, out);
+                }
+            }
+        }
+
+        @Override
+        public void finish(ByteBuffer out) {
+            if (need > 0) {
+                need = 0;
+                symbol(-1, out);
+            }
+            if ((count & 1) != 0) {
+                throw oddCount(count);
+            }
+        }
+
+        private void symbol(int cp, ByteBuffer out) {
+            int nibble = cp < 0 ? -1 : nibbleOf(cp);
+            if ((count++ & 1) == 0) {
+                high = nibble;
+                return;
+            }
+            if (high < 0 || nibble < 0) {
+                throw invalidSymbol();
+            }
+            out.put((byte) ((high << 4) | nibble));
         }
-        return emojis;
     }
 }
@@ -0,0 +1,80 @@
+package com.yourorg.stegoapp.core;
+
+/**
+ * Symbol alphabets that {@link FramedStep} can write frames in.
+ * <p>
+ * Each alphabet has a sync marker made of characters that never occur in its payload symbols, so
+ * frame starts can be found with a plain substring search.
+ * </p>
+ */
+public enum FrameAlphabet {
+    /** Bits as U+200B/U+200C (8 chars per byte); frames start with two zero-width joiners. */
+    ZERO_WIDTH("\u200D\u200D", 8),
+    /** Nibbles as the {@link EmojiStep} emoji (4 chars per byte); frames start with U+1F537. */
+    EMOJI("\uD83D\uDD37", 4);
+
+    private final String marker;
+    private final int charsPerByte;
+
+    FrameAlphabet(String marker, int charsPerByte) {
+        this.marker = marker;
+        this.charsPerByte = charsPerByte;
+    }
+
+    /**
+     * Returns the sync marker written before every frame.
+     */
+    public String marker() {
+        return marker;
+    }
+
+    /**
+     * Returns the number of UTF-16 chars used per payload byte.
+     */
+    public int charsPerByte() {
+        return charsPerByte;
+    }
+
+    void append(StringBuilder sb, byte[] data, int off, int len) {
+        for (int i = off; i < off + len; i++) {
+            int b = data[i] & 0xFF;
+            if (this == ZERO_WIDTH) {
+                for (int bit = 7; bit >= 0; bit--) {
+                    sb.append(((b >> bit) & 1) == 1 ? ZeroWidthStep.ZW_NON_JOINER : ZeroWidthStep.ZW_SPACE);
+                }
+            } else {
+                sb.append(EmojiStep.HIGH_SURROGATE).append(EmojiStep.LOW_SURROGATES[b >> 4])
+                        .append(EmojiStep.HIGH_SURROGATE).append(EmojiStep.LOW_SURROGATES[b & 0xF]);
+            }
+        }
+    }
+
+    /**
+     * Reads one byte starting at {@code pos}, or returns -1 if the symbols there are missing or invalid.
+     */
+    int readByte(String s, int pos) {
+        if (pos < 0 || pos + charsPerByte > s.length()) {
+            return -1;
+        }
+        if (this == ZERO_WIDTH) {
+            int b = 0;
+            for (int i = 0; i < 8; i++) {
+                char c = s.charAt(pos + i);
+                if (c == ZeroWidthStep.ZW_NON_JOINER) {
+                    b = (b << 1) | 1;
+                } else if (c == ZeroWidthStep.ZW_SPACE) {
+                    b <<= 1;
+                } else {
+                    return -1;
+                }
+            }
+            return b;
+        }
+        int high = EmojiStep.nibbleOf(s.codePointAt(pos));
+        int low = EmojiStep.nibbleOf(s.codePointAt(pos + 2));
+        if (high < 0 || low < 0 || !Character.isLowSurrogate(s.charAt(pos + 1)) || !Character.isLowSurrogate(s.charAt(pos + 3))) {
+            return -1;
+        }
+        return (high << 4) | low;
+    }
+}
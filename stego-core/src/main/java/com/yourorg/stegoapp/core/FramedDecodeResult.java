@@ -0,0 +1,28 @@
+package com.yourorg.stegoapp.core;
+
+import java.util.List;
+
+/**
+ * Outcome of a lenient {@link FramedStep} decode.
+ *
+ * @param text payload reassembled from every intact frame, in sequence order
+ * @param frames number of intact frames used
+ * @param missingSequences sequence numbers below the highest one seen (or the final frame's) that had
+ *                         no intact frame
+ * @param corruptFrames number of sync markers whose frame failed its length or CRC32 check
+ * @param finalFrameSeen whether the frame flagged as last was found intact; if not, frames after the
+ *                       highest sequence seen may be missing as well
+ */
+public record FramedDecodeResult(String text, int frames, List<Integer> missingSequences, int corruptFrames,
+                                 boolean finalFrameSeen) {
+    public FramedDecodeResult {
+        missingSequences = List.copyOf(missingSequences);
+    }
+
+    /**
+     * Returns whether every frame up to the final one decoded and no sequence number is missing.
+     */
+    public boolean isComplete() {
+        return frames > 0 && finalFrameSeen && missingSequences.isEmpty() && corruptFrames == 0;
+    }
+}
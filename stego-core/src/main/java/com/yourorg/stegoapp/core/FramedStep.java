@@ -0,0 +1,305 @@
+package com.yourorg.stegoapp.core;
+
+import com.yourorg.stegoapp.core.error.StegoErrorCode;
+import com.yourorg.stegoapp.core.error.StegoException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+
+/**
+ * Zero-width or emoji encoding split into independently decodable frames.
+ * <p>
+ * The UTF-8 payload is cut into blocks of {@code blockSize} bytes (an empty payload still gets one
+ * frame). Each frame is written as the alphabet's {@link FrameAlphabet#marker() sync marker}
+ * followed by, in the alphabet's symbols:
+ * </p>
+ * <pre>
+ * final flag (1 bit) + sequence (31 bits, big-endian) | length (u16) | CRC32 of sequence+length+payload (u32) | payload
+ * </pre>
+ * <p>
+ * The final flag is set on the last frame only, so a payload whose trailing frames were cut off is
+ * recognised as incomplete rather than decoded short.
+ * </p>
+ * <p>
+ * Because frames are self-delimiting and checksummed, a decoder can locate them in parallel,
+ * decode a byte range without touching other frames ({@link #decodeRange}), and skip damaged frames
+ * ({@link #decodeLenient}). {@link #decode(String)} is strict and fails with
+ * {@link StegoErrorCode#CORRUPT_PAYLOAD} unless every frame is intact.
+ * </p>
+ */
+public final class FramedStep implements StegoStep {
+    /** Largest supported block size (the length field is 16 bits). */
+    public static final int MAX_BLOCK_SIZE = 0xFFFF;
+
+    private static final int HEADER_BYTES = 10;
+    /** Bit of the sequence word that marks the last frame. */
+    private static final int FINAL_FLAG = 0x8000_0000;
+    /** Inputs at least this long (in chars) are scanned for frames in parallel. */
+    private static final int PARALLEL_THRESHOLD = 1 << 20;
+
+    private final FrameAlphabet alphabet;
+    private final int blockSize;
+
+    /**
+     * Creates a framed encoder/decoder.
+     *
+     * @param alphabet symbol alphabet (required)
+     * @param blockSize payload bytes per frame, {@code 1..MAX_BLOCK_SIZE}
+     */
+    public FramedStep(FrameAlphabet alphabet, int blockSize) {
+        this.alphabet = Objects.requireNonNull(alphabet, "alphabet");
+        if (blockSize < 1 || blockSize > MAX_BLOCK_SIZE) {
+            throw new IllegalArgumentException("blockSize must be between 1 and " + MAX_BLOCK_SIZE + ", but was " + blockSize);
+        }
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Markers and symbols are zero-width chars (3 bytes each in UTF-8) or surrogate pairs (2 bytes per
+     * char), depending on the alphabet.
+     */
+    @Override
+    public long encodedUtf8Length(CharSequence encoded) {
+        return (alphabet == FrameAlphabet.ZERO_WIDTH ? 3L : 2L) * encoded.length();
+    }
+
+    @Override
+    public String encode(String input) {
+        byte[] data = input.getBytes(StandardCharsets.UTF_8);
+        int blocks = Math.max(1, (data.length + blockSize - 1) / blockSize);
+        StringBuilder sb = new StringBuilder(blocks * (alphabet.marker().length() + HEADER_BYTES * alphabet.charsPerByte())
+                + data.length * alphabet.charsPerByte());
+        byte[] header = new byte[HEADER_BYTES];
+        CRC32 crc = new CRC32();
+        for (int seq = 0; seq < blocks; seq++) {
+            int off = seq * blockSize;
+            int len = Math.min(blockSize, data.length - off);
+            putInt(header, 0, seq == blocks - 1 ? seq | FINAL_FLAG : seq);
+            header[4] = (byte) (len >>> 8);
+            header[5] = (byte) len;
+            crc.reset();
+            crc.update(header, 0, 6);
+            crc.update(data, off, len);
+            putInt(header, 6, (int) crc.getValue());
+
+            sb.append(alphabet.marker());
+            alphabet.append(sb, header, 0, HEADER_BYTES);
+            alphabet.append(sb, data, off, len);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Decodes all frames, failing unless every frame is intact and in sequence.
+     *
+     * @throws StegoException with {@link StegoErrorCode#CORRUPT_PAYLOAD} if any frame is damaged or
+     *                        missing, including frames cut off after the last intact one
+     */
+    @Override
+    public String decode(String input) {
+        FramedDecodeResult result = decodeLenient(input);
+        if (!result.isComplete()) {
+            throw StegoException.stackless(StegoErrorCode.CORRUPT_PAYLOAD, "Framed payload is damaged: "
+                    + result.corruptFrames() + " corrupt frame(s), missing sequences " + result.missingSequences()
+                    + (result.finalFrameSeen() ? "" : ", final frame missing"));
+        }
+        return result.text();
+    }
+
+    /**
+     * Decodes every intact frame and reports which ones were skipped.
+     *
+     * @param input encoded text (may contain surrounding content)
+     * @return recovered payload and damage report
+     */
+    public FramedDecodeResult decodeLenient(CharSequence input) {
+        String s = input.toString();
+        Scan scan = scan(s);
+
+        // first intact copy of each sequence number wins
+        TreeMap<Integer, Frame> bySeq = new TreeMap<>();
+        int end = Integer.MAX_VALUE;
+        for (Frame f : scan.frames) {
+            bySeq.putIfAbsent(f.sequence, f);
+            if (f.last) {
+                end = Math.min(end, f.sequence);
+            }
+        }
+        boolean finalSeen = end != Integer.MAX_VALUE;
+        // frames past the final one belong to some other payload
+        bySeq.tailMap(end, false).clear();
+        List<Integer> missing = new ArrayList<>();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int expected = 0;
+        for (Frame f : bySeq.values()) {
+            for (; expected < f.sequence; expected++) {
+                missing.add(expected);
+            }
+            out.write(f.payload, 0, f.payload.length);
+            expected = f.sequence + 1;
+        }
+        return new FramedDecodeResult(out.toString(StandardCharsets.UTF_8), bySeq.size(), missing, scan.corrupt, finalSeen);
+    }
+
+    /**
+     * Decodes only the frames covering payload bytes {@code [offset, offset + length)}.
+     * <p>
+     * Frames are located by position when they are laid out contiguously (the usual case), so the cost
+     * does not depend on where the range lies; otherwise the input is scanned.
+     * </p>
+     *
+     * @param input encoded text
+     * @param offset first payload byte
+     * @param length number of bytes (truncated at the end of the payload)
+     * @return the requested UTF-8 bytes
+     * @throws StegoException with {@link StegoErrorCode#CORRUPT_PAYLOAD} if a needed frame is damaged
+     */
+    public byte[] decodeRange(CharSequence input, long offset, int length) {
+        if (offset < 0 || length < 0) {
+            throw new IllegalArgumentException("offset and length must be >= 0");
+        }
+        String s = input.toString();
+        int first = s.indexOf(alphabet.marker());
+        int frameWidth = alphabet.marker().length() + (HEADER_BYTES + blockSize) * alphabet.charsPerByte();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(length);
+        long seq = offset / blockSize;
+        int skip = (int) (offset % blockSize);
+        Scan scanned = null;
+        while (out.size() < length) {
+            if (seq > Integer.MAX_VALUE) {
+                break;
+            }
+            Frame frame = null;
+            long pos = first + seq * frameWidth;
+            if (first >= 0 && pos <= Integer.MAX_VALUE) {
+                frame = readFrame(s, (int) pos);
+            }
+            if (frame == null || frame.sequence != seq) {
+                if (scanned == null) {
+                    scanned = scan(s);
+                }
+                final long wanted = seq;
+                frame = scanned.frames.stream().filter(f -> f.sequence == wanted).findFirst().orElse(null);
+            }
+            if (frame == null) {
+                if (isPastEnd(scanned, seq)) {
+                    break;
+                }
+                throw StegoException.stackless(StegoErrorCode.CORRUPT_PAYLOAD, "Frame " + seq + " is missing or damaged");
+            }
+            int n = Math.min(frame.payload.length - skip, length - out.size());
+            if (n > 0) {
+                out.write(frame.payload, skip, n);
+            }
+            if (frame.last) {
+                break;
+            }
+            skip = 0;
+            seq++;
+        }
+        return out.toByteArray();
+    }
+
+    private static boolean isPastEnd(Scan scanned, long seq) {
+        // the range runs past the payload only if an intact final frame comes before it
+        return scanned != null && scanned.frames.stream().anyMatch(f -> f.last && f.sequence < seq);
+    }
+
+    private Scan scan(String s) {
+        int len = s.length();
+        int segments = len < PARALLEL_THRESHOLD ? 1 : Math.min(ForkJoinPool.getCommonPoolParallelism() * 4, len / (PARALLEL_THRESHOLD / 4));
+        if (segments <= 1) {
+            return scan(s, 0, len);
+        }
+        List<Scan> parts = IntStream.range(0, segments).parallel()
+                .mapToObj(i -> scan(s, (int) ((long) len * i / segments), (int) ((long) len * (i + 1) / segments)))
+                .collect(Collectors.toList());
+        Scan merged = new Scan();
+        for (Scan part : parts) {
+            merged.frames.addAll(part.frames);
+            merged.corrupt += part.corrupt;
+        }
+        merged.frames.sort(Comparator.comparingInt(f -> f.sequence));
+        return merged;
+    }
+
+    /** Decodes every frame whose marker starts in {@code [from, to)}. */
+    private Scan scan(String s, int from, int to) {
+        Scan scan = new Scan();
+        String marker = alphabet.marker();
+        for (int pos = s.indexOf(marker, from); pos >= 0 && pos < to; pos = s.indexOf(marker, pos + marker.length())) {
+            Frame frame = readFrame(s, pos);
+            if (frame == null) {
+                scan.corrupt++;
+            } else {
+                scan.frames.add(frame);
+            }
+        }
+        return scan;
+    }
+
+    private Frame readFrame(String s, int markerPos) {
+        if (!s.startsWith(alphabet.marker(), markerPos)) {
+            return null;
+        }
+        int cpb = alphabet.charsPerByte();
+        int p = markerPos + alphabet.marker().length();
+        byte[] header = new byte[HEADER_BYTES];
+        for (int i = 0; i < HEADER_BYTES; i++, p += cpb) {
+            int b = alphabet.readByte(s, p);
+            if (b < 0) {
+                return null;
+            }
+            header[i] = (byte) b;
+        }
+        int len = ((header[4] & 0xFF) << 8) | (header[5] & 0xFF);
+        if (len > blockSize) {
+            return null;
+        }
+        byte[] payload = new byte[len];
+        for (int i = 0; i < len; i++, p += cpb) {
+            int b = alphabet.readByte(s, p);
+            if (b < 0) {
+                return null;
+            }
+            payload[i] = (byte) b;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(header, 0, 6);
+        crc.update(payload);
+        if ((int) crc.getValue() != getInt(header, 6)) {
+            return null;
+        }
+        int word = getInt(header, 0);
+        return new Frame(word & ~FINAL_FLAG, (word & FINAL_FLAG) != 0, payload);
+    }
+
+    private static void putInt(byte[] b, int off, int v) {
+        b[off] = (byte) (v >>> 24);
+        b[off + 1] = (byte) (v >>> 16);
+        b[off + 2] = (byte) (v >>> 8);
+        b[off + 3] = (byte) v;
+    }
+
+    private static int getInt(byte[] b, int off) {
+        return (b[off] & 0xFF) << 24 | (b[off + 1] & 0xFF) << 16 | (b[off + 2] & 0xFF) << 8 | (b[off + 3] & 0xFF);
+    }
+
+    private record Frame(int sequence, boolean last, byte[] payload) {
+    }
+
+    private static final class Scan {
+        private final List<Frame> frames = new ArrayList<>();
+        private int corrupt;
+    }
+}
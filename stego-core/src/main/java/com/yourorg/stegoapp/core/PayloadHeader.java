@@ -0,0 +1,231 @@
+package com.yourorg.stegoapp.core;
+
+import com.yourorg.stegoapp.core.buffer.ScratchBuffers;
+import com.yourorg.stegoapp.core.error.StegoErrorCode;
+import com.yourorg.stegoapp.core.error.StegoException;
+import com.yourorg.stegoapp.core.model.FramedOptions;
+import com.yourorg.stegoapp.core.model.Pipeline;
+import com.yourorg.stegoapp.core.model.StepConfig;
+import com.yourorg.stegoapp.core.model.ZeroWidthMode;
+import com.yourorg.stegoapp.core.model.ZeroWidthOptions;
+import com.yourorg.stegoapp.core.text.Utf8;
+
+import java.nio.charset.StandardCharsets;
+import java.util.OptionalInt;
+import java.util.zip.CRC32;
+
+/**
+ * Optional self-describing header carried as an invisible prefix of encoded text.
+ * <p>
+ * Layout (20 bytes, big-endian), modelled on the header used by the web image tool:
+ * </p>
+ * <pre>
+ *   0  magic "STGT"
+ *   4  format version (1)
+ *   5  flags (reserved, written as 0)
+ *   6  reserved (2 bytes)
+ *   8  pipeline fingerprint (u32, see {@link #fingerprint(Pipeline)})
+ *  12  body length in UTF-8 bytes (u32)
+ *  16  CRC32 of the body's UTF-8 bytes (u32)
+ * </pre>
+ * <p>
+ * The bytes are written with the zero-width alphabet of {@link ZeroWidthStep} between two word
+ * joiners (U+2060). Decoders check the header before running any step, so text produced for a
+ * different pipeline, or damaged in transit, is rejected without touching e.g. the crypto key
+ * derivation.
+ * </p>
+ */
+public final class PayloadHeader {
+    /** Delimiter around the header bits. */
+    public static final char DELIMITER = '\u2060';
+    /** Current format version. */
+    public static final int VERSION = 1;
+    /** Header size in bytes. */
+    public static final int SIZE = 20;
+
+    private static final byte[] MAGIC = {'S', 'T', 'G', 'T'};
+    private static final int ENCODED_LENGTH = 2 + SIZE * 8;
+
+    private PayloadHeader() {}
+
+    /**
+     * Prepends a header describing {@code body} and {@code pipeline}.
+     *
+     * @param body encoded text (output of the last step)
+     * @param pipeline pipeline that produced {@code body}
+     * @return header followed by {@code body}
+     */
+    public static String prepend(String body, Pipeline pipeline) {
+        return prepend(body, fingerprint(pipeline));
+    }
+
+    /**
+     * Prepends a header for a pipeline whose {@link #fingerprint(Pipeline) fingerprint} is already known.
+     *
+     * @param body encoded text (output of the last step)
+     * @param fingerprint fingerprint of the pipeline that produced {@code body}
+     * @return header followed by {@code body}
+     */
+    public static String prepend(String body, int fingerprint) {
+        byte[] header = new byte[SIZE];
+        System.arraycopy(MAGIC, 0, header, 0, MAGIC.length);
+        header[4] = VERSION;
+        writeU32(header, 8, fingerprint);
+        int length = Utf8.encodedLength(body);
+        writeU32(header, 12, length);
+        writeU32(header, 16, crc(body, length));
+
+        StringBuilder sb = new StringBuilder(ENCODED_LENGTH + body.length());
+        sb.append(DELIMITER);
+        for (byte b : header) {
+            for (int i = 7; i >= 0; i--) {
+                sb.append(((b >> i) & 1) == 1 ? ZeroWidthStep.ZW_NON_JOINER : ZeroWidthStep.ZW_SPACE);
+            }
+        }
+        sb.append(DELIMITER);
+        return sb.append(body).toString();
+    }
+
+    /**
+     * Returns whether {@code input} starts with a header delimiter.
+     */
+    public static boolean isPresent(CharSequence input) {
+        return !input.isEmpty() && input.charAt(0) == DELIMITER;
+    }
+
+    /**
+     * Validates and strips the header, if present.
+     * <p>
+     * Input without a header is returned unchanged, so headerless text from older clients still
+     * decodes.
+     * </p>
+     *
+     * @param input encoded text, possibly prefixed with a header
+     * @param pipeline pipeline the caller intends to decode with
+     * @return the body following the header
+     * @throws StegoException {@link StegoErrorCode#INVALID_INPUT} if the header is malformed or of an
+     *                        unknown version, {@link StegoErrorCode#PIPELINE_MISMATCH} if it was written
+     *                        for another pipeline, {@link StegoErrorCode#CORRUPT_PAYLOAD} if the body
+     *                        length or checksum does not match
+     */
+    public static String strip(String input, Pipeline pipeline) {
+        return isPresent(input) ? strip(input, fingerprint(pipeline)) : input;
+    }
+
+    /**
+     * Validates and strips the header, if present, against a precomputed
+     * {@link #fingerprint(Pipeline) fingerprint}. See {@link #strip(String, Pipeline)}.
+     */
+    public static String strip(String input, int fingerprint) {
+        if (!isPresent(input)) {
+            return input;
+        }
+        byte[] header = read(input);
+        if (readU32(header, 8) != fingerprint) {
+            throw StegoException.stackless(StegoErrorCode.PIPELINE_MISMATCH, "Payload was encoded with a different pipeline");
+        }
+
+        String body = input.substring(ENCODED_LENGTH);
+        long expectedLength = readU32(header, 12) & 0xFFFFFFFFL;
+        // cheap bound before measuring: UTF-8 takes 1..3 bytes per char
+        if (expectedLength < body.length() || expectedLength > 3L * body.length()) {
+            throw StegoException.stackless(StegoErrorCode.CORRUPT_PAYLOAD, "Payload length does not match its header");
+        }
+        int length = Utf8.encodedLength(body);
+        if (length != expectedLength) {
+            throw StegoException.stackless(StegoErrorCode.CORRUPT_PAYLOAD, "Payload length does not match its header");
+        }
+        if (crc(body, length) != readU32(header, 16)) {
+            throw StegoException.stackless(StegoErrorCode.CORRUPT_PAYLOAD, "Payload checksum does not match its header");
+        }
+        return body;
+    }
+
+    /**
+     * Returns the {@link #fingerprint(Pipeline) pipeline fingerprint} recorded in the header of
+     * {@code input}, without checking the body. Lets a caller that does not know the pipeline test
+     * candidates against the header.
+     *
+     * @param input encoded text, possibly prefixed with a header
+     * @return the recorded fingerprint, or empty if {@code input} has no header
+     * @throws StegoException {@link StegoErrorCode#INVALID_INPUT} if the header is malformed or of an
+     *                        unknown version
+     */
+    public static OptionalInt fingerprintOf(String input) {
+        return isPresent(input) ? OptionalInt.of(readU32(read(input), 8)) : OptionalInt.empty();
+    }
+
+    private static byte[] read(String input) {
+        if (input.length() < ENCODED_LENGTH || input.charAt(ENCODED_LENGTH - 1) != DELIMITER) {
+            throw StegoException.stackless(StegoErrorCode.INVALID_INPUT, "Truncated payload header");
+        }
+        byte[] header = new byte[SIZE];
+        for (int idx = 0; idx < SIZE; idx++) {
+            int acc = 0;
+            for (int i = 0; i < 8; i++) {
+                char c = input.charAt(1 + idx * 8 + i);
+                if (c != ZeroWidthStep.ZW_SPACE && c != ZeroWidthStep.ZW_NON_JOINER) {
+                    throw StegoException.stackless(StegoErrorCode.INVALID_INPUT, "Malformed payload header");
+                }
+                acc = (acc << 1) | (c == ZeroWidthStep.ZW_NON_JOINER ? 1 : 0);
+            }
+            header[idx] = (byte) acc;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (header[i] != MAGIC[i]) {
+                throw StegoException.stackless(StegoErrorCode.INVALID_INPUT, "Malformed payload header");
+            }
+        }
+        if (header[4] != VERSION) {
+            throw StegoException.stackless(StegoErrorCode.INVALID_INPUT, "Unsupported payload header version (" + (header[4] & 0xFF) + ")");
+        }
+        return header;
+    }
+
+    /**
+     * Computes a fingerprint of the options that affect decoding.
+     * <p>
+     * Step types, zero-width mode and framing are included; secrets (passwords) and cover text are
+     * not, so the header never leaks them and the same payload decodes regardless of the cover.
+     * </p>
+     *
+     * @param pipeline pipeline to describe
+     * @return CRC32 of a canonical description of the pipeline
+     */
+    public static int fingerprint(Pipeline pipeline) {
+        StringBuilder sb = new StringBuilder();
+        for (StepConfig step : pipeline.steps()) {
+            if (!sb.isEmpty()) {
+                sb.append(',');
+            }
+            sb.append(step.type().name());
+            if (step.options() instanceof ZeroWidthOptions zw) {
+                sb.append(':').append(zw.mode() == null ? ZeroWidthMode.RAW : zw.mode());
+            } else if (step.options() instanceof FramedOptions framed) {
+                sb.append(":FRAMED/").append(framed.blockSize());
+            }
+        }
+        CRC32 crc = new CRC32();
+        crc.update(sb.toString().getBytes(StandardCharsets.UTF_8));
+        return (int) crc.getValue();
+    }
+
+    private static int crc(String body, int utf8Length) {
+        byte[] bytes = ScratchBuffers.current().bytes(utf8Length);
+        Utf8.encode(body, bytes, 0);
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, utf8Length);
+        return (int) crc.getValue();
+    }
+
+    private static void writeU32(byte[] buf, int off, int value) {
+        buf[off] = (byte) (value >>> 24);
+        buf[off + 1] = (byte) (value >>> 16);
+        buf[off + 2] = (byte) (value >>> 8);
+        buf[off + 3] = (byte) value;
+    }
+
+    private static int readU32(byte[] buf, int off) {
+        return ((buf[off] & 0xFF) << 24) | ((buf[off + 1] & 0xFF) << 16) | ((buf[off + 2] & 0xFF) << 8) | (buf[off + 3] & 0xFF);
+    }
+}
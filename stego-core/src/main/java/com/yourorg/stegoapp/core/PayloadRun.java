@@ -0,0 +1,52 @@
+package com.yourorg.stegoapp.core;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A run of hidden-payload symbols found by {@link PayloadScanner}.
+ *
+ * @param alphabet symbols of the run: raw {@link ZeroWidthStep} bits or {@link EmojiStep} nibbles
+ * @param offset byte offset of the first symbol in the scanned UTF-8 input
+ * @param length length of the run in input bytes
+ * @param symbols number of symbols in the run
+ * @param payloadBytes number of whole bytes the symbols encode
+ * @param payloadHash {@link #hashOf(byte[])} of all {@code payloadBytes}, also when {@code decoded} is
+ *                    truncated or {@code null}; identical payloads have identical hashes wherever
+ *                    and in whichever alphabet they are hidden
+ * @param decoded the payload as UTF-8 text, or {@code null} if the run is not a whole number of bytes
+ *                or the bytes are not valid UTF-8 (e.g. a further encoded or encrypted payload)
+ * @param truncated whether {@code decoded} only covers the first bytes of the payload because the
+ *                  scanner's capture limit was reached
+ */
+public record PayloadRun(
+        FrameAlphabet alphabet,
+        long offset,
+        long length,
+        long symbols,
+        long payloadBytes,
+        long payloadHash,
+        String decoded,
+        boolean truncated
+) {
+    /** FNV-1a 64-bit offset basis and prime. */
+    static final long HASH_SEED = 0xcbf29ce484222325L;
+    static final long HASH_PRIME = 0x100000001b3L;
+
+    /**
+     * Returns the 64-bit FNV-1a hash of a payload, as reported in {@link #payloadHash()}.
+     */
+    public static long hashOf(byte[] payload) {
+        long hash = HASH_SEED;
+        for (byte b : payload) {
+            hash = (hash ^ (b & 0xFF)) * HASH_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the hash of a text payload (its UTF-8 bytes).
+     */
+    public static long hashOf(String payload) {
+        return hashOf(payload.getBytes(StandardCharsets.UTF_8));
+    }
+}
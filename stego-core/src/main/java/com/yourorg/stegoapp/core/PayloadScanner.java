@@ -0,0 +1,404 @@
+package com.yourorg.stegoapp.core;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Finds hidden payloads in UTF-8 text in one streaming pass.
+ * <p>
+ * A payload is a maximal run of symbols of one alphabet: the zero-width bits of {@link ZeroWidthStep}
+ * (U+200B/U+200C) or the 16 emoji of {@link EmojiStep}. Any other character ends a run. Runs that
+ * encode at least {@code minPayloadBytes} bytes are reported to the sink with their byte offset and
+ * length, and the payload is decoded as it is read, so a run costs no second pass. Payloads hidden
+ * under further steps (e.g. Base64 inside zero-width) are reported with their outer layer only.
+ * </p>
+ * <p>
+ * Text between runs is skipped eight bytes at a time: both alphabets start with a lead byte that
+ * no other symbol starts with ({@code E2} and {@code F0}), so a word without either byte cannot
+ * hold a symbol. Symbols split across {@link #update} calls are carried over. Memory is bounded by
+ * {@code maxCapturedBytes}, the payload prefix kept per run for decoding.
+ * </p>
+ * <p>
+ * Instances are not thread-safe; use one per input.
+ * </p>
+ */
+public final class PayloadScanner {
+    /** Runs shorter than this many payload bytes are too common in ordinary text to report. */
+    public static final int DEFAULT_MIN_PAYLOAD_BYTES = 4;
+    /** Payload bytes kept per run for the decode attempt. */
+    public static final int DEFAULT_MAX_CAPTURED_BYTES = 64 * 1024;
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGHS = 0x8080808080808080L;
+    private static final byte ZW_LEAD = (byte) 0xE2;
+    private static final byte EMOJI_LEAD = (byte) 0xF0;
+    /** Last byte of U+200B (bit 0) and U+200C (bit 1), after E2 80. */
+    private static final byte ZW_ZERO_TAIL = (byte) 0x8B;
+    private static final byte ZW_ONE_TAIL = (byte) 0x8C;
+    private static final long ZW_LEADS = (ZW_LEAD & 0xFFL) * ONES;
+    private static final long EMOJI_LEADS = (EMOJI_LEAD & 0xFFL) * ONES;
+    private static final int EMOJI_SYMBOL = 0x10;
+    private static final int CHUNK_SIZE = 64 * 1024;
+    /** Nibble per last byte of an emoji symbol (after F0 9F 98), or -1. */
+    private static final byte[] NIBBLES = new byte[256];
+
+    static {
+        Arrays.fill(NIBBLES, (byte) -1);
+        for (int tail = 0x80; tail < 0xC0; tail++) {
+            NIBBLES[tail] = (byte) EmojiStep.nibbleOf(0x1F600 + (tail & 0x3F));
+        }
+    }
+
+    private final Consumer<PayloadRun> sink;
+    private final int minPayloadBytes;
+    private final int maxCapturedBytes;
+
+    /** Start of a symbol cut off at the end of the previous update; its bytes precede {@link #position}. */
+    private final byte[] carry = new byte[3];
+    private int carryLength;
+    private final byte[] stitch = new byte[6];
+    private byte[] chunk;
+    /** Input offset of the next byte passed to {@link #update}. */
+    private long position;
+    private long runCount;
+
+    private FrameAlphabet alphabet;
+    private long runStart;
+    private long runEnd;
+    private long symbols;
+    private int acc;
+    private byte[] captured = new byte[64];
+    private int capturedLength;
+    private long hash = PayloadRun.HASH_SEED;
+
+    /**
+     * Creates a scanner with the default limits.
+     *
+     * @param sink receives runs in input order
+     */
+    public PayloadScanner(Consumer<PayloadRun> sink) {
+        this(sink, DEFAULT_MIN_PAYLOAD_BYTES, DEFAULT_MAX_CAPTURED_BYTES);
+    }
+
+    /**
+     * Creates a scanner.
+     *
+     * @param sink receives runs in input order
+     * @param minPayloadBytes smallest payload (in decoded bytes) to report; at least 1
+     * @param maxCapturedBytes payload bytes kept per run for {@link PayloadRun#decoded()}; longer
+     *                         payloads are reported as {@link PayloadRun#truncated()}
+     */
+    public PayloadScanner(Consumer<PayloadRun> sink, int minPayloadBytes, int maxCapturedBytes) {
+        if (minPayloadBytes < 1 || maxCapturedBytes < 0) {
+            throw new IllegalArgumentException("minPayloadBytes must be >= 1 and maxCapturedBytes >= 0");
+        }
+        this.sink = Objects.requireNonNull(sink, "sink");
+        this.minPayloadBytes = minPayloadBytes;
+        this.maxCapturedBytes = maxCapturedBytes;
+    }
+
+    /**
+     * Scans the remaining bytes of {@code in}, which is left fully consumed.
+     */
+    public void update(ByteBuffer in) {
+        if (in.hasArray()) {
+            int off = in.arrayOffset() + in.position();
+            feed(in.array(), off, off + in.remaining());
+            in.position(in.limit());
+            return;
+        }
+        if (chunk == null) {
+            chunk = new byte[CHUNK_SIZE];
+        }
+        while (in.hasRemaining()) {
+            int n = Math.min(chunk.length, in.remaining());
+            in.get(chunk, 0, n);
+            feed(chunk, 0, n);
+        }
+    }
+
+    /**
+     * Ends the input and reports the last run, if any.
+     */
+    public void finish() {
+        // a symbol cut off by the end of input is not a symbol
+        carryLength = 0;
+        endRun();
+    }
+
+    /**
+     * Scans {@code in} to the end and calls {@link #finish()}.
+     *
+     * @return number of bytes scanned
+     */
+    public long scan(ReadableByteChannel in) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE);
+        while (in.read(buffer) >= 0) {
+            buffer.flip();
+            update(buffer);
+            buffer.clear();
+        }
+        finish();
+        return position;
+    }
+
+    /**
+     * Returns the number of bytes scanned so far.
+     */
+    public long bytesScanned() {
+        return position;
+    }
+
+    /**
+     * Returns the number of runs reported so far.
+     */
+    public long runCount() {
+        return runCount;
+    }
+
+    private void feed(byte[] a, int off, int end) {
+        if (carryLength > 0) {
+            // complete the cut-off symbol with up to 3 new bytes, then continue after whatever it used
+            int take = Math.min(3, end - off);
+            System.arraycopy(carry, 0, stitch, 0, carryLength);
+            System.arraycopy(a, off, stitch, carryLength, take);
+            int stop = scanRange(stitch, 0, carryLength, carryLength + take, position - carryLength);
+            if (stop < carryLength) {
+                carryLength = carryLength + take - stop;
+                System.arraycopy(stitch, stop, carry, 0, carryLength);
+                position += take;
+                return;
+            }
+            int used = stop - carryLength;
+            carryLength = 0;
+            off += used;
+            position += used;
+        }
+        int stop = scanRange(a, off, end, end, position - off);
+        carryLength = end - stop;
+        System.arraycopy(a, stop, carry, 0, carryLength);
+        position += end - off;
+    }
+
+    /**
+     * Scans the symbols starting in {@code [i, limit)} with bytes available up to {@code end}.
+     *
+     * @param base input offset of {@code a[0]}
+     * @return index after the last complete symbol or skipped byte; below {@code limit} if a symbol
+     *         starting there needs bytes beyond {@code end}
+     */
+    private int scanRange(byte[] a, int i, int limit, int end, long base) {
+        while (i < limit) {
+            if (alphabet == null) {
+                while (i + Long.BYTES <= limit && !hasLead((long) LONGS.get(a, i))) {
+                    i += Long.BYTES;
+                }
+                while (i < limit && a[i] != ZW_LEAD && a[i] != EMOJI_LEAD) {
+                    i++;
+                }
+                if (i == limit) {
+                    return i;
+                }
+            }
+            byte b = a[i];
+            int length = b == ZW_LEAD ? 3 : b == EMOJI_LEAD ? 4 : 0;
+            if (length == 0) {
+                endRun();
+                i++;
+                continue;
+            }
+            if (i + length > end) {
+                return i;
+            }
+            int symbol = symbolAt(a, i);
+            if (symbol < 0) {
+                endRun();
+                i++;
+                continue;
+            }
+            symbol(symbol, base + i, length);
+            i += length;
+            // the rest of the run goes through a loop without per-symbol bookkeeping
+            i = alphabet == FrameAlphabet.ZERO_WIDTH ? zeroWidthRun(a, i, end, base) : emojiRun(a, i, end, base);
+        }
+        return i;
+    }
+
+    private int zeroWidthRun(byte[] a, int i, int end, long base) {
+        long n = symbols;
+        int bits = acc;
+        while (i + 3 <= end && a[i] == ZW_LEAD && a[i + 1] == (byte) 0x80) {
+            byte tail = a[i + 2];
+            if (tail != ZW_ZERO_TAIL && tail != ZW_ONE_TAIL) {
+                break;
+            }
+            bits = (bits << 1) | (~tail & 1);
+            i += 3;
+            if ((++n & 7) == 0) {
+                capture(bits);
+                bits = 0;
+            }
+        }
+        symbols = n;
+        acc = bits;
+        runEnd = base + i;
+        return i;
+    }
+
+    private int emojiRun(byte[] a, int i, int end, long base) {
+        long n = symbols;
+        int high = acc;
+        while (i + 4 <= end && a[i] == EMOJI_LEAD && a[i + 1] == (byte) 0x9F && a[i + 2] == (byte) 0x98) {
+            int nibble = NIBBLES[a[i + 3] & 0xFF];
+            if (nibble < 0) {
+                break;
+            }
+            i += 4;
+            if ((++n & 1) == 1) {
+                high = nibble;
+            } else {
+                capture((high << 4) | nibble);
+            }
+        }
+        symbols = n;
+        acc = (n & 1) == 1 ? high : 0;
+        runEnd = base + i;
+        return i;
+    }
+
+    /**
+     * Returns the bit of a zero-width symbol, {@code EMOJI_SYMBOL | nibble} of an emoji symbol, or -1.
+     * {@code a[i]} is a lead byte and the whole sequence is available.
+     */
+    private static int symbolAt(byte[] a, int i) {
+        if (a[i] == ZW_LEAD) {
+            if (a[i + 1] != (byte) 0x80) {
+                return -1;
+            }
+            byte tail = a[i + 2];
+            return tail == ZW_ZERO_TAIL ? 0 : tail == ZW_ONE_TAIL ? 1 : -1;
+        }
+        if (a[i + 1] != (byte) 0x9F || a[i + 2] != (byte) 0x98) {
+            return -1;
+        }
+        int nibble = NIBBLES[a[i + 3] & 0xFF];
+        return nibble < 0 ? -1 : EMOJI_SYMBOL | nibble;
+    }
+
+    private static boolean hasLead(long word) {
+        return (hasZeroByte(word ^ ZW_LEADS) | hasZeroByte(word ^ EMOJI_LEADS)) != 0;
+    }
+
+    private static long hasZeroByte(long v) {
+        return (v - ONES) & ~v & HIGHS;
+    }
+
+    private void symbol(int symbol, long at, int length) {
+        FrameAlphabet kind = symbol >= EMOJI_SYMBOL ? FrameAlphabet.EMOJI : FrameAlphabet.ZERO_WIDTH;
+        if (alphabet != kind) {
+            endRun();
+            alphabet = kind;
+            runStart = at;
+        }
+        runEnd = at + length;
+        symbols++;
+        if (kind == FrameAlphabet.ZERO_WIDTH) {
+            acc = (acc << 1) | symbol;
+            if ((symbols & 7) == 0) {
+                capture(acc);
+                acc = 0;
+            }
+        } else if ((symbols & 1) == 1) {
+            acc = symbol & 0xF;
+        } else {
+            capture((acc << 4) | (symbol & 0xF));
+            acc = 0;
+        }
+    }
+
+    private void capture(int b) {
+        hash = (hash ^ (b & 0xFF)) * PayloadRun.HASH_PRIME;
+        if (capturedLength == maxCapturedBytes) {
+            return;
+        }
+        if (capturedLength == captured.length) {
+            captured = Arrays.copyOf(captured, Math.min(maxCapturedBytes, captured.length * 2));
+        }
+        captured[capturedLength++] = (byte) b;
+    }
+
+    private void endRun() {
+        if (alphabet == null) {
+            return;
+        }
+        int symbolsPerByte = alphabet == FrameAlphabet.ZERO_WIDTH ? 8 : 2;
+        long payloadBytes = symbols / symbolsPerByte;
+        if (payloadBytes >= minPayloadBytes) {
+            boolean truncated = payloadBytes > capturedLength;
+            String decoded = symbols % symbolsPerByte == 0 ? decode(truncated) : null;
+            runCount++;
+            sink.accept(new PayloadRun(alphabet, runStart, runEnd - runStart, symbols, payloadBytes, hash,
+                    decoded, truncated));
+        }
+        alphabet = null;
+        symbols = 0;
+        acc = 0;
+        capturedLength = 0;
+        hash = PayloadRun.HASH_SEED;
+    }
+
+    /**
+     * Decodes the captured bytes if they are well-formed UTF-8; a truncated capture may end inside a
+     * character, which is then left out. Validating by hand and decoding with the {@code String}
+     * constructor is several times faster than a {@code CharsetDecoder} for the short payloads typical
+     * of documents.
+     */
+    private String decode(boolean truncated) {
+        byte[] b = captured;
+        int n = capturedLength;
+        int i = 0;
+        while (i < n) {
+            int c = b[i] & 0xFF;
+            if (c < 0x80) {
+                i++;
+                continue;
+            }
+            int need;
+            int min = 0x80;
+            int max = 0xBF;
+            if (c >= 0xC2 && c <= 0xDF) {
+                need = 1;
+            } else if (c >= 0xE0 && c <= 0xEF) {
+                need = 2;
+                min = c == 0xE0 ? 0xA0 : 0x80;  // overlong
+                max = c == 0xED ? 0x9F : 0xBF;  // surrogates
+            } else if (c >= 0xF0 && c <= 0xF4) {
+                need = 3;
+                min = c == 0xF0 ? 0x90 : 0x80;  // overlong
+                max = c == 0xF4 ? 0x8F : 0xBF;  // above U+10FFFF
+            } else {
+                return null;
+            }
+            for (int k = 1; k <= need; k++) {
+                if (i + k == n) {
+                    return truncated ? new String(b, 0, i, StandardCharsets.UTF_8) : null;
+                }
+                int cc = b[i + k] & 0xFF;
+                if (cc < (k == 1 ? min : 0x80) || cc > (k == 1 ? max : 0xBF)) {
+                    return null;
+                }
+            }
+            i += need + 1;
+        }
+        return new String(b, 0, n, StandardCharsets.UTF_8);
+    }
+}
@@ -3,6 +3,7 @@ package com.yourorg.stegoapp.core;
 import com.yourorg.stegoapp.core.error.StegoErrorCode;
 import com.yourorg.stegoapp.core.error.StegoException;
 import com.yourorg.stegoapp.core.model.CryptoOptions;
+import com.yourorg.stegoapp.core.model.FramedOptions;
 import com.yourorg.stegoapp.core.model.StepConfig;
 import com.yourorg.stegoapp.core.model.Step;
 import com.yourorg.stegoapp.core.model.ZeroWidthMode;
@@ -33,18 +34,28 @@ public final class StegoFactory {
         return switch (step.type()) {
             case ZERO_WIDTH -> createZeroWidth(step);
             case BASE64 -> new Base64Step();
-            case EMOJI -> new EmojiStep();
+            case EMOJI -> createEmoji(step);
             case CRYPTO -> createCrypto(step);
         };
     }
 
     private static StegoStep createZeroWidth(StepConfig step) {
+        if (step.options() instanceof FramedOptions framed) {
+            return new FramedStep(FrameAlphabet.ZERO_WIDTH, framed.blockSize());
+        }
         if (step.options() instanceof ZeroWidthOptions zw && zw.mode() == ZeroWidthMode.EMBED_IN_COVER) {
             return new ZeroWidthCoverStep(zw.coverText());
         }
         return new ZeroWidthStep();
     }
 
+    private static StegoStep createEmoji(StepConfig step) {
+        if (step.options() instanceof FramedOptions framed) {
+            return new FramedStep(FrameAlphabet.EMOJI, framed.blockSize());
+        }
+        return new EmojiStep();
+    }
+
     private static StegoStep createCrypto(StepConfig step) {
         if (!(step.options() instanceof CryptoOptions crypto)) {
             throw new StegoException(StegoErrorCode.INVALID_OPTIONS, "Crypto step requires password");
@@ -1,5 +1,7 @@
 package com.yourorg.stegoapp.core;
 
+import com.yourorg.stegoapp.core.text.Utf8;
+
 /**
  * Interface for a single steganography or encryption step.
  * <p>
@@ -24,4 +26,34 @@ public interface StegoStep {
      * @return Decoded original string
      */
     String decode(String input);
+
+    /**
+     * Encodes the input string, allowing the result to be a lazily joined sequence.
+     * <p>
+     * Steps whose output reuses large fixed content (e.g. cover text) may override this to avoid
+     * copying that content per call. The default simply returns {@link #encode(String)}.
+     * </p>
+     *
+     * @param input The string to encode
+     * @return Encoded text; call {@code toString()} only when a {@link String} is really needed
+     */
+    default CharSequence encodeDeferred(String input) {
+        return encode(input);
+    }
+
+    /**
+     * Returns the UTF-8 length of text returned by this step's {@link #encode} or
+     * {@link #encodeDeferred}.
+     * <p>
+     * Used to report step sizes to a {@link com.yourorg.stegoapp.core.instrument.TransformListener}.
+     * The default measures the text; steps with a fixed-width output alphabet override it to derive
+     * the length from the char count.
+     * </p>
+     *
+     * @param encoded output of this step's encode
+     * @return encoded length in bytes
+     */
+    default long encodedUtf8Length(CharSequence encoded) {
+        return Utf8.encodedLength(encoded);
+    }
 }
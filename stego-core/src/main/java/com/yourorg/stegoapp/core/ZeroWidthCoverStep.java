@@ -1,5 +1,11 @@
 package com.yourorg.stegoapp.core;
 
+import com.yourorg.stegoapp.core.codec.ByteCodec;
+import com.yourorg.stegoapp.core.text.SegmentedText;
+import com.yourorg.stegoapp.core.text.Utf8;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
 /**
@@ -8,9 +14,14 @@ import java.util.Objects;
  * Encode returns {@code coverText + zeroWidthPayload}. Decode extracts only the
  * zero-width characters from the input and decodes them.
  * </p>
+ * <p>
+ * {@link #encodeDeferred(String)} returns the cover and payload as a {@link SegmentedText} so the
+ * cover text is shared rather than copied for every message.
+ * </p>
  */
-public final class ZeroWidthCoverStep implements StegoStep {
+public final class ZeroWidthCoverStep implements ByteLevelStep {
     private final String coverText;
+    private final int coverBytes;
     private final ZeroWidthStep zeroWidth = new ZeroWidthStep();
 
     /**
@@ -20,6 +31,15 @@ public final class ZeroWidthCoverStep implements StegoStep {
      */
     public ZeroWidthCoverStep(String coverText) {
         this.coverText = Objects.requireNonNull(coverText, "coverText");
+        this.coverBytes = Utf8.encodedLength(coverText);
+    }
+
+    /**
+     * The cover is measured once; the zero-width payload after it takes 3 bytes per char.
+     */
+    @Override
+    public long encodedUtf8Length(CharSequence encoded) {
+        return coverBytes + 3L * (encoded.length() - coverText.length());
     }
 
     @Override
@@ -27,12 +47,62 @@ public final class ZeroWidthCoverStep implements StegoStep {
         return coverText + zeroWidth.encode(input);
     }
 
+    @Override
+    public SegmentedText encodeDeferred(String input) {
+        return SegmentedText.of(coverText, zeroWidth.encode(input));
+    }
+
     @Override
     public String decode(String input) {
-        String zwOnly = input.chars()
-                .filter(c -> c == 0x200B || c == 0x200C)
-                .collect(StringBuilder::new, StringBuilder::appendCodePoint, StringBuilder::append)
-                .toString();
-        return zeroWidth.decode(zwOnly);
+        // ZeroWidthStep already skips characters outside the zero-width alphabet
+        return zeroWidth.decode(input);
+    }
+
+    @Override
+    public ByteCodec newEncoder() {
+        return new CoverEncoder(coverText.getBytes(StandardCharsets.UTF_8), zeroWidth.newEncoder());
+    }
+
+    @Override
+    public ByteCodec newDecoder() {
+        return zeroWidth.newDecoder();
+    }
+
+    /**
+     * Writes the cover text ahead of the first output, then delegates to the zero-width encoder.
+     */
+    private static final class CoverEncoder implements ByteCodec {
+        private final byte[] cover;
+        private final ByteCodec payload;
+        private boolean coverWritten;
+
+        private CoverEncoder(byte[] cover, ByteCodec payload) {
+            this.cover = cover;
+            this.payload = payload;
+        }
+
+        @Override
+        public long maxOutputLength(long inputLength) {
+            return (coverWritten ? 0 : cover.length) + payload.maxOutputLength(inputLength);
+        }
+
+        @Override
+        public void update(ByteBuffer in, ByteBuffer out) {
+            writeCover(out);
+            payload.update(in, out);
+        }
+
+        @Override
+        public void finish(ByteBuffer out) {
+            writeCover(out);
+            payload.finish(out);
+        }
+
+        private void writeCover(ByteBuffer out) {
+            if (!coverWritten) {
+                out.put(cover);
+                coverWritten = true;
+            }
+        }
     }
 }
@@ -1,5 +1,13 @@
 package com.yourorg.stegoapp.core;
 
+import com.yourorg.stegoapp.core.buffer.ScratchBuffers;
+import com.yourorg.stegoapp.core.codec.BlockLayout;
+import com.yourorg.stegoapp.core.codec.ByteCodec;
+import com.yourorg.stegoapp.core.error.StegoErrorCode;
+import com.yourorg.stegoapp.core.error.StegoException;
+import com.yourorg.stegoapp.core.text.Utf8;
+
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 
 /**
@@ -8,10 +16,22 @@ import java.nio.charset.StandardCharsets;
  * Hides data by mapping bits to zero-width spaces (U+200B) and zero-width non-joiners (U+200C).
  * Each byte is encoded as 8 zero-width characters.
  * </p>
+ * <p>
+ * Intermediates are built in the calling thread's {@link ScratchBuffers}; only the returned string is
+ * allocated per call. The string loops stop at the next {@link CancellationToken#checkpoint()} once the
+ * caller's token is cancelled.
+ * </p>
  */
-public class ZeroWidthStep implements StegoStep {
-    private static final char ZW_SPACE = '\u200B';       // bit 0
-    private static final char ZW_NON_JOINER = '\u200C';  // bit 1
+public class ZeroWidthStep implements ByteLevelStep {
+    /** 8 zero-width chars of 3 UTF-8 bytes per input byte. */
+    private static final BlockLayout LAYOUT = new BlockLayout(1, 24, 8);
+    static final char ZW_SPACE = '\u200B';       // bit 0
+    static final char ZW_NON_JOINER = '\u200C';  // bit 1
+    // UTF-8 forms: E2 80 8B / E2 80 8C
+    private static final byte UTF8_LEAD = (byte) 0xE2;
+    private static final byte UTF8_MID = (byte) 0x80;
+    private static final byte UTF8_SPACE_TAIL = (byte) 0x8B;
+    private static final byte UTF8_NON_JOINER_TAIL = (byte) 0x8C;
 
     /**
      * Encodes the input string into a sequence of zero-width characters.
@@ -22,13 +42,31 @@ public class ZeroWidthStep implements StegoStep {
      */
     @Override
     public String encode(String input) {
-        StringBuilder binary = new StringBuilder();
-        for (byte b : input.getBytes(StandardCharsets.UTF_8)) {
-            for (int i = 7; i >= 0; i--) {
-                binary.append(((b >> i) & 1) == 1 ? ZW_NON_JOINER : ZW_SPACE);
+        ScratchBuffers scratch = ScratchBuffers.current();
+        int n = Utf8.encodedLength(input);
+        byte[] bytes = scratch.bytes(n);
+        Utf8.encode(input, bytes, 0);
+
+        char[] out = scratch.chars(Math.multiplyExact(n, 8));
+        int p = 0;
+        for (int start = 0; start < n; start += CancellationToken.CHECK_INTERVAL) {
+            CancellationToken.checkpoint();
+            for (int idx = start, end = Math.min(n, start + CancellationToken.CHECK_INTERVAL); idx < end; idx++) {
+                byte b = bytes[idx];
+                for (int i = 7; i >= 0; i--) {
+                    out[p++] = ((b >> i) & 1) == 1 ? ZW_NON_JOINER : ZW_SPACE;
+                }
             }
         }
-        return binary.toString();
+        return new String(out, 0, p);
+    }
+
+    /**
+     * Every output char is U+200B or U+200C, which take 3 bytes in UTF-8.
+     */
+    @Override
+    public long encodedUtf8Length(CharSequence encoded) {
+        return 3L * encoded.length();
     }
 
     /**
@@ -40,33 +78,115 @@ public class ZeroWidthStep implements StegoStep {
      *
      * @param input Encoded string using zero-width characters
      * @return Decoded original string
-     * @throws IllegalArgumentException if the filtered zero-width length is not a multiple of 8
+     * @throws StegoException {@link StegoErrorCode#INVALID_LENGTH} if the filtered zero-width length is not
+     *                        a multiple of 8; checked before the decoded string is built
      */
     @Override
     public String decode(String input) {
-        // Filter to the supported zero-width alphabet so callers can pass cover text or surrounding content.
-        input = input.chars()
-                .filter(c -> c == ZW_SPACE || c == ZW_NON_JOINER)
-                .collect(StringBuilder::new, StringBuilder::appendCodePoint, StringBuilder::append)
-                .toString();
-
-        if (input.length() % 8 != 0) {
-            throw new IllegalArgumentException("Encoded string length must be a multiple of 8, but was " + input.length());
+        // Only the supported zero-width alphabet is read so callers can pass cover text or surrounding content.
+        byte[] bytes = ScratchBuffers.current().bytes(input.length() / 8);
+        int count = 0;
+        int acc = 0;
+        for (int start = 0, len = input.length(); start < len; start += CancellationToken.CHECK_INTERVAL) {
+            CancellationToken.checkpoint();
+            for (int i = start, end = Math.min(len, start + CancellationToken.CHECK_INTERVAL); i < end; i++) {
+                char c = input.charAt(i);
+                if (c != ZW_SPACE && c != ZW_NON_JOINER) {
+                    continue;
+                }
+                acc = (acc << 1) | (c == ZW_NON_JOINER ? 1 : 0);
+                if ((++count & 7) == 0) {
+                    bytes[(count >>> 3) - 1] = (byte) acc;
+                    acc = 0;
+                }
+            }
+        }
+
+        if (count % 8 != 0) {
+            throw StegoException.stackless(StegoErrorCode.INVALID_LENGTH, "Encoded string length must be a multiple of 8, but was " + count);
+        }
+        return new String(bytes, 0, count >>> 3, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public ByteCodec newEncoder() {
+        return new Encoder();
+    }
+
+    @Override
+    public ByteCodec newDecoder() {
+        return new Decoder();
+    }
+
+    @Override
+    public BlockLayout encodeLayout() {
+        return LAYOUT;
+    }
+
+    private static final class Encoder implements ByteCodec {
+        @Override
+        public long maxOutputLength(long inputLength) {
+            return inputLength * 24;
         }
 
-        byte[] bytes = new byte[input.length() / 8];
-        for (int byteIdx = 0; byteIdx < bytes.length; byteIdx++) {
-            byte b = 0;
-            for (int bit = 0; bit < 8; bit++) {
-                char c = input.charAt(byteIdx * 8 + bit);
-                b <<= 1;
-                if (c == ZW_NON_JOINER) {
-                    b |= 1;
+        @Override
+        public void update(ByteBuffer in, ByteBuffer out) {
+            while (in.hasRemaining()) {
+                byte b = in.get();
+                for (int i = 7; i >= 0; i--) {
+                    out.put(UTF8_LEAD).put(UTF8_MID).put(((b >> i) & 1) == 1 ? UTF8_NON_JOINER_TAIL : UTF8_SPACE_TAIL);
                 }
             }
-            bytes[byteIdx] = b;
         }
-        return new String(bytes, StandardCharsets.UTF_8);
+
+        @Override
+        public void finish(ByteBuffer out) {
+            // no buffered state
+        }
     }
-}
 
+    private static final class Decoder implements ByteCodec {
+        private int matched; // bytes of the E2 80 prefix seen so far
+        private int acc;
+        private long count;
+
+        @Override
+        public long maxOutputLength(long inputLength) {
+            return (7 + (inputLength + 2) / 3) / 8;
+        }
+
+        @Override
+        public void update(ByteBuffer in, ByteBuffer out) {
+            while (in.hasRemaining()) {
+                byte b = in.get();
+                if (matched == 2) {
+                    matched = 0;
+                    if (b == UTF8_SPACE_TAIL || b == UTF8_NON_JOINER_TAIL) {
+                        acc = (acc << 1) | (b == UTF8_NON_JOINER_TAIL ? 1 : 0);
+                        if ((++count & 7) == 0) {
+                            out.put((byte) acc);
+                            acc = 0;
+                        }
+                        continue;
+                    }
+                } else if (matched == 1) {
+                    if (b == UTF8_MID) {
+                        matched = 2;
+                        continue;
+                    }
+                    matched = 0;
+                }
+                if (b == UTF8_LEAD) {
+                    matched = 1;
+                }
+            }
+        }
+
+        @Override
+        public void finish(ByteBuffer out) {
+            if (count % 8 != 0) {
+                throw StegoException.stackless(StegoErrorCode.INVALID_LENGTH, "Encoded string length must be a multiple of 8, but was " + count);
+            }
+        }
+    }
+}
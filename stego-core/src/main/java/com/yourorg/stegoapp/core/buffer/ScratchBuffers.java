@@ -0,0 +1,113 @@
+package com.yourorg.stegoapp.core.buffer;
+
+/**
+ * Per-thread arena of growable scratch arrays for step intermediates.
+ * <p>
+ * Steps borrow a {@code byte[]}/{@code char[]} of at least the requested size, fill it, and copy the
+ * final result out (e.g. {@code new String(chars, 0, n)}). Arrays up to the retention cap are kept
+ * for the next call on the same thread, so steady-state encode/decode allocates little besides the
+ * returned value. Larger requests get a one-off array that is not retained, so a single huge request
+ * does not pin memory for the life of the thread.
+ * </p>
+ * <p>
+ * The cap (in elements, per array kind) defaults to {@value #DEFAULT_MAX_RETAINED} and can be set with
+ * the {@code stego.scratch.maxRetained} system property.
+ * </p>
+ * <p>
+ * Not reentrant: a borrowed array stays valid only until the next borrow of the same kind on the same
+ * thread. Never hand a borrowed array to other threads or keep it past the current call.
+ * </p>
+ */
+public final class ScratchBuffers {
+    /** Default retention cap per array kind, in elements. */
+    public static final int DEFAULT_MAX_RETAINED = 1 << 20;
+
+    private static final int MAX_RETAINED = Math.max(0, Integer.getInteger("stego.scratch.maxRetained", DEFAULT_MAX_RETAINED));
+    private static final int MIN_CAPACITY = 256;
+    private static final ThreadLocal<ScratchBuffers> LOCAL = ThreadLocal.withInitial(() -> new ScratchBuffers(MAX_RETAINED));
+
+    private final int maxRetained;
+    private byte[] bytes = new byte[0];
+    private char[] chars = new char[0];
+
+    /**
+     * Creates a standalone arena (e.g. one per request). Most callers should use {@link #current()}.
+     *
+     * @param maxRetained largest array length, in elements, that is kept for reuse
+     */
+    public ScratchBuffers(int maxRetained) {
+        if (maxRetained < 0) {
+            throw new IllegalArgumentException("maxRetained must be >= 0");
+        }
+        this.maxRetained = maxRetained;
+    }
+
+    /**
+     * Returns the calling thread's arena.
+     */
+    public static ScratchBuffers current() {
+        return LOCAL.get();
+    }
+
+    /**
+     * Borrows a byte array with at least {@code minCapacity} elements. Contents are undefined.
+     *
+     * @param minCapacity required length
+     * @return scratch array (possibly longer than requested)
+     */
+    public byte[] bytes(int minCapacity) {
+        checkCapacity(minCapacity);
+        if (bytes.length >= minCapacity) {
+            return bytes;
+        }
+        if (minCapacity > maxRetained) {
+            return new byte[minCapacity];
+        }
+        bytes = new byte[grow(bytes.length, minCapacity)];
+        return bytes;
+    }
+
+    /**
+     * Borrows a char array with at least {@code minCapacity} elements. Contents are undefined.
+     *
+     * @param minCapacity required length
+     * @return scratch array (possibly longer than requested)
+     */
+    public char[] chars(int minCapacity) {
+        checkCapacity(minCapacity);
+        if (chars.length >= minCapacity) {
+            return chars;
+        }
+        if (minCapacity > maxRetained) {
+            return new char[minCapacity];
+        }
+        chars = new char[grow(chars.length, minCapacity)];
+        return chars;
+    }
+
+    /**
+     * Releases the retained arrays, e.g. before parking a pooled thread for a long time.
+     */
+    public void trim() {
+        bytes = new byte[0];
+        chars = new char[0];
+    }
+
+    /**
+     * Returns the number of bytes currently retained by this arena (approximate heap footprint).
+     */
+    public long retainedBytes() {
+        return bytes.length + 2L * chars.length;
+    }
+
+    private int grow(int current, int minCapacity) {
+        long doubled = Math.max(MIN_CAPACITY, 2L * current);
+        return (int) Math.min(maxRetained, Math.max(doubled, minCapacity));
+    }
+
+    private static void checkCapacity(int minCapacity) {
+        if (minCapacity < 0) {
+            throw new IllegalArgumentException("Requested capacity overflows: " + minCapacity);
+        }
+    }
+}
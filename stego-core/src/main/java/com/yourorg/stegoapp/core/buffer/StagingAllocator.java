@@ -0,0 +1,216 @@
+package com.yourorg.stegoapp.core.buffer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Allocates {@link StagingBuffer}s for pipeline intermediates.
+ * <p>
+ * The {@link #offHeap} mode keeps staged data outside the Java heap:
+ * </p>
+ * <ul>
+ *   <li>requests up to {@code mapThreshold} bytes get a direct buffer from a pool of power-of-two size
+ *       classes; released buffers are kept for reuse while the pool holds less than
+ *       {@code maxPooledBytes}</li>
+ *   <li>larger requests are backed by a memory-mapped temp file in {@code tempDir}, deleted on
+ *       release</li>
+ * </ul>
+ * <p>
+ * {@link #heap()} returns an allocator with plain heap buffers for callers that don't need this.
+ * Instances are thread-safe.
+ * </p>
+ */
+public final class StagingAllocator {
+    /** Default largest request served from the direct pool (64 MiB). */
+    public static final long DEFAULT_MAP_THRESHOLD = 64L << 20;
+    /** Default cap on idle pooled direct memory (256 MiB). */
+    public static final long DEFAULT_MAX_POOLED_BYTES = 256L << 20;
+
+    private static final int MIN_CLASS = 12; // 4 KiB
+    private static final StagingAllocator HEAP = new StagingAllocator(false, 0, 0, null);
+
+    private final boolean offHeap;
+    private final long maxPooledBytes;
+    private final long mapThreshold;
+    private final Path tempDir;
+    @SuppressWarnings("unchecked")
+    private final ConcurrentLinkedQueue<ByteBuffer>[] pool = new ConcurrentLinkedQueue[32];
+    private final AtomicLong pooledBytes = new AtomicLong();
+
+    private StagingAllocator(boolean offHeap, long maxPooledBytes, long mapThreshold, Path tempDir) {
+        this.offHeap = offHeap;
+        this.maxPooledBytes = maxPooledBytes;
+        this.mapThreshold = mapThreshold;
+        this.tempDir = tempDir;
+        for (int i = 0; i < pool.length; i++) {
+            pool[i] = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    /**
+     * Returns a shared allocator that hands out unpooled heap buffers.
+     */
+    public static StagingAllocator heap() {
+        return HEAP;
+    }
+
+    /**
+     * Creates an off-heap allocator with default limits and the system temp directory.
+     */
+    public static StagingAllocator offHeap() {
+        return offHeap(DEFAULT_MAX_POOLED_BYTES, DEFAULT_MAP_THRESHOLD, Path.of(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * Creates an off-heap allocator.
+     *
+     * @param maxPooledBytes cap on idle direct memory kept for reuse
+     * @param mapThreshold requests above this many bytes are memory-mapped temp files
+     * @param tempDir directory for memory-mapped temp files (required)
+     * @return allocator
+     */
+    public static StagingAllocator offHeap(long maxPooledBytes, long mapThreshold, Path tempDir) {
+        if (maxPooledBytes < 0 || mapThreshold < 0) {
+            throw new IllegalArgumentException("limits must be >= 0");
+        }
+        return new StagingAllocator(true, maxPooledBytes, Math.min(mapThreshold, 1L << 30), Objects.requireNonNull(tempDir, "tempDir"));
+    }
+
+    /**
+     * Allocates a buffer with exactly {@code capacity} bytes of limit (the backing memory may be larger).
+     *
+     * @param capacity requested size in bytes (at most {@link Integer#MAX_VALUE})
+     * @return staging buffer; release with {@link StagingBuffer#close()}
+     * @throws IllegalArgumentException if {@code capacity} is negative or too large for one buffer
+     * @throws UncheckedIOException if a temp file cannot be created or mapped
+     */
+    public StagingBuffer allocate(long capacity) {
+        if (capacity < 0 || capacity > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Staging buffer size out of range: " + capacity);
+        }
+        int size = (int) capacity;
+        if (!offHeap) {
+            ByteBuffer buf = ByteBuffer.allocate(size);
+            return new Pooled(buf, -1);
+        }
+        if (capacity > mapThreshold) {
+            return mapTempFile(size);
+        }
+        int cls = sizeClass(size);
+        ByteBuffer buf = pool[cls].poll();
+        if (buf != null) {
+            pooledBytes.addAndGet(-buf.capacity());
+        } else {
+            buf = ByteBuffer.allocateDirect(1 << cls);
+        }
+        buf.clear().limit(size);
+        return new Pooled(buf, cls);
+    }
+
+    /**
+     * Returns the number of idle bytes currently held by the direct pool.
+     */
+    public long pooledBytes() {
+        return pooledBytes.get();
+    }
+
+    private void recycle(ByteBuffer buf, int cls) {
+        if (cls < 0) {
+            return;
+        }
+        if (pooledBytes.addAndGet(buf.capacity()) > maxPooledBytes) {
+            // over the cap: drop it and let the cleaner free the memory
+            pooledBytes.addAndGet(-buf.capacity());
+            return;
+        }
+        pool[cls].offer(buf);
+    }
+
+    private StagingBuffer mapTempFile(int size) {
+        Path file = null;
+        try {
+            file = Files.createTempFile(tempDir, "stego-staging-", ".bin");
+            try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer mapped = ch.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                return new Mapped(mapped, file);
+            }
+        } catch (IOException e) {
+            deleteQuietly(file);
+            throw new UncheckedIOException("Could not create staging file in " + tempDir, e);
+        }
+    }
+
+    private static int sizeClass(int size) {
+        int cls = 32 - Integer.numberOfLeadingZeros(Math.max(size, 1) - 1);
+        return Math.max(MIN_CLASS, cls);
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // best effort; the file lives in a temp directory
+        }
+    }
+
+    private final class Pooled implements StagingBuffer {
+        private final ByteBuffer buf;
+        private final int cls;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Pooled(ByteBuffer buf, int cls) {
+            this.buf = buf;
+            this.cls = cls;
+        }
+
+        @Override
+        public ByteBuffer buffer() {
+            return buf;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                recycle(buf, cls);
+            }
+        }
+    }
+
+    private static final class Mapped implements StagingBuffer {
+        private final MappedByteBuffer buf;
+        private final Path file;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Mapped(MappedByteBuffer buf, Path file) {
+            this.buf = buf;
+            this.file = file;
+        }
+
+        @Override
+        public ByteBuffer buffer() {
+            return buf;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                // The mapping itself is released when the buffer is collected; the file can go now
+                // (POSIX) or is left for the temp directory cleanup (Windows, while still mapped).
+                deleteQuietly(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.yourorg.stegoapp.core.buffer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A staging buffer obtained from a {@link StagingAllocator}.
+ * <p>
+ * Depending on size and allocator mode the memory is a pooled direct {@link ByteBuffer}, a
+ * memory-mapped temp file, or a plain heap buffer. Call {@link #close()} as soon as the data is no
+ * longer needed; the buffer must not be used afterwards.
+ * </p>
+ */
+public interface StagingBuffer extends AutoCloseable {
+
+    /**
+     * Returns the underlying buffer. Position/limit are owned by the caller.
+     */
+    ByteBuffer buffer();
+
+    /**
+     * Returns whether the buffer lives outside the Java heap (direct or memory-mapped).
+     */
+    default boolean isOffHeap() {
+        return buffer().isDirect();
+    }
+
+    /**
+     * Releases the memory: returns it to the pool, or deletes the backing temp file. Idempotent.
+     * <p>
+     * A memory-mapped buffer stays mapped until it is garbage collected, since the JDK has no
+     * supported way to unmap it; until then it still counts towards the process's address space and
+     * (on Windows) keeps the file from being deleted.
+     * </p>
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,22 @@
+package com.yourorg.stegoapp.core.codec;
+
+/**
+ * Block structure of an encoder whose output is a concatenation of independently encoded blocks.
+ * <p>
+ * Every complete block of {@code inputBytes} input bytes encodes to exactly {@code outputBytes}
+ * output bytes, which are {@code outputChars} UTF-16 chars as text, regardless of the bytes around
+ * it. Only a trailing partial block may be encoded differently (e.g. Base64 padding). Callers use
+ * this to re-encode just the blocks an edit touches.
+ * </p>
+ *
+ * @param inputBytes input bytes per block (positive)
+ * @param outputBytes UTF-8 output bytes per complete block (positive)
+ * @param outputChars UTF-16 output chars per complete block (positive)
+ */
+public record BlockLayout(int inputBytes, int outputBytes, int outputChars) {
+    public BlockLayout {
+        if (inputBytes <= 0 || outputBytes <= 0 || outputChars <= 0) {
+            throw new IllegalArgumentException("block sizes must be positive");
+        }
+    }
+}
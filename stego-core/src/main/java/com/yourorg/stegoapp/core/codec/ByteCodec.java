@@ -0,0 +1,48 @@
+package com.yourorg.stegoapp.core.codec;
+
+import com.yourorg.stegoapp.core.error.StegoErrorCode;
+import com.yourorg.stegoapp.core.error.StegoException;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Incremental, byte-level form of one direction of a step.
+ * <p>
+ * Input and output are the UTF-8 bytes of what the string form of the step would consume/produce, so
+ * codecs can be chained without materializing intermediate strings. Buffers may be heap or direct.
+ * </p>
+ * <p>
+ * Instances are stateful and single-use: call {@link #update} for each chunk of input, then
+ * {@link #finish} once. They are not thread-safe.
+ * </p>
+ */
+public interface ByteCodec {
+
+    /**
+     * Returns an upper bound on the bytes written by one {@link #update} call with
+     * {@code inputLength} input bytes followed by {@link #finish}, given the codec's current state.
+     *
+     * @param inputLength number of input bytes
+     * @return maximum number of output bytes
+     */
+    long maxOutputLength(long inputLength);
+
+    /**
+     * Consumes all remaining bytes of {@code in} and writes the corresponding output to {@code out}.
+     *
+     * @param in input bytes; fully consumed
+     * @param out destination with at least {@code maxOutputLength(in.remaining())} bytes free
+     * @throws StegoException {@link StegoErrorCode#INVALID_ALPHABET}, {@link StegoErrorCode#INVALID_LENGTH}
+     *                        or {@link StegoErrorCode#INVALID_FORMAT} if the input is malformed for this codec
+     */
+    void update(ByteBuffer in, ByteBuffer out);
+
+    /**
+     * Flushes any buffered state to {@code out} and verifies the input was complete.
+     *
+     * @param out destination with at least {@code maxOutputLength(0)} bytes free
+     * @throws StegoException {@link StegoErrorCode#INVALID_LENGTH} or {@link StegoErrorCode#INVALID_FORMAT}
+     *                        if the input ended in an invalid state
+     */
+    void finish(ByteBuffer out);
+}
@@ -0,0 +1,177 @@
+package com.yourorg.stegoapp.core.codec;
+
+import com.yourorg.stegoapp.core.CancellationToken;
+import com.yourorg.stegoapp.core.buffer.StagingAllocator;
+import com.yourorg.stegoapp.core.buffer.StagingBuffer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Runs a sequence of {@link ByteCodec}s over chunks of input with bounded memory.
+ * <p>
+ * Each stage owns one staging buffer of roughly {@code chunkSize} bytes. Input is fed to a stage in
+ * slices small enough for its output to fit that buffer, and every filled buffer is pushed through the
+ * remaining stages before more input is read, so memory use does not depend on payload size or on how
+ * much each stage expands the data.
+ * </p>
+ * <p>
+ * A chain is single-use and not thread-safe. Always {@link #close()} it to release its buffers.
+ * Every slice starts with a {@link CancellationToken#checkpoint()}, so a cancelled run stops within one
+ * chunk; the chain must still be closed.
+ * </p>
+ */
+public final class CodecChain implements AutoCloseable {
+    /** Default per-stage buffer size. */
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    private final ByteCodec[] codecs;
+    private final StagingBuffer[] stages;
+    private final StagingAllocator allocator;
+    private final int chunkSize;
+    private long written;
+    private boolean finished;
+
+    /**
+     * Creates a chain.
+     *
+     * @param codecs codecs in application order (required, non-empty)
+     * @param allocator allocator for per-stage buffers (required)
+     * @param chunkSize target per-stage buffer size in bytes
+     */
+    public CodecChain(List<ByteCodec> codecs, StagingAllocator allocator, int chunkSize) {
+        Objects.requireNonNull(codecs, "codecs");
+        this.allocator = Objects.requireNonNull(allocator, "allocator");
+        if (codecs.isEmpty()) {
+            throw new IllegalArgumentException("codecs must not be empty");
+        }
+        if (chunkSize < 16) {
+            throw new IllegalArgumentException("chunkSize must be >= 16");
+        }
+        this.codecs = codecs.toArray(ByteCodec[]::new);
+        this.chunkSize = chunkSize;
+        this.stages = new StagingBuffer[this.codecs.length];
+        try {
+            for (int i = 0; i < this.codecs.length; i++) {
+                // a stage must fit the output of at least one input byte (e.g. a cover-text prefix)
+                long needed = Math.max(chunkSize, this.codecs[i].maxOutputLength(1));
+                stages[i] = allocator.allocate(needed);
+            }
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Pushes all remaining bytes of {@code in} through the chain, writing final output to {@code sink}.
+     *
+     * @param in input chunk; fully consumed
+     * @param sink destination for output of the last codec
+     * @throws IOException if writing to {@code sink} fails
+     */
+    public void update(ByteBuffer in, WritableByteChannel sink) throws IOException {
+        if (finished) {
+            throw new IllegalStateException("chain already finished");
+        }
+        push(0, in, sink);
+    }
+
+    /**
+     * Finishes every codec in order, flushing buffered state through the later stages.
+     *
+     * @param sink destination for output of the last codec
+     * @throws IOException if writing to {@code sink} fails
+     */
+    public void finish(WritableByteChannel sink) throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        for (int i = 0; i < codecs.length; i++) {
+            ByteBuffer out = stages[i].buffer();
+            out.clear();
+            codecs[i].finish(out);
+            out.flip();
+            push(i + 1, out, sink);
+        }
+    }
+
+    /**
+     * Reads {@code in} to its end, running every chunk through the chain, then finishes it.
+     *
+     * @param in source channel
+     * @param sink destination channel
+     * @return number of bytes written to {@code sink}
+     * @throws IOException if reading or writing fails
+     */
+    public long run(ReadableByteChannel in, WritableByteChannel sink) throws IOException {
+        try (StagingBuffer input = allocator.allocate(chunkSize)) {
+            ByteBuffer buf = input.buffer();
+            while (true) {
+                buf.clear();
+                int n = in.read(buf);
+                if (n < 0) {
+                    break;
+                }
+                buf.flip();
+                update(buf, sink);
+            }
+        }
+        finish(sink);
+        return written;
+    }
+
+    /**
+     * Returns the number of bytes written to sinks so far.
+     */
+    public long bytesWritten() {
+        return written;
+    }
+
+    /**
+     * Releases all stage buffers. Idempotent.
+     */
+    @Override
+    public void close() {
+        for (int i = 0; i < stages.length; i++) {
+            if (stages[i] != null) {
+                stages[i].close();
+                stages[i] = null;
+            }
+        }
+    }
+
+    private void push(int stage, ByteBuffer in, WritableByteChannel sink) throws IOException {
+        if (stage == codecs.length) {
+            while (in.hasRemaining()) {
+                written += sink.write(in);
+            }
+            return;
+        }
+        ByteCodec codec = codecs[stage];
+        ByteBuffer out = stages[stage].buffer();
+        while (in.hasRemaining()) {
+            CancellationToken.checkpoint();
+            int n = fit(codec, in.remaining(), out.capacity());
+            ByteBuffer slice = in.slice(in.position(), n);
+            in.position(in.position() + n);
+            out.clear();
+            codec.update(slice, out);
+            out.flip();
+            push(stage + 1, out, sink);
+        }
+    }
+
+    private static int fit(ByteCodec codec, int available, int capacity) {
+        int n = available;
+        while (n > 1 && codec.maxOutputLength(n) > capacity) {
+            n = Math.max(1, n >>> 1);
+        }
+        return n;
+    }
+}
@@ -0,0 +1,135 @@
+package com.yourorg.stegoapp.core.codec;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * {@link Writer} that encodes text as UTF-8 and feeds it through a {@link CodecChain}.
+ * <p>
+ * Lets producers that emit text in pieces (e.g. a JSON parser copying a string value) drive a chain
+ * without building the whole input first. Unpaired surrogates become {@code '?'}, matching
+ * {@code String.getBytes(UTF_8)}; a surrogate pair split across two writes is kept intact.
+ * </p>
+ * <p>
+ * {@link #close()} finishes the chain but does not close it or the sink.
+ * </p>
+ */
+public final class CodecWriter extends Writer {
+    private final CodecChain chain;
+    private final WritableByteChannel sink;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final ByteBuffer bytes;
+    private char pendingHigh;
+    private boolean closed;
+
+    /**
+     * Creates a writer feeding {@code chain}.
+     *
+     * @param chain chain to feed (required)
+     * @param sink destination for the chain's output (required)
+     * @param bufferSize UTF-8 bytes collected before each {@link CodecChain#update} call
+     */
+    public CodecWriter(CodecChain chain, WritableByteChannel sink, int bufferSize) {
+        this.chain = Objects.requireNonNull(chain, "chain");
+        this.sink = Objects.requireNonNull(sink, "sink");
+        if (bufferSize < 16) {
+            throw new IllegalArgumentException("bufferSize must be >= 16");
+        }
+        this.bytes = ByteBuffer.allocate(bufferSize);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, cbuf.length);
+        ensureOpen();
+        if (len == 0) {
+            return;
+        }
+        while (pendingHigh != 0 && len > 0) {
+            CharBuffer pair = CharBuffer.wrap(new char[] {pendingHigh, cbuf[off++]});
+            len--;
+            pendingHigh = 0;
+            encodeKeepingTail(pair);
+        }
+        if (len > 0) {
+            encodeKeepingTail(CharBuffer.wrap(cbuf, off, len));
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, str.length());
+        char[] chars = new char[len];
+        str.getChars(off, off + len, chars, 0);
+        write(chars, 0, len);
+    }
+
+    /**
+     * Pushes collected bytes through the chain. Output the codecs still buffer internally is only
+     * released by {@link #close()}.
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        drain();
+    }
+
+    /**
+     * Encodes any pending input, pushes it through the chain and {@link CodecChain#finish finishes} it.
+     * Idempotent.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        CharBuffer tail = pendingHigh != 0 ? CharBuffer.wrap(new char[] {pendingHigh}) : CharBuffer.allocate(0);
+        encode(tail, true);
+        while (encoder.flush(bytes).isOverflow()) {
+            drain();
+        }
+        drain();
+        chain.finish(sink);
+    }
+
+    private void encodeKeepingTail(CharBuffer chars) throws IOException {
+        encode(chars, false);
+        if (chars.hasRemaining()) {
+            // only a trailing high surrogate is left unconsumed; pair it with the next write
+            pendingHigh = chars.get();
+        }
+    }
+
+    private void encode(CharBuffer chars, boolean endOfInput) throws IOException {
+        while (true) {
+            CoderResult result = encoder.encode(chars, bytes, endOfInput);
+            if (!result.isOverflow()) {
+                return;
+            }
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        bytes.flip();
+        chain.update(bytes, sink);
+        bytes.clear();
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("writer closed");
+        }
+    }
+}
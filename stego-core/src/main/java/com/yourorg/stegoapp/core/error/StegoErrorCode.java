@@ -10,6 +10,12 @@ package com.yourorg.stegoapp.core.error;
 public enum StegoErrorCode {
     /** Input payload is invalid (e.g., malformed encoded string). */
     INVALID_INPUT,
+    /** Encoded input contains a symbol outside the decoding step's alphabet. */
+    INVALID_ALPHABET,
+    /** Encoded input has a symbol count the decoding step cannot split into whole bytes. */
+    INVALID_LENGTH,
+    /** Encoded input has the right symbols but not the step's structure (e.g., misplaced padding). */
+    INVALID_FORMAT,
     /** Pipeline is missing/invalid (e.g., null pipeline, null step/type). */
     INVALID_PIPELINE,
     /** Requested step is not supported in the current context. */
@@ -17,5 +23,11 @@ public enum StegoErrorCode {
     /** Step options are missing or invalid for the selected step. */
     INVALID_OPTIONS,
     /** Crypto operation failed (wrong password, tampered data, unsupported algorithm, etc.). */
-    CRYPTO_ERROR
+    CRYPTO_ERROR,
+    /** Encoded payload failed an integrity check (e.g., damaged or missing frame). */
+    CORRUPT_PAYLOAD,
+    /** Payload header was written for a different pipeline than the one used to decode. */
+    PIPELINE_MISMATCH,
+    /** Transform was cancelled or ran past its deadline (see {@link com.yourorg.stegoapp.core.CancellationToken}). */
+    CANCELLED
 }
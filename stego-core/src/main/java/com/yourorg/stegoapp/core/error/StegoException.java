@@ -8,6 +8,11 @@ import java.util.Objects;
  * This exception is meant to be safely surfaced to callers (UI/API) alongside a stable
  * {@link StegoErrorCode}. Use it for "expected" failures that a user can typically correct.
  * </p>
+ * <p>
+ * Steps reject malformed input, and cancelled transforms stop, with
+ * {@link #stackless(StegoErrorCode, String) stackless} instances: the stack trace says nothing about
+ * bad input or a cancellation and filling it in dominates the cost of the failure.
+ * </p>
  */
 public final class StegoException extends RuntimeException {
     private final StegoErrorCode code;
@@ -22,6 +27,19 @@ public final class StegoException extends RuntimeException {
         this.code = Objects.requireNonNull(code, "code");
     }
 
+    private StegoException(StegoErrorCode code, String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+        this.code = Objects.requireNonNull(code, "code");
+    }
+
+    /**
+     * Creates an exception without a stack trace or suppressed exceptions, for rejecting malformed
+     * input or reporting a cancellation, where the failure is fully described by its code and message.
+     */
+    public static StegoException stackless(StegoErrorCode code, String message) {
+        return new StegoException(code, message, false);
+    }
+
     public StegoErrorCode getCode() {
         return code;
     }
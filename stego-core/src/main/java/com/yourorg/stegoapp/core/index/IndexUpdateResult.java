@@ -0,0 +1,30 @@
+package com.yourorg.stegoapp.core.index;
+
+import java.time.Duration;
+
+/**
+ * Outcome of {@link PayloadIndexer#update}.
+ *
+ * @param documents documents in the new index
+ * @param scanned documents that were new or changed and were scanned
+ * @param reused documents whose size and modification time were unchanged, so their runs were
+ *               taken from the previous index
+ * @param removed documents of the previous index that no longer exist
+ * @param failed files that could not be read and subdirectories that could not be listed; they
+ *               keep their entries from the previous index, if any, and are otherwise left out of
+ *               the new index
+ * @param runs payload runs in the new index
+ * @param bytesScanned bytes read by the scanned documents
+ * @param elapsed wall-clock time of the update
+ */
+public record IndexUpdateResult(
+        int documents,
+        long scanned,
+        long reused,
+        long removed,
+        long failed,
+        long runs,
+        long bytesScanned,
+        Duration elapsed
+) {
+}
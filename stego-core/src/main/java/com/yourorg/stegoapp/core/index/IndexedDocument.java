@@ -0,0 +1,14 @@
+package com.yourorg.stegoapp.core.index;
+
+import java.util.List;
+
+/**
+ * A document of a {@link PayloadIndex} together with the file state its runs were taken from.
+ *
+ * @param path path relative to the indexed root, with {@code /} separators
+ * @param modified last-modified time in milliseconds
+ * @param size size in bytes
+ * @param runs runs of the document in file order
+ */
+record IndexedDocument(String path, long modified, long size, List<IndexedRun> runs) {
+}
@@ -0,0 +1,15 @@
+package com.yourorg.stegoapp.core.index;
+
+import com.yourorg.stegoapp.core.FrameAlphabet;
+
+/**
+ * A payload run recorded in a {@link PayloadIndex}.
+ *
+ * @param document path of the document relative to the indexed root, with {@code /} separators
+ * @param offset byte offset of the run in the document
+ * @param length length of the run in bytes
+ * @param alphabet alphabet of the run
+ * @param payloadHash hash of the payload bytes, see {@link com.yourorg.stegoapp.core.PayloadRun#hashOf(byte[])}
+ */
+public record IndexedRun(String document, long offset, long length, FrameAlphabet alphabet, long payloadHash) {
+}
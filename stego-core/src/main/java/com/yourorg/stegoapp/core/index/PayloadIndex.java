@@ -0,0 +1,278 @@
+package com.yourorg.stegoapp.core.index;
+
+import com.yourorg.stegoapp.core.FrameAlphabet;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only view of a payload index file written by {@link PayloadIndexer}.
+ * <p>
+ * The file holds every payload run of every indexed document, sorted by payload hash, so
+ * {@link #find(long)} is a binary search with positional reads: a lookup touches a few dozen
+ * bytes per level and does not load the index into memory. Instances are thread-safe.
+ * </p>
+ * <p>
+ * Layout (big-endian):
+ * </p>
+ * <pre>
+ * header     64 bytes   magic "STGPIDX1", document count (int), reserved (int), entry count (long),
+ *                       entries, documents and paths offsets (long each), paths length (long), reserved (long)
+ * entries    32 bytes   payload hash (long), document id (int), alphabet ordinal (byte), 3 reserved bytes,
+ *                       offset (long), length (long); sorted by hash, document id, offset
+ * documents  32 bytes   last-modified millis (long), size (long), path offset (long), path length (int),
+ *                       run count (int); sorted by path, the document id is the position
+ * paths                 UTF-8 document paths, relative to the indexed root with '/' separators
+ * </pre>
+ */
+public final class PayloadIndex implements Closeable {
+    private static final byte[] MAGIC = "STGPIDX1".getBytes(StandardCharsets.US_ASCII);
+    static final int HEADER_BYTES = 64;
+    static final int ENTRY_BYTES = 32;
+    static final int DOCUMENT_BYTES = 32;
+    private static final FrameAlphabet[] ALPHABETS = FrameAlphabet.values();
+
+    private final FileChannel channel;
+    private final int documentCount;
+    private final long entryCount;
+    private final long entriesOffset;
+    private final long documentsOffset;
+    private final long pathsOffset;
+    private final long pathsLength;
+
+    private PayloadIndex(FileChannel channel) throws IOException {
+        this.channel = channel;
+        ByteBuffer header = read(0, HEADER_BYTES);
+        byte[] magic = new byte[MAGIC.length];
+        header.get(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not a payload index");
+        }
+        documentCount = header.getInt();
+        header.getInt();
+        entryCount = header.getLong();
+        entriesOffset = header.getLong();
+        documentsOffset = header.getLong();
+        pathsOffset = header.getLong();
+        pathsLength = header.getLong();
+        if (entriesOffset + entryCount * ENTRY_BYTES > documentsOffset
+                || documentsOffset + (long) documentCount * DOCUMENT_BYTES > pathsOffset
+                || pathsOffset + pathsLength > channel.size()) {
+            throw new IOException("Corrupt payload index");
+        }
+    }
+
+    /**
+     * Opens an index file.
+     *
+     * @throws IOException if the file cannot be read or is not a payload index
+     */
+    public static PayloadIndex open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new PayloadIndex(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /** Number of indexed documents, including documents without runs. */
+    public int documentCount() {
+        return documentCount;
+    }
+
+    /** Number of indexed runs. */
+    public long entryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Returns all runs whose payload has the given hash, ordered by document path and offset.
+     */
+    public List<IndexedRun> find(long payloadHash) throws IOException {
+        long lo = 0;
+        long hi = entryCount;
+        while (lo < hi) {
+            long mid = (lo + hi) >>> 1;
+            if (Long.compareUnsigned(read(entriesOffset + mid * ENTRY_BYTES, Long.BYTES).getLong(), payloadHash) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        List<IndexedRun> hits = new ArrayList<>();
+        Map<Integer, String> paths = new HashMap<>();
+        for (long i = lo; i < entryCount; i++) {
+            ByteBuffer entry = read(entriesOffset + i * ENTRY_BYTES, ENTRY_BYTES);
+            if (entry.getLong() != payloadHash) {
+                break;
+            }
+            int document = entry.getInt();
+            FrameAlphabet alphabet = ALPHABETS[entry.get()];
+            entry.position(entry.position() + 3);
+            String path = paths.get(document);
+            if (path == null) {
+                path = path(read(documentsOffset + (long) document * DOCUMENT_BYTES, DOCUMENT_BYTES));
+                paths.put(document, path);
+            }
+            hits.add(new IndexedRun(path, entry.getLong(), entry.getLong(), alphabet, payloadHash));
+        }
+        return hits;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Reads all documents with their runs, for an incremental update.
+     */
+    List<IndexedDocument> documents() throws IOException {
+        ByteBuffer table = read(documentsOffset, Math.multiplyExact(documentCount, DOCUMENT_BYTES));
+        ByteBuffer pathBlob = read(pathsOffset, Math.toIntExact(pathsLength));
+        List<String> paths = new ArrayList<>(documentCount);
+        long[] modified = new long[documentCount];
+        long[] sizes = new long[documentCount];
+        List<List<IndexedRun>> runs = new ArrayList<>(documentCount);
+        for (int d = 0; d < documentCount; d++) {
+            modified[d] = table.getLong();
+            sizes[d] = table.getLong();
+            int offset = Math.toIntExact(table.getLong());
+            int length = table.getInt();
+            runs.add(new ArrayList<>(table.getInt()));
+            paths.add(new String(pathBlob.array(), offset, length, StandardCharsets.UTF_8));
+        }
+
+        int chunk = 4096;
+        for (long first = 0; first < entryCount; first += chunk) {
+            int n = (int) Math.min(chunk, entryCount - first);
+            ByteBuffer entries = read(entriesOffset + first * ENTRY_BYTES, n * ENTRY_BYTES);
+            for (int i = 0; i < n; i++) {
+                long hash = entries.getLong();
+                int document = entries.getInt();
+                FrameAlphabet alphabet = ALPHABETS[entries.get()];
+                entries.position(entries.position() + 3);
+                runs.get(document).add(new IndexedRun(paths.get(document), entries.getLong(), entries.getLong(), alphabet, hash));
+            }
+        }
+
+        List<IndexedDocument> documents = new ArrayList<>(documentCount);
+        for (int d = 0; d < documentCount; d++) {
+            List<IndexedRun> documentRuns = runs.get(d);
+            documentRuns.sort(Comparator.comparingLong(IndexedRun::offset));
+            documents.add(new IndexedDocument(paths.get(d), modified[d], sizes[d], documentRuns));
+        }
+        return documents;
+    }
+
+    /**
+     * Writes an index of the given documents. The caller takes care of atomically replacing the target.
+     */
+    static void write(Path file, List<IndexedDocument> documents) throws IOException {
+        List<IndexedDocument> sorted = new ArrayList<>(documents);
+        sorted.sort(Comparator.comparing(IndexedDocument::path));
+
+        byte[][] paths = new byte[sorted.size()][];
+        long pathsLength = 0;
+        int entryCount = 0;
+        for (int d = 0; d < sorted.size(); d++) {
+            paths[d] = sorted.get(d).path().getBytes(StandardCharsets.UTF_8);
+            pathsLength += paths[d].length;
+            entryCount += sorted.get(d).runs().size();
+        }
+
+        // Entries are references (document id << 32 | run index) sorted by unsigned hash, the order
+        // find() searches in; runs are in offset order, so ties fall into document and offset order.
+        Long[] refs = new Long[entryCount];
+        int r = 0;
+        for (int d = 0; d < sorted.size(); d++) {
+            for (int i = 0; i < sorted.get(d).runs().size(); i++) {
+                refs[r++] = ((long) d << 32) | i;
+            }
+        }
+        Arrays.sort(refs, (a, b) -> {
+            int c = Long.compareUnsigned(run(sorted, a).payloadHash(), run(sorted, b).payloadHash());
+            return c != 0 ? c : Long.compare(a, b);
+        });
+
+        long entriesOffset = HEADER_BYTES;
+        long documentsOffset = entriesOffset + (long) entryCount * ENTRY_BYTES;
+        long pathsOffset = documentsOffset + (long) sorted.size() * DOCUMENT_BYTES;
+        try (OutputStream stream = Files.newOutputStream(file);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, 1 << 16))) {
+            out.write(MAGIC);
+            out.writeInt(sorted.size());
+            out.writeInt(0);
+            out.writeLong(entryCount);
+            out.writeLong(entriesOffset);
+            out.writeLong(documentsOffset);
+            out.writeLong(pathsOffset);
+            out.writeLong(pathsLength);
+            out.writeLong(0);
+
+            for (Long ref : refs) {
+                IndexedRun run = run(sorted, ref);
+                out.writeLong(run.payloadHash());
+                out.writeInt((int) (ref >>> 32));
+                out.writeByte(run.alphabet().ordinal());
+                out.write(new byte[3]);
+                out.writeLong(run.offset());
+                out.writeLong(run.length());
+            }
+
+            long pathOffset = 0;
+            for (int d = 0; d < sorted.size(); d++) {
+                IndexedDocument document = sorted.get(d);
+                out.writeLong(document.modified());
+                out.writeLong(document.size());
+                out.writeLong(pathOffset);
+                out.writeInt(paths[d].length);
+                out.writeInt(document.runs().size());
+                pathOffset += paths[d].length;
+            }
+
+            for (byte[] path : paths) {
+                out.write(path);
+            }
+        }
+    }
+
+    private static IndexedRun run(List<IndexedDocument> documents, long ref) {
+        return documents.get((int) (ref >>> 32)).runs().get((int) ref);
+    }
+
+    private String path(ByteBuffer document) throws IOException {
+        document.position(2 * Long.BYTES);
+        long offset = document.getLong();
+        int length = document.getInt();
+        return StandardCharsets.UTF_8.decode(read(pathsOffset + offset, length)).toString();
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Truncated payload index");
+            }
+        }
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,299 @@
+package com.yourorg.stegoapp.core.index;
+
+import com.yourorg.stegoapp.core.PayloadRun;
+import com.yourorg.stegoapp.core.PayloadScanner;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Builds and incrementally updates a {@link PayloadIndex} of all files below a directory.
+ * <p>
+ * Directories are walked in parallel on a dedicated {@link ForkJoinPool}: each directory is a task
+ * that forks its subdirectories and scans its files in batches. A file whose size and
+ * last-modified time match the previous index keeps its runs without being read; new and changed
+ * files are scanned with a {@link PayloadScanner}, and files that disappeared are dropped. A file
+ * that cannot be read, or a subdirectory that cannot be listed, keeps its previous entries, so a
+ * transient error does not drop anything from the index. Files are read as UTF-8 and symbolic links
+ * are not followed.
+ * </p>
+ * <p>
+ * The new index is written to a uniquely named temporary file next to the old one and moved over
+ * it, so readers never see a partially written file, concurrent updates do not write over each
+ * other's temporary file, and a failed update leaves the previous index in place. If no file was
+ * added, changed or removed, the index is left untouched.
+ * </p>
+ */
+public final class PayloadIndexer {
+    private static final int FILES_PER_TASK = 16;
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final int parallelism;
+    private final int minPayloadBytes;
+
+    /**
+     * Creates an indexer using all available processors and
+     * {@link PayloadScanner#DEFAULT_MIN_PAYLOAD_BYTES}.
+     */
+    public PayloadIndexer() {
+        this(Runtime.getRuntime().availableProcessors(), PayloadScanner.DEFAULT_MIN_PAYLOAD_BYTES);
+    }
+
+    /**
+     * @param parallelism number of threads walking and scanning files
+     * @param minPayloadBytes shortest run indexed, in payload bytes
+     */
+    public PayloadIndexer(int parallelism, int minPayloadBytes) {
+        if (parallelism < 1 || minPayloadBytes < 1) {
+            throw new IllegalArgumentException("parallelism and minPayloadBytes must be >= 1");
+        }
+        this.parallelism = parallelism;
+        this.minPayloadBytes = minPayloadBytes;
+    }
+
+    /**
+     * Brings the index at {@code indexFile} up to date with the files below {@code root}, creating
+     * it if it does not exist. The index file itself is skipped if it lies below {@code root}.
+     *
+     * @throws IOException if {@code root} cannot be walked or the index cannot be read or written
+     */
+    public IndexUpdateResult update(Path root, Path indexFile) throws IOException {
+        long start = System.nanoTime();
+        Path absoluteRoot = root.toAbsolutePath().normalize();
+        Path absoluteIndex = indexFile.toAbsolutePath().normalize();
+        if (!Files.isDirectory(absoluteRoot)) {
+            throw new NoSuchFileException(root.toString(), null, "not a directory");
+        }
+
+        Map<String, IndexedDocument> previous = new HashMap<>();
+        if (Files.exists(absoluteIndex)) {
+            try (PayloadIndex index = PayloadIndex.open(absoluteIndex)) {
+                for (IndexedDocument document : index.documents()) {
+                    previous.put(document.path(), document);
+                }
+            }
+        }
+
+        Walk walk = new Walk(absoluteRoot, previous, absoluteIndex);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(walk.new DirectoryTask(absoluteRoot));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            pool.shutdown();
+        }
+
+        List<IndexedDocument> documents = new ArrayList<>(walk.documents);
+        long runs = 0;
+        for (IndexedDocument document : documents) {
+            runs += document.runs().size();
+        }
+        long reused = walk.reused.sum();
+        long removed = previous.size() - reused - walk.rescanned.sum() - walk.retained.sum();
+        if (walk.scanned.sum() > 0 || removed > 0 || !Files.exists(absoluteIndex)) {
+            Path temp = Files.createTempFile(absoluteIndex.getParent(), walk.tempPrefix, TEMP_SUFFIX);
+            try {
+                PayloadIndex.write(temp, documents);
+                Files.move(temp, absoluteIndex, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+
+        return new IndexUpdateResult(
+                documents.size(),
+                walk.scanned.sum(),
+                reused,
+                removed,
+                walk.failed.sum(),
+                runs,
+                walk.bytesScanned.sum(),
+                Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private static IndexedRun toIndexedRun(String path, PayloadRun run) {
+        return new IndexedRun(path, run.offset(), run.length(), run.alphabet(), run.payloadHash());
+    }
+
+    /** State of one update, shared by its tasks. */
+    private final class Walk {
+        final Path root;
+        final Map<String, IndexedDocument> previous;
+        final Path indexFile;
+        final String tempPrefix;
+        final ConcurrentLinkedQueue<IndexedDocument> documents = new ConcurrentLinkedQueue<>();
+        final LongAdder scanned = new LongAdder();
+        final LongAdder rescanned = new LongAdder();
+        final LongAdder reused = new LongAdder();
+        final LongAdder retained = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LongAdder bytesScanned = new LongAdder();
+
+        Walk(Path root, Map<String, IndexedDocument> previous, Path indexFile) {
+            this.root = root;
+            this.previous = previous;
+            this.indexFile = indexFile;
+            this.tempPrefix = indexFile.getFileName() + ".";
+        }
+
+        void index(Path file, BasicFileAttributes attributes) {
+            if (file.equals(indexFile) || isTempFile(file)) {
+                return;
+            }
+            String path = relativePath(file);
+            long modified = attributes.lastModifiedTime().toMillis();
+            long size = attributes.size();
+            IndexedDocument old = previous.get(path);
+            if (old != null && old.modified() == modified && old.size() == size) {
+                documents.add(old);
+                reused.increment();
+                return;
+            }
+            List<IndexedRun> runs = new ArrayList<>();
+            PayloadScanner scanner = new PayloadScanner(run -> runs.add(toIndexedRun(path, run)), minPayloadBytes, 0);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                bytesScanned.add(scanner.scan(channel));
+            } catch (IOException e) {
+                // Keep what the previous index knew rather than report a file that still exists as removed.
+                if (old != null) {
+                    documents.add(old);
+                    retained.increment();
+                }
+                failed.increment();
+                return;
+            }
+            documents.add(new IndexedDocument(path, modified, size, runs));
+            scanned.increment();
+            if (old != null) {
+                rescanned.increment();
+            }
+        }
+
+        /**
+         * Carries the previous entries of a file or directory that could not be read into the new index.
+         */
+        void retain(Path file) {
+            String path = relativePath(file);
+            String prefix = path + "/";
+            for (IndexedDocument document : previous.values()) {
+                if (document.path().equals(path) || document.path().startsWith(prefix)) {
+                    documents.add(document);
+                    retained.increment();
+                }
+            }
+        }
+
+        /** Temporary files of this or a concurrent update of the same index, if it lies below the root. */
+        private boolean isTempFile(Path file) {
+            String name = file.getFileName().toString();
+            return file.getParent().equals(indexFile.getParent())
+                    && name.startsWith(tempPrefix) && name.endsWith(TEMP_SUFFIX);
+        }
+
+        private String relativePath(Path file) {
+            StringBuilder sb = new StringBuilder();
+            for (Path name : root.relativize(file)) {
+                if (!sb.isEmpty()) {
+                    sb.append('/');
+                }
+                sb.append(name);
+            }
+            return sb.toString();
+        }
+
+        final class DirectoryTask extends RecursiveAction {
+            private final Path directory;
+
+            DirectoryTask(Path directory) {
+                this.directory = directory;
+            }
+
+            @Override
+            protected void compute() {
+                List<RecursiveAction> tasks = new ArrayList<>();
+                List<Path> files = new ArrayList<>();
+                List<BasicFileAttributes> attributes = new ArrayList<>();
+                try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                    for (Path entry : entries) {
+                        BasicFileAttributes attrs;
+                        try {
+                            attrs = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                        } catch (NoSuchFileException e) {
+                            // deleted since the listing: its previous entries count as removed
+                            failed.increment();
+                            continue;
+                        } catch (IOException e) {
+                            retain(entry);
+                            failed.increment();
+                            continue;
+                        }
+                        if (attrs.isDirectory()) {
+                            tasks.add(new DirectoryTask(entry));
+                        } else if (attrs.isRegularFile()) {
+                            files.add(entry);
+                            attributes.add(attrs);
+                            if (files.size() == FILES_PER_TASK) {
+                                tasks.add(new FileTask(files, attributes));
+                                files = new ArrayList<>();
+                                attributes = new ArrayList<>();
+                            }
+                        }
+                    }
+                } catch (IOException | DirectoryIteratorException e) {
+                    IOException cause = e instanceof DirectoryIteratorException d ? d.getCause() : (IOException) e;
+                    if (directory.equals(root)) {
+                        throw new UncheckedIOException(cause);
+                    }
+                    // A subdirectory that cannot be listed counts as one failure and keeps its previous
+                    // entries; none of its tasks have run yet. One that vanished is dropped.
+                    if (!(cause instanceof NoSuchFileException)) {
+                        retain(directory);
+                    }
+                    failed.increment();
+                    return;
+                }
+                if (!files.isEmpty()) {
+                    tasks.add(new FileTask(files, attributes));
+                }
+                invokeAll(tasks);
+            }
+        }
+
+        final class FileTask extends RecursiveAction {
+            private final List<Path> files;
+            private final List<BasicFileAttributes> attributes;
+
+            FileTask(List<Path> files, List<BasicFileAttributes> attributes) {
+                this.files = files;
+                this.attributes = attributes;
+            }
+
+            @Override
+            protected void compute() {
+                for (int i = 0; i < files.size(); i++) {
+                    index(files.get(i), attributes.get(i));
+                }
+            }
+        }
+    }
+}
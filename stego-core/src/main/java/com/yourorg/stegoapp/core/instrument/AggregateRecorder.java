@@ -0,0 +1,130 @@
+package com.yourorg.stegoapp.core.instrument;
+
+import com.yourorg.stegoapp.core.model.StepType;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link TransformListener} that keeps running totals per step type and direction, without locks or
+ * a metrics library.
+ * <p>
+ * Each counter is a {@link LongAdder} (or a {@link LongAccumulator} for maxima) allocated up front and
+ * held in arrays indexed by step type and direction, so recording is a few striped additions and
+ * scales with concurrent transforms. Reads sum the stripes: a snapshot taken while transforms run is
+ * not atomic across fields, but every field is exact once they have finished.
+ * </p>
+ */
+public final class AggregateRecorder implements TransformListener {
+    private static final int DIRECTIONS = Direction.values().length;
+
+    private final StepCell[][] steps = new StepCell[StepType.values().length][DIRECTIONS];
+    private final PipelineCell[] pipelines = new PipelineCell[DIRECTIONS];
+
+    public AggregateRecorder() {
+        for (int d = 0; d < DIRECTIONS; d++) {
+            for (StepCell[] cells : steps) {
+                cells[d] = new StepCell();
+            }
+            pipelines[d] = new PipelineCell();
+        }
+    }
+
+    @Override
+    public void pipelineStarted(Direction direction, int steps, long inputBytes) {
+        pipelines[direction.ordinal()].started.increment();
+    }
+
+    @Override
+    public void stepCompleted(StepType type, Direction direction, long inputBytes, long outputBytes, long nanos) {
+        StepCell cell = steps[type.ordinal()][direction.ordinal()];
+        cell.count.increment();
+        cell.nanos.add(nanos);
+        cell.maxNanos.accumulate(nanos);
+        cell.inputBytes.add(inputBytes);
+        cell.outputBytes.add(outputBytes);
+    }
+
+    @Override
+    public void pipelineCompleted(Direction direction, long inputBytes, long outputBytes, long nanos) {
+        PipelineCell cell = pipelines[direction.ordinal()];
+        cell.completed.increment();
+        cell.nanos.add(nanos);
+        cell.inputBytes.add(inputBytes);
+        cell.outputBytes.add(outputBytes);
+    }
+
+    @Override
+    public void pipelineFailed(Direction direction, long nanos, RuntimeException failure) {
+        PipelineCell cell = pipelines[direction.ordinal()];
+        cell.failed.increment();
+        cell.nanos.add(nanos);
+    }
+
+    /**
+     * Returns the totals of one step type and direction.
+     */
+    public StepTotals step(StepType type, Direction direction) {
+        StepCell cell = steps[Objects.requireNonNull(type, "type").ordinal()][Objects.requireNonNull(direction, "direction").ordinal()];
+        return new StepTotals(cell.count.sum(), cell.nanos.sum(), cell.maxNanos.get(),
+                cell.inputBytes.sum(), cell.outputBytes.sum());
+    }
+
+    /**
+     * Returns the transform totals of one direction.
+     */
+    public PipelineTotals pipeline(Direction direction) {
+        PipelineCell cell = pipelines[Objects.requireNonNull(direction, "direction").ordinal()];
+        return new PipelineTotals(cell.started.sum(), cell.completed.sum(), cell.failed.sum(),
+                cell.nanos.sum(), cell.inputBytes.sum(), cell.outputBytes.sum());
+    }
+
+    /**
+     * Clears every total. Events recorded concurrently with a reset may be partly kept.
+     */
+    public void reset() {
+        for (int d = 0; d < DIRECTIONS; d++) {
+            for (StepCell[] cells : steps) {
+                cells[d].reset();
+            }
+            pipelines[d].reset();
+        }
+    }
+
+    /** Counters of one step type and direction. */
+    private static final class StepCell {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder inputBytes = new LongAdder();
+        private final LongAdder outputBytes = new LongAdder();
+
+        private void reset() {
+            count.reset();
+            nanos.reset();
+            maxNanos.reset();
+            inputBytes.reset();
+            outputBytes.reset();
+        }
+    }
+
+    /** Counters of one transform direction. */
+    private static final class PipelineCell {
+        private final LongAdder started = new LongAdder();
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder inputBytes = new LongAdder();
+        private final LongAdder outputBytes = new LongAdder();
+
+        private void reset() {
+            started.reset();
+            completed.reset();
+            failed.reset();
+            nanos.reset();
+            inputBytes.reset();
+            outputBytes.reset();
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.yourorg.stegoapp.core.instrument;
+
+/**
+ * Direction of a transform reported to a {@link TransformListener}.
+ */
+public enum Direction {
+    ENCODE,
+    DECODE
+}
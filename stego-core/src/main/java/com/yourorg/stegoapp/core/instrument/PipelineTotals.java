@@ -0,0 +1,14 @@
+package com.yourorg.stegoapp.core.instrument;
+
+/**
+ * Totals of one transform direction recorded by an {@link AggregateRecorder}.
+ *
+ * @param started transforms started
+ * @param completed transforms that returned normally
+ * @param failed transforms that threw
+ * @param nanos total time of completed and failed transforms
+ * @param inputBytes total UTF-8 input of completed transforms
+ * @param outputBytes total UTF-8 output of completed transforms
+ */
+public record PipelineTotals(long started, long completed, long failed, long nanos, long inputBytes, long outputBytes) {
+}
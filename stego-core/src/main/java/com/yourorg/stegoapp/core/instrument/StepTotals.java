@@ -0,0 +1,20 @@
+package com.yourorg.stegoapp.core.instrument;
+
+/**
+ * Totals of one step type and direction recorded by an {@link AggregateRecorder}.
+ *
+ * @param count steps completed
+ * @param nanos total time spent in those steps
+ * @param maxNanos longest single step, or 0 if none completed
+ * @param inputBytes total UTF-8 bytes consumed
+ * @param outputBytes total UTF-8 bytes produced
+ */
+public record StepTotals(long count, long nanos, long maxNanos, long inputBytes, long outputBytes) {
+
+    /**
+     * Returns the mean time per step, or 0 if none completed.
+     */
+    public double meanNanos() {
+        return count == 0 ? 0 : (double) nanos / count;
+    }
+}
@@ -0,0 +1,118 @@
+package com.yourorg.stegoapp.core.instrument;
+
+import com.yourorg.stegoapp.core.model.StepType;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Receives timings and sizes of string transforms run by
+ * {@link com.yourorg.stegoapp.service.StegoService}, {@link com.yourorg.stegoapp.service.CompiledPipeline}
+ * and {@link com.yourorg.stegoapp.core.CompositeStep}.
+ * <p>
+ * Sizes are UTF-8 bytes and durations come from {@link System#nanoTime()}. Callbacks run on the thread
+ * of the transform, between steps, so they must be thread-safe and cheap; an exception thrown by a
+ * callback propagates to the caller of the transform. Every method defaults to a no-op.
+ * </p>
+ * <p>
+ * With {@link #NONE} the transform runs its plain step loop: no clock reads, no size measurements and
+ * no calls. Byte-level {@link com.yourorg.stegoapp.core.codec.CodecChain}s are not reported.
+ * </p>
+ */
+public interface TransformListener {
+    /** Listener that ignores every event; transforms compiled with it are not instrumented. */
+    TransformListener NONE = new TransformListener() { };
+
+    /**
+     * Called before the first step of a transform.
+     *
+     * @param direction transform direction
+     * @param steps number of steps that will run
+     * @param inputBytes size of the transform input
+     */
+    default void pipelineStarted(Direction direction, int steps, long inputBytes) { }
+
+    /**
+     * Called after each step that returned normally.
+     *
+     * @param type type of the step
+     * @param direction transform direction
+     * @param inputBytes size of the step input
+     * @param outputBytes size of the step output
+     * @param nanos time spent in the step
+     */
+    default void stepCompleted(StepType type, Direction direction, long inputBytes, long outputBytes, long nanos) { }
+
+    /**
+     * Called after the last step of a successful transform.
+     *
+     * @param direction transform direction
+     * @param inputBytes size of the transform input
+     * @param outputBytes size of the transform output
+     * @param nanos time spent in the whole transform
+     */
+    default void pipelineCompleted(Direction direction, long inputBytes, long outputBytes, long nanos) { }
+
+    /**
+     * Called instead of {@link #pipelineCompleted} when a step or header check throws; the exception
+     * is rethrown afterwards.
+     *
+     * @param direction transform direction
+     * @param nanos time spent until the failure
+     * @param failure exception thrown by the transform
+     */
+    default void pipelineFailed(Direction direction, long nanos, RuntimeException failure) { }
+
+    /**
+     * Returns a listener that forwards every event to each of {@code listeners} in order.
+     *
+     * @param listeners listeners to notify (required)
+     * @return {@link #NONE} if the list is empty, the single listener, or a forwarding listener
+     */
+    static TransformListener of(List<TransformListener> listeners) {
+        List<TransformListener> all = List.copyOf(listeners);
+        if (all.isEmpty()) {
+            return NONE;
+        }
+        if (all.size() == 1) {
+            return all.get(0);
+        }
+        TransformListener[] targets = all.toArray(TransformListener[]::new);
+        return new TransformListener() {
+            @Override
+            public void pipelineStarted(Direction direction, int steps, long inputBytes) {
+                for (TransformListener l : targets) {
+                    l.pipelineStarted(direction, steps, inputBytes);
+                }
+            }
+
+            @Override
+            public void stepCompleted(StepType type, Direction direction, long inputBytes, long outputBytes, long nanos) {
+                for (TransformListener l : targets) {
+                    l.stepCompleted(type, direction, inputBytes, outputBytes, nanos);
+                }
+            }
+
+            @Override
+            public void pipelineCompleted(Direction direction, long inputBytes, long outputBytes, long nanos) {
+                for (TransformListener l : targets) {
+                    l.pipelineCompleted(direction, inputBytes, outputBytes, nanos);
+                }
+            }
+
+            @Override
+            public void pipelineFailed(Direction direction, long nanos, RuntimeException failure) {
+                for (TransformListener l : targets) {
+                    l.pipelineFailed(direction, nanos, failure);
+                }
+            }
+        };
+    }
+
+    /**
+     * Varargs form of {@link #of(List)}.
+     */
+    static TransformListener of(TransformListener... listeners) {
+        return of(List.of(Objects.requireNonNull(listeners, "listeners")));
+    }
+}
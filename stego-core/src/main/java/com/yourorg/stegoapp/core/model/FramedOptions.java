@@ -0,0 +1,23 @@
+package com.yourorg.stegoapp.core.model;
+
+/**
+ * Options selecting the framed form of the {@code ZERO_WIDTH} or {@code EMOJI} step.
+ * <p>
+ * The payload is split into independently decodable, checksummed frames; see
+ * {@link com.yourorg.stegoapp.core.FramedStep}.
+ * </p>
+ *
+ * @param blockSize payload bytes per frame (validated as {@code 1..65535} by
+ *                  {@link com.yourorg.stegoapp.core.validation.PipelineValidator})
+ */
+public record FramedOptions(int blockSize) implements StepOptions {
+    /** Block size used by {@link #defaults()}. */
+    public static final int DEFAULT_BLOCK_SIZE = 1024;
+
+    /**
+     * Returns framed options with {@link #DEFAULT_BLOCK_SIZE}.
+     */
+    public static FramedOptions defaults() {
+        return new FramedOptions(DEFAULT_BLOCK_SIZE);
+    }
+}
@@ -8,11 +8,25 @@ package com.yourorg.stegoapp.core.model;
  */
 public enum StepType {
     /** Zero-width character encoding */
-    ZERO_WIDTH,
+    ZERO_WIDTH(true),
     /** Base64 encoding */
-    BASE64,
+    BASE64(true),
     /** Emoji encoding */
-    EMOJI,
-    /** Password-based encryption */
-    CRYPTO
+    EMOJI(true),
+    /** Password-based encryption (random salt and IV per call) */
+    CRYPTO(false);
+
+    private final boolean deterministic;
+
+    StepType(boolean deterministic) {
+        this.deterministic = deterministic;
+    }
+
+    /**
+     * Returns whether the same input and options always produce the same output, so results may be
+     * cached.
+     */
+    public boolean isDeterministic() {
+        return deterministic;
+    }
 }
@@ -0,0 +1,190 @@
+package com.yourorg.stegoapp.core.text;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Read-only {@link CharSequence} made of several segments that are joined lazily.
+ * <p>
+ * Segments are referenced, not copied, so a large shared prefix (e.g. cover text) costs nothing per
+ * message. The joined {@link String} is only built when {@link #toString()} is called and is cached
+ * afterwards. Use {@link #writeTo(Writer)} / {@link #writeUtf8(OutputStream)} to emit the text
+ * without materializing it.
+ * </p>
+ * <p>
+ * Instances are immutable as long as the supplied segments are.
+ * </p>
+ */
+public final class SegmentedText implements CharSequence {
+    private static final int WRITE_CHUNK = 8192;
+
+    private final CharSequence[] segments;
+    private final int[] starts;
+    private final int length;
+    private volatile String joined;
+
+    private SegmentedText(CharSequence[] segments) {
+        this.segments = segments;
+        this.starts = new int[segments.length];
+        long total = 0;
+        for (int i = 0; i < segments.length; i++) {
+            starts[i] = (int) total;
+            total += segments[i].length();
+        }
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Combined length exceeds " + Integer.MAX_VALUE + " chars");
+        }
+        this.length = (int) total;
+    }
+
+    /**
+     * Creates a lazily joined sequence from the given segments.
+     *
+     * @param segments segments in output order (required; no {@code null} entries)
+     * @return joined view over the segments
+     */
+    public static SegmentedText of(CharSequence... segments) {
+        Objects.requireNonNull(segments, "segments");
+        CharSequence[] copy = segments.clone();
+        for (CharSequence s : copy) {
+            Objects.requireNonNull(s, "segment");
+        }
+        return new SegmentedText(copy);
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+        }
+        int seg = segmentFor(index);
+        return segments[seg].charAt(index - starts[seg]);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        Objects.checkFromToIndex(start, end, length);
+        if (start == end) {
+            return "";
+        }
+        int first = segmentFor(start);
+        int last = segmentFor(end - 1);
+        if (first == last) {
+            return segments[first].subSequence(start - starts[first], end - starts[first]);
+        }
+        CharSequence[] parts = new CharSequence[last - first + 1];
+        for (int i = first; i <= last; i++) {
+            int from = Math.max(start, starts[i]) - starts[i];
+            int to = Math.min(end, starts[i] + segments[i].length()) - starts[i];
+            parts[i - first] = segments[i].subSequence(from, to);
+        }
+        return new SegmentedText(parts);
+    }
+
+    /**
+     * Writes all segments to {@code out} in bounded chunks, without building the joined string.
+     * The writer is not flushed or closed.
+     *
+     * @param out destination writer
+     * @throws IOException if writing fails
+     */
+    public void writeTo(Writer out) throws IOException {
+        char[] buf = null;
+        for (CharSequence s : segments) {
+            buf = write(s, out, buf);
+        }
+    }
+
+    /**
+     * Writes the text to {@code out} as UTF-8 and flushes. The stream is not closed.
+     *
+     * @param out destination stream
+     * @throws IOException if writing fails
+     */
+    public void writeUtf8(OutputStream out) throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        writeTo(writer);
+        writer.flush();
+    }
+
+    /**
+     * Writes any {@link CharSequence} to {@code out} in bounded chunks. A {@link SegmentedText} is
+     * written segment by segment.
+     *
+     * @param text text to write
+     * @param out destination writer (not flushed or closed)
+     * @throws IOException if writing fails
+     */
+    public static void writeTo(CharSequence text, Writer out) throws IOException {
+        if (text instanceof SegmentedText segmented) {
+            segmented.writeTo(out);
+        } else {
+            write(text, out, null);
+        }
+    }
+
+    /**
+     * Returns the joined text; built on first call and cached.
+     */
+    @Override
+    public String toString() {
+        String s = joined;
+        if (s == null) {
+            StringBuilder sb = new StringBuilder(length);
+            for (CharSequence segment : segments) {
+                sb.append(segment);
+            }
+            s = sb.toString();
+            joined = s;
+        }
+        return s;
+    }
+
+    private int segmentFor(int index) {
+        // last segment starting at or before index; empty segments are skipped because a later
+        // segment shares their start offset
+        int lo = 0;
+        int hi = starts.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (starts[mid] <= index) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return lo;
+    }
+
+    private static char[] write(CharSequence s, Writer out, char[] buf) throws IOException {
+        int len = s.length();
+        if (len == 0) {
+            return buf;
+        }
+        if (buf == null || buf.length < Math.min(WRITE_CHUNK, len)) {
+            buf = new char[Math.min(WRITE_CHUNK, len)];
+        }
+        for (int off = 0; off < len; ) {
+            int n = Math.min(buf.length, len - off);
+            if (s instanceof String str) {
+                str.getChars(off, off + n, buf, 0);
+            } else {
+                for (int i = 0; i < n; i++) {
+                    buf[i] = s.charAt(off + i);
+                }
+            }
+            out.write(buf, 0, n);
+            off += n;
+        }
+        return buf;
+    }
+}
@@ -0,0 +1,89 @@
+package com.yourorg.stegoapp.core.text;
+
+/**
+ * Allocation-free UTF-8 helpers for step implementations.
+ * <p>
+ * Encoding matches {@code String.getBytes(StandardCharsets.UTF_8)}, including replacing unpaired
+ * surrogates with {@code '?'}.
+ * </p>
+ */
+public final class Utf8 {
+    private Utf8() {}
+
+    /**
+     * Returns the number of bytes {@code s} occupies in UTF-8.
+     *
+     * @param s text to measure
+     * @return encoded length in bytes
+     */
+    public static int encodedLength(CharSequence s) {
+        return encodedLength(s, 0, s.length());
+    }
+
+    /**
+     * Returns the number of bytes {@code s[from, to)} occupies in UTF-8, measured as a string of its
+     * own (a surrogate pair split by either bound counts as unpaired).
+     *
+     * @param s text to measure
+     * @param from start index, inclusive
+     * @param to end index, exclusive
+     * @return encoded length in bytes
+     */
+    public static int encodedLength(CharSequence s, int from, int to) {
+        long n = 0;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                n++;
+            } else if (c < 0x800) {
+                n += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < to && Character.isLowSurrogate(s.charAt(i + 1))) {
+                n += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                n++;
+            } else {
+                n += 3;
+            }
+        }
+        if (n > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("UTF-8 length exceeds " + Integer.MAX_VALUE + " bytes");
+        }
+        return (int) n;
+    }
+
+    /**
+     * Encodes {@code s} as UTF-8 into {@code dst} starting at {@code off}.
+     *
+     * @param s text to encode
+     * @param dst destination; must have room for {@link #encodedLength(CharSequence)} bytes
+     * @param off start offset in {@code dst}
+     * @return number of bytes written
+     */
+    public static int encode(CharSequence s, byte[] dst, int off) {
+        int len = s.length();
+        int p = off;
+        for (int i = 0; i < len; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                dst[p++] = (byte) c;
+            } else if (c < 0x800) {
+                dst[p++] = (byte) (0xC0 | (c >> 6));
+                dst[p++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                dst[p++] = (byte) (0xF0 | (cp >> 18));
+                dst[p++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                dst[p++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                dst[p++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                dst[p++] = '?';
+            } else {
+                dst[p++] = (byte) (0xE0 | (c >> 12));
+                dst[p++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                dst[p++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return p - off;
+    }
+}
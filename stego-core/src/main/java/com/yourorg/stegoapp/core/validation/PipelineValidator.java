@@ -2,7 +2,9 @@ package com.yourorg.stegoapp.core.validation;
 
 import com.yourorg.stegoapp.core.error.StegoErrorCode;
 import com.yourorg.stegoapp.core.error.StegoException;
+import com.yourorg.stegoapp.core.FramedStep;
 import com.yourorg.stegoapp.core.model.CryptoOptions;
+import com.yourorg.stegoapp.core.model.FramedOptions;
 import com.yourorg.stegoapp.core.model.NoOptions;
 import com.yourorg.stegoapp.core.model.Pipeline;
 import com.yourorg.stegoapp.core.model.StepConfig;
@@ -18,9 +20,11 @@ import com.yourorg.stegoapp.core.model.ZeroWidthOptions;
  * </p>
  * <ul>
  *   <li>Pipeline and step types are present</li>
+ *   <li>BASE64 takes no options</li>
  *   <li>CRYPTO requires a non-blank password</li>
  *   <li>ZERO_WIDTH options are validated when provided (e.g., cover text required for
  *       {@link ZeroWidthMode#EMBED_IN_COVER})</li>
+ *   <li>{@link FramedOptions} are only used on ZERO_WIDTH/EMOJI and have a valid block size</li>
  * </ul>
  * <p>
  * Failures are reported as {@link StegoException} with stable {@link StegoErrorCode}s suitable for
@@ -58,10 +62,17 @@ public final class PipelineValidator {
 
     private static void validateStep(int index, StepType type, StepOptions options) {
         switch (type) {
-            case BASE64, EMOJI -> {
-                // no options
+            case BASE64 -> {
+                // ignored options would still change the payload header fingerprint
+                if (!(options instanceof NoOptions)) {
+                    throw new StegoException(StegoErrorCode.INVALID_OPTIONS, "pipeline.steps[" + index + "].options are not supported for BASE64");
+                }
+            }
+            case EMOJI -> validateFramed(index, options);
+            case ZERO_WIDTH -> {
+                validateZeroWidth(index, options);
+                validateFramed(index, options);
             }
-            case ZERO_WIDTH -> validateZeroWidth(index, options);
             case CRYPTO -> validateCrypto(index, options);
         }
     }
@@ -86,4 +97,14 @@ public final class PipelineValidator {
             throw new StegoException(StegoErrorCode.INVALID_OPTIONS, "pipeline.steps[" + index + "].options.coverText is required");
         }
     }
+
+    private static void validateFramed(int index, StepOptions options) {
+        if (!(options instanceof FramedOptions framed)) {
+            return;
+        }
+        if (framed.blockSize() < 1 || framed.blockSize() > FramedStep.MAX_BLOCK_SIZE) {
+            throw new StegoException(StegoErrorCode.INVALID_OPTIONS,
+                    "pipeline.steps[" + index + "].options.blockSize must be between 1 and " + FramedStep.MAX_BLOCK_SIZE);
+        }
+    }
 }
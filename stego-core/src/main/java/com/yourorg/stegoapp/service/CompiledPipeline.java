@@ -0,0 +1,304 @@
+package com.yourorg.stegoapp.service;
+
+import com.yourorg.stegoapp.core.ByteLevelStep;
+import com.yourorg.stegoapp.core.CancellationToken;
+import com.yourorg.stegoapp.core.PayloadHeader;
+import com.yourorg.stegoapp.core.StegoFactory;
+import com.yourorg.stegoapp.core.StegoStep;
+import com.yourorg.stegoapp.core.buffer.StagingAllocator;
+import com.yourorg.stegoapp.core.codec.BlockLayout;
+import com.yourorg.stegoapp.core.codec.ByteCodec;
+import com.yourorg.stegoapp.core.codec.CodecChain;
+import com.yourorg.stegoapp.core.error.StegoErrorCode;
+import com.yourorg.stegoapp.core.error.StegoException;
+import com.yourorg.stegoapp.core.instrument.Direction;
+import com.yourorg.stegoapp.core.instrument.TransformListener;
+import com.yourorg.stegoapp.core.model.Pipeline;
+import com.yourorg.stegoapp.core.model.StepConfig;
+import com.yourorg.stegoapp.core.model.StepType;
+import com.yourorg.stegoapp.core.text.Utf8;
+import com.yourorg.stegoapp.core.validation.PipelineValidator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A validated pipeline with its steps already instantiated.
+ * <p>
+ * Validation, step creation and the {@link PayloadHeader} fingerprint happen once in
+ * {@link #compile(Pipeline)}; every call afterwards only runs the steps. Steps are immutable and
+ * byte-level codecs are created per chain, so an instance may be shared across threads and kept for
+ * as long as the pipeline definition does not change.
+ * </p>
+ * <p>
+ * String transforms report to the {@link TransformListener} given at compile time. With
+ * {@link TransformListener#NONE} they run the plain step loop; otherwise each call measures step
+ * durations and UTF-8 sizes and reports them. Byte-level chains are not reported.
+ * </p>
+ */
+public final class CompiledPipeline {
+    private final Pipeline pipeline;
+    private final StegoStep[] steps;
+    private final StepType[] types;
+    private final TransformListener listener;
+    private final int fingerprint;
+    // per-step output/input ratios, measured on first use; volatile so the array is published with its
+    // elements. Racing threads may both measure, with identical results.
+    private volatile double[] expansion;
+
+    private CompiledPipeline(Pipeline pipeline, StegoStep[] steps, TransformListener listener) {
+        this.pipeline = pipeline;
+        this.steps = steps;
+        this.types = pipeline.steps().stream().map(StepConfig::type).toArray(StepType[]::new);
+        this.listener = listener;
+        this.fingerprint = PayloadHeader.fingerprint(pipeline);
+    }
+
+    /**
+     * Validates {@code pipeline} and creates its steps.
+     *
+     * @param pipeline The ordered transformation pipeline
+     * @return compiled form of the pipeline
+     * @throws StegoException if the pipeline is invalid
+     */
+    public static CompiledPipeline compile(Pipeline pipeline) {
+        return compile(pipeline, TransformListener.NONE);
+    }
+
+    /**
+     * Validates {@code pipeline} and creates its steps, reporting string transforms to {@code listener}.
+     *
+     * @param pipeline The ordered transformation pipeline
+     * @param listener transform listener (required)
+     * @return compiled form of the pipeline
+     * @throws StegoException if the pipeline is invalid
+     */
+    public static CompiledPipeline compile(Pipeline pipeline, TransformListener listener) {
+        Objects.requireNonNull(listener, "listener");
+        PipelineValidator.validate(pipeline);
+        List<StepConfig> configs = pipeline.steps();
+        StegoStep[] steps = new StegoStep[configs.size()];
+        for (int i = 0; i < steps.length; i++) {
+            steps[i] = StegoFactory.create(configs.get(i));
+        }
+        return new CompiledPipeline(pipeline, steps, listener);
+    }
+
+    /**
+     * Returns the pipeline this instance was compiled from.
+     */
+    public Pipeline pipeline() {
+        return pipeline;
+    }
+
+    /**
+     * Returns the {@link PayloadHeader#fingerprint(Pipeline) header fingerprint} of the pipeline.
+     */
+    public int fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Encodes a message (steps applied in order).
+     */
+    public String encode(String input) {
+        Objects.requireNonNull(input, "input");
+        if (listener != TransformListener.NONE) {
+            return observed(Direction.ENCODE, input, false).toString();
+        }
+        String result = input;
+        for (StegoStep step : steps) {
+            CancellationToken.checkpoint();
+            result = step.encode(result);
+        }
+        return result;
+    }
+
+    /**
+     * Encodes a message and prefixes it with a {@link PayloadHeader}.
+     */
+    public String encodeWithHeader(String input) {
+        return PayloadHeader.prepend(encode(input), fingerprint);
+    }
+
+    /**
+     * Encodes a message, letting the final step return a lazily joined sequence
+     * (see {@link StegoStep#encodeDeferred(String)}).
+     */
+    public CharSequence encodeDeferred(String input) {
+        Objects.requireNonNull(input, "input");
+        if (listener != TransformListener.NONE) {
+            return observed(Direction.ENCODE, input, true);
+        }
+        String result = input;
+        for (int i = 0; i < steps.length - 1; i++) {
+            CancellationToken.checkpoint();
+            result = steps[i].encode(result);
+        }
+        CancellationToken.checkpoint();
+        return steps[steps.length - 1].encodeDeferred(result);
+    }
+
+    /**
+     * Decodes a message (steps applied in reverse), verifying and stripping a {@link PayloadHeader}
+     * first if present.
+     *
+     * @throws StegoException if the header does not match the pipeline or payload
+     */
+    public String decode(String input) {
+        Objects.requireNonNull(input, "input");
+        if (listener != TransformListener.NONE) {
+            return observed(Direction.DECODE, input, false).toString();
+        }
+        String result = PayloadHeader.strip(input, fingerprint);
+        for (int i = steps.length - 1; i >= 0; i--) {
+            CancellationToken.checkpoint();
+            result = steps[i].decode(result);
+        }
+        return result;
+    }
+
+    /**
+     * Runs the string transform like the plain loops above, reporting to {@link #listener}.
+     * <p>
+     * Only the transform input and decode outputs, the short side of each decode step, are measured.
+     * Encode outputs, which grow up to 24x, are sized by {@link StegoStep#encodedUtf8Length}.
+     * </p>
+     */
+    private CharSequence observed(Direction direction, String input, boolean deferLast) {
+        long start = System.nanoTime();
+        long inputBytes = Utf8.encodedLength(input);
+        listener.pipelineStarted(direction, steps.length, inputBytes);
+        try {
+            boolean encode = direction == Direction.ENCODE;
+            String text = encode ? input : PayloadHeader.strip(input, fingerprint);
+            // the header is a prefix, so only it needs measuring
+            long bytes = inputBytes - Utf8.encodedLength(input, 0, input.length() - text.length());
+            CharSequence out = text;
+            for (int n = 0; n < steps.length; n++) {
+                int i = encode ? n : steps.length - 1 - n;
+                CancellationToken.checkpoint();
+                long stepStart = System.nanoTime();
+                if (!encode) {
+                    out = steps[i].decode(text);
+                } else if (deferLast && n == steps.length - 1) {
+                    out = steps[i].encodeDeferred(text);
+                } else {
+                    out = steps[i].encode(text);
+                }
+                long nanos = System.nanoTime() - stepStart;
+                long outputBytes = encode ? steps[i].encodedUtf8Length(out) : Utf8.encodedLength(out);
+                listener.stepCompleted(types[i], direction, bytes, outputBytes, nanos);
+                bytes = outputBytes;
+                if (out instanceof String s) {
+                    text = s;
+                }
+            }
+            listener.pipelineCompleted(direction, inputBytes, bytes, System.nanoTime() - start);
+            return out;
+        } catch (RuntimeException e) {
+            listener.pipelineFailed(direction, System.nanoTime() - start, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Estimates the work of a transform as the total number of bytes flowing into and out of every
+     * step, using each step's worst-case expansion.
+     * <p>
+     * Intended for scheduling, not for sizing buffers: the figure is relative, and steps without a
+     * byte-level form are assumed not to change the size.
+     * </p>
+     *
+     * @param inputLength input size (bytes or characters)
+     * @param encode direction
+     * @return estimated cost in bytes processed
+     */
+    public long estimateCost(long inputLength, boolean encode) {
+        double[] ratios = expansion;
+        if (ratios == null) {
+            ratios = measureExpansion();
+            expansion = ratios;
+        }
+        double size = inputLength;
+        double total = size;
+        for (int i = 0; i < steps.length; i++) {
+            int idx = encode ? i : steps.length - 1 - i;
+            size *= encode ? ratios[2 * idx] : ratios[2 * idx + 1];
+            total += size;
+        }
+        return (long) Math.min(total, Long.MAX_VALUE);
+    }
+
+    private double[] measureExpansion() {
+        final long sample = 1 << 16;
+        double[] ratios = new double[2 * steps.length];
+        for (int i = 0; i < steps.length; i++) {
+            if (steps[i] instanceof ByteLevelStep byteLevel) {
+                ratios[2 * i] = ratio(byteLevel.newEncoder(), sample);
+                ratios[2 * i + 1] = ratio(byteLevel.newDecoder(), sample);
+            } else {
+                ratios[2 * i] = 1;
+                ratios[2 * i + 1] = 1;
+            }
+        }
+        return ratios;
+    }
+
+    private static double ratio(ByteCodec codec, long sample) {
+        // subtract the fixed part (e.g. cover text) so only the per-byte growth remains
+        return (double) (codec.maxOutputLength(sample) - codec.maxOutputLength(0)) / sample;
+    }
+
+    /**
+     * Builds a new encode chain. The caller must close it.
+     *
+     * @throws StegoException if a step has no byte-level form
+     */
+    public CodecChain newEncodeChain(StagingAllocator allocator) {
+        return new CodecChain(codecs(true), allocator, CodecChain.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Builds a new decode chain (steps in reverse). The caller must close it.
+     *
+     * @throws StegoException if a step has no byte-level form
+     */
+    public CodecChain newDecodeChain(StagingAllocator allocator) {
+        return new CodecChain(codecs(false), allocator, CodecChain.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates an encoder for live editing: it keeps a document and returns, per edit, only the change
+     * to the encoded output.
+     *
+     * @throws StegoException {@link StegoErrorCode#UNSUPPORTED_STEP} if a step is not block-local
+     *                        (see {@link ByteLevelStep#encodeLayout()})
+     */
+    public IncrementalEncoder newIncrementalEncoder() {
+        ByteLevelStep[] byteLevel = new ByteLevelStep[steps.length];
+        BlockLayout[] layouts = new BlockLayout[steps.length];
+        for (int i = 0; i < steps.length; i++) {
+            if (steps[i] instanceof ByteLevelStep step && step.encodeLayout() != null) {
+                byteLevel[i] = step;
+                layouts[i] = step.encodeLayout();
+            } else {
+                throw StegoException.stackless(StegoErrorCode.UNSUPPORTED_STEP, pipeline.steps().get(i).type() + " cannot be encoded incrementally");
+            }
+        }
+        return new IncrementalEncoder(byteLevel, layouts);
+    }
+
+    List<ByteCodec> codecs(boolean encode) {
+        List<ByteCodec> codecs = new ArrayList<>(steps.length);
+        for (int i = 0; i < steps.length; i++) {
+            int idx = encode ? i : steps.length - 1 - i;
+            if (!(steps[idx] instanceof ByteLevelStep byteLevel)) {
+                throw new StegoException(StegoErrorCode.UNSUPPORTED_STEP, pipeline.steps().get(idx).type() + " cannot run as a byte-level step");
+            }
+            codecs.add(encode ? byteLevel.newEncoder() : byteLevel.newDecoder());
+        }
+        return codecs;
+    }
+}
@@ -0,0 +1,15 @@
+package com.yourorg.stegoapp.service;
+
+import com.yourorg.stegoapp.core.model.Pipeline;
+
+/**
+ * A pipeline that decodes the input of a {@link PipelineDiscovery} search.
+ *
+ * @param pipeline the pipeline, in encode order; {@code StegoService.decode(input, pipeline)}
+ *                 returns {@code decoded}
+ * @param decoded the decoded text
+ * @param score how plausible {@code decoded} is as plain text, from 0 to 1
+ * @param headerMatch whether the input carries a payload header written for this pipeline
+ */
+public record DiscoveredPipeline(Pipeline pipeline, String decoded, double score, boolean headerMatch) {
+}
@@ -0,0 +1,41 @@
+package com.yourorg.stegoapp.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Limits and inputs of a {@link PipelineDiscovery} search.
+ *
+ * @param maxDepth longest pipeline tried, {@code 1..MAX_DEPTH}
+ * @param limit number of pipelines returned, at least 1
+ * @param budget wall-clock time after which no further decodes are started (required, positive)
+ * @param framed whether framed {@code ZERO_WIDTH}/{@code EMOJI} steps are tried
+ * @param passwords passwords to try for {@code CRYPTO} steps; empty to skip them (copied defensively)
+ */
+public record DiscoveryOptions(int maxDepth, int limit, Duration budget, boolean framed, List<String> passwords) {
+    /** Largest supported {@link #maxDepth()}. */
+    public static final int MAX_DEPTH = 8;
+
+    public DiscoveryOptions {
+        if (maxDepth < 1 || maxDepth > MAX_DEPTH) {
+            throw new IllegalArgumentException("maxDepth must be between 1 and " + MAX_DEPTH + ", but was " + maxDepth);
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1, but was " + limit);
+        }
+        Objects.requireNonNull(budget, "budget");
+        if (budget.isNegative() || budget.isZero()) {
+            throw new IllegalArgumentException("budget must be positive");
+        }
+        passwords = (passwords == null) ? List.of() : List.copyOf(passwords);
+    }
+
+    /**
+     * Returns options for up to 4 steps, the best 5 pipelines and a 2 second budget, with framed
+     * steps and without passwords.
+     */
+    public static DiscoveryOptions defaults() {
+        return new DiscoveryOptions(4, 5, Duration.ofSeconds(2), true, List.of());
+    }
+}
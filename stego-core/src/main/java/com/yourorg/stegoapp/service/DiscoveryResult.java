@@ -0,0 +1,15 @@
+package com.yourorg.stegoapp.service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Outcome of a {@link PipelineDiscovery} search.
+ *
+ * @param pipelines best pipelines first, at most {@link DiscoveryOptions#limit()}
+ * @param decodesTried number of single-step decodes attempted
+ * @param complete {@code false} if the time budget ran out before every candidate chain was tried
+ * @param elapsed wall-clock time of the search
+ */
+public record DiscoveryResult(List<DiscoveredPipeline> pipelines, long decodesTried, boolean complete, Duration elapsed) {
+}
@@ -0,0 +1,203 @@
+package com.yourorg.stegoapp.service;
+
+import com.yourorg.stegoapp.core.ByteLevelStep;
+import com.yourorg.stegoapp.core.codec.BlockLayout;
+import com.yourorg.stegoapp.core.codec.ByteCodec;
+import com.yourorg.stegoapp.core.error.StegoErrorCode;
+import com.yourorg.stegoapp.core.error.StegoException;
+import com.yourorg.stegoapp.core.text.Utf8;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Keeps a document and its encoded form, and turns edits of the document into edits of the output.
+ * <p>
+ * Every step must be block-local (see {@link ByteLevelStep#encodeLayout()}). An edit is carried
+ * through the pipeline as a byte range: each step re-encodes only the blocks the edit touches, and
+ * the change in its output becomes the edit for the next step. When an edit shifts a step's input by
+ * a whole number of blocks the rest of the output is unchanged; otherwise (e.g. inserting one byte
+ * before Base64) the step re-encodes from the edit to the end of its input. Output edits are trimmed
+ * to the chars that actually differ.
+ * </p>
+ * <p>
+ * Per edit, encoding work is proportional to the edited blocks; keeping the stage buffers up to date
+ * costs one array copy of each stage's tail and one scan of the document prefix to find the UTF-8
+ * offset.
+ * </p>
+ * <p>
+ * Instances are created by {@link CompiledPipeline#newIncrementalEncoder()}, start with an empty
+ * document and are not thread-safe.
+ * </p>
+ */
+public final class IncrementalEncoder {
+    private final ByteLevelStep[] steps;
+    private final BlockLayout[] layouts;
+    private final StringBuilder text = new StringBuilder();
+    /** UTF-8 input of each step; the input of step i + 1 is the output of step i. */
+    private final Bytes[] inputs;
+    private final StringBuilder output = new StringBuilder();
+
+    IncrementalEncoder(ByteLevelStep[] steps, BlockLayout[] layouts) {
+        this.steps = steps;
+        this.layouts = layouts;
+        this.inputs = new Bytes[steps.length];
+        Arrays.setAll(inputs, i -> new Bytes());
+    }
+
+    /**
+     * Applies {@code edit} to the document.
+     *
+     * @param edit edit in document chars
+     * @return the corresponding edit of the encoded output (empty if the output did not change)
+     * @throws StegoException {@link StegoErrorCode#INVALID_INPUT} if the edit is outside the document;
+     *                        the document is unchanged in that case
+     */
+    public TextEdit apply(TextEdit edit) {
+        if (edit.offset() > text.length() || edit.deleteCount() > text.length() - edit.offset()) {
+            throw StegoException.stackless(StegoErrorCode.INVALID_INPUT, "Edit [" + edit.offset() + ", +" + edit.deleteCount()
+                    + ") is outside the document (length " + text.length() + ")");
+        }
+        if (edit.isEmpty()) {
+            return edit;
+        }
+        int start = edit.offset();
+        int end = start + edit.deleteCount();
+        String insert = edit.insert();
+        // re-encode surrogates next to the edit so pairs formed or split by it get the right bytes
+        if (start > 0 && Character.isHighSurrogate(text.charAt(start - 1))) {
+            start--;
+            insert = text.charAt(start) + insert;
+        }
+        if (end < text.length() && Character.isLowSurrogate(text.charAt(end))) {
+            insert = insert + text.charAt(end);
+            end++;
+        }
+
+        int byteStart = Utf8.encodedLength(text, 0, start);
+        int byteEnd = byteStart + Utf8.encodedLength(text, start, end);
+        byte[] src = new byte[Utf8.encodedLength(insert)];
+        Utf8.encode(insert, src, 0);
+        text.replace(start, end, insert);
+
+        int off = 0;
+        int len = src.length;
+        int last = steps.length - 1;
+        for (int i = 0; ; i++) {
+            Bytes in = inputs[i];
+            int oldLength = in.length;
+            in.replace(byteStart, byteEnd, src, off, len);
+
+            // blocks touched by the edit; a shift by a partial block moves every later boundary
+            int block = layouts[i].inputBytes();
+            int shift = len - (byteEnd - byteStart);
+            int from = byteStart - byteStart % block;
+            int to = shift % block == 0 ? Math.min(roundUp(byteStart + len, block), in.length) : in.length;
+            boolean toEnd = to == in.length;
+            int oldTo = toEnd ? oldLength : to - shift;
+            byte[] encoded = encode(steps[i], in.data, from, to - from, toEnd);
+
+            if (i == last) {
+                String chars = new String(encoded, StandardCharsets.UTF_8);
+                int outFrom = from / block * layouts[i].outputChars();
+                int outTo = toEnd ? output.length() : oldTo / block * layouts[i].outputChars();
+                int prefix = 0;
+                while (prefix < chars.length() && outFrom + prefix < outTo && chars.charAt(prefix) == output.charAt(outFrom + prefix)) {
+                    prefix++;
+                }
+                int suffix = 0;
+                while (suffix < chars.length() - prefix && outTo - suffix > outFrom + prefix
+                        && chars.charAt(chars.length() - 1 - suffix) == output.charAt(outTo - 1 - suffix)) {
+                    suffix++;
+                }
+                String changed = chars.substring(prefix, chars.length() - suffix);
+                output.replace(outFrom + prefix, outTo - suffix, changed);
+                return new TextEdit(outFrom + prefix, outTo - suffix - outFrom - prefix, changed);
+            }
+
+            // the change in this step's output is the edit of the next step's input
+            Bytes next = inputs[i + 1];
+            int outFrom = from / block * layouts[i].outputBytes();
+            int outTo = toEnd ? next.length : oldTo / block * layouts[i].outputBytes();
+            int prefix = 0;
+            while (prefix < encoded.length && outFrom + prefix < outTo && encoded[prefix] == next.data[outFrom + prefix]) {
+                prefix++;
+            }
+            int suffix = 0;
+            while (suffix < encoded.length - prefix && outTo - suffix > outFrom + prefix
+                    && encoded[encoded.length - 1 - suffix] == next.data[outTo - 1 - suffix]) {
+                suffix++;
+            }
+            byteStart = outFrom + prefix;
+            byteEnd = outTo - suffix;
+            src = encoded;
+            off = prefix;
+            len = encoded.length - prefix - suffix;
+            if (byteStart == byteEnd && len == 0) {
+                return new TextEdit(0, 0, "");
+            }
+        }
+    }
+
+    private static byte[] encode(ByteLevelStep step, byte[] data, int off, int len, boolean finish) {
+        ByteCodec codec = step.newEncoder();
+        ByteBuffer out = ByteBuffer.allocate(Math.toIntExact(codec.maxOutputLength(len)));
+        codec.update(ByteBuffer.wrap(data, off, len), out);
+        if (finish) {
+            codec.finish(out);
+        }
+        return out.position() == out.capacity() ? out.array() : Arrays.copyOf(out.array(), out.position());
+    }
+
+    private static int roundUp(int value, int block) {
+        int rem = value % block;
+        return rem == 0 ? value : value + block - rem;
+    }
+
+    /**
+     * Returns the current document.
+     */
+    public String text() {
+        return text.toString();
+    }
+
+    /**
+     * Returns the current encoded output; always equal to encoding {@link #text()} with the pipeline.
+     */
+    public String output() {
+        return output.toString();
+    }
+
+    /**
+     * Returns the encoded output length in chars.
+     */
+    public int outputLength() {
+        return output.length();
+    }
+
+    /**
+     * Returns the document length in chars.
+     */
+    public int length() {
+        return text.length();
+    }
+
+    /**
+     * Growable byte array with range replacement.
+     */
+    private static final class Bytes {
+        byte[] data = new byte[64];
+        int length;
+
+        void replace(int start, int end, byte[] src, int off, int len) {
+            int newLength = Math.addExact(length - (end - start), len);
+            if (newLength > data.length) {
+                data = Arrays.copyOf(data, Math.max(newLength, data.length + (data.length >> 1)));
+            }
+            System.arraycopy(data, end, data, start + len, length - end);
+            System.arraycopy(src, off, data, start, len);
+            length = newLength;
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.yourorg.stegoapp.service;
+
+import com.yourorg.stegoapp.core.AlphabetProfile;
+import com.yourorg.stegoapp.core.Base64Step;
+import com.yourorg.stegoapp.core.CancellationToken;
+import com.yourorg.stegoapp.core.CryptoStep;
+import com.yourorg.stegoapp.core.EmojiStep;
+import com.yourorg.stegoapp.core.FrameAlphabet;
+import com.yourorg.stegoapp.core.FramedStep;
+import com.yourorg.stegoapp.core.PayloadHeader;
+import com.yourorg.stegoapp.core.StegoStep;
+import com.yourorg.stegoapp.core.ZeroWidthStep;
+import com.yourorg.stegoapp.core.error.StegoErrorCode;
+import com.yourorg.stegoapp.core.error.StegoException;
+import com.yourorg.stegoapp.core.model.CryptoOptions;
+import com.yourorg.stegoapp.core.model.FramedOptions;
+import com.yourorg.stegoapp.core.model.Pipeline;
+import com.yourorg.stegoapp.core.model.StepConfig;
+import com.yourorg.stegoapp.core.model.StepType;
+import com.yourorg.stegoapp.core.model.ZeroWidthMode;
+import com.yourorg.stegoapp.core.model.ZeroWidthOptions;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Finds the pipelines that could have produced a text, for input whose pipeline is unknown.
+ * <p>
+ * The search walks the tree of decode chains: every node is a text, and every child is what one
+ * more step decodes it to. Before any step runs, the node's {@link AlphabetProfile} rules out the
+ * steps whose alphabet the text does not consist of, so most nodes have at most one or two
+ * children. Sibling subtrees are searched in parallel on a {@link ForkJoinPool}, and a text already
+ * reached through another chain is not searched again.
+ * </p>
+ * <p>
+ * Every successful chain is a candidate. Candidates are ranked by how plausible their output is as
+ * plain text ({@link #plausibility(String)}), and ties go to the shorter pipeline. If the input
+ * starts with a {@link PayloadHeader}, the header is verified and stripped, and pipelines matching
+ * its fingerprint rank first. The framed block size and the cover text are not part of the
+ * encoded text, so framed steps are reported with {@link FramedOptions#defaults()} and cover
+ * text is taken from the decoded node.
+ * </p>
+ * <p>
+ * The time budget is checked before every decode; a decode that has started runs to completion.
+ * A {@link CancellationToken} bound to the calling thread is carried to the pool's threads and bound
+ * around every decode, so cancelling it (or its deadline passing) stops the search with
+ * {@link StegoErrorCode#CANCELLED}. Instances are stateless and may be shared.
+ * </p>
+ */
+public final class PipelineDiscovery {
+    private static final Candidate ZERO_WIDTH = new Candidate(StepConfig.of(StepType.ZERO_WIDTH), new ZeroWidthStep());
+    private static final Candidate EMOJI = new Candidate(StepConfig.of(StepType.EMOJI), new EmojiStep());
+    private static final Candidate BASE64 = new Candidate(StepConfig.of(StepType.BASE64), new Base64Step());
+    private static final Candidate ZERO_WIDTH_FRAMED = new Candidate(
+            new StepConfig(StepType.ZERO_WIDTH, FramedOptions.defaults()),
+            new FramedStep(FrameAlphabet.ZERO_WIDTH, FramedOptions.DEFAULT_BLOCK_SIZE));
+    private static final Candidate EMOJI_FRAMED = new Candidate(
+            new StepConfig(StepType.EMOJI, FramedOptions.defaults()),
+            new FramedStep(FrameAlphabet.EMOJI, FramedOptions.DEFAULT_BLOCK_SIZE));
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a discovery engine running on the common pool.
+     */
+    public PipelineDiscovery() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a discovery engine running on {@code pool}.
+     *
+     * @param pool pool the search runs on (required)
+     */
+    public PipelineDiscovery(ForkJoinPool pool) {
+        this.pool = Objects.requireNonNull(pool, "pool");
+    }
+
+    /**
+     * Searches for pipelines that decode {@code input}.
+     *
+     * @param input encoded text, optionally with a payload header
+     * @param options search limits
+     * @return the best pipelines found within the budget, possibly none
+     * @throws StegoException if the input has a payload header that is malformed or does not match
+     *                        its body, or {@link StegoErrorCode#CANCELLED} if the calling thread's
+     *                        token was cancelled
+     */
+    public DiscoveryResult discover(String input, DiscoveryOptions options) {
+        Objects.requireNonNull(input, "input");
+        Objects.requireNonNull(options, "options");
+        long start = System.nanoTime();
+        OptionalInt header = PayloadHeader.fingerprintOf(input);
+        String body = header.isPresent() ? PayloadHeader.strip(input, header.getAsInt()) : input;
+
+        CancellationToken token = CancellationToken.current().orElseGet(CancellationToken::create);
+        Search search = new Search(options, start + options.budget().toNanos(), header, token);
+        search.seen.put(body, Boolean.TRUE);
+        pool.invoke(search.new Node(body, List.of()));
+
+        List<DiscoveredPipeline> ranked = new ArrayList<>(search.found.values());
+        ranked.sort(Comparator.comparing(DiscoveredPipeline::headerMatch).reversed()
+                .thenComparing(Comparator.comparingDouble(DiscoveredPipeline::score).reversed())
+                .thenComparingInt(d -> d.pipeline().steps().size())
+                .thenComparing(d -> describe(d.pipeline())));
+        return new DiscoveryResult(
+                List.copyOf(ranked.subList(0, Math.min(options.limit(), ranked.size()))),
+                search.decodes.sum(),
+                !search.expired.get(),
+                Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Scores how much {@code text} looks like plain text, from 0 to 1.
+     * <p>
+     * Letters, digits, whitespace and punctuation count fully, other symbols (e.g. emoji) half, and
+     * control, format, private-use and replacement characters (bytes that were not valid UTF-8) not
+     * at all. The score of text that is itself Base64 or {@code CRYPTO} output is halved, as it is more
+     * likely another encoding layer than a message.
+     * </p>
+     */
+    static double plausibility(String text) {
+        if (text.isEmpty()) {
+            return 0;
+        }
+        double sum = 0;
+        int count = 0;
+        for (int i = 0; i < text.length(); ) {
+            int cp = text.codePointAt(i);
+            i += Character.charCount(cp);
+            count++;
+            sum += weight(cp);
+        }
+        double score = sum / count;
+        AlphabetProfile profile = AlphabetProfile.of(text);
+        boolean encoded = (profile.base64Decodable() && text.length() >= 8) || profile.cryptoShaped();
+        return encoded ? score / 2 : score;
+    }
+
+    private static double weight(int cp) {
+        if (cp == '\n' || cp == '\r' || cp == '\t') {
+            return 1;
+        }
+        if (cp == 0xFFFD) {
+            return 0;
+        }
+        return switch (Character.getType(cp)) {
+            case Character.UPPERCASE_LETTER, Character.LOWERCASE_LETTER, Character.TITLECASE_LETTER,
+                 Character.MODIFIER_LETTER, Character.OTHER_LETTER, Character.NON_SPACING_MARK,
+                 Character.COMBINING_SPACING_MARK, Character.DECIMAL_DIGIT_NUMBER, Character.LETTER_NUMBER,
+                 Character.OTHER_NUMBER, Character.SPACE_SEPARATOR, Character.CONNECTOR_PUNCTUATION,
+                 Character.DASH_PUNCTUATION, Character.START_PUNCTUATION, Character.END_PUNCTUATION,
+                 Character.INITIAL_QUOTE_PUNCTUATION, Character.FINAL_QUOTE_PUNCTUATION,
+                 Character.OTHER_PUNCTUATION, Character.MATH_SYMBOL, Character.CURRENCY_SYMBOL -> 1;
+            case Character.MODIFIER_SYMBOL, Character.OTHER_SYMBOL -> 0.5;
+            default -> 0;
+        };
+    }
+
+    private static String describe(Pipeline pipeline) {
+        StringBuilder sb = new StringBuilder();
+        for (StepConfig step : pipeline.steps()) {
+            sb.append(step.type()).append(step.options() instanceof FramedOptions ? ":FRAMED," : ",");
+        }
+        return sb.toString();
+    }
+
+    private record Candidate(StepConfig config, StegoStep step) {
+    }
+
+    /** State of one search, shared by its tasks. */
+    private static final class Search {
+        final DiscoveryOptions options;
+        final long deadline;
+        final OptionalInt header;
+        final CancellationToken token;
+        final List<Candidate> crypto = new ArrayList<>();
+        final ConcurrentHashMap<String, Boolean> seen = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<String, DiscoveredPipeline> found = new ConcurrentHashMap<>();
+        final LongAdder decodes = new LongAdder();
+        final AtomicBoolean expired = new AtomicBoolean();
+
+        Search(DiscoveryOptions options, long deadline, OptionalInt header, CancellationToken token) {
+            this.options = options;
+            this.deadline = deadline;
+            this.header = header;
+            this.token = token;
+            for (String password : options.passwords()) {
+                crypto.add(new Candidate(new StepConfig(StepType.CRYPTO, new CryptoOptions(password)), new CryptoStep(password)));
+            }
+        }
+
+        /** Steps that could decode a text with this profile. */
+        List<Candidate> candidates(String text, AlphabetProfile profile) {
+            List<Candidate> candidates = new ArrayList<>(4);
+            if (profile.zeroWidthDecodable()) {
+                String cover = profile.zeroWidthOnly() ? "" : text.replace("\u200B", "").replace("\u200C", "");
+                candidates.add(cover.isBlank() ? ZERO_WIDTH : new Candidate(
+                        new StepConfig(StepType.ZERO_WIDTH, new ZeroWidthOptions(ZeroWidthMode.EMBED_IN_COVER, cover)),
+                        ZERO_WIDTH.step()));
+            }
+            if (profile.emojiDecodable()) {
+                candidates.add(EMOJI);
+            }
+            if (profile.base64Decodable()) {
+                candidates.add(BASE64);
+            }
+            if (options.framed() && profile.framed(FrameAlphabet.ZERO_WIDTH)) {
+                candidates.add(ZERO_WIDTH_FRAMED);
+            }
+            if (options.framed() && profile.framed(FrameAlphabet.EMOJI)) {
+                candidates.add(EMOJI_FRAMED);
+            }
+            if (profile.cryptoShaped()) {
+                candidates.addAll(crypto);
+            }
+            return candidates;
+        }
+
+        void record(List<StepConfig> steps, String decoded) {
+            Pipeline pipeline = new Pipeline(steps);
+            boolean headerMatch = header.isPresent() && PayloadHeader.fingerprint(pipeline) == header.getAsInt();
+            DiscoveredPipeline candidate = new DiscoveredPipeline(pipeline, decoded, plausibility(decoded), headerMatch);
+            // the same text reached through several chains is reported once, for the best chain
+            found.merge(decoded, candidate, (a, b) -> better(a, b) ? a : b);
+        }
+
+        private static boolean better(DiscoveredPipeline a, DiscoveredPipeline b) {
+            if (a.headerMatch() != b.headerMatch()) {
+                return a.headerMatch();
+            }
+            if (a.pipeline().steps().size() != b.pipeline().steps().size()) {
+                return a.pipeline().steps().size() < b.pipeline().steps().size();
+            }
+            return describe(a.pipeline()).compareTo(describe(b.pipeline())) <= 0;
+        }
+
+        /** A text reached by decoding the input with {@code steps} (encode order). */
+        final class Node extends RecursiveAction {
+            private final String text;
+            private final List<StepConfig> steps;
+
+            Node(String text, List<StepConfig> steps) {
+                this.text = text;
+                this.steps = steps;
+            }
+
+            @Override
+            protected void compute() {
+                List<Node> children = new ArrayList<>();
+                for (Candidate candidate : candidates(text, AlphabetProfile.of(text))) {
+                    if (System.nanoTime() - deadline > 0) {
+                        expired.set(true);
+                        break;
+                    }
+                    token.throwIfCancelled();
+                    decodes.increment();
+                    String decoded;
+                    try (CancellationToken.Binding ignored = token.bind()) {
+                        decoded = candidate.step().decode(text);
+                    } catch (StegoException e) {
+                        if (e.getCode() == StegoErrorCode.CANCELLED) {
+                            throw e;
+                        }
+                        continue;
+                    } catch (RuntimeException e) {
+                        // most candidates fail on garbage; that is how wrong chains are ruled out
+                        continue;
+                    }
+                    if (decoded.isEmpty()) {
+                        continue;
+                    }
+                    List<StepConfig> chain = new ArrayList<>(steps.size() + 1);
+                    chain.add(candidate.config());
+                    chain.addAll(steps);
+                    record(chain, decoded);
+                    if (chain.size() < options.maxDepth() && seen.putIfAbsent(decoded, Boolean.TRUE) == null) {
+                        children.add(new Node(decoded, chain));
+                    }
+                }
+                invokeAll(children);
+            }
+        }
+    }
+}
@@ -1,11 +1,24 @@
 package com.yourorg.stegoapp.service;
 
-import com.yourorg.stegoapp.core.StegoFactory;
+import com.yourorg.stegoapp.core.CancellationToken;
+import com.yourorg.stegoapp.core.PayloadHeader;
 import com.yourorg.stegoapp.core.StegoStep;
+import com.yourorg.stegoapp.core.buffer.StagingAllocator;
+import com.yourorg.stegoapp.core.buffer.StagingBuffer;
+import com.yourorg.stegoapp.core.codec.ByteCodec;
+import com.yourorg.stegoapp.core.codec.CodecChain;
+import com.yourorg.stegoapp.core.error.StegoErrorCode;
+import com.yourorg.stegoapp.core.error.StegoException;
+import com.yourorg.stegoapp.core.instrument.TransformListener;
 import com.yourorg.stegoapp.core.model.Pipeline;
 import com.yourorg.stegoapp.core.model.StepConfig;
-import com.yourorg.stegoapp.core.validation.PipelineValidator;
+import com.yourorg.stegoapp.core.text.SegmentedText;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.List;
 import java.util.Objects;
 
@@ -13,10 +26,29 @@ import java.util.Objects;
  * Central processing service for encoding/decoding using stego steps.
  * <p>
  * Provides methods to encode and decode messages using a sequence of transformation steps.
- * This type is stateless; it may be reused safely across calls.
+ * This type holds no state besides its {@link TransformListener}; it may be reused safely across calls
+ * and threads.
  * </p>
  */
 public class StegoService {
+    private final TransformListener listener;
+
+    /**
+     * Creates a service whose transforms are not instrumented.
+     */
+    public StegoService() {
+        this(TransformListener.NONE);
+    }
+
+    /**
+     * Creates a service that reports every string transform, and every pipeline it compiles, to
+     * {@code listener} (see {@link TransformListener}).
+     *
+     * @param listener transform listener (required); combine several with {@link TransformListener#of}
+     */
+    public StegoService(TransformListener listener) {
+        this.listener = Objects.requireNonNull(listener, "listener");
+    }
 
     /**
      * Encodes a message using one or more steps.
@@ -28,35 +60,206 @@ public class StegoService {
      */
     public String encode(String input, Pipeline pipeline) {
         Objects.requireNonNull(input, "input");
-        PipelineValidator.validate(pipeline);
+        return compile(pipeline).encode(input);
+    }
 
-        String result = input;
-        for (StepConfig step : pipeline.steps()) {
-            StegoStep strategy = StegoFactory.create(step);
-            result = strategy.encode(result);
+    /**
+     * Encodes a message like {@link #encode(String, Pipeline)}, stopping early once {@code token} is
+     * cancelled.
+     *
+     * @param input The original message
+     * @param pipeline The ordered transformation pipeline
+     * @param token cancellation token, bound to the calling thread for the duration of the call
+     * @return Encoded message
+     * @throws com.yourorg.stegoapp.core.error.StegoException if the pipeline is invalid, or
+     *         {@link StegoErrorCode#CANCELLED} if the token was cancelled
+     */
+    public String encode(String input, Pipeline pipeline, CancellationToken token) {
+        Objects.requireNonNull(input, "input");
+        CompiledPipeline compiled = compile(pipeline);
+        try (CancellationToken.Binding ignored = token.bind()) {
+            return compiled.encode(input);
         }
-        return result;
+    }
+
+    /**
+     * Encodes a message and prefixes it with a {@link PayloadHeader}.
+     * <p>
+     * {@link #decode(String, Pipeline)} checks the header before running any step, so a decode with
+     * the wrong pipeline or of damaged text fails immediately instead of after the full chain.
+     * </p>
+     *
+     * @param input The original message
+     * @param pipeline The ordered transformation pipeline
+     * @return header followed by the encoded message
+     * @throws com.yourorg.stegoapp.core.error.StegoException if the pipeline is invalid
+     */
+    public String encodeWithHeader(String input, Pipeline pipeline) {
+        Objects.requireNonNull(input, "input");
+        return compile(pipeline).encodeWithHeader(input);
+    }
+
+    /**
+     * Encodes a message like {@link #encode(String, Pipeline)}, but lets the final step return a lazily
+     * joined sequence (see {@link StegoStep#encodeDeferred(String)}).
+     * <p>
+     * Useful when the last step embeds the payload in large cover text: the cover is referenced rather
+     * than copied until a caller calls {@code toString()}.
+     * </p>
+     *
+     * @param input The original message
+     * @param pipeline The ordered transformation pipeline
+     * @return Encoded text
+     * @throws com.yourorg.stegoapp.core.error.StegoException if the pipeline is invalid
+     */
+    public CharSequence encodeDeferred(String input, Pipeline pipeline) {
+        Objects.requireNonNull(input, "input");
+        return compile(pipeline).encodeDeferred(input);
+    }
+
+    /**
+     * Encodes a message and writes the result to {@code out} without materializing a joined string
+     * for the final step. The writer is not flushed or closed.
+     *
+     * @param input The original message
+     * @param pipeline The ordered transformation pipeline
+     * @param out destination writer
+     * @throws IOException if writing fails
+     * @throws com.yourorg.stegoapp.core.error.StegoException if the pipeline is invalid
+     */
+    public void encodeTo(String input, Pipeline pipeline, Writer out) throws IOException {
+        Objects.requireNonNull(out, "out");
+        SegmentedText.writeTo(encodeDeferred(input, pipeline), out);
     }
 
     /**
      * Decodes a message using one or more steps (in reverse).
+     * <p>
+     * If the input starts with a {@link PayloadHeader} (see {@link #encodeWithHeader(String, Pipeline)}),
+     * the header is verified and stripped first.
+     * </p>
      *
      * @param input The encoded message
      * @param pipeline The ordered transformation pipeline
      * @return Decoded original message
-     * @throws com.yourorg.stegoapp.core.error.StegoException if the pipeline is invalid
+     * @throws com.yourorg.stegoapp.core.error.StegoException if the pipeline is invalid or the header
+     *                                                       does not match the pipeline or payload
      */
     public String decode(String input, Pipeline pipeline) {
         Objects.requireNonNull(input, "input");
-        PipelineValidator.validate(pipeline);
+        return compile(pipeline).decode(input);
+    }
+
+    /**
+     * Decodes a message like {@link #decode(String, Pipeline)}, stopping early once {@code token} is
+     * cancelled.
+     *
+     * @param input The encoded message
+     * @param pipeline The ordered transformation pipeline
+     * @param token cancellation token, bound to the calling thread for the duration of the call
+     * @return Decoded original message
+     * @throws com.yourorg.stegoapp.core.error.StegoException if the pipeline is invalid, the header does
+     *         not match, or {@link StegoErrorCode#CANCELLED} if the token was cancelled
+     */
+    public String decode(String input, Pipeline pipeline, CancellationToken token) {
+        Objects.requireNonNull(input, "input");
+        CompiledPipeline compiled = compile(pipeline);
+        try (CancellationToken.Binding ignored = token.bind()) {
+            return compiled.decode(input);
+        }
+    }
+
+    /**
+     * Encodes UTF-8 bytes from {@code in} to {@code out} chunk by chunk (byte-level steps only).
+     * <p>
+     * With an {@link StagingAllocator#offHeap() off-heap} allocator all intermediate stages live in
+     * pooled direct buffers, so payload size does not affect heap usage. Channels are not closed.
+     * </p>
+     *
+     * @param in UTF-8 input
+     * @param out destination for the UTF-8 encoded output
+     * @param pipeline The ordered transformation pipeline
+     * @param allocator allocator for stage buffers
+     * @return number of bytes written
+     * @throws IOException if reading or writing fails
+     * @throws StegoException if the pipeline is invalid or contains a step without a byte-level form
+     */
+    public long encode(ReadableByteChannel in, WritableByteChannel out, Pipeline pipeline, StagingAllocator allocator) throws IOException {
+        try (CodecChain chain = newEncodeChain(pipeline, allocator)) {
+            return chain.run(in, out);
+        }
+    }
 
-        String result = input;
-        List<StepConfig> steps = pipeline.steps();
-        for (int i = steps.size() - 1; i >= 0; i--) {
-            StegoStep strategy = StegoFactory.create(steps.get(i));
-            result = strategy.decode(result);
+    /**
+     * Decodes UTF-8 bytes from {@code in} to {@code out} chunk by chunk (byte-level steps only, applied
+     * in reverse). See {@link #encode(ReadableByteChannel, WritableByteChannel, Pipeline, StagingAllocator)}.
+     */
+    public long decode(ReadableByteChannel in, WritableByteChannel out, Pipeline pipeline, StagingAllocator allocator) throws IOException {
+        try (CodecChain chain = newDecodeChain(pipeline, allocator)) {
+            return chain.run(in, out);
         }
-        return result;
+    }
+
+    /**
+     * Builds the encode chain for a pipeline without running it.
+     * <p>
+     * Validation happens here, so callers that stream the result later (e.g. an HTTP response body)
+     * can report pipeline errors before any output is written. The caller must close the chain.
+     * </p>
+     *
+     * @param pipeline The ordered transformation pipeline
+     * @param allocator allocator for stage buffers
+     * @return a new chain of byte-level encoders
+     * @throws StegoException if the pipeline is invalid or contains a step without a byte-level form
+     */
+    public CodecChain newEncodeChain(Pipeline pipeline, StagingAllocator allocator) {
+        return compile(pipeline).newEncodeChain(allocator);
+    }
+
+    /**
+     * Builds the decode chain for a pipeline (steps in reverse) without running it.
+     * See {@link #newEncodeChain(Pipeline, StagingAllocator)}.
+     */
+    public CodecChain newDecodeChain(Pipeline pipeline, StagingAllocator allocator) {
+        return compile(pipeline).newDecodeChain(allocator);
+    }
+
+    /**
+     * Encodes a UTF-8 buffer into a new staging buffer (byte-level steps only).
+     * <p>
+     * The result is sized for the worst case and, with an off-heap allocator, is a direct buffer or a
+     * memory-mapped temp file above the allocator's threshold. The returned buffer is flipped (ready to
+     * read); the caller must {@link StagingBuffer#close() close} it.
+     * </p>
+     *
+     * @param input UTF-8 input; fully consumed
+     * @param pipeline The ordered transformation pipeline
+     * @param allocator allocator for stage and output buffers
+     * @return staged output
+     * @throws StegoException if the pipeline is invalid, unsupported, or the output cannot fit one buffer
+     */
+    public StagingBuffer encodeStaged(ByteBuffer input, Pipeline pipeline, StagingAllocator allocator) {
+        return runStaged(input, compile(pipeline).codecs(true), allocator);
+    }
+
+    /**
+     * Decodes a UTF-8 buffer into a new staging buffer (byte-level steps only, applied in reverse).
+     * See {@link #encodeStaged(ByteBuffer, Pipeline, StagingAllocator)}.
+     */
+    public StagingBuffer decodeStaged(ByteBuffer input, Pipeline pipeline, StagingAllocator allocator) {
+        return runStaged(input, compile(pipeline).codecs(false), allocator);
+    }
+
+    /**
+     * Validates a pipeline and instantiates its steps once, for callers that run the same pipeline
+     * many times.
+     *
+     * @param pipeline The ordered transformation pipeline
+     * @return compiled pipeline; safe to share and reuse
+     * @throws StegoException if the pipeline is invalid
+     */
+    public CompiledPipeline compile(Pipeline pipeline) {
+        return CompiledPipeline.compile(pipeline, listener);
     }
 
     /**
@@ -72,4 +275,56 @@ public class StegoService {
     public String decode(String input, List<StepConfig> steps) {
         return decode(input, new Pipeline(steps));
     }
+
+    private static StagingBuffer runStaged(ByteBuffer input, List<ByteCodec> codecs, StagingAllocator allocator) {
+        long bound = input.remaining();
+        for (ByteCodec codec : codecs) {
+            bound = codec.maxOutputLength(bound);
+        }
+        if (bound > Integer.MAX_VALUE) {
+            throw new StegoException(StegoErrorCode.INVALID_INPUT,
+                    "Output may reach " + bound + " bytes, which does not fit one staging buffer; use the channel variant");
+        }
+
+        StagingBuffer output = allocator.allocate(bound);
+        try (CodecChain chain = new CodecChain(codecs, allocator, CodecChain.DEFAULT_CHUNK_SIZE)) {
+            BufferSink sink = new BufferSink(output.buffer());
+            chain.update(input, sink);
+            chain.finish(sink);
+            output.buffer().flip();
+            return output;
+        } catch (IOException | RuntimeException e) {
+            output.close();
+            if (e instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException("In-memory sink failed", e);
+        }
+    }
+
+    /** Channel view over a staging buffer. */
+    private static final class BufferSink implements WritableByteChannel {
+        private final ByteBuffer target;
+
+        private BufferSink(ByteBuffer target) {
+            this.target = target;
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            int n = src.remaining();
+            target.put(src);
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+            // the staging buffer is owned by the caller
+        }
+    }
 }
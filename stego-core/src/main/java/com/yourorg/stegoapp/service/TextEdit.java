@@ -0,0 +1,27 @@
+package com.yourorg.stegoapp.service;
+
+import java.util.Objects;
+
+/**
+ * Replacement of a range of text: {@code deleteCount} chars at {@code offset} are replaced with
+ * {@code insert}. Offsets and counts are in UTF-16 chars.
+ *
+ * @param offset start of the replaced range
+ * @param deleteCount number of chars removed
+ * @param insert text inserted at {@code offset} (required, may be empty)
+ */
+public record TextEdit(int offset, int deleteCount, String insert) {
+    public TextEdit {
+        if (offset < 0 || deleteCount < 0) {
+            throw new IllegalArgumentException("offset and deleteCount must be >= 0");
+        }
+        Objects.requireNonNull(insert, "insert");
+    }
+
+    /**
+     * Returns whether applying this edit changes nothing.
+     */
+    public boolean isEmpty() {
+        return deleteCount == 0 && insert.isEmpty();
+    }
+}
@@ -0,0 +1,48 @@
+package com.yourorg.stegoapp.core;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlphabetProfileTest {
+
+    @Test
+    void recognisesEachStepsOutput() {
+        AlphabetProfile zeroWidth = AlphabetProfile.of(new ZeroWidthStep().encode("hi"));
+        assertTrue(zeroWidth.zeroWidthDecodable());
+        assertTrue(zeroWidth.zeroWidthOnly());
+        assertEquals(16, zeroWidth.zeroWidthSymbols());
+        assertFalse(zeroWidth.emojiDecodable());
+        assertFalse(zeroWidth.base64Decodable());
+
+        AlphabetProfile emoji = AlphabetProfile.of(new EmojiStep().encode("hi"));
+        assertTrue(emoji.emojiDecodable());
+        assertEquals(4, emoji.emojiSymbols());
+        assertFalse(emoji.zeroWidthDecodable());
+
+        assertTrue(AlphabetProfile.of(new Base64Step().encode("hi")).base64Decodable());
+        assertTrue(AlphabetProfile.of(new CryptoStep("pw").encode("hi")).cryptoShaped());
+        assertTrue(AlphabetProfile.of(new FramedStep(FrameAlphabet.ZERO_WIDTH, 4).encode("hi")).framed(FrameAlphabet.ZERO_WIDTH));
+        assertTrue(AlphabetProfile.of(new FramedStep(FrameAlphabet.EMOJI, 4).encode("hi")).framed(FrameAlphabet.EMOJI));
+    }
+
+    @Test
+    void coverTextKeepsZeroWidthDecodableButNotOnly() {
+        AlphabetProfile profile = AlphabetProfile.of(new ZeroWidthCoverStep("Hello there").encode("hi"));
+
+        assertTrue(profile.zeroWidthDecodable());
+        assertFalse(profile.zeroWidthOnly());
+    }
+
+    @Test
+    void rulesOutMalformedInput() {
+        assertFalse(AlphabetProfile.of("\u200B\u200C\u200B").zeroWidthDecodable());
+        assertFalse(AlphabetProfile.of("😀😁😂").emojiDecodable());
+        assertFalse(AlphabetProfile.of("😀😁 x").emojiDecodable());
+        assertFalse(AlphabetProfile.of("aGk=aGk=").base64Decodable());
+        assertFalse(AlphabetProfile.of("aGk").base64Decodable());
+        assertFalse(AlphabetProfile.of("hello world!").base64Decodable());
+        assertFalse(AlphabetProfile.of("").base64Decodable());
+        assertFalse(AlphabetProfile.of("a:b").cryptoShaped());
+    }
+}
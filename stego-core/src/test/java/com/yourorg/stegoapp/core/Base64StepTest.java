@@ -1,5 +1,7 @@
 package com.yourorg.stegoapp.core;
 
+import com.yourorg.stegoapp.core.error.StegoErrorCode;
+import com.yourorg.stegoapp.core.error.StegoException;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -19,7 +21,16 @@ class Base64StepTest {
 
     @Test
     void decodeInvalidInputThrows() {
-        assertThrows(IllegalArgumentException.class, () -> step.decode("!!!notBase64!!!"));
+        StegoException ex = assertThrows(StegoException.class, () -> step.decode("!!!notBase64!!!"));
+        assertEquals(StegoErrorCode.INVALID_ALPHABET, ex.getCode());
+    }
+
+    @Test
+    void decodeRejectsLengthAndPaddingUpFront() {
+        assertEquals(StegoErrorCode.INVALID_LENGTH, assertThrows(StegoException.class, () -> step.decode("SGVsb")).getCode());
+        assertEquals(StegoErrorCode.INVALID_FORMAT, assertThrows(StegoException.class, () -> step.decode("SG=k")).getCode());
+        assertEquals(StegoErrorCode.INVALID_FORMAT, assertThrows(StegoException.class, () -> step.decode("SGk==")).getCode());
+        assertEquals(StegoErrorCode.INVALID_ALPHABET, assertThrows(StegoException.class, () -> step.decode("SGk\u0100")).getCode());
     }
 
     @Test
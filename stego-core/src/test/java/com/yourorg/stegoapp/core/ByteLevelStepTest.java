@@ -0,0 +1,84 @@
+package com.yourorg.stegoapp.core;
+
+import com.yourorg.stegoapp.core.error.StegoErrorCode;
+import com.yourorg.stegoapp.core.error.StegoException;
+import com.yourorg.stegoapp.core.codec.ByteCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ByteLevelStepTest {
+
+    static Stream<Arguments> cases() {
+        Stream<ByteLevelStep> steps = Stream.of(new Base64Step(), new EmojiStep(), new ZeroWidthStep(), new ZeroWidthCoverStep("Cover: "));
+        return steps.flatMap(step -> Stream.of("", "A", "AB", "ABC", "Hello 👋", "Zażółć gęślą jaźń", "こんにちは世界")
+                .flatMap(text -> Stream.of(1, 3, 7, 4096).map(chunk -> Arguments.of(step, text, chunk))));
+    }
+
+    @ParameterizedTest
+    @MethodSource("cases")
+    void codecsMatchStringForm(ByteLevelStep step, String text, int chunk) {
+        String encoded = step.encode(text);
+        assertEquals(encoded, run(step.newEncoder(), text, chunk));
+        assertEquals(text, run(step.newDecoder(), encoded, chunk));
+    }
+
+    @Test
+    void zeroWidthDecoderIgnoresOtherCharacters() {
+        ZeroWidthStep step = new ZeroWidthStep();
+        String wrapped = "cover ✓ " + step.encode("Hi") + " — suffix";
+        assertEquals("Hi", run(step.newDecoder(), wrapped, 2));
+    }
+
+    @Test
+    void zeroWidthDecoderRejectsPartialByte() {
+        StegoException ex = assertThrows(StegoException.class, () -> run(new ZeroWidthStep().newDecoder(), "\u200B\u200C\u200B", 1));
+        assertEquals(StegoErrorCode.INVALID_LENGTH, ex.getCode());
+    }
+
+    @Test
+    void emojiDecoderRejectsLikeStringForm() {
+        EmojiStep step = new EmojiStep();
+        assertEquals(StegoErrorCode.INVALID_ALPHABET, assertThrows(StegoException.class, () -> run(step.newDecoder(), "🚀🚀", 1)).getCode());
+        assertEquals(StegoErrorCode.INVALID_LENGTH, assertThrows(StegoException.class, () -> run(step.newDecoder(), "😀", 1)).getCode());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not-base64", "A", "AB=C", "ABC=D", "AB=", "=AAA"})
+    void base64DecoderRejectsWhatJdkRejects(String input) {
+        assertThrows(IllegalArgumentException.class, () -> java.util.Base64.getDecoder().decode(input));
+        StegoException string = assertThrows(StegoException.class, () -> new Base64Step().decode(input));
+        StegoException stream = assertThrows(StegoException.class, () -> run(new Base64Step().newDecoder(), input, 1));
+        assertEquals(string.getCode(), stream.getCode());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"SGk", "SGk=", "SGVsbG8", "SGVsbG8="})
+    void base64DecoderAcceptsOptionalPadding(String input) {
+        assertEquals(new Base64Step().decode(input), run(new Base64Step().newDecoder(), input, 1));
+    }
+
+    private static String run(ByteCodec codec, String input, int chunk) {
+        byte[] in = input.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        for (int off = 0; off < in.length; off += chunk) {
+            int n = Math.min(chunk, in.length - off);
+            ByteBuffer out = ByteBuffer.allocate((int) codec.maxOutputLength(n));
+            codec.update(ByteBuffer.wrap(in, off, n), out);
+            result.write(out.array(), 0, out.position());
+        }
+        ByteBuffer out = ByteBuffer.allocate((int) codec.maxOutputLength(0));
+        codec.finish(out);
+        result.write(out.array(), 0, out.position());
+        return result.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,103 @@
+package com.yourorg.stegoapp.core;
+
+import com.yourorg.stegoapp.core.buffer.StagingAllocator;
+import com.yourorg.stegoapp.core.error.StegoErrorCode;
+import com.yourorg.stegoapp.core.error.StegoException;
+import com.yourorg.stegoapp.core.model.Pipeline;
+import com.yourorg.stegoapp.core.model.StepConfig;
+import com.yourorg.stegoapp.core.model.StepType;
+import com.yourorg.stegoapp.service.StegoService;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CancellationTokenTest {
+
+    private static final String LARGE = "x".repeat(4 * CancellationToken.CHECK_INTERVAL);
+
+    @Test
+    void cancelledTokenStopsEveryStep() {
+        CancellationToken token = CancellationToken.create();
+        token.cancel();
+        List<StegoStep> steps = List.of(new ZeroWidthStep(), new EmojiStep(), new Base64Step(), new CryptoStep("pw"));
+        List<String> encoded = steps.stream().map(step -> step.encode(LARGE)).toList();
+
+        try (CancellationToken.Binding ignored = token.bind()) {
+            for (int i = 0; i < steps.size(); i++) {
+                StegoStep step = steps.get(i);
+                String input = encoded.get(i);
+                assertCancelled(() -> step.encode(LARGE));
+                assertCancelled(() -> step.decode(input));
+            }
+        }
+    }
+
+    @Test
+    void expiredDeadlineStopsThePipeline() {
+        Pipeline pipeline = new Pipeline(List.of(StepConfig.of(StepType.BASE64), StepConfig.of(StepType.ZERO_WIDTH)));
+        StegoService svc = new StegoService();
+
+        assertCancelled(() -> svc.encode(LARGE, pipeline, CancellationToken.withTimeout(Duration.ZERO)));
+        String encoded = svc.encode(LARGE, pipeline, CancellationToken.withTimeout(Duration.ofMinutes(1)));
+        assertEquals(LARGE, svc.decode(encoded, pipeline, CancellationToken.create()));
+    }
+
+    @Test
+    void cancelledTokenStopsCodecChain() {
+        Pipeline pipeline = new Pipeline(List.of(StepConfig.of(StepType.EMOJI)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CancellationToken token = CancellationToken.create();
+        token.cancel();
+
+        try (CancellationToken.Binding ignored = token.bind()) {
+            assertCancelled(() -> new StegoService().encode(Channels.newChannel(new ByteArrayInputStream(LARGE.getBytes(StandardCharsets.UTF_8))),
+                    Channels.newChannel(out), pipeline, StagingAllocator.heap()));
+        }
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    void interruptCancelsTheBoundToken() {
+        CancellationToken token = CancellationToken.create();
+        try (CancellationToken.Binding ignored = token.bind()) {
+            Thread.currentThread().interrupt();
+            assertCancelled(CancellationToken::checkpoint);
+        } finally {
+            assertTrue(Thread.interrupted());
+        }
+        assertTrue(token.isCancelled());
+    }
+
+    @Test
+    void bindingsNestAndUnboundCheckpointsPass() {
+        CancellationToken outer = CancellationToken.create();
+        CancellationToken inner = CancellationToken.create();
+        inner.cancel();
+
+        try (CancellationToken.Binding o = outer.bind()) {
+            try (CancellationToken.Binding i = inner.bind()) {
+                assertCancelled(CancellationToken::checkpoint);
+            }
+            CancellationToken.checkpoint();
+        }
+        CancellationToken.checkpoint();
+        assertEquals(LARGE, new ZeroWidthStep().decode(new ZeroWidthStep().encode(LARGE)));
+    }
+
+    private static void assertCancelled(ThrowingRunnable work) {
+        StegoException e = assertThrows(StegoException.class, work::run);
+        assertEquals(StegoErrorCode.CANCELLED, e.getCode());
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
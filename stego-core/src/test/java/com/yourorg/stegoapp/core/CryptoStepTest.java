@@ -1,5 +1,7 @@
 package com.yourorg.stegoapp.core;
 
+import com.yourorg.stegoapp.core.error.StegoErrorCode;
+import com.yourorg.stegoapp.core.error.StegoException;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -30,7 +32,19 @@ class CryptoStepTest {
 
     @Test
     void decodeBadFormatThrows() {
-        assertThrows(IllegalArgumentException.class, () -> step.decode("too:many:colons:here"));
+        assertCode(StegoErrorCode.INVALID_FORMAT, "too:many:colons:here");
+        assertCode(StegoErrorCode.INVALID_FORMAT, "no colons");
+    }
+
+    @Test
+    void decodeRejectsMalformedPartsBeforeKeyDerivation() {
+        String[] parts = step.encode("Test").split(":");
+        assertCode(StegoErrorCode.INVALID_FORMAT, parts[0].substring(4) + ":" + parts[1] + ":" + parts[2]);
+        assertCode(StegoErrorCode.INVALID_LENGTH, parts[0] + ":" + parts[1] + ":" + parts[2].substring(1));
+        assertCode(StegoErrorCode.INVALID_LENGTH, parts[0] + ":" + parts[1] + ":");
+        assertCode(StegoErrorCode.INVALID_ALPHABET, parts[0] + ":" + parts[1] + ":" + "!" + parts[2].substring(1));
+        // 12 bytes of ciphertext: valid Base64, but not a whole AES block
+        assertCode(StegoErrorCode.INVALID_LENGTH, parts[0] + ":" + parts[1] + ":AAAAAAAAAAAAAAAA");
     }
 
     @Test
@@ -39,6 +53,11 @@ class CryptoStepTest {
         // flip a character
         StringBuilder sb = new StringBuilder(cipher);
         sb.setCharAt(sb.length() - 1, sb.charAt(sb.length() - 1) == 'A' ? 'B' : 'A');
-        assertThrows(RuntimeException.class, () -> step.decode(sb.toString()));
+        assertThrows(StegoException.class, () -> step.decode(sb.toString()));
+    }
+
+    private void assertCode(StegoErrorCode expected, String input) {
+        StegoException ex = assertThrows(StegoException.class, () -> step.decode(input));
+        assertEquals(expected, ex.getCode());
     }
 }
@@ -1,5 +1,7 @@
 package com.yourorg.stegoapp.core;
 
+import com.yourorg.stegoapp.core.error.StegoErrorCode;
+import com.yourorg.stegoapp.core.error.StegoException;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -21,12 +23,16 @@ class EmojiStepTest {
     void decodeInvalidEmojiThrows() {
         // use a non-mapped emoji
         String bad = "🚀🚀";
-        assertThrows(IllegalArgumentException.class, () -> step.decode(bad));
+        StegoException ex = assertThrows(StegoException.class, () -> step.decode(bad));
+        assertEquals(StegoErrorCode.INVALID_ALPHABET, ex.getCode());
     }
 
     @Test
     void decodeOddEmojiCountThrows() {
-        assertThrows(IndexOutOfBoundsException.class, () -> step.decode("😀"));
+        StegoException ex = assertThrows(StegoException.class, () -> step.decode("😀"));
+        assertEquals(StegoErrorCode.INVALID_LENGTH, ex.getCode());
+        // rejected from the length alone, before the invalid symbol is reached
+        assertEquals(StegoErrorCode.INVALID_LENGTH, assertThrows(StegoException.class, () -> step.decode("🚀😀x")).getCode());
     }
 
     @Test
@@ -0,0 +1,114 @@
+package com.yourorg.stegoapp.core;
+
+import com.yourorg.stegoapp.core.error.StegoErrorCode;
+import com.yourorg.stegoapp.core.error.StegoException;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FramedStepTest {
+
+    private static final String TEXT = "Framed payload 👋 with enough bytes to span several blocks.";
+
+    @ParameterizedTest
+    @EnumSource(FrameAlphabet.class)
+    void encodeThenDecodeReturnsOriginal(FrameAlphabet alphabet) {
+        FramedStep step = new FramedStep(alphabet, 8);
+        for (String s : List.of("", "A", "12345678", TEXT)) {
+            assertEquals(s, step.decode(step.encode(s)));
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(FrameAlphabet.class)
+    void decodeIgnoresSurroundingText(FrameAlphabet alphabet) {
+        FramedStep step = new FramedStep(alphabet, 8);
+        assertEquals(TEXT, step.decode("Cover text. " + step.encode(TEXT) + " trailing"));
+    }
+
+    @ParameterizedTest
+    @EnumSource(FrameAlphabet.class)
+    void lenientDecodeSkipsDamagedFrame(FrameAlphabet alphabet) {
+        FramedStep step = new FramedStep(alphabet, 8);
+        String encoded = step.encode(TEXT);
+        String damaged = damageFrame(encoded, alphabet, 2);
+
+        StegoException ex = assertThrows(StegoException.class, () -> step.decode(damaged));
+        assertEquals(StegoErrorCode.CORRUPT_PAYLOAD, ex.getCode());
+
+        FramedDecodeResult result = step.decodeLenient(damaged);
+        assertFalse(result.isComplete());
+        assertEquals(List.of(2), result.missingSequences());
+        assertEquals(1, result.corruptFrames());
+
+        byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+        byte[] expected = new byte[bytes.length - 8];
+        System.arraycopy(bytes, 0, expected, 0, 16);
+        System.arraycopy(bytes, 24, expected, 16, bytes.length - 24);
+        assertEquals(new String(expected, StandardCharsets.UTF_8), result.text());
+    }
+
+    @ParameterizedTest
+    @EnumSource(FrameAlphabet.class)
+    void strictDecodeRejectsMissingTrailingFrame(FrameAlphabet alphabet) {
+        FramedStep step = new FramedStep(alphabet, 8);
+        String encoded = step.encode(TEXT);
+        // cut cleanly before the marker of the last frame
+        String truncated = encoded.substring(0, encoded.lastIndexOf(alphabet.marker()));
+
+        StegoException ex = assertThrows(StegoException.class, () -> step.decode(truncated));
+        assertEquals(StegoErrorCode.CORRUPT_PAYLOAD, ex.getCode());
+
+        FramedDecodeResult result = step.decodeLenient(truncated);
+        assertFalse(result.isComplete());
+        assertFalse(result.finalFrameSeen());
+        assertEquals(List.of(), result.missingSequences());
+        assertEquals(0, result.corruptFrames());
+        assertTrue(step.decodeLenient(encoded).finalFrameSeen());
+    }
+
+    @ParameterizedTest
+    @EnumSource(FrameAlphabet.class)
+    void decodeRangeReadsOnlyNeededFrames(FrameAlphabet alphabet) {
+        FramedStep step = new FramedStep(alphabet, 8);
+        byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+        // a damaged frame outside the range does not matter
+        String encoded = damageFrame(step.encode(TEXT), alphabet, 0);
+
+        assertArrayEquals(Arrays.copyOfRange(bytes, 20, 35), step.decodeRange(encoded, 20, 15));
+        assertArrayEquals(Arrays.copyOfRange(bytes, bytes.length - 3, bytes.length), step.decodeRange(encoded, bytes.length - 3, 100));
+
+        StegoException ex = assertThrows(StegoException.class, () -> step.decodeRange(encoded, 4, 10));
+        assertEquals(StegoErrorCode.CORRUPT_PAYLOAD, ex.getCode());
+    }
+
+    @ParameterizedTest
+    @EnumSource(FrameAlphabet.class)
+    void largeInputsDecodeInParallel(FrameAlphabet alphabet) {
+        FramedStep step = new FramedStep(alphabet, 4096);
+        String large = TEXT.repeat(4000);
+        assertEquals(large, step.decode(step.encode(large)));
+    }
+
+    /** Flips one payload symbol of the given frame. */
+    private static String damageFrame(String encoded, FrameAlphabet alphabet, int frame) {
+        int pos = -1;
+        for (int i = 0; i <= frame; i++) {
+            pos = encoded.indexOf(alphabet.marker(), pos + 1);
+        }
+        int target = pos + alphabet.marker().length() + 12 * alphabet.charsPerByte();
+        StringBuilder sb = new StringBuilder(encoded);
+        if (alphabet == FrameAlphabet.ZERO_WIDTH) {
+            sb.setCharAt(target, sb.charAt(target) == '\u200B' ? '\u200C' : '\u200B');
+        } else {
+            // swap the first emoji of the symbol for another mapped emoji
+            sb.setCharAt(target + 1, sb.charAt(target + 1) == '\uDE00' ? '\uDE01' : '\uDE00');
+        }
+        return sb.toString();
+    }
+}
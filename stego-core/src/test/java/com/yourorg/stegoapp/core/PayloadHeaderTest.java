@@ -0,0 +1,90 @@
+package com.yourorg.stegoapp.core;
+
+import com.yourorg.stegoapp.core.error.StegoErrorCode;
+import com.yourorg.stegoapp.core.error.StegoException;
+import com.yourorg.stegoapp.core.model.CryptoOptions;
+import com.yourorg.stegoapp.core.model.FramedOptions;
+import com.yourorg.stegoapp.core.model.Pipeline;
+import com.yourorg.stegoapp.core.model.StepConfig;
+import com.yourorg.stegoapp.core.model.StepType;
+import com.yourorg.stegoapp.core.model.ZeroWidthMode;
+import com.yourorg.stegoapp.core.model.ZeroWidthOptions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PayloadHeaderTest {
+
+    private static final Pipeline BASE64_EMOJI = new Pipeline(List.of(StepConfig.of(StepType.BASE64), StepConfig.of(StepType.EMOJI)));
+
+    @Test
+    void prependThenStripReturnsBody() {
+        String body = "body with 👋 and ünïcode";
+        String withHeader = PayloadHeader.prepend(body, BASE64_EMOJI);
+        assertTrue(PayloadHeader.isPresent(withHeader));
+        assertEquals(body, PayloadHeader.strip(withHeader, BASE64_EMOJI));
+        assertEquals("", PayloadHeader.strip(PayloadHeader.prepend("", BASE64_EMOJI), BASE64_EMOJI));
+    }
+
+    @Test
+    void inputWithoutHeaderIsReturnedUnchanged() {
+        assertEquals("plain", PayloadHeader.strip("plain", BASE64_EMOJI));
+    }
+
+    @Test
+    void fingerprintCanBeReadWithoutThePipeline() {
+        String withHeader = PayloadHeader.prepend("body", BASE64_EMOJI);
+        assertEquals(PayloadHeader.fingerprint(BASE64_EMOJI), PayloadHeader.fingerprintOf(withHeader).getAsInt());
+        assertTrue(PayloadHeader.fingerprintOf("plain").isEmpty());
+    }
+
+    @Test
+    void differentPipelineIsRejected() {
+        String withHeader = PayloadHeader.prepend("body", BASE64_EMOJI);
+        Pipeline other = new Pipeline(List.of(StepConfig.of(StepType.EMOJI)));
+        StegoException ex = assertThrows(StegoException.class, () -> PayloadHeader.strip(withHeader, other));
+        assertEquals(StegoErrorCode.PIPELINE_MISMATCH, ex.getCode());
+    }
+
+    @Test
+    void damagedBodyIsRejected() {
+        String withHeader = PayloadHeader.prepend("body", BASE64_EMOJI);
+
+        StegoException changed = assertThrows(StegoException.class,
+                () -> PayloadHeader.strip(withHeader.replace("body", "bodY"), BASE64_EMOJI));
+        assertEquals(StegoErrorCode.CORRUPT_PAYLOAD, changed.getCode());
+
+        StegoException truncated = assertThrows(StegoException.class,
+                () -> PayloadHeader.strip(withHeader.substring(0, withHeader.length() - 1), BASE64_EMOJI));
+        assertEquals(StegoErrorCode.CORRUPT_PAYLOAD, truncated.getCode());
+    }
+
+    @Test
+    void malformedHeaderIsRejected() {
+        String withHeader = PayloadHeader.prepend("body", BASE64_EMOJI);
+        StegoException ex = assertThrows(StegoException.class,
+                () -> PayloadHeader.strip(withHeader.substring(0, 40), BASE64_EMOJI));
+        assertEquals(StegoErrorCode.INVALID_INPUT, ex.getCode());
+
+        // flip one bit of the magic
+        StringBuilder sb = new StringBuilder(withHeader);
+        sb.setCharAt(2, sb.charAt(2) == '\u200B' ? '\u200C' : '\u200B');
+        ex = assertThrows(StegoException.class, () -> PayloadHeader.strip(sb.toString(), BASE64_EMOJI));
+        assertEquals(StegoErrorCode.INVALID_INPUT, ex.getCode());
+    }
+
+    @Test
+    void fingerprintIgnoresSecretsAndCoverText() {
+        Pipeline a = new Pipeline(List.of(new StepConfig(StepType.CRYPTO, new CryptoOptions("one")),
+                new StepConfig(StepType.ZERO_WIDTH, new ZeroWidthOptions(ZeroWidthMode.EMBED_IN_COVER, "Cover A"))));
+        Pipeline b = new Pipeline(List.of(new StepConfig(StepType.CRYPTO, new CryptoOptions("two")),
+                new StepConfig(StepType.ZERO_WIDTH, new ZeroWidthOptions(ZeroWidthMode.EMBED_IN_COVER, "Cover B"))));
+        assertEquals(PayloadHeader.fingerprint(a), PayloadHeader.fingerprint(b));
+
+        Pipeline raw = new Pipeline(List.of(StepConfig.of(StepType.ZERO_WIDTH)));
+        Pipeline framed = new Pipeline(List.of(new StepConfig(StepType.ZERO_WIDTH, FramedOptions.defaults())));
+        assertNotEquals(PayloadHeader.fingerprint(raw), PayloadHeader.fingerprint(framed));
+    }
+}
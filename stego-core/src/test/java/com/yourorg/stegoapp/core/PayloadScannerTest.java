@@ -0,0 +1,173 @@
+package com.yourorg.stegoapp.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PayloadScannerTest {
+
+    private static final String ZW_SECRET = new ZeroWidthStep().encode("secret");
+    private static final String EMOJI_SECRET = new EmojiStep().encode("hidden €");
+
+    @Test
+    void findsRunsOfBothAlphabetsWithByteOffsets() {
+        String prefix = "Grüße, ";
+        String text = prefix + ZW_SECRET + " and " + EMOJI_SECRET + ".";
+
+        List<PayloadRun> runs = scan(text, 1 << 20);
+
+        assertEquals(2, runs.size());
+        PayloadRun zw = runs.get(0);
+        assertEquals(FrameAlphabet.ZERO_WIDTH, zw.alphabet());
+        assertEquals(utf8(prefix), zw.offset());
+        assertEquals(utf8(ZW_SECRET), zw.length());
+        assertEquals(48, zw.symbols());
+        assertEquals(6, zw.payloadBytes());
+        assertEquals("secret", zw.decoded());
+        assertEquals(PayloadRun.hashOf("secret"), zw.payloadHash());
+        assertFalse(zw.truncated());
+
+        PayloadRun emoji = runs.get(1);
+        assertEquals(FrameAlphabet.EMOJI, emoji.alphabet());
+        assertEquals(utf8(prefix + ZW_SECRET + " and "), emoji.offset());
+        assertEquals(utf8(EMOJI_SECRET), emoji.length());
+        assertEquals("hidden €", emoji.decoded());
+    }
+
+    @Test
+    void resultIsIndependentOfChunkBoundaries() {
+        String text = "a" + ZW_SECRET + "€" + EMOJI_SECRET + ZW_SECRET + " " + EMOJI_SECRET;
+        List<PayloadRun> expected = scan(text, 1 << 20);
+        assertEquals(4, expected.size());
+
+        for (int chunk = 1; chunk <= 9; chunk++) {
+            assertEquals(expected, scan(text, chunk), "chunk size " + chunk);
+        }
+    }
+
+    @Test
+    void adjacentRunsOfDifferentAlphabetsAreSeparate() {
+        List<PayloadRun> runs = scan(ZW_SECRET + EMOJI_SECRET, 5);
+
+        assertEquals(List.of(FrameAlphabet.ZERO_WIDTH, FrameAlphabet.EMOJI), runs.stream().map(PayloadRun::alphabet).toList());
+        assertEquals(runs.get(0).length(), runs.get(1).offset());
+    }
+
+    @Test
+    void shortRunsAreIgnoredAndPartialOrBinaryPayloadsAreNotDecoded() {
+        String shortRun = new ZeroWidthStep().encode("abc");
+        String partial = ZW_SECRET + "\u200B\u200C\u200B";
+        String binary = new ZeroWidthStep().encode("ok") + "\u200C\u200C\u200C\u200C\u200C\u200C\u200C\u200C".repeat(2);
+
+        assertTrue(scan("x " + shortRun + " 😀😂 y", 7).isEmpty());
+
+        PayloadRun partialRun = scan(partial, 1 << 20).get(0);
+        assertEquals(6, partialRun.payloadBytes());
+        assertNull(partialRun.decoded());
+
+        assertNull(scan(binary, 1 << 20).get(0).decoded());
+    }
+
+    @Test
+    void otherEmojiAndLookalikesEndRuns() {
+        // 😇 (U+1F607) is outside the 16-symbol alphabet; U+200D is a zero-width joiner
+        String text = EMOJI_SECRET + "😇" + EMOJI_SECRET + "\u200D" + ZW_SECRET;
+
+        List<PayloadRun> runs = scan(text, 3);
+
+        assertEquals(3, runs.size());
+        assertEquals("hidden €", runs.get(1).decoded());
+        assertEquals("secret", runs.get(2).decoded());
+    }
+
+    @Test
+    void capturesOnlyUpToTheLimit() {
+        String payload = "x".repeat(100);
+        List<PayloadRun> runs = new ArrayList<>();
+        PayloadScanner scanner = new PayloadScanner(runs::add, 4, 10);
+        scanner.update(ByteBuffer.wrap(new EmojiStep().encode(payload).getBytes(StandardCharsets.UTF_8)));
+        scanner.finish();
+
+        PayloadRun run = runs.get(0);
+        assertEquals(100, run.payloadBytes());
+        assertTrue(run.truncated());
+        assertEquals("x".repeat(10), run.decoded());
+        assertEquals(PayloadRun.hashOf(payload), run.payloadHash());
+    }
+
+    @Test
+    void scansDirectBuffersAndCountsBytes() {
+        byte[] bytes = ("log line\n" + ZW_SECRET + "\n").repeat(1000).getBytes(StandardCharsets.UTF_8);
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+        List<PayloadRun> runs = new ArrayList<>();
+        PayloadScanner scanner = new PayloadScanner(runs::add);
+
+        scanner.update(direct);
+        scanner.finish();
+
+        assertEquals(1000, runs.size());
+        assertEquals(1000, scanner.runCount());
+        assertEquals(bytes.length, scanner.bytesScanned());
+        assertTrue(runs.stream().allMatch(r -> "secret".equals(r.decoded())));
+    }
+
+    @Test
+    void decodeAttemptMatchesStrictUtf8Decoding() throws Exception {
+        Random random = new Random(7);
+        String[] samples = {"abc", "é", "€", "😀", "\uD7FF", "\uE000", "\uDBFF\uDFFF"};
+        for (int n = 0; n < 2000; n++) {
+            byte[] payload;
+            if (random.nextBoolean()) {
+                StringBuilder sb = new StringBuilder();
+                for (int k = 0; k < 1 + random.nextInt(6); k++) {
+                    sb.append(samples[random.nextInt(samples.length)]);
+                }
+                payload = sb.toString().getBytes(StandardCharsets.UTF_8);
+            } else {
+                payload = new byte[4 + random.nextInt(6)];
+                random.nextBytes(payload);
+            }
+            StringBuilder zeroWidth = new StringBuilder();
+            for (byte b : payload) {
+                for (int bit = 7; bit >= 0; bit--) {
+                    zeroWidth.append(((b >> bit) & 1) == 1 ? '\u200C' : '\u200B');
+                }
+            }
+
+            List<PayloadRun> runs = scan(zeroWidth.toString(), 1 << 20);
+
+            String expected;
+            try {
+                expected = StandardCharsets.UTF_8.newDecoder().decode(ByteBuffer.wrap(payload)).toString();
+            } catch (CharacterCodingException e) {
+                expected = null;
+            }
+            if (payload.length >= PayloadScanner.DEFAULT_MIN_PAYLOAD_BYTES) {
+                assertEquals(expected, runs.get(0).decoded(), () -> Arrays.toString(payload));
+            }
+        }
+    }
+
+    private static List<PayloadRun> scan(String text, int chunkSize) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        List<PayloadRun> runs = new ArrayList<>();
+        PayloadScanner scanner = new PayloadScanner(runs::add);
+        for (int off = 0; off < bytes.length; off += chunkSize) {
+            scanner.update(ByteBuffer.wrap(bytes, off, Math.min(chunkSize, bytes.length - off)));
+        }
+        scanner.finish();
+        return runs;
+    }
+
+    private static long utf8(String s) {
+        return s.getBytes(StandardCharsets.UTF_8).length;
+    }
+}
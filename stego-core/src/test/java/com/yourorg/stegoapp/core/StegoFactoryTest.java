@@ -2,6 +2,7 @@ package com.yourorg.stegoapp.core;
 
 import com.yourorg.stegoapp.core.error.StegoException;
 import com.yourorg.stegoapp.core.model.CryptoOptions;
+import com.yourorg.stegoapp.core.model.FramedOptions;
 import com.yourorg.stegoapp.core.model.StepConfig;
 import com.yourorg.stegoapp.core.model.StepType;
 import com.yourorg.stegoapp.core.model.ZeroWidthMode;
@@ -39,6 +40,12 @@ class StegoFactoryTest {
         assertTrue(StegoFactory.create(cfg) instanceof ZeroWidthCoverStep);
     }
 
+    @Test
+    void framedOptionsCreateFramedStep() {
+        assertTrue(StegoFactory.create(new StepConfig(StepType.ZERO_WIDTH, FramedOptions.defaults())) instanceof FramedStep);
+        assertTrue(StegoFactory.create(new StepConfig(StepType.EMOJI, new FramedOptions(64))) instanceof FramedStep);
+    }
+
     @Test
     void invalidStepThrows() {
         assertThrows(StegoException.class, () -> StegoFactory.create((StepConfig) null));
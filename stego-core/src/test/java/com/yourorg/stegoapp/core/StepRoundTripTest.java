@@ -3,6 +3,11 @@ package com.yourorg.stegoapp.core;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import com.yourorg.stegoapp.core.text.Utf8;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,6 +31,16 @@ class StepRoundTripTest {
         assertEquals(input, step.decode(step.encode(input)));
     }
 
+    @ParameterizedTest
+    @MethodSource("samples")
+    void base64MatchesJdkEncoder(String input) {
+        // cover all three padding cases
+        for (String s : new String[] {input, input + "x", input + "xy"}) {
+            String expected = Base64.getEncoder().encodeToString(s.getBytes(StandardCharsets.UTF_8));
+            assertEquals(expected, new Base64Step().encode(s));
+        }
+    }
+
     @ParameterizedTest
     @MethodSource("samples")
     void emojiRoundTrip(String input) {
@@ -40,6 +55,18 @@ class StepRoundTripTest {
         assertEquals(input, step.decode(step.encode(input)));
     }
 
+    @ParameterizedTest
+    @MethodSource("samples")
+    void encodedUtf8LengthMatchesMeasuredLength(String input) {
+        List<StegoStep> steps = List.of(new Base64Step(), new EmojiStep(), new ZeroWidthStep(), new CryptoStep("test-password"),
+                new ZeroWidthCoverStep("Grüße 👋"), new FramedStep(FrameAlphabet.ZERO_WIDTH, 4), new FramedStep(FrameAlphabet.EMOJI, 4),
+                new CompositeStep(List.of(new Base64Step(), new EmojiStep())));
+        for (StegoStep step : steps) {
+            CharSequence deferred = step.encodeDeferred(input);
+            assertEquals(Utf8.encodedLength(deferred), step.encodedUtf8Length(deferred), step.getClass().getSimpleName());
+        }
+    }
+
     @ParameterizedTest
     @MethodSource("samples")
     void cryptoRoundTrip(String input) {
@@ -31,5 +31,14 @@ class ZeroWidthCoverStepTest {
         String wrapped = "prefix-" + encoded + "-suffix";
         assertEquals(original, step.decode(wrapped));
     }
-}
 
+    @Test
+    void encodeDeferredSharesCoverText() {
+        String cover = "Cover text. ".repeat(1000);
+        ZeroWidthCoverStep step = new ZeroWidthCoverStep(cover);
+
+        CharSequence deferred = step.encodeDeferred("secret");
+        assertEquals(step.encode("secret"), deferred.toString());
+        assertSame(cover, deferred.subSequence(0, cover.length()));
+    }
+}
@@ -1,5 +1,7 @@
 package com.yourorg.stegoapp.core;
 
+import com.yourorg.stegoapp.core.error.StegoErrorCode;
+import com.yourorg.stegoapp.core.error.StegoException;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -29,7 +31,8 @@ class ZeroWidthStepTest {
     void decodeBadLengthThrows() {
         // odd number of chars cannot form full bytes
         String bad = "\u200B\u200C\u200B";
-        assertThrows(IllegalArgumentException.class, () -> step.decode(bad));
+        StegoException ex = assertThrows(StegoException.class, () -> step.decode(bad));
+        assertEquals(StegoErrorCode.INVALID_LENGTH, ex.getCode());
     }
 
     @Test
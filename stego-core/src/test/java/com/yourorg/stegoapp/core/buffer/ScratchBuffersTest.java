@@ -0,0 +1,59 @@
+package com.yourorg.stegoapp.core.buffer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScratchBuffersTest {
+
+    @Test
+    void arraysAreReusedWithinCap() {
+        ScratchBuffers scratch = new ScratchBuffers(1024);
+        byte[] first = scratch.bytes(100);
+        assertTrue(first.length >= 100);
+        assertSame(first, scratch.bytes(50));
+
+        char[] chars = scratch.chars(10);
+        assertSame(chars, scratch.chars(chars.length));
+    }
+
+    @Test
+    void requestsAboveCapAreNotRetained() {
+        ScratchBuffers scratch = new ScratchBuffers(1024);
+        byte[] retained = scratch.bytes(512);
+
+        byte[] huge = scratch.bytes(4096);
+        assertEquals(4096, huge.length);
+        assertNotSame(huge, scratch.bytes(4096));
+        assertSame(retained, scratch.bytes(512));
+        assertTrue(scratch.retainedBytes() <= 1024);
+    }
+
+    @Test
+    void growthNeverExceedsCap() {
+        ScratchBuffers scratch = new ScratchBuffers(1000);
+        scratch.chars(600);
+        assertTrue(scratch.chars(900).length <= 1000);
+    }
+
+    @Test
+    void trimReleasesArrays() {
+        ScratchBuffers scratch = new ScratchBuffers(1024);
+        scratch.bytes(512);
+        scratch.chars(512);
+        scratch.trim();
+        assertEquals(0, scratch.retainedBytes());
+    }
+
+    @Test
+    void currentIsPerThread() throws Exception {
+        ScratchBuffers mine = ScratchBuffers.current();
+        assertSame(mine, ScratchBuffers.current());
+
+        ScratchBuffers[] other = new ScratchBuffers[1];
+        Thread t = new Thread(() -> other[0] = ScratchBuffers.current());
+        t.start();
+        t.join();
+        assertNotSame(mine, other[0]);
+    }
+}
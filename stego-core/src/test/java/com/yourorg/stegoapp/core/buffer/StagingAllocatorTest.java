@@ -0,0 +1,70 @@
+package com.yourorg.stegoapp.core.buffer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StagingAllocatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void heapAllocatorReturnsHeapBuffers() {
+        try (StagingBuffer buf = StagingAllocator.heap().allocate(100)) {
+            assertFalse(buf.isOffHeap());
+            assertEquals(100, buf.buffer().limit());
+        }
+    }
+
+    @Test
+    void smallRequestsArePooledDirectBuffers() {
+        StagingAllocator allocator = StagingAllocator.offHeap(1 << 20, 1 << 16, tempDir);
+
+        ByteBuffer first;
+        try (StagingBuffer buf = allocator.allocate(5000)) {
+            assertTrue(buf.isOffHeap());
+            assertEquals(5000, buf.buffer().limit());
+            first = buf.buffer();
+        }
+        assertTrue(allocator.pooledBytes() > 0);
+
+        try (StagingBuffer buf = allocator.allocate(6000)) {
+            assertSame(first, buf.buffer(), "same size class should be reused");
+            assertEquals(6000, buf.buffer().limit());
+        }
+    }
+
+    @Test
+    void poolRespectsCap() {
+        StagingAllocator allocator = StagingAllocator.offHeap(8192, 1 << 16, tempDir);
+        StagingBuffer a = allocator.allocate(8192);
+        StagingBuffer b = allocator.allocate(8192);
+        a.close();
+        b.close();
+        assertEquals(8192, allocator.pooledBytes());
+    }
+
+    @Test
+    void largeRequestsAreMappedTempFilesDeletedOnClose() throws Exception {
+        StagingAllocator allocator = StagingAllocator.offHeap(1 << 20, 1024, tempDir);
+
+        StagingBuffer buf = allocator.allocate(4096);
+        assertTrue(buf.isOffHeap());
+        buf.buffer().put(new byte[4096]);
+        try (var files = Files.list(tempDir)) {
+            assertEquals(1, files.count());
+        }
+
+        buf.close();
+        buf.close();
+        try (var files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.yourorg.stegoapp.core.codec;
+
+import com.yourorg.stegoapp.core.Base64Step;
+import com.yourorg.stegoapp.core.EmojiStep;
+import com.yourorg.stegoapp.core.buffer.StagingAllocator;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CodecWriterTest {
+
+    private static final String TEXT = "Writer 👋 test with ünïcode and emoji 🎉 ".repeat(500);
+
+    @Test
+    void piecewiseWritesMatchOneShotEncode() throws Exception {
+        String expected = new EmojiStep().encode(new Base64Step().encode(TEXT));
+        // odd piece sizes split surrogate pairs across writes
+        for (int piece : new int[] {1, 3, 7, 4096}) {
+            assertEquals(expected, encodeInPieces(TEXT, piece), "piece=" + piece);
+        }
+    }
+
+    @Test
+    void unpairedSurrogatesBecomeQuestionMarks() throws Exception {
+        for (String text : List.of("a\uD83Db\uDE00", "tail\uD83D", "\uD83D\uD83D\uDE00")) {
+            String expected = new EmojiStep().encode(new Base64Step().encode(text));
+            assertEquals(expected, encodeInPieces(text, 1), text);
+            assertEquals(expected, encodeInPieces(text, 2), text);
+        }
+    }
+
+    private static String encodeInPieces(String text, int piece) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CodecChain chain = new CodecChain(List.of(new Base64Step().newEncoder(), new EmojiStep().newEncoder()),
+                StagingAllocator.heap(), 64)) {
+            CodecWriter writer = new CodecWriter(chain, Channels.newChannel(out), 16);
+            for (int i = 0; i < text.length(); i += piece) {
+                writer.write(text, i, Math.min(piece, text.length() - i));
+            }
+            writer.close();
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
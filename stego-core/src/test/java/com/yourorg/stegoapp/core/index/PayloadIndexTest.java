@@ -0,0 +1,206 @@
+package com.yourorg.stegoapp.core.index;
+
+import com.yourorg.stegoapp.core.EmojiStep;
+import com.yourorg.stegoapp.core.FrameAlphabet;
+import com.yourorg.stegoapp.core.PayloadRun;
+import com.yourorg.stegoapp.core.ZeroWidthStep;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+class PayloadIndexTest {
+
+    private static final String SECRET = "secret";
+    private static final long SECRET_HASH = PayloadRun.hashOf(SECRET);
+
+    @TempDir
+    Path root;
+
+    @TempDir
+    Path indexDir;
+
+    @Test
+    void findsRunsByPayloadHashAcrossDocumentsAndAlphabets() throws IOException {
+        String prefix = "Grüße ";
+        write("a.txt", prefix + new ZeroWidthStep().encode(SECRET) + " end");
+        write("sub/dir/b.txt", new EmojiStep().encode(SECRET) + "\n" + new EmojiStep().encode("other"));
+        write("plain.txt", "nothing here");
+
+        IndexUpdateResult result = new PayloadIndexer(2, 4).update(root, index());
+
+        assertEquals(3, result.documents());
+        assertEquals(3, result.scanned());
+        assertEquals(3, result.runs());
+        try (PayloadIndex index = PayloadIndex.open(index())) {
+            assertEquals(3, index.documentCount());
+            assertEquals(3, index.entryCount());
+
+            List<IndexedRun> hits = index.find(SECRET_HASH);
+            assertEquals(2, hits.size());
+            assertEquals(new IndexedRun("a.txt", prefix.getBytes(StandardCharsets.UTF_8).length,
+                    new ZeroWidthStep().encode(SECRET).getBytes(StandardCharsets.UTF_8).length,
+                    FrameAlphabet.ZERO_WIDTH, SECRET_HASH), hits.get(0));
+            assertEquals("sub/dir/b.txt", hits.get(1).document());
+            assertEquals(FrameAlphabet.EMOJI, hits.get(1).alphabet());
+            assertEquals(0, hits.get(1).offset());
+
+            assertEquals(1, index.find(PayloadRun.hashOf("other")).size());
+            assertTrue(index.find(PayloadRun.hashOf("absent")).isEmpty());
+        }
+    }
+
+    @Test
+    void updateRescansOnlyChangedFilesAndDropsDeletedOnes() throws IOException {
+        write("keep.txt", new ZeroWidthStep().encode(SECRET));
+        write("change.txt", "clean");
+        write("delete.txt", new EmojiStep().encode(SECRET));
+        PayloadIndexer indexer = new PayloadIndexer(1, 4);
+        indexer.update(root, index());
+
+        Path changed = write("change.txt", "now " + new EmojiStep().encode(SECRET));
+        Files.setLastModifiedTime(changed, FileTime.fromMillis(Files.getLastModifiedTime(changed).toMillis() + 2000));
+        Files.delete(root.resolve("delete.txt"));
+        write("new.txt", "nothing");
+
+        IndexUpdateResult result = indexer.update(root, index());
+
+        assertEquals(3, result.documents());
+        assertEquals(2, result.scanned());
+        assertEquals(1, result.reused());
+        assertEquals(1, result.removed());
+        try (PayloadIndex index = PayloadIndex.open(index())) {
+            assertEquals(List.of("change.txt", "keep.txt"),
+                    index.find(SECRET_HASH).stream().map(IndexedRun::document).toList());
+        }
+    }
+
+    @Test
+    void unchangedTreeIsNotRescannedAndIndexInsideRootIsSkipped() throws IOException {
+        write("a.txt", new ZeroWidthStep().encode(SECRET));
+        Path index = root.resolve("payloads.idx");
+        PayloadIndexer indexer = new PayloadIndexer(2, 4);
+        indexer.update(root, index);
+
+        IndexUpdateResult result = indexer.update(root, index);
+
+        assertEquals(1, result.documents());
+        assertEquals(0, result.scanned());
+        assertEquals(1, result.reused());
+        assertEquals(0, result.bytesScanned());
+        try (PayloadIndex payloadIndex = PayloadIndex.open(index)) {
+            assertEquals(1, payloadIndex.find(SECRET_HASH).size());
+        }
+    }
+
+    @Test
+    void unreadableFileKeepsItsPreviousEntry() throws IOException {
+        Path file = write("locked.txt", new ZeroWidthStep().encode(SECRET));
+        PayloadIndexer indexer = new PayloadIndexer(1, 4);
+        indexer.update(root, index());
+
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 2000));
+        Files.setPosixFilePermissions(file, Set.of());
+        assumeFalse(Files.isReadable(file), "permissions are not enforced for this user");
+        try {
+            IndexUpdateResult result = indexer.update(root, index());
+
+            assertEquals(1, result.documents());
+            assertEquals(1, result.failed());
+            assertEquals(0, result.removed());
+            try (PayloadIndex index = PayloadIndex.open(index())) {
+                assertEquals(1, index.find(SECRET_HASH).size());
+            }
+        } finally {
+            Files.setPosixFilePermissions(file, Set.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE));
+        }
+    }
+
+    @Test
+    void unlistableDirectoryKeepsItsPreviousEntries() throws IOException {
+        write("top.txt", "clean");
+        write("locked/a.txt", new ZeroWidthStep().encode(SECRET));
+        write("locked/deeper/b.txt", new EmojiStep().encode(SECRET));
+        PayloadIndexer indexer = new PayloadIndexer(2, 4);
+        indexer.update(root, index());
+
+        Path locked = root.resolve("locked");
+        Files.setPosixFilePermissions(locked, Set.of());
+        assumeFalse(Files.isReadable(locked), "permissions are not enforced for this user");
+        try {
+            IndexUpdateResult result = indexer.update(root, index());
+
+            assertEquals(3, result.documents());
+            assertEquals(1, result.reused());
+            assertEquals(1, result.failed());
+            assertEquals(0, result.removed());
+            try (PayloadIndex index = PayloadIndex.open(index())) {
+                assertEquals(List.of("locked/a.txt", "locked/deeper/b.txt"),
+                        index.find(SECRET_HASH).stream().map(IndexedRun::document).sorted().toList());
+            }
+        } finally {
+            Files.setPosixFilePermissions(locked, PosixFilePermissions.fromString("rwx------"));
+        }
+    }
+
+    @Test
+    void concurrentUpdatesOfOneIndexDoNotClash() throws Exception {
+        for (int i = 0; i < 32; i++) {
+            write("f" + i + ".txt", i + " " + new EmojiStep().encode(SECRET));
+        }
+        Path index = root.resolve("payloads.idx");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<IndexUpdateResult>> updates = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                updates.add(executor.submit(() -> new PayloadIndexer(2, 4).update(root, index)));
+            }
+            for (Future<IndexUpdateResult> update : updates) {
+                assertEquals(32, update.get().documents());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        try (PayloadIndex payloadIndex = PayloadIndex.open(index)) {
+            assertEquals(32, payloadIndex.find(SECRET_HASH).size());
+        }
+        try (Stream<Path> files = Files.list(root)) {
+            assertTrue(files.noneMatch(f -> f.getFileName().toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    void rejectsFilesThatAreNotAnIndex() throws IOException {
+        Path file = write("not-an-index", "x".repeat(100));
+
+        assertThrows(IOException.class, () -> PayloadIndex.open(file));
+        assertThrows(IOException.class, () -> new PayloadIndexer().update(root, file));
+    }
+
+    private Path index() {
+        return indexDir.resolve("payloads.idx");
+    }
+
+    private Path write(String path, String content) throws IOException {
+        Path file = root.resolve(path);
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, content, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,131 @@
+package com.yourorg.stegoapp.core.instrument;
+
+import com.yourorg.stegoapp.core.CompositeStep;
+import com.yourorg.stegoapp.core.error.StegoException;
+import com.yourorg.stegoapp.core.model.Pipeline;
+import com.yourorg.stegoapp.core.model.StepConfig;
+import com.yourorg.stegoapp.core.model.StepType;
+import com.yourorg.stegoapp.core.model.ZeroWidthMode;
+import com.yourorg.stegoapp.core.model.ZeroWidthOptions;
+import com.yourorg.stegoapp.core.text.Utf8;
+import com.yourorg.stegoapp.service.StegoService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AggregateRecorderTest {
+
+    private static final Pipeline PIPELINE = new Pipeline(List.of(StepConfig.of(StepType.BASE64), StepConfig.of(StepType.ZERO_WIDTH)));
+
+    private final AggregateRecorder recorder = new AggregateRecorder();
+
+    @Test
+    void recordsEveryStepOfServiceTransforms() {
+        StegoService svc = new StegoService(recorder);
+        String encoded = svc.encode("hello", PIPELINE);
+        int encodedBytes = Utf8.encodedLength(encoded);
+
+        assertEquals("hello", svc.decode(encoded, PIPELINE));
+
+        assertStep(StepType.BASE64, Direction.ENCODE, 5, 8);
+        assertStep(StepType.ZERO_WIDTH, Direction.ENCODE, 8, encodedBytes);
+        assertStep(StepType.ZERO_WIDTH, Direction.DECODE, encodedBytes, 8);
+        assertStep(StepType.BASE64, Direction.DECODE, 8, 5);
+        assertEquals(0, recorder.step(StepType.EMOJI, Direction.ENCODE).count());
+
+        PipelineTotals encodes = recorder.pipeline(Direction.ENCODE);
+        assertEquals(new PipelineTotals(1, 1, 0, encodes.nanos(), 5, encodedBytes), encodes);
+        assertTrue(encodes.nanos() >= recorder.step(StepType.BASE64, Direction.ENCODE).nanos());
+        assertEquals(encodedBytes, recorder.pipeline(Direction.DECODE).inputBytes());
+        assertEquals(5, recorder.pipeline(Direction.DECODE).outputBytes());
+    }
+
+    @Test
+    void reportsTheDeferredFinalStepAndTheStrippedHeader() {
+        StegoService svc = new StegoService(recorder);
+        Pipeline cover = new Pipeline(List.of(new StepConfig(StepType.ZERO_WIDTH,
+                new ZeroWidthOptions(ZeroWidthMode.EMBED_IN_COVER, "Nothing to see here."))));
+
+        CharSequence deferred = svc.encodeDeferred("hi", cover);
+        String withHeader = svc.encodeWithHeader("hi", cover);
+        svc.decode(withHeader, cover);
+
+        StepTotals encodes = recorder.step(StepType.ZERO_WIDTH, Direction.ENCODE);
+        assertEquals(2, encodes.count());
+        assertEquals(2 * Utf8.encodedLength(deferred), encodes.outputBytes());
+        // the header is stripped before the step runs, so only the payload reaches it
+        assertEquals(Utf8.encodedLength(deferred), recorder.step(StepType.ZERO_WIDTH, Direction.DECODE).inputBytes());
+        assertEquals(Utf8.encodedLength(withHeader), recorder.pipeline(Direction.DECODE).inputBytes());
+    }
+
+    @Test
+    void failedTransformIsReportedOnce() {
+        List<RuntimeException> failures = new ArrayList<>();
+        TransformListener capture = new TransformListener() {
+            @Override
+            public void pipelineFailed(Direction direction, long nanos, RuntimeException failure) {
+                failures.add(failure);
+            }
+        };
+        StegoService svc = new StegoService(TransformListener.of(recorder, capture));
+        Pipeline emoji = new Pipeline(List.of(StepConfig.of(StepType.EMOJI)));
+
+        StegoException e = assertThrows(StegoException.class, () -> svc.decode("not emoji", emoji));
+
+        assertEquals(List.of(e), failures);
+        assertEquals(new PipelineTotals(1, 0, 1, recorder.pipeline(Direction.DECODE).nanos(), 0, 0),
+                recorder.pipeline(Direction.DECODE));
+        assertEquals(0, recorder.step(StepType.EMOJI, Direction.DECODE).count());
+    }
+
+    @Test
+    void compositeStepReportsLikeThePipeline() {
+        CompositeStep composite = new CompositeStep(PIPELINE.steps(), recorder);
+
+        String encoded = composite.encode("hello");
+
+        assertEquals(new StegoService().encode("hello", PIPELINE), encoded);
+        assertEquals("hello", composite.decode(encoded));
+        assertStep(StepType.BASE64, Direction.ENCODE, 5, 8);
+        assertStep(StepType.BASE64, Direction.DECODE, 8, 5);
+        assertEquals(1, recorder.pipeline(Direction.DECODE).completed());
+    }
+
+    @Test
+    void fanOutPreservesOrderAndResetClearsTotals() {
+        List<String> events = new ArrayList<>();
+        TransformListener first = new TransformListener() {
+            @Override
+            public void pipelineStarted(Direction direction, int steps, long inputBytes) {
+                events.add("first " + steps);
+            }
+        };
+        TransformListener second = new TransformListener() {
+            @Override
+            public void pipelineStarted(Direction direction, int steps, long inputBytes) {
+                events.add("second " + steps);
+            }
+        };
+        assertSame(TransformListener.NONE, TransformListener.of(List.of()));
+        assertSame(recorder, TransformListener.of(recorder));
+
+        new StegoService(TransformListener.of(first, second, recorder)).encode("x", PIPELINE);
+        assertEquals(List.of("first 2", "second 2"), events);
+        assertEquals(1, recorder.step(StepType.ZERO_WIDTH, Direction.ENCODE).count());
+
+        recorder.reset();
+        assertEquals(new StepTotals(0, 0, 0, 0, 0), recorder.step(StepType.ZERO_WIDTH, Direction.ENCODE));
+        assertEquals(new PipelineTotals(0, 0, 0, 0, 0, 0), recorder.pipeline(Direction.ENCODE));
+    }
+
+    private void assertStep(StepType type, Direction direction, long in, long out) {
+        StepTotals totals = recorder.step(type, direction);
+        assertEquals(1, totals.count(), type + " " + direction);
+        assertEquals(in, totals.inputBytes(), type + " " + direction);
+        assertEquals(out, totals.outputBytes(), type + " " + direction);
+        assertEquals(totals.nanos(), totals.maxNanos());
+    }
+}
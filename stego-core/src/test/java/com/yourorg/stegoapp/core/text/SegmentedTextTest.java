@@ -0,0 +1,47 @@
+package com.yourorg.stegoapp.core.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentedTextTest {
+
+    @Test
+    void behavesLikeJoinedString() {
+        SegmentedText text = SegmentedText.of("Cover", "", "\u200B\u200C", "!");
+        String expected = "Cover\u200B\u200C!";
+
+        assertEquals(expected.length(), text.length());
+        for (int i = 0; i < expected.length(); i++) {
+            assertEquals(expected.charAt(i), text.charAt(i), "charAt(" + i + ")");
+        }
+        assertEquals(expected, text.toString());
+        assertEquals(expected.substring(3, 7), text.subSequence(3, 7).toString());
+        assertEquals("", text.subSequence(2, 2).toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> text.charAt(expected.length()));
+    }
+
+    @Test
+    void toStringIsCached() {
+        SegmentedText text = SegmentedText.of("a", "b");
+        assertSame(text.toString(), text.toString());
+    }
+
+    @Test
+    void writeToEmitsAllSegments() throws Exception {
+        String cover = "x".repeat(20_000);
+        SegmentedText text = SegmentedText.of(cover, "payload 👋");
+
+        StringWriter writer = new StringWriter();
+        text.writeTo(writer);
+        assertEquals(cover + "payload 👋", writer.toString());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        text.writeUtf8(bytes);
+        assertEquals(cover + "payload 👋", bytes.toString(StandardCharsets.UTF_8));
+    }
+}
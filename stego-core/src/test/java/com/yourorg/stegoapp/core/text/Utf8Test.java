@@ -0,0 +1,23 @@
+package com.yourorg.stegoapp.core.text;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Utf8Test {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "ASCII", "Zażółć", "こんにちは", "Hello 👋", "lone \uD83D high", "lone \uDE00 low", "end \uD83D"})
+    void matchesStringGetBytes(String input) {
+        byte[] expected = input.getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(expected.length, Utf8.encodedLength(input));
+        byte[] actual = new byte[expected.length + 2];
+        assertEquals(expected.length, Utf8.encode(input, actual, 2));
+        assertArrayEquals(expected, Arrays.copyOfRange(actual, 2, actual.length));
+    }
+}
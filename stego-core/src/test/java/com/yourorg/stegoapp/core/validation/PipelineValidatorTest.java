@@ -3,6 +3,7 @@ package com.yourorg.stegoapp.core.validation;
 import com.yourorg.stegoapp.core.error.StegoErrorCode;
 import com.yourorg.stegoapp.core.error.StegoException;
 import com.yourorg.stegoapp.core.model.CryptoOptions;
+import com.yourorg.stegoapp.core.model.FramedOptions;
 import com.yourorg.stegoapp.core.model.Pipeline;
 import com.yourorg.stegoapp.core.model.StepConfig;
 import com.yourorg.stegoapp.core.model.StepType;
@@ -53,5 +54,18 @@ class PipelineValidatorTest {
         StegoException ex = assertThrows(StegoException.class, () -> PipelineValidator.validate(pipeline));
         assertEquals(StegoErrorCode.INVALID_OPTIONS, ex.getCode());
     }
-}
 
+    @Test
+    void framedBlockSizeIsValidated() {
+        Pipeline pipeline = new Pipeline(List.of(new StepConfig(StepType.EMOJI, new FramedOptions(0))));
+        StegoException ex = assertThrows(StegoException.class, () -> PipelineValidator.validate(pipeline));
+        assertEquals(StegoErrorCode.INVALID_OPTIONS, ex.getCode());
+
+        Pipeline base64 = new Pipeline(List.of(new StepConfig(StepType.BASE64, FramedOptions.defaults())));
+        ex = assertThrows(StegoException.class, () -> PipelineValidator.validate(base64));
+        assertEquals(StegoErrorCode.INVALID_OPTIONS, ex.getCode());
+
+        assertDoesNotThrow(() -> PipelineValidator.validate(new Pipeline(List.of(
+                new StepConfig(StepType.ZERO_WIDTH, FramedOptions.defaults())))));
+    }
+}
@@ -0,0 +1,103 @@
+package com.yourorg.stegoapp.service;
+
+import com.yourorg.stegoapp.core.PayloadHeader;
+import com.yourorg.stegoapp.core.buffer.StagingAllocator;
+import com.yourorg.stegoapp.core.codec.CodecChain;
+import com.yourorg.stegoapp.core.error.StegoErrorCode;
+import com.yourorg.stegoapp.core.error.StegoException;
+import com.yourorg.stegoapp.core.instrument.Direction;
+import com.yourorg.stegoapp.core.instrument.TransformListener;
+import com.yourorg.stegoapp.core.model.CryptoOptions;
+import com.yourorg.stegoapp.core.model.Pipeline;
+import com.yourorg.stegoapp.core.model.StepConfig;
+import com.yourorg.stegoapp.core.model.StepType;
+import com.yourorg.stegoapp.core.model.ZeroWidthMode;
+import com.yourorg.stegoapp.core.model.ZeroWidthOptions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledPipelineTest {
+
+    private final Pipeline pipeline = new Pipeline(List.of(
+            StepConfig.of(StepType.BASE64),
+            new StepConfig(StepType.ZERO_WIDTH, new ZeroWidthOptions(ZeroWidthMode.EMBED_IN_COVER, "Cover"))));
+
+    @Test
+    void matchesStegoService() {
+        CompiledPipeline compiled = CompiledPipeline.compile(pipeline);
+        String encoded = compiled.encode("Reused");
+
+        assertEquals(new StegoService().encode("Reused", pipeline), encoded);
+        assertEquals("Reused", compiled.decode(encoded));
+        assertEquals("Reused", compiled.decode(compiled.encodeWithHeader("Reused")));
+        assertEquals(PayloadHeader.fingerprint(pipeline), compiled.fingerprint());
+    }
+
+    @Test
+    void invalidPipelineFailsAtCompileTime() {
+        Pipeline bad = new Pipeline(List.of(new StepConfig(StepType.ZERO_WIDTH, new ZeroWidthOptions(ZeroWidthMode.EMBED_IN_COVER, null))));
+        assertThrows(StegoException.class, () -> CompiledPipeline.compile(bad));
+    }
+
+    @Test
+    void chainsAreIndependent() throws Exception {
+        CompiledPipeline compiled = CompiledPipeline.compile(pipeline);
+        String expected = compiled.encode("Chunked");
+        for (int i = 0; i < 2; i++) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            WritableByteChannel sink = Channels.newChannel(out);
+            try (CodecChain chain = compiled.newEncodeChain(StagingAllocator.heap())) {
+                chain.update(ByteBuffer.wrap("Chunked".getBytes(StandardCharsets.UTF_8)), sink);
+                chain.finish(sink);
+            }
+            assertEquals(expected, out.toString(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void chainRejectsStepsWithoutByteForm() {
+        CompiledPipeline compiled = CompiledPipeline.compile(new Pipeline(List.of(new StepConfig(StepType.CRYPTO, new CryptoOptions("pw")))));
+        StegoException ex = assertThrows(StegoException.class, () -> compiled.newEncodeChain(StagingAllocator.heap()));
+        assertEquals(StegoErrorCode.UNSUPPORTED_STEP, ex.getCode());
+    }
+
+    @Test
+    void costGrowsWithInputAndExpansion() {
+        CompiledPipeline base64 = CompiledPipeline.compile(new Pipeline(List.of(StepConfig.of(StepType.BASE64))));
+        CompiledPipeline zeroWidth = CompiledPipeline.compile(new Pipeline(List.of(StepConfig.of(StepType.ZERO_WIDTH))));
+
+        assertTrue(base64.estimateCost(2000, true) > base64.estimateCost(1000, true));
+        assertTrue(zeroWidth.estimateCost(1000, true) > base64.estimateCost(1000, true));
+        assertTrue(zeroWidth.estimateCost(1000, true) > zeroWidth.estimateCost(1000, false));
+        assertEquals(0, base64.estimateCost(0, true));
+    }
+
+    @Test
+    void listenerSeesStringStepsOnly() throws Exception {
+        List<String> calls = new ArrayList<>();
+        CompiledPipeline compiled = CompiledPipeline.compile(pipeline, new TransformListener() {
+            @Override
+            public void stepCompleted(StepType type, Direction direction, long inputBytes, long outputBytes, long nanos) {
+                calls.add(direction + " " + type);
+            }
+        });
+
+        assertEquals("Observed", compiled.decode(compiled.encode("Observed")));
+        assertEquals(List.of("ENCODE BASE64", "ENCODE ZERO_WIDTH", "DECODE ZERO_WIDTH", "DECODE BASE64"), calls);
+
+        // chains run the byte-level steps without reporting
+        try (CodecChain chain = compiled.newEncodeChain(StagingAllocator.heap())) {
+            chain.finish(Channels.newChannel(new ByteArrayOutputStream()));
+        }
+        assertEquals(4, calls.size());
+    }
+}
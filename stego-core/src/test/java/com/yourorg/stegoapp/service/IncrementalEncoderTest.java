@@ -0,0 +1,108 @@
+package com.yourorg.stegoapp.service;
+
+import com.yourorg.stegoapp.core.error.StegoErrorCode;
+import com.yourorg.stegoapp.core.error.StegoException;
+import com.yourorg.stegoapp.core.model.Pipeline;
+import com.yourorg.stegoapp.core.model.StepConfig;
+import com.yourorg.stegoapp.core.model.StepType;
+import com.yourorg.stegoapp.core.model.ZeroWidthMode;
+import com.yourorg.stegoapp.core.model.ZeroWidthOptions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalEncoderTest {
+
+    private static final String[] FRAGMENTS = {"a", "xyz", "é", "€", "😀", "\uD83D", "\uDE00", "Hello, world", ""};
+
+    @Test
+    void randomEditsMatchFullEncode() {
+        List<List<StepType>> pipelines = List.of(
+                List.of(StepType.ZERO_WIDTH),
+                List.of(StepType.EMOJI),
+                List.of(StepType.BASE64),
+                List.of(StepType.BASE64, StepType.ZERO_WIDTH),
+                List.of(StepType.EMOJI, StepType.BASE64, StepType.ZERO_WIDTH));
+        Random random = new Random(42);
+        for (List<StepType> types : pipelines) {
+            CompiledPipeline compiled = CompiledPipeline.compile(pipeline(types.toArray(StepType[]::new)));
+            IncrementalEncoder encoder = compiled.newIncrementalEncoder();
+            StringBuilder text = new StringBuilder();
+            StringBuilder output = new StringBuilder();
+            for (int n = 0; n < 300; n++) {
+                int offset = random.nextInt(text.length() + 1);
+                int delete = random.nextInt(4) == 0 ? random.nextInt(text.length() - offset + 1) : 0;
+                String insert = FRAGMENTS[random.nextInt(FRAGMENTS.length)];
+                TextEdit edit = new TextEdit(offset, delete, insert);
+
+                TextEdit delta = encoder.apply(edit);
+                text.replace(offset, offset + delete, insert);
+                output.replace(delta.offset(), delta.offset() + delta.deleteCount(), delta.insert());
+
+                String expected = compiled.encode(text.toString());
+                assertEquals(expected, output.toString(), () -> types + " after " + edit);
+                assertEquals(expected, encoder.output());
+                assertEquals(text.toString(), encoder.text());
+            }
+        }
+    }
+
+    @Test
+    void alignedEditOnlyTouchesItsBlocks() {
+        IncrementalEncoder encoder = CompiledPipeline.compile(pipeline(StepType.ZERO_WIDTH)).newIncrementalEncoder();
+        encoder.apply(new TextEdit(0, 0, "Hello"));
+
+        TextEdit delta = encoder.apply(new TextEdit(2, 0, "!"));
+
+        // one ASCII byte is 8 zero-width chars; the edit only inserts at its own position
+        assertEquals(16, delta.offset());
+        assertEquals(0, delta.deleteCount());
+        assertEquals(8, delta.insert().length());
+    }
+
+    @Test
+    void base64ReencodesOnlyTheEditedGroupWhenAlignmentIsKept() {
+        IncrementalEncoder encoder = CompiledPipeline.compile(pipeline(StepType.BASE64)).newIncrementalEncoder();
+        encoder.apply(new TextEdit(0, 0, "abcdefghi"));
+
+        TextEdit delta = encoder.apply(new TextEdit(4, 1, "E"));
+
+        assertEquals("YWJjZEVmZ2hp", encoder.output());
+        assertEquals(new TextEdit(5, 1, "E"), delta);
+    }
+
+    @Test
+    void unchangedOutputGivesEmptyDelta() {
+        IncrementalEncoder encoder = CompiledPipeline.compile(pipeline(StepType.EMOJI)).newIncrementalEncoder();
+        encoder.apply(new TextEdit(0, 0, "same"));
+
+        assertTrue(encoder.apply(new TextEdit(1, 1, "a")).isEmpty());
+    }
+
+    @Test
+    void rejectsEditsOutsideTheDocument() {
+        IncrementalEncoder encoder = CompiledPipeline.compile(pipeline(StepType.BASE64)).newIncrementalEncoder();
+        encoder.apply(new TextEdit(0, 0, "abc"));
+
+        StegoException ex = assertThrows(StegoException.class, () -> encoder.apply(new TextEdit(2, 5, "")));
+        assertEquals(StegoErrorCode.INVALID_INPUT, ex.getCode());
+        assertEquals("abc", encoder.text());
+    }
+
+    @Test
+    void rejectsStepsThatAreNotBlockLocal() {
+        Pipeline cover = new Pipeline(List.of(
+                new StepConfig(StepType.ZERO_WIDTH, new ZeroWidthOptions(ZeroWidthMode.EMBED_IN_COVER, "Cover"))));
+
+        StegoException ex = assertThrows(StegoException.class, () -> CompiledPipeline.compile(cover).newIncrementalEncoder());
+        assertEquals(StegoErrorCode.UNSUPPORTED_STEP, ex.getCode());
+    }
+
+    private static Pipeline pipeline(StepType... types) {
+        return new Pipeline(Arrays.stream(types).map(StepConfig::of).toList());
+    }
+}
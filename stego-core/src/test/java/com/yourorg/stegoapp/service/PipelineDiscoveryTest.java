@@ -0,0 +1,136 @@
+package com.yourorg.stegoapp.service;
+
+import com.yourorg.stegoapp.core.CancellationToken;
+import com.yourorg.stegoapp.core.error.StegoErrorCode;
+import com.yourorg.stegoapp.core.error.StegoException;
+import com.yourorg.stegoapp.core.model.CryptoOptions;
+import com.yourorg.stegoapp.core.model.FramedOptions;
+import com.yourorg.stegoapp.core.model.Pipeline;
+import com.yourorg.stegoapp.core.model.StepConfig;
+import com.yourorg.stegoapp.core.model.StepType;
+import com.yourorg.stegoapp.core.model.ZeroWidthMode;
+import com.yourorg.stegoapp.core.model.ZeroWidthOptions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PipelineDiscoveryTest {
+
+    private static final String MESSAGE = "Meet at the north gate at 9, bring the blue folder.";
+
+    private final StegoService svc = new StegoService();
+    private final PipelineDiscovery discovery = new PipelineDiscovery();
+
+    @Test
+    void findsMultiStepPipelines() {
+        for (List<StepType> types : List.of(
+                List.of(StepType.ZERO_WIDTH),
+                List.of(StepType.BASE64, StepType.EMOJI),
+                List.of(StepType.EMOJI, StepType.BASE64, StepType.ZERO_WIDTH),
+                List.of(StepType.BASE64, StepType.BASE64, StepType.EMOJI))) {
+            Pipeline pipeline = new Pipeline(types.stream().map(StepConfig::of).toList());
+
+            DiscoveryResult result = discovery.discover(svc.encode(MESSAGE, pipeline), DiscoveryOptions.defaults());
+
+            DiscoveredPipeline best = result.pipelines().get(0);
+            assertEquals(pipeline, best.pipeline(), types::toString);
+            assertEquals(MESSAGE, best.decoded());
+            assertTrue(result.complete());
+        }
+    }
+
+    @Test
+    void plainTextOutranksIntermediateEncodings() {
+        Pipeline pipeline = new Pipeline(List.of(StepConfig.of(StepType.BASE64), StepConfig.of(StepType.ZERO_WIDTH)));
+
+        List<DiscoveredPipeline> found = discovery.discover(svc.encode(MESSAGE, pipeline), DiscoveryOptions.defaults()).pipelines();
+
+        assertEquals(2, found.size());
+        assertEquals(MESSAGE, found.get(0).decoded());
+        assertEquals(List.of(StepConfig.of(StepType.ZERO_WIDTH)), found.get(1).pipeline().steps());
+        assertTrue(found.get(0).score() > found.get(1).score());
+    }
+
+    @Test
+    void reportsCoverTextAndFramedSteps() {
+        Pipeline cover = new Pipeline(List.of(new StepConfig(StepType.ZERO_WIDTH,
+                new ZeroWidthOptions(ZeroWidthMode.EMBED_IN_COVER, "Nothing to see here."))));
+        DiscoveredPipeline best = discovery.discover(svc.encode(MESSAGE, cover), DiscoveryOptions.defaults()).pipelines().get(0);
+        assertEquals(cover, best.pipeline());
+
+        Pipeline framed = new Pipeline(List.of(StepConfig.of(StepType.BASE64), new StepConfig(StepType.EMOJI, FramedOptions.defaults())));
+        best = discovery.discover(svc.encode(MESSAGE, framed), DiscoveryOptions.defaults()).pipelines().get(0);
+        assertEquals(framed, best.pipeline());
+        assertEquals(MESSAGE, best.decoded());
+    }
+
+    @Test
+    void headerSelectsTheMatchingPipeline() {
+        // ZERO_WIDTH alone would also decode this text, to the Base64 form of the message
+        Pipeline pipeline = new Pipeline(List.of(StepConfig.of(StepType.BASE64), StepConfig.of(StepType.ZERO_WIDTH)));
+
+        List<DiscoveredPipeline> found = discovery.discover(svc.encodeWithHeader(MESSAGE, pipeline), DiscoveryOptions.defaults()).pipelines();
+
+        assertEquals(pipeline, found.get(0).pipeline());
+        assertTrue(found.get(0).headerMatch());
+        assertFalse(found.get(1).headerMatch());
+    }
+
+    @Test
+    void triesGivenPasswordsForCrypto() {
+        Pipeline pipeline = new Pipeline(List.of(
+                new StepConfig(StepType.CRYPTO, new CryptoOptions("correct horse")), StepConfig.of(StepType.EMOJI)));
+        String encoded = svc.encode(MESSAGE, pipeline);
+
+        DiscoveryResult without = discovery.discover(encoded, DiscoveryOptions.defaults());
+        DiscoveryResult with = discovery.discover(encoded,
+                new DiscoveryOptions(4, 5, Duration.ofSeconds(10), true, List.of("wrong", "correct horse")));
+
+        assertNotEquals(MESSAGE, without.pipelines().get(0).decoded());
+        assertEquals(pipeline, with.pipelines().get(0).pipeline());
+        assertEquals(MESSAGE, with.pipelines().get(0).decoded());
+    }
+
+    @Test
+    void respectsDepthLimitAndReportsNothingForPlainText() {
+        Pipeline deep = new Pipeline(List.of(StepConfig.of(StepType.BASE64), StepConfig.of(StepType.BASE64), StepConfig.of(StepType.EMOJI)));
+
+        DiscoveryResult shallow = discovery.discover(svc.encode(MESSAGE, deep), new DiscoveryOptions(2, 5, Duration.ofSeconds(2), true, List.of()));
+
+        assertTrue(shallow.pipelines().stream().allMatch(d -> d.pipeline().steps().size() <= 2));
+        assertNotEquals(MESSAGE, shallow.pipelines().get(0).decoded());
+        assertTrue(discovery.discover(MESSAGE, DiscoveryOptions.defaults()).pipelines().isEmpty());
+    }
+
+    @Test
+    void boundTokenCancelsTheSearch() {
+        String encoded = svc.encode(MESSAGE, new Pipeline(List.of(StepConfig.of(StepType.BASE64), StepConfig.of(StepType.EMOJI))));
+        CancellationToken token = CancellationToken.create();
+        token.cancel();
+
+        try (CancellationToken.Binding ignored = token.bind()) {
+            StegoException e = assertThrows(StegoException.class, () -> discovery.discover(encoded, DiscoveryOptions.defaults()));
+            assertEquals(StegoErrorCode.CANCELLED, e.getCode());
+        }
+        assertEquals(MESSAGE, discovery.discover(encoded, DiscoveryOptions.defaults()).pipelines().get(0).decoded());
+    }
+
+    @Test
+    void scoresPlainTextAboveGarbage() {
+        assertEquals(1.0, PipelineDiscovery.plausibility(MESSAGE));
+        assertTrue(PipelineDiscovery.plausibility("c2VjcmV0IG1lc3NhZ2U=") < 0.6);
+        assertTrue(PipelineDiscovery.plausibility("�\u0001x�") < 0.3);
+        assertEquals(0.0, PipelineDiscovery.plausibility(""));
+    }
+
+    @Test
+    void rejectsInvalidOptions() {
+        assertThrows(IllegalArgumentException.class, () -> new DiscoveryOptions(0, 5, Duration.ofSeconds(1), true, List.of()));
+        assertThrows(IllegalArgumentException.class, () -> new DiscoveryOptions(DiscoveryOptions.MAX_DEPTH + 1, 5, Duration.ofSeconds(1), true, List.of()));
+        assertThrows(IllegalArgumentException.class, () -> new DiscoveryOptions(4, 0, Duration.ofSeconds(1), true, List.of()));
+        assertThrows(IllegalArgumentException.class, () -> new DiscoveryOptions(4, 5, Duration.ZERO, true, List.of()));
+    }
+}
@@ -1,10 +1,23 @@
 package com.yourorg.stegoapp.service;
 
+import com.yourorg.stegoapp.core.buffer.StagingAllocator;
+import com.yourorg.stegoapp.core.buffer.StagingBuffer;
+import com.yourorg.stegoapp.core.error.StegoErrorCode;
+import com.yourorg.stegoapp.core.error.StegoException;
 import com.yourorg.stegoapp.core.model.CryptoOptions;
+import com.yourorg.stegoapp.core.model.Pipeline;
 import com.yourorg.stegoapp.core.model.StepConfig;
 import com.yourorg.stegoapp.core.model.StepType;
+import com.yourorg.stegoapp.core.model.ZeroWidthMode;
+import com.yourorg.stegoapp.core.model.ZeroWidthOptions;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -41,4 +54,70 @@ class StegoServiceTest {
         String cipher = svc.encode(secret, List.of(good));
         assertThrows(RuntimeException.class, () -> svc.decode(cipher, List.of(service)));
     }
+
+    @Test
+    void headerIsCheckedBeforeAnyStepRuns() {
+        Pipeline crypto = new Pipeline(List.of(new StepConfig(StepType.CRYPTO, new CryptoOptions("pw")), StepConfig.of(StepType.BASE64)));
+        String enc = svc.encodeWithHeader("Headed", crypto);
+        assertEquals("Headed", svc.decode(enc, crypto));
+
+        Pipeline base64Only = new Pipeline(List.of(StepConfig.of(StepType.BASE64)));
+        StegoException ex = assertThrows(StegoException.class, () -> svc.decode(enc, base64Only));
+        assertEquals(StegoErrorCode.PIPELINE_MISMATCH, ex.getCode());
+
+        // headerless text still decodes
+        assertEquals("Plain", svc.decode(svc.encode("Plain", base64Only), base64Only));
+    }
+
+    @Test
+    void encodeToWritesSameTextAsEncode() throws Exception {
+        Pipeline pipeline = new Pipeline(List.of(
+                StepConfig.of(StepType.BASE64),
+                new StepConfig(StepType.ZERO_WIDTH, new ZeroWidthOptions(ZeroWidthMode.EMBED_IN_COVER, "Cover: "))
+        ));
+
+        StringWriter out = new StringWriter();
+        svc.encodeTo("Deferred", pipeline, out);
+
+        assertEquals(svc.encode("Deferred", pipeline), out.toString());
+        assertEquals("Deferred", svc.decode(out.toString(), pipeline));
+    }
+
+    @Test
+    void channelEncodeDecodeMatchesStringForm() throws Exception {
+        Pipeline pipeline = new Pipeline(List.of(StepConfig.of(StepType.BASE64), StepConfig.of(StepType.EMOJI), StepConfig.of(StepType.ZERO_WIDTH)));
+        String original = "Large payload 👋 ".repeat(5000);
+        StagingAllocator offHeap = StagingAllocator.offHeap();
+
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        svc.encode(Channels.newChannel(new ByteArrayInputStream(original.getBytes(StandardCharsets.UTF_8))),
+                Channels.newChannel(encoded), pipeline, offHeap);
+        assertEquals(svc.encode(original, pipeline), encoded.toString(StandardCharsets.UTF_8));
+
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        svc.decode(Channels.newChannel(new ByteArrayInputStream(encoded.toByteArray())),
+                Channels.newChannel(decoded), pipeline, offHeap);
+        assertEquals(original, decoded.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void stagedEncodeReturnsOffHeapResult() {
+        Pipeline pipeline = new Pipeline(List.of(StepConfig.of(StepType.EMOJI)));
+        ByteBuffer input = ByteBuffer.wrap("Staged".getBytes(StandardCharsets.UTF_8));
+
+        try (StagingBuffer out = svc.encodeStaged(input, pipeline, StagingAllocator.offHeap())) {
+            assertTrue(out.isOffHeap());
+            byte[] bytes = new byte[out.buffer().remaining()];
+            out.buffer().get(bytes);
+            assertEquals(svc.encode("Staged", pipeline), new String(bytes, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void byteLevelModeRejectsCrypto() {
+        Pipeline pipeline = new Pipeline(List.of(new StepConfig(StepType.CRYPTO, new CryptoOptions("pw"))));
+        StegoException ex = assertThrows(StegoException.class,
+                () -> svc.encodeStaged(ByteBuffer.allocate(0), pipeline, StagingAllocator.heap()));
+        assertEquals(StegoErrorCode.UNSUPPORTED_STEP, ex.getCode());
+    }
 }